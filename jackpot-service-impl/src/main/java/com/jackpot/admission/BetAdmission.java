@@ -0,0 +1,135 @@
+package com.jackpot.admission;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.exception.ServiceOverloadedException;
+import com.jackpot.transport.BetTransport;
+import com.jackpot.transport.RingBufferBetTransport;
+
+/**
+ * Decides whether {@code POST /api/bets} takes another bet, so that a falling-behind engine turns
+ * bets away instead of acknowledging bets that are applied minutes later. The lag is the
+ * {@link BetLagMonitor consumer lag} on {@code jackpot-bets}, or the ring-buffer backlog with that
+ * transport. Below the throttle threshold every bet is taken; from there to the shed threshold a
+ * growing share is answered 429, so the lag levels off instead of running into the wall; beyond it
+ * every bet is answered 503. Bets are also answered 503 while too many threads wait for a database
+ * connection. Retry-After is the time the lag takes to drain back to the throttle threshold at the
+ * rate it has been draining, within bounds. Turned-away bets are counted in
+ * {@code jackpot.bets.rejected} by reason.
+ */
+@Component
+public class BetAdmission {
+
+  private static final Logger logger = LoggerFactory.getLogger(BetAdmission.class);
+
+  private final BetLagMonitor lagMonitor;
+  private final ConnectionPoolMonitor poolMonitor;
+  private final BetTransport betTransport;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final long throttleLag;
+  private final long shedLag;
+  private final double throttleBacklog;
+  private final double shedBacklog;
+  private final int maxPending;
+  private final long retryAfterSeconds;
+  private final long maxRetryAfterSeconds;
+
+  public BetAdmission(BetLagMonitor lagMonitor,
+      ConnectionPoolMonitor poolMonitor,
+      BetTransport betTransport,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.admission.enabled:true}") boolean enabled,
+      @Value("${jackpot.admission.lag.throttle:5000}") long throttleLag,
+      @Value("${jackpot.admission.lag.shed:20000}") long shedLag,
+      @Value("${jackpot.admission.backlog.throttle-ratio:0.5}") double throttleBacklog,
+      @Value("${jackpot.admission.backlog.shed-ratio:0.9}") double shedBacklog,
+      @Value("${jackpot.admission.db.max-pending:10}") int maxPending,
+      @Value("${jackpot.admission.retry-after-seconds:1}") long retryAfterSeconds,
+      @Value("${jackpot.admission.max-retry-after-seconds:30}") long maxRetryAfterSeconds) {
+    if (throttleLag >= shedLag || throttleBacklog >= shedBacklog) {
+      throw new IllegalArgumentException("Admission throttle thresholds must be below the shed thresholds");
+    }
+    this.lagMonitor = lagMonitor;
+    this.poolMonitor = poolMonitor;
+    this.betTransport = betTransport;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.throttleLag = throttleLag;
+    this.shedLag = shedLag;
+    this.throttleBacklog = throttleBacklog;
+    this.shedBacklog = shedBacklog;
+    this.maxPending = maxPending;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+  }
+
+  /**
+   * @throws ServiceOverloadedException when the bet is turned away
+   */
+  public void admit() {
+    if (!enabled) {
+      return;
+    }
+    int pending = poolMonitor.pending();
+    if (pending > maxPending) {
+      throw reject("database", HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+          "Bet processing is waiting on the database, please retry later");
+    }
+
+    String reason;
+    long lag;
+    long throttleAt;
+    long shedAt;
+    double drainRate;
+    if (betTransport instanceof RingBufferBetTransport ringBuffer) {
+      reason = "backlog";
+      lag = ringBuffer.backlog();
+      throttleAt = (long) (ringBuffer.capacity() * throttleBacklog);
+      shedAt = (long) (ringBuffer.capacity() * shedBacklog);
+      drainRate = 0;
+    } else {
+      reason = "lag";
+      lag = lagMonitor.lag();
+      throttleAt = throttleLag;
+      shedAt = shedLag;
+      drainRate = lagMonitor.drainRate();
+    }
+    if (lag <= throttleAt) {
+      // Also taken when the lag is unknown
+      return;
+    }
+    long retryAfter = retryAfter(lag - throttleAt, drainRate);
+    if (lag >= shedAt) {
+      throw reject(reason, HttpStatus.SERVICE_UNAVAILABLE, retryAfter,
+          "Bet processing is " + lag + " bets behind, please retry later");
+    }
+    double admitted = (double) (shedAt - lag) / (shedAt - throttleAt);
+    if (ThreadLocalRandom.current().nextDouble() >= admitted) {
+      throw reject(reason, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+          "Bet processing is " + lag + " bets behind, please retry later");
+    }
+  }
+
+  private long retryAfter(long excess, double drainRate) {
+    if (drainRate <= 0) {
+      return retryAfterSeconds;
+    }
+    long seconds = (long) Math.ceil(excess / drainRate);
+    return Math.max(retryAfterSeconds, Math.min(maxRetryAfterSeconds, seconds));
+  }
+
+  private ServiceOverloadedException reject(String reason, HttpStatus status, long retryAfter, String message) {
+    meterRegistry.counter("jackpot.bets.rejected", "reason", reason, "status", String.valueOf(status.value()))
+        .increment();
+    logger.debug("Turned a bet away with {} ({}), retry after {} s", status.value(), reason, retryAfter);
+    return new ServiceOverloadedException(message, status, retryAfter);
+  }
+}
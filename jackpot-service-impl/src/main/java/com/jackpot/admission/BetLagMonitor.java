@@ -0,0 +1,169 @@
+package com.jackpot.admission;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.kafka.KafkaConsumer;
+
+/**
+ * Samples how far the group applying bets trails {@code jackpot-bets}: the end offset of every
+ * partition less the group's committed offset, summed, and how fast the group has been committing.
+ * The group is the bet listener's, or the streams engine's application id. Sampling runs on a thread
+ * of its own, since a broker that doesn't answer blocks it for the timeout, with a consumer that never
+ * joins the group; requests only read the last sample. While the broker can't be reached, or with the
+ * ring-buffer transport, the lag is unknown.
+ */
+@Component
+public class BetLagMonitor {
+
+  static final String LISTENER_GROUP = "jackpot-service-group";
+  private static final Logger logger = LoggerFactory.getLogger(BetLagMonitor.class);
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final ConsumerFactory<String, Object> consumerFactory;
+  private final String groupId;
+  private final boolean enabled;
+  private final long intervalMillis;
+  private ScheduledExecutorService sampler;
+  private Consumer<String, Object> consumer;
+  private long lastCommitted = -1;
+  private long lastSampled;
+  private volatile long lag = -1;
+  private volatile double drainRate;
+
+  public BetLagMonitor(ConsumerFactory<String, Object> consumerFactory,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.admission.enabled:true}") boolean admissionEnabled,
+      @Value("${jackpot.transport:kafka}") String transport,
+      @Value("${jackpot.engine:relational}") String engine,
+      @Value("${jackpot.streams.application-id:jackpot-engine}") String streamsApplicationId,
+      @Value("${jackpot.admission.sample-interval-ms:1000}") long intervalMillis) {
+    this.consumerFactory = consumerFactory;
+    this.intervalMillis = intervalMillis;
+    this.groupId = "streams".equals(engine) ? streamsApplicationId : LISTENER_GROUP;
+    this.enabled = admissionEnabled && "kafka".equals(transport);
+    Gauge.builder("jackpot.bets.consumer-lag", this, monitor -> monitor.lag < 0 ? Double.NaN : monitor.lag)
+        .description("Bets on jackpot-bets not yet committed by the group applying them")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Bets behind as of the last sample, -1 when unknown
+   */
+  public long lag() {
+    return lag;
+  }
+
+  /**
+   * Bets per second the group committed between the last two samples
+   */
+  public double drainRate() {
+    return drainRate;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (enabled) {
+      sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bet-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+      });
+      sampler.scheduleWithFixedDelay(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (sampler != null) {
+      sampler.shutdownNow();
+      sampler.awaitTermination(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    close();
+  }
+
+  synchronized void sample() {
+    try {
+      if (consumer == null) {
+        // Reads the group's committed offsets; never subscribes, so it never joins the group
+        consumer = consumerFactory.createConsumer(groupId, "bet-lag-monitor");
+      }
+      record(consumer);
+    } catch (RuntimeException e) {
+      if (lag >= 0) {
+        logger.warn("Failed to sample lag of group {} on {}, bets are admitted without it: {}", groupId,
+            KafkaConsumer.TOPIC, e.toString());
+      }
+      logger.debug("Failed to sample lag of group {} on {}", groupId, KafkaConsumer.TOPIC, e);
+      lag = -1;
+      close();
+    }
+  }
+
+  private synchronized void close() {
+    if (consumer != null) {
+      consumer.close(Duration.ZERO);
+      consumer = null;
+    }
+  }
+
+  void record(Consumer<?, ?> consumer) {
+    List<PartitionInfo> partitionInfos = consumer.partitionsFor(KafkaConsumer.TOPIC, TIMEOUT);
+    if (partitionInfos == null || partitionInfos.isEmpty()) {
+      lag = 0;
+      return;
+    }
+    Set<TopicPartition> partitions = partitionInfos.stream()
+        .map(info -> new TopicPartition(info.topic(), info.partition()))
+        .collect(Collectors.toSet());
+    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, TIMEOUT);
+    Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(partitions, TIMEOUT);
+    Map<TopicPartition, Long> beginningOffsets = null;
+    long total = 0;
+    long committedTotal = 0;
+    for (TopicPartition partition : partitions) {
+      OffsetAndMetadata offset = committed.get(partition);
+      long position;
+      if (offset != null) {
+        position = offset.offset();
+      } else {
+        // A group that hasn't committed yet starts from the earliest record still on the partition
+        if (beginningOffsets == null) {
+          beginningOffsets = consumer.beginningOffsets(partitions, TIMEOUT);
+        }
+        position = beginningOffsets.getOrDefault(partition, 0L);
+      }
+      total += Math.max(0, endOffsets.getOrDefault(partition, position) - position);
+      committedTotal += position;
+    }
+
+    long now = System.nanoTime();
+    if (lastCommitted >= 0 && now > lastSampled) {
+      drainRate = Math.max(0, committedTotal - lastCommitted) * 1e9 / (now - lastSampled);
+    }
+    lastCommitted = committedTotal;
+    lastSampled = now;
+    lag = total;
+  }
+}
@@ -0,0 +1,85 @@
+package com.jackpot.admission;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Reads how busy the application's connection pool is from Hikari's pool bean, and how long
+ * connections took to acquire from the pool's {@code hikaricp.connections.acquire} timer. The pool's
+ * own figures are already published as {@code hikaricp.connections.*} metrics. Any other data source
+ * reads as idle.
+ */
+@Component
+public class ConnectionPoolMonitor {
+
+  private final HikariDataSource pool;
+  private final MeterRegistry meterRegistry;
+  private Timer acquireTimer;
+
+  public ConnectionPoolMonitor(DataSource dataSource, MeterRegistry meterRegistry) {
+    this.pool = unwrap(dataSource);
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Threads waiting for a connection
+   */
+  public int pending() {
+    HikariPoolMXBean bean = bean();
+    return bean == null ? 0 : bean.getThreadsAwaitingConnection();
+  }
+
+  /**
+   * Connections in use as a share of the pool's maximum size
+   */
+  public double activeRatio() {
+    HikariPoolMXBean bean = bean();
+    return bean == null ? 0 : (double) bean.getActiveConnections() / pool.getMaximumPoolSize();
+  }
+
+  /**
+   * Connections acquired since the pool started, 0 without pool metrics
+   */
+  public long acquireCount() {
+    Timer timer = acquireTimer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  /**
+   * Milliseconds spent acquiring those connections
+   */
+  public double acquireMillis() {
+    Timer timer = acquireTimer();
+    return timer == null ? 0 : timer.totalTime(TimeUnit.MILLISECONDS);
+  }
+
+  private HikariPoolMXBean bean() {
+    // Null until the pool has started
+    return pool == null ? null : pool.getHikariPoolMXBean();
+  }
+
+  private synchronized Timer acquireTimer() {
+    // Registered once the pool has started with metrics bound
+    if (acquireTimer == null && pool != null) {
+      acquireTimer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer();
+    }
+    return acquireTimer;
+  }
+
+  private static HikariDataSource unwrap(DataSource dataSource) {
+    try {
+      return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+    } catch (SQLException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.jackpot.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter of an archive scan; every bound is optional and blocks whose stats exclude a match are skipped
+ *
+ * @param from inclusive lower bound on created_at
+ * @param to   exclusive upper bound on created_at
+ */
+public record ArchiveQuery(
+    String jackpotId,
+    Long userId,
+    LocalDateTime from,
+    LocalDateTime to
+) {
+
+  public static ArchiveQuery all() {
+    return new ArchiveQuery(null, null, null, null);
+  }
+
+  long fromMicros() {
+    return from == null ? Long.MIN_VALUE : ColumnarContributionWriter.toMicros(from);
+  }
+
+  // Exclusive bound rounded up to whole microseconds, the precision archives keep
+  long toMicros() {
+    if (to == null) {
+      return Long.MAX_VALUE;
+    }
+    long micros = ColumnarContributionWriter.toMicros(to);
+    return to.getNano() % 1000 == 0 ? micros : micros + 1;
+  }
+
+  boolean mightMatch(BlockStats stats) {
+    return (jackpotId == null || stats.jackpotIds().contains(jackpotId))
+        && (userId == null || (userId >= stats.minUserId() && userId <= stats.maxUserId()))
+        && stats.maxCreatedMicros() >= fromMicros()
+        && stats.minCreatedMicros() < toMicros();
+  }
+}
@@ -0,0 +1,117 @@
+package com.jackpot.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.ContributionView;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.ContributionArchive;
+import com.jackpot.repository.ContributionArchiveRepository;
+
+/**
+ * Reads of contributions that have left the hot table. The catalog answers most point-in-time lookups
+ * with the last row it recorded per jackpot and file, and narrows scans down to the files whose time
+ * span and jackpots can match; those are then scanned block-parallel.
+ */
+@Component
+public class ArchivedContributions {
+
+  private static final Comparator<ContributionView> CHRONOLOGICAL =
+      Comparator.comparing(ContributionView::createdAt).thenComparing(ContributionView::id);
+
+  private final ContributionArchiveRepository archiveRepository;
+  private final Path directory;
+
+  public ArchivedContributions(ContributionArchiveRepository archiveRepository,
+      @Value("${jackpot.archive.dir:data/archive}") String directory) {
+    this.archiveRepository = archiveRepository;
+    this.directory = Paths.get(directory);
+  }
+
+  /**
+   * Latest archived contribution of the jackpot at or before {@code ts}. A contribution taken from the
+   * catalog only carries its id, jackpot, pool value and time.
+   */
+  public Optional<Contribution> findLatestAtOrBefore(String jackpotId, LocalDateTime ts) {
+    Optional<Contribution> latest = archiveRepository
+        .findFirstByJackpotIdAndLastCreatedAtLessThanEqualOrderByLastCreatedAtDescLastIdDesc(jackpotId, ts)
+        .map(ArchivedContributions::lastOf);
+    ArchiveQuery query = new ArchiveQuery(jackpotId, null, null, ts.truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.MICROS));
+    for (ContributionArchive spanning : archiveRepository
+        .findByJackpotIdAndLastCreatedAtGreaterThanAndFirstCreatedAtLessThanEqual(jackpotId, ts, ts)) {
+      Optional<ContributionView> scanned = scan(spanning.getFileName(), query, Collectors.maxBy(CHRONOLOGICAL));
+      if (scanned.isPresent() && (latest.isEmpty() || isAfter(scanned.get(), latest.get()))) {
+        latest = scanned.map(ArchivedContributions::toContribution);
+      }
+    }
+    return latest;
+  }
+
+  /**
+   * Collect every archived contribution matching {@code query}, e.g. for audits or rebuilding rollups.
+   * The collector is fed from several threads at once, one container per block.
+   */
+  public <A, R> R scan(ArchiveQuery query, Collector<? super ContributionView, A, R> collector) {
+    // The catalog has a row per jackpot and file, few enough to filter here; ids keep archive order
+    Set<String> fileNames = new LinkedHashSet<>();
+    archiveRepository.findAll().stream()
+        .filter(archive -> query.jackpotId() == null || archive.getJackpotId().equals(query.jackpotId()))
+        .filter(archive -> query.from() == null || !archive.getLastCreatedAt().isBefore(query.from()))
+        .filter(archive -> query.to() == null || archive.getFirstCreatedAt().isBefore(query.to()))
+        .sorted(Comparator.comparing(ContributionArchive::getId))
+        .forEach(archive -> fileNames.add(archive.getFileName()));
+
+    A result = collector.supplier().get();
+    for (String fileName : fileNames) {
+      result = collector.combiner().apply(result, accumulate(fileName, query, collector));
+    }
+    return collector.finisher().apply(result);
+  }
+
+  private <A, R> R scan(String fileName, ArchiveQuery query, Collector<? super ContributionView, A, R> collector) {
+    return collector.finisher().apply(accumulate(fileName, query, collector));
+  }
+
+  private <A> A accumulate(String fileName, ArchiveQuery query, Collector<? super ContributionView, A, ?> collector) {
+    try (ColumnarContributionReader reader = ColumnarContributionReader.open(directory.resolve(fileName))) {
+      return reader.accumulate(query, collector);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read contribution archive " + fileName, e);
+    }
+  }
+
+  private static boolean isAfter(ContributionView row, Contribution contribution) {
+    int byTime = row.createdAt().compareTo(contribution.getCreatedAt());
+    return byTime > 0 || (byTime == 0 && row.id() > contribution.getId());
+  }
+
+  private static Contribution lastOf(ContributionArchive archive) {
+    Contribution contribution = new Contribution();
+    contribution.setId(archive.getLastId());
+    contribution.setJackpotId(archive.getJackpotId());
+    contribution.setCurrentJackpotAmount(archive.getLastPoolValue());
+    contribution.setCreatedAt(archive.getLastCreatedAt());
+    return contribution;
+  }
+
+  private static Contribution toContribution(ContributionView row) {
+    Contribution contribution = new Contribution(row.betId(), row.userId(), row.jackpotId(),
+        row.stakeAmount(), row.contributionAmount(), row.currentJackpotAmount());
+    contribution.setId(row.id());
+    contribution.setCreatedAt(row.createdAt());
+    return contribution;
+  }
+}
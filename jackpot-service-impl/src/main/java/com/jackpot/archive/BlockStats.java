@@ -0,0 +1,20 @@
+package com.jackpot.archive;
+
+import java.util.List;
+
+/**
+ * Bounds of one block of a columnar archive, kept in the file footer so scans skip blocks without
+ * reading them. Times are microseconds since the epoch of the naive creation timestamps.
+ *
+ * @param jackpotIds every jackpot with a row in the block, which is also the block's dictionary
+ */
+public record BlockStats(
+    int rowCount,
+    long minId,
+    long maxId,
+    long minCreatedMicros,
+    long maxCreatedMicros,
+    long minUserId,
+    long maxUserId,
+    List<String> jackpotIds
+) {}
@@ -0,0 +1,186 @@
+package com.jackpot.archive;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Growable byte array with the variable-length integer encoding used by archive columns. Signed values
+ * are zigzag-encoded so small negative deltas stay small; a column is deflated when that saves space.
+ */
+final class ColumnBuffer {
+
+  private static final byte RAW = 0;
+  private static final byte DEFLATED = 1;
+
+  private byte[] bytes;
+  private int size;
+
+  ColumnBuffer(int capacity) {
+    bytes = new byte[Math.max(16, capacity)];
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  void writeByte(int value) {
+    ensure(1);
+    bytes[size++] = (byte) value;
+  }
+
+  void writeBytes(byte[] value) {
+    ensure(value.length);
+    System.arraycopy(value, 0, bytes, size, value.length);
+    size += value.length;
+  }
+
+  void writeVarLong(long value) {
+    ensure(10);
+    while ((value & ~0x7FL) != 0) {
+      bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[size++] = (byte) value;
+  }
+
+  void writeSignedVarLong(long value) {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Append {@code column} as a codec byte, raw length, stored length and the stored bytes
+   */
+  void writeColumn(ColumnBuffer column, Deflater deflater) {
+    byte[] stored = column.bytes;
+    int storedLength = column.size;
+    byte codec = RAW;
+    if (column.size >= 64) {
+      deflater.reset();
+      deflater.setInput(column.bytes, 0, column.size);
+      deflater.finish();
+      byte[] compressed = new byte[column.size];
+      int length = 0;
+      while (!deflater.finished() && length < compressed.length) {
+        length += deflater.deflate(compressed, length, compressed.length - length);
+      }
+      // Only worth an inflate on every read if it saves at least a tenth
+      if (deflater.finished() && length < column.size - column.size / 10) {
+        stored = compressed;
+        storedLength = length;
+        codec = DEFLATED;
+      }
+    }
+    writeByte(codec);
+    writeVarLong(column.size);
+    writeVarLong(storedLength);
+    ensure(storedLength);
+    System.arraycopy(stored, 0, bytes, size, storedLength);
+    size += storedLength;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(bytes, size);
+  }
+
+  private void ensure(int additional) {
+    if (size + additional > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+    }
+  }
+
+  /**
+   * Sequential reader over encoded bytes
+   */
+  static final class Cursor {
+    private final byte[] bytes;
+    private int position;
+    private final int limit;
+
+    Cursor(byte[] bytes) {
+      this(bytes, 0, bytes.length);
+    }
+
+    private Cursor(byte[] bytes, int offset, int limit) {
+      this.bytes = bytes;
+      this.position = offset;
+      this.limit = limit;
+    }
+
+    int position() {
+      return position;
+    }
+
+    byte[] bytes() {
+      return bytes;
+    }
+
+    void skip(int length) {
+      position += length;
+    }
+
+    long readVarLong() {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        if (position >= limit) {
+          throw new IllegalStateException("Truncated archive column");
+        }
+        b = bytes[position++];
+        value |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+
+    long readSignedVarLong() {
+      long value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readVarInt() {
+      return Math.toIntExact(readVarLong());
+    }
+
+    /**
+     * Read a column written by {@link #writeColumn}, inflating it if needed
+     */
+    Cursor readColumn() {
+      byte codec = bytes[position++];
+      int rawLength = readVarInt();
+      int storedLength = readVarInt();
+      int start = position;
+      position += storedLength;
+      if (codec == RAW) {
+        return new Cursor(bytes, start, start + rawLength);
+      }
+      byte[] raw = new byte[rawLength];
+      Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(bytes, start, storedLength);
+        int length = 0;
+        while (length < rawLength && !inflater.finished()) {
+          int inflated = inflater.inflate(raw, length, rawLength - length);
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            break;
+          }
+          length += inflated;
+        }
+        if (length != rawLength) {
+          throw new IllegalStateException("Corrupt archive column");
+        }
+      } catch (DataFormatException e) {
+        throw new IllegalStateException("Corrupt archive column", e);
+      } finally {
+        inflater.end();
+      }
+      return new Cursor(raw, 0, rawLength);
+    }
+  }
+}
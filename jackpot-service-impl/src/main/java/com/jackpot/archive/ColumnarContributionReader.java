@@ -0,0 +1,208 @@
+package com.jackpot.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import com.jackpot.dto.ContributionView;
+
+/**
+ * Scans a file written by {@link ColumnarContributionWriter}. Blocks whose footer stats cannot match the
+ * query are never read; the others are decoded in parallel on the common fork-join pool, and a row is
+ * only materialized when its id, time, jackpot and user columns match. Results are collected per block
+ * and combined in file order, so any {@link Collector} works, including ordered ones.
+ */
+public final class ColumnarContributionReader implements Closeable {
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final long[] offsets;
+  private final int[] lengths;
+  private final List<BlockStats> blocks;
+
+  private ColumnarContributionReader(FileChannel channel, MappedByteBuffer buffer, long[] offsets, int[] lengths,
+      List<BlockStats> blocks) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.offsets = offsets;
+    this.lengths = lengths;
+    this.blocks = blocks;
+  }
+
+  public static ColumnarContributionReader open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Archive larger than 2 GB: " + file);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (size < 2 * Integer.BYTES + ColumnarContributionWriter.TRAILER_SIZE
+          || buffer.getInt(0) != ColumnarContributionWriter.MAGIC
+          || buffer.getInt((int) size - Integer.BYTES) != ColumnarContributionWriter.MAGIC) {
+        throw new IOException("Not a complete contribution archive: " + file);
+      }
+      if (buffer.getInt(Integer.BYTES) != ColumnarContributionWriter.VERSION) {
+        throw new IOException("Unsupported contribution archive version in " + file);
+      }
+
+      int footerOffset = (int) buffer.getLong((int) size - ColumnarContributionWriter.TRAILER_SIZE);
+      byte[] footer = new byte[(int) size - ColumnarContributionWriter.TRAILER_SIZE - footerOffset];
+      buffer.get(footerOffset, footer);
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer));
+      int count = in.readInt();
+      long[] offsets = new long[count];
+      int[] lengths = new int[count];
+      List<BlockStats> blocks = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        offsets[i] = in.readLong();
+        lengths[i] = in.readInt();
+        int rows = in.readInt();
+        long minId = in.readLong();
+        long maxId = in.readLong();
+        long minMicros = in.readLong();
+        long maxMicros = in.readLong();
+        long minUser = in.readLong();
+        long maxUser = in.readLong();
+        String[] jackpotIds = new String[in.readInt()];
+        for (int j = 0; j < jackpotIds.length; j++) {
+          jackpotIds[j] = in.readUTF();
+        }
+        blocks.add(new BlockStats(rows, minId, maxId, minMicros, maxMicros, minUser, maxUser, List.of(jackpotIds)));
+      }
+      return new ColumnarContributionReader(channel, buffer, offsets, lengths, Collections.unmodifiableList(blocks));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public List<BlockStats> blocks() {
+    return blocks;
+  }
+
+  public long rowCount() {
+    return blocks.stream().mapToLong(BlockStats::rowCount).sum();
+  }
+
+  /**
+   * Collect every row matching {@code query}; the collector's accumulator only ever sees one block at a time
+   */
+  public <A, R> R scan(ArchiveQuery query, Collector<? super ContributionView, A, R> collector) {
+    return collector.finisher().apply(accumulate(query, collector));
+  }
+
+  /**
+   * Rows matching {@code query} in the collector's intermediate form, so scans of several files can be combined
+   */
+  <A> A accumulate(ArchiveQuery query, Collector<? super ContributionView, A, ?> collector) {
+    return IntStream.range(0, blocks.size())
+        .filter(block -> query.mightMatch(blocks.get(block)))
+        .parallel()
+        .mapToObj(block -> {
+          A container = collector.supplier().get();
+          scanBlock(block, query, collector.accumulator(), container);
+          return container;
+        })
+        .reduce(collector.combiner())
+        .orElseGet(collector.supplier());
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private <A> void scanBlock(int block, ArchiveQuery query, BiConsumer<A, ? super ContributionView> accumulator,
+      A container) {
+    byte[] bytes = new byte[lengths[block]];
+    ByteBuffer slice = buffer.slice((int) offsets[block] + 2 * Integer.BYTES, lengths[block]);
+    slice.get(bytes);
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    if ((int) crc.getValue() != buffer.getInt((int) offsets[block] + Integer.BYTES)) {
+      throw new IllegalStateException("Checksum mismatch in archive block " + block);
+    }
+
+    ColumnBuffer.Cursor payload = new ColumnBuffer.Cursor(bytes);
+    int rows = payload.readVarInt();
+    List<String> dictionary = blocks.get(block).jackpotIds();
+    int wantedCode = query.jackpotId() == null ? -1 : dictionary.indexOf(query.jackpotId());
+    if (query.jackpotId() != null && wantedCode < 0) {
+      return;
+    }
+
+    // Filter on the id, time, jackpot and user columns first; the rest is only decoded if a row matches
+    long[] ids = readDeltas(payload.readColumn(), rows);
+    long[] micros = readDeltas(payload.readColumn(), rows);
+    ColumnBuffer.Cursor codeColumn = payload.readColumn();
+    ColumnBuffer.Cursor userColumn = payload.readColumn();
+    int[] codes = new int[rows];
+    long[] userIds = new long[rows];
+    long fromMicros = query.fromMicros();
+    long toMicros = query.toMicros();
+    boolean[] matches = new boolean[rows];
+    int matchCount = 0;
+    for (int i = 0; i < rows; i++) {
+      codes[i] = codeColumn.readVarInt();
+      userIds[i] = userColumn.readSignedVarLong();
+      if ((wantedCode < 0 || codes[i] == wantedCode)
+          && (query.userId() == null || userIds[i] == query.userId())
+          && micros[i] >= fromMicros && micros[i] < toMicros) {
+        matches[i] = true;
+        matchCount++;
+      }
+    }
+    if (matchCount == 0) {
+      return;
+    }
+
+    ColumnBuffer.Cursor betIds = payload.readColumn();
+    ColumnBuffer.Cursor stakes = payload.readColumn();
+    ColumnBuffer.Cursor contributions = payload.readColumn();
+    ColumnBuffer.Cursor pools = payload.readColumn();
+    long[] previousPool = new long[dictionary.size()];
+    // Varints and deltas decode in sequence, so every row is read up to the last match
+    for (int i = 0; i < rows && matchCount > 0; i++) {
+      int betIdLength = betIds.readVarInt();
+      int betIdOffset = betIds.position();
+      betIds.skip(betIdLength);
+      long stake = stakes.readSignedVarLong();
+      long contribution = contributions.readSignedVarLong();
+      long pool = previousPool[codes[i]] + pools.readSignedVarLong();
+      previousPool[codes[i]] = pool;
+      if (matches[i]) {
+        matchCount--;
+        accumulator.accept(container, new ContributionView(ids[i],
+            new String(betIds.bytes(), betIdOffset, betIdLength, StandardCharsets.UTF_8), userIds[i],
+            dictionary.get(codes[i]), BigDecimal.valueOf(stake, 2), BigDecimal.valueOf(contribution, 2),
+            BigDecimal.valueOf(pool, 2), ColumnarContributionWriter.fromMicros(micros[i])));
+      }
+    }
+  }
+
+  private static long[] readDeltas(ColumnBuffer.Cursor column, int rows) {
+    long[] values = new long[rows];
+    long previous = 0;
+    for (int i = 0; i < rows; i++) {
+      previous += column.readSignedVarLong();
+      values[i] = previous;
+    }
+    return values;
+  }
+}
@@ -0,0 +1,247 @@
+package com.jackpot.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.jackpot.dto.ContributionView;
+
+/**
+ * Writes contributions column by column in blocks of rows, for archives that are mostly scanned.
+ * <ul>
+ *   <li>ids and creation times are stored as zigzag varint deltas from the previous row</li>
+ *   <li>jackpot ids are codes into a per-block dictionary</li>
+ *   <li>amounts are longs in minor units; pool values are deltas from the jackpot's previous row</li>
+ * </ul>
+ * Each column is deflated when that pays off. Blocks are {@code [length][crc][payload]}; the footer
+ * lists every block's offset and {@link BlockStats}, followed by its own offset and the magic number.
+ * Rows should be appended in id order, which keeps the deltas small.
+ */
+public final class ColumnarContributionWriter implements Closeable {
+
+  static final int MAGIC = 0x4A4B4341;
+  static final int VERSION = 1;
+  static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+  public static final int DEFAULT_BLOCK_ROWS = 65_536;
+
+  private final FileChannel channel;
+  private final DataOutputStream out;
+  private final int blockRows;
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final List<long[]> blockIndex = new ArrayList<>();
+  private final List<BlockStats> blockStats = new ArrayList<>();
+  private long position;
+  private long rowCount;
+
+  private final long[] ids;
+  private final long[] createdMicros;
+  private final int[] jackpotCodes;
+  private final long[] userIds;
+  private final String[] betIds;
+  private final long[] stakes;
+  private final long[] contributions;
+  private final long[] pools;
+  private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+  private int buffered;
+
+  public ColumnarContributionWriter(Path file) throws IOException {
+    this(file, DEFAULT_BLOCK_ROWS);
+  }
+
+  public ColumnarContributionWriter(Path file, int blockRows) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 256 * 1024));
+    this.blockRows = blockRows;
+    this.ids = new long[blockRows];
+    this.createdMicros = new long[blockRows];
+    this.jackpotCodes = new int[blockRows];
+    this.userIds = new long[blockRows];
+    this.betIds = new String[blockRows];
+    this.stakes = new long[blockRows];
+    this.contributions = new long[blockRows];
+    this.pools = new long[blockRows];
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    position = 2 * Integer.BYTES;
+  }
+
+  public void append(ContributionView row) throws IOException {
+    ids[buffered] = row.id();
+    createdMicros[buffered] = toMicros(row.createdAt());
+    jackpotCodes[buffered] = dictionary.computeIfAbsent(row.jackpotId(), id -> dictionary.size());
+    userIds[buffered] = row.userId();
+    betIds[buffered] = row.betId();
+    stakes[buffered] = toMinorUnits(row.stakeAmount());
+    contributions[buffered] = toMinorUnits(row.contributionAmount());
+    pools[buffered] = toMinorUnits(row.currentJackpotAmount());
+    rowCount++;
+    if (++buffered == blockRows) {
+      writeBlock();
+    }
+  }
+
+  public long rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Write the last block and the footer, and flush everything to disk
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      if (buffered > 0) {
+        writeBlock();
+      }
+      long footerOffset = position;
+      out.writeInt(blockStats.size());
+      for (int i = 0; i < blockStats.size(); i++) {
+        BlockStats stats = blockStats.get(i);
+        out.writeLong(blockIndex.get(i)[0]);
+        out.writeInt((int) blockIndex.get(i)[1]);
+        out.writeInt(stats.rowCount());
+        out.writeLong(stats.minId());
+        out.writeLong(stats.maxId());
+        out.writeLong(stats.minCreatedMicros());
+        out.writeLong(stats.maxCreatedMicros());
+        out.writeLong(stats.minUserId());
+        out.writeLong(stats.maxUserId());
+        out.writeInt(stats.jackpotIds().size());
+        for (String jackpotId : stats.jackpotIds()) {
+          out.writeUTF(jackpotId);
+        }
+      }
+      out.writeLong(footerOffset);
+      out.writeInt(MAGIC);
+      out.flush();
+      channel.force(true);
+    } finally {
+      deflater.end();
+      channel.close();
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    int rows = buffered;
+    long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE;
+    long minMicros = Long.MAX_VALUE, maxMicros = Long.MIN_VALUE;
+    long minUser = Long.MAX_VALUE, maxUser = Long.MIN_VALUE;
+    for (int i = 0; i < rows; i++) {
+      minId = Math.min(minId, ids[i]);
+      maxId = Math.max(maxId, ids[i]);
+      minMicros = Math.min(minMicros, createdMicros[i]);
+      maxMicros = Math.max(maxMicros, createdMicros[i]);
+      minUser = Math.min(minUser, userIds[i]);
+      maxUser = Math.max(maxUser, userIds[i]);
+    }
+
+    ColumnBuffer column = new ColumnBuffer(rows * 4);
+    ColumnBuffer payload = new ColumnBuffer(rows * 16);
+    payload.writeVarLong(rows);
+
+    writeDeltas(column, ids, rows);
+    payload.writeColumn(column, deflater);
+    writeDeltas(column, createdMicros, rows);
+    payload.writeColumn(column, deflater);
+
+    column.clear();
+    for (int i = 0; i < rows; i++) {
+      column.writeVarLong(jackpotCodes[i]);
+    }
+    payload.writeColumn(column, deflater);
+
+    column.clear();
+    for (int i = 0; i < rows; i++) {
+      column.writeSignedVarLong(userIds[i]);
+    }
+    payload.writeColumn(column, deflater);
+
+    column.clear();
+    for (int i = 0; i < rows; i++) {
+      byte[] betId = betIds[i].getBytes(StandardCharsets.UTF_8);
+      column.writeVarLong(betId.length);
+      column.writeBytes(betId);
+    }
+    payload.writeColumn(column, deflater);
+
+    column.clear();
+    for (int i = 0; i < rows; i++) {
+      column.writeSignedVarLong(stakes[i]);
+    }
+    payload.writeColumn(column, deflater);
+
+    column.clear();
+    for (int i = 0; i < rows; i++) {
+      column.writeSignedVarLong(contributions[i]);
+    }
+    payload.writeColumn(column, deflater);
+
+    // Consecutive rows of one jackpot differ by about one contribution
+    column.clear();
+    long[] previousPool = new long[dictionary.size()];
+    for (int i = 0; i < rows; i++) {
+      column.writeSignedVarLong(pools[i] - previousPool[jackpotCodes[i]]);
+      previousPool[jackpotCodes[i]] = pools[i];
+    }
+    payload.writeColumn(column, deflater);
+
+    byte[] bytes = payload.toByteArray();
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    out.writeInt(bytes.length);
+    out.writeInt((int) crc.getValue());
+    out.write(bytes);
+
+    blockIndex.add(new long[] {position, bytes.length});
+    blockStats.add(new BlockStats(rows, minId, maxId, minMicros, maxMicros, minUser, maxUser,
+        List.copyOf(dictionary.keySet())));
+    position += 2 * Integer.BYTES + bytes.length;
+    buffered = 0;
+    dictionary.clear();
+    for (int i = 0; i < rows; i++) {
+      betIds[i] = null;
+    }
+  }
+
+  private static void writeDeltas(ColumnBuffer column, long[] values, int rows) {
+    column.clear();
+    long previous = 0;
+    for (int i = 0; i < rows; i++) {
+      column.writeSignedVarLong(values[i] - previous);
+      previous = values[i];
+    }
+  }
+
+  static long toMicros(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1000;
+  }
+
+  static LocalDateTime fromMicros(long micros) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+        Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+  }
+
+  private static long toMinorUnits(BigDecimal amount) {
+    try {
+      return amount.movePointRight(2).longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Amount " + amount + " has more than two decimals", e);
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package com.jackpot.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jackpot.dto.ContributionDaySummary;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.ContributionArchive;
+import com.jackpot.repository.ContributionArchiveRepository;
+import com.jackpot.repository.ContributionRepository;
+
+/**
+ * Keeps the contributions table to a bounded window of recent days so its indexes, and with them insert
+ * latency, stop growing with history. Each older day is written to a columnar archive file, then cataloged
+ * and deleted in one transaction; if the rows deleted are not exactly the rows exported, the transaction
+ * is rolled back, the file discarded and the day retried on the next run.
+ */
+@Service
+public class ContributionArchiver {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContributionArchiver.class);
+
+  private final ContributionRepository contributionRepository;
+  private final ContributionArchiveRepository archiveRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readTemplate;
+  private final Path directory;
+  private final int hotDays;
+  private final boolean enabled;
+
+  public ContributionArchiver(ContributionRepository contributionRepository,
+      ContributionArchiveRepository archiveRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${jackpot.archive.dir:data/archive}") String directory,
+      @Value("${jackpot.archive.hot-days:30}") int hotDays,
+      @Value("${jackpot.archive.enabled:false}") boolean enabled) {
+    if (hotDays < 1) {
+      throw new IllegalArgumentException("jackpot.archive.hot-days must be at least 1");
+    }
+    this.contributionRepository = contributionRepository;
+    this.archiveRepository = archiveRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    this.directory = Paths.get(directory);
+    this.hotDays = hotDays;
+    this.enabled = enabled;
+  }
+
+  @Scheduled(cron = "${jackpot.archive.cron:0 30 3 * * *}")
+  public void scheduledArchive() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      archiveColdDays();
+    } catch (RuntimeException e) {
+      logger.warn("Contribution archival failed, retrying on the next run", e);
+    }
+  }
+
+  /**
+   * Archive every day older than the hot window, oldest first
+   *
+   * @return the days archived
+   */
+  public synchronized List<LocalDate> archiveColdDays() {
+    LocalDate cutoff = LocalDate.now().minusDays(hotDays);
+    List<LocalDate> archived = new ArrayList<>();
+    Optional<LocalDateTime> oldest;
+    while ((oldest = contributionRepository.findOldestCreatedAt()).isPresent()
+        && oldest.get().toLocalDate().isBefore(cutoff)) {
+      LocalDate day = oldest.get().toLocalDate();
+      archiveDay(day);
+      archived.add(day);
+    }
+    return archived;
+  }
+
+  void archiveDay(LocalDate day) {
+    long started = System.currentTimeMillis();
+    LocalDateTime from = day.atStartOfDay();
+    LocalDateTime to = from.plusDays(1);
+    // Rows arriving for a day after it was archived go to an additional part
+    long part = archiveRepository.countFilesByBucketDay(day);
+    String fileName = "contributions-" + day + (part == 0 ? "" : "-" + part) + ".col";
+    Path file = directory.resolve(fileName);
+
+    long exported = write(file, from, to);
+    try {
+      transactionTemplate.executeWithoutResult(status -> catalogAndDelete(day, fileName, from, to, exported));
+    } catch (RuntimeException e) {
+      deleteQuietly(file);
+      throw e;
+    }
+    logger.info("Archived {} contributions of {} to {} in {} ms", exported, day, fileName,
+        System.currentTimeMillis() - started);
+  }
+
+  private void catalogAndDelete(LocalDate day, String fileName, LocalDateTime from, LocalDateTime to, long exported) {
+    List<ContributionDaySummary> summaries = contributionRepository.summarizeCreatedBetween(from, to);
+    for (ContributionDaySummary summary : summaries) {
+      Contribution last = contributionRepository
+          .findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(summary.jackpotId(),
+              summary.lastCreatedAt())
+          .orElseThrow();
+      archiveRepository.save(new ContributionArchive(day, summary.jackpotId(), fileName, summary.rowCount(),
+          summary.firstCreatedAt(), last));
+    }
+    int deleted = contributionRepository.deleteCreatedBetween(from, to);
+    if (deleted != exported) {
+      throw new IllegalStateException("Contributions of " + day + " changed while archiving: exported "
+          + exported + ", deleting " + deleted);
+    }
+  }
+
+  private long write(Path file, LocalDateTime from, LocalDateTime to) {
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      Files.createDirectories(directory);
+      long rows;
+      // The writer flushes the file to disk on close
+      try (ColumnarContributionWriter writer = new ColumnarContributionWriter(tempFile)) {
+        readTemplate.executeWithoutResult(status -> {
+          try (Stream<ContributionView> views = contributionRepository.streamViewsCreatedBetween(from, to)) {
+            views.forEach(view -> append(writer, view));
+          }
+        });
+        rows = writer.rowCount();
+      }
+      Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      return rows;
+    } catch (IOException e) {
+      deleteQuietly(tempFile);
+      throw new UncheckedIOException("Cannot write contribution archive " + file, e);
+    } catch (RuntimeException e) {
+      deleteQuietly(tempFile);
+      throw e;
+    }
+  }
+
+  private static void append(ColumnarContributionWriter writer, ContributionView view) {
+    try {
+      writer.append(view);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("Cannot delete {}", file, e);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.jackpot.config;
+
+import com.jackpot.kafka.KafkaConsumer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking retries for {@code jackpot-bets}: a bet that fails is forwarded to
+ * {@code jackpot-bets-retry-0}, {@code -1}, ... with growing delays and, once its attempts are used up,
+ * to {@code jackpot-bets-dlt} with the exception in its headers. Records that can't be deserialized and
+ * bets that fail validation go to the dead-letter topic at once, since retrying can't fix them.
+ * Each retry topic waits out its delay on its own partitions, so the main topic keeps moving.
+ */
+@Configuration
+@EnableKafkaRetryTopic
+@ConditionalOnExpression("'${jackpot.engine:relational}' != 'streams' and '${jackpot.transport:kafka}' == 'kafka'")
+public class KafkaRetryConfig {
+
+    private DefaultKafkaProducerFactory<String, Object> retryProducerFactory;
+
+    @Bean
+    public RetryTopicConfiguration betRetryTopics(ProducerFactory<String, Object> producerFactory,
+                                                  @Value("${jackpot.bets.retry.attempts:4}") int attempts,
+                                                  @Value("${jackpot.bets.retry.initial-delay-ms:1000}") long initialDelay,
+                                                  @Value("${jackpot.bets.retry.multiplier:4.0}") double multiplier,
+                                                  @Value("${jackpot.bets.retry.max-delay-ms:60000}") long maxDelay,
+                                                  @Value("${jackpot.bets.retry.partitions:1}") int partitions,
+                                                  @Value("${jackpot.bets.retry.replicas:1}") short replicas) {
+        // Records that failed deserialization are forwarded as the raw bytes they arrived as
+        Map<Class<?>, Serializer<?>> serializers = new LinkedHashMap<>();
+        serializers.put(byte[].class, new ByteArraySerializer());
+        serializers.put(Object.class, new JsonSerializer<>());
+        retryProducerFactory = new DefaultKafkaProducerFactory<>(producerFactory.getConfigurationProperties(),
+                new StringSerializer(), new DelegatingByTypeSerializer(serializers, true));
+
+        return RetryTopicConfigurationBuilder.newInstance()
+                .maxAttempts(attempts)
+                .exponentialBackoff(initialDelay, multiplier, maxDelay)
+                .suffixTopicsWithIndexValues()
+                .notRetryOn(List.of(IllegalArgumentException.class))
+                .dltHandlerMethod("kafkaConsumer", "onDeadLetter")
+                .dltProcessingFailureStrategy(DltStrategy.FAIL_ON_ERROR)
+                .autoCreateTopicsWith(partitions, replicas)
+                .includeTopic(KafkaConsumer.TOPIC)
+                .create(new KafkaTemplate<>(retryProducerFactory));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (retryProducerFactory != null) {
+            retryProducerFactory.destroy();
+        }
+    }
+}
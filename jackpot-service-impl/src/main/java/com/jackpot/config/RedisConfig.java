@@ -1,9 +1,14 @@
 package com.jackpot.config;
 
+import com.jackpot.security.JwtSigningKeyCache;
+import com.jackpot.security.RedisJwtSecretManager;
+import com.jackpot.security.UserInvalidationBroadcaster;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -27,4 +32,21 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       JwtSigningKeyCache jwtSigningKeyCache,
+                                                                       UserInvalidationBroadcaster userInvalidationBroadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+
+        // Reload the cached JWT signing key as soon as any node rotates the secret
+        container.addMessageListener(jwtSigningKeyCache, new ChannelTopic(RedisJwtSecretManager.ROTATION_CHANNEL));
+
+        // Evict cached user details and apply token revocations made on other nodes
+        container.addMessageListener(userInvalidationBroadcaster,
+                new ChannelTopic(UserInvalidationBroadcaster.INVALIDATION_CHANNEL));
+
+        return container;
+    }
 }
\ No newline at end of file
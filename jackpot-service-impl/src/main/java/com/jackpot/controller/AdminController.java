@@ -0,0 +1,154 @@
+package com.jackpot.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.jackpot.archive.ContributionArchiver;
+import com.jackpot.export.ExportDataset;
+import com.jackpot.export.ExportFormat;
+import com.jackpot.export.ExportRequest;
+import com.jackpot.export.ExportService;
+import com.jackpot.kafka.DeadLetterReplayer;
+import com.jackpot.security.CustomUserDetailsService;
+import com.jackpot.service.ContributionRollupService;
+import com.jackpot.service.JackpotPoolStripes;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+  private final ExportService exportService;
+  private final ContributionRollupService rollupService;
+  private final ContributionArchiver contributionArchiver;
+  private final JackpotPoolStripes poolStripes;
+  private final DeadLetterReplayer deadLetterReplayer;
+  private final CustomUserDetailsService userDetailsService;
+
+  public AdminController(ExportService exportService, ContributionRollupService rollupService,
+      ContributionArchiver contributionArchiver, JackpotPoolStripes poolStripes,
+      DeadLetterReplayer deadLetterReplayer, CustomUserDetailsService userDetailsService) {
+    this.exportService = exportService;
+    this.rollupService = rollupService;
+    this.contributionArchiver = contributionArchiver;
+    this.poolStripes = poolStripes;
+    this.deadLetterReplayer = deadLetterReplayer;
+    this.userDetailsService = userDetailsService;
+  }
+
+  /**
+   * Download contributions or rewards as NDJSON or CSV, optionally gzipped
+   */
+  @GetMapping("/exports/{dataset}")
+  public ResponseEntity<?> export(
+      @PathVariable String dataset,
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(required = false) String jackpotId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(defaultValue = "false") boolean gzip) {
+
+    Optional<ExportDataset> exportDataset = ExportDataset.fromName(dataset);
+    Optional<ExportFormat> exportFormat = ExportFormat.fromName(format);
+    if (exportDataset.isEmpty() || exportFormat.isEmpty()) {
+      return ResponseEntity.badRequest().body("Unknown export dataset or format");
+    }
+
+    ExportRequest request = new ExportRequest(exportDataset.get(), exportFormat.get(), jackpotId, from, to, gzip);
+    // Reserve the slot up front so an overloaded exporter answers 429 instead of starting a download
+    ExportService.Permit permit = exportService.acquire();
+    StreamingResponseBody body = out -> {
+      try (permit) {
+        exportService.export(request, out);
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+            : MediaType.parseMediaType(request.format().getContentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(request.fileName()).build().toString())
+        .body(body);
+  }
+
+  /**
+   * Rebuild contribution rollups of every day before {@code before} (default today) from the contributions table
+   */
+  @PostMapping("/rollups/backfill")
+  public ResponseEntity<?> backfillRollups(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) {
+    LocalDate cutoff = before != null ? before : LocalDate.now();
+    try {
+      return ResponseEntity.ok(Map.of("before", cutoff.toString(), "buckets", rollupService.backfill(cutoff)));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * Move contribution days older than the hot window to archive files now instead of waiting for the schedule
+   */
+  @PostMapping("/archives/contributions")
+  public ResponseEntity<?> archiveContributions() {
+    List<String> days = contributionArchiver.archiveColdDays().stream().map(LocalDate::toString).toList();
+    return ResponseEntity.ok(Map.of("archivedDays", days));
+  }
+
+  /**
+   * Stripe a hot jackpot's pool across {@code count} rows so concurrent contributions stop queuing on one row lock
+   */
+  @PutMapping("/jackpots/{jackpotId}/pool-shards")
+  public ResponseEntity<?> setPoolShards(@PathVariable String jackpotId, @RequestParam int count) {
+    try {
+      return poolStripes.configure(jackpotId, count)
+          .<ResponseEntity<?>>map(jackpot -> ResponseEntity.ok(
+              Map.of("jackpotId", jackpot.getJackpotId(), "poolShards", jackpot.getPoolShards())))
+          .orElseGet(() -> ResponseEntity.notFound().build());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * Send up to {@code limit} dead-lettered bets back to {@code jackpot-bets}, at most {@code rate} per second
+   */
+  @PostMapping("/bets/dead-letters/replay")
+  public ResponseEntity<?> replayDeadLetters(@RequestParam(defaultValue = "1000") int limit,
+      @RequestParam(defaultValue = "50") int rate) {
+    try {
+      return ResponseEntity.ok(deadLetterReplayer.replay(limit, rate));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * Disable a user; their issued tokens are rejected on every node
+   */
+  @PostMapping("/users/{username}/disable")
+  public ResponseEntity<?> disableUser(@PathVariable String username) {
+    try {
+      userDetailsService.disableUser(username);
+      return ResponseEntity.noContent().build();
+    } catch (UsernameNotFoundException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+}
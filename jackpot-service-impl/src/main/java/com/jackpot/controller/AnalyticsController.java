@@ -0,0 +1,62 @@
+package com.jackpot.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jackpot.model.JackpotContributionRollup.Granularity;
+import com.jackpot.security.CustomUserDetails;
+import com.jackpot.service.ContributionRollupService;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+  private final ContributionRollupService rollupService;
+
+  public AnalyticsController(ContributionRollupService rollupService) {
+    this.rollupService = rollupService;
+  }
+
+  /**
+   * Hourly or daily contribution totals of a jackpot, read from the rollup buckets
+   */
+  @GetMapping("/jackpots/{jackpotId}")
+  public ResponseEntity<?> getJackpotAnalytics(
+      @PathVariable String jackpotId,
+      @RequestParam(defaultValue = "HOUR") Granularity granularity,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    try {
+      return ResponseEntity.ok(rollupService.getJackpotSummary(jackpotId, granularity, from, to));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * Daily contribution totals of the current user; without a range this covers the user's lifetime
+   */
+  @GetMapping("/users/me")
+  public ResponseEntity<?> getUserAnalytics(
+      @AuthenticationPrincipal CustomUserDetails userDetails,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    if (userDetails == null) {
+      throw new SecurityException("User not authenticated");
+    }
+    try {
+      return ResponseEntity.ok(rollupService.getUserSummary(userDetails.getUserId(), from, to));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+}
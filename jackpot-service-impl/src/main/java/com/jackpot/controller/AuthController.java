@@ -2,13 +2,18 @@ package com.jackpot.controller;
 
 import com.jackpot.dto.AuthRequest;
 import com.jackpot.dto.AuthResponse;
+import com.jackpot.dto.PasswordChangeRequest;
+import com.jackpot.security.CustomUserDetailsService;
 import com.jackpot.security.JwtUtil;
+import com.jackpot.security.LoginExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,30 +21,64 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final LoginExecutor loginExecutor;
     private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          UserDetailsService userDetailsService,
-                          JwtUtil jwtUtil) {
+                          LoginExecutor loginExecutor,
+                          JwtUtil jwtUtil,
+                          CustomUserDetailsService userDetailsService,
+                          PasswordEncoder passwordEncoder) {
         this.authenticationManager = authenticationManager;
-        this.userDetailsService = userDetailsService;
+        this.loginExecutor = loginExecutor;
         this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthRequest authRequest) {
+        final Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            // BCrypt verification runs on the bounded login pool, not on the request thread
+            authentication = loginExecutor.execute(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.username(), authRequest.password())
-            );
-        } catch (Exception e) {
+            ));
+        } catch (AuthenticationException e) {
             return ResponseEntity.badRequest().body("Incorrect username or password");
         }
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.username());
+        // The provider already loaded the user, no need to load it a second time
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         final String jwt = jwtUtil.generateToken(userDetails);
 
         return ResponseEntity.ok(new AuthResponse(jwt));
     }
-}
\ No newline at end of file
+
+    /**
+     * Change the password after verifying the current one; every token issued so far is revoked on all nodes
+     */
+    @PostMapping("/password")
+    public ResponseEntity<?> changePassword(@RequestBody PasswordChangeRequest request) {
+        if (request.newPassword() == null || request.newPassword().isBlank()) {
+            return ResponseEntity.badRequest().body("New password must not be blank");
+        }
+
+        final String encodedPassword;
+        try {
+            // Both the verification and the new hash are BCrypt work for the login pool
+            encodedPassword = loginExecutor.execute(() -> {
+                authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.username(), request.password()));
+                return passwordEncoder.encode(request.newPassword());
+            });
+        } catch (AuthenticationException e) {
+            return ResponseEntity.badRequest().body("Incorrect username or password");
+        }
+
+        userDetailsService.changePassword(request.username(), encodedPassword);
+        return ResponseEntity.noContent().build();
+    }
+}
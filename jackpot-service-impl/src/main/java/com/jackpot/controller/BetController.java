@@ -1,14 +1,18 @@
 package com.jackpot.controller;
 
+import com.jackpot.admission.BetAdmission;
 import com.jackpot.dto.BetRequest;
 import com.jackpot.dto.BetResponse;
-import com.jackpot.kafka.KafkaProducer;
+import com.jackpot.readmodel.ReadModel;
 import com.jackpot.security.CustomUserDetails;
 import com.jackpot.service.JackpotService;
+import com.jackpot.service.ViewSerializer;
+import com.jackpot.transport.BetTransport;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -21,12 +25,19 @@ public class BetController {
 
     private static final Logger logger = LoggerFactory.getLogger(BetController.class);
 
-    private final KafkaProducer kafkaProducer;
+    private final BetTransport betTransport;
     private final JackpotService jackpotService;
+    private final ViewSerializer viewSerializer;
+    private final ReadModel readModel;
+    private final BetAdmission betAdmission;
 
-    public BetController(KafkaProducer kafkaProducer, JackpotService jackpotService) {
-        this.kafkaProducer = kafkaProducer;
+    public BetController(BetTransport betTransport, JackpotService jackpotService, ViewSerializer viewSerializer,
+                         ReadModel readModel, BetAdmission betAdmission) {
+        this.betTransport = betTransport;
         this.jackpotService = jackpotService;
+        this.viewSerializer = viewSerializer;
+        this.readModel = readModel;
+        this.betAdmission = betAdmission;
     }
 
     @PostMapping
@@ -42,29 +53,36 @@ public class BetController {
         Long userId = userDetails.getUserId();
         logger.info("Extracted user ID from authentication: {}", userId);
 
+        // Turned away with 429 or 503 while bet processing is behind, before anything is sent
+        betAdmission.admit();
+
         try {
-            kafkaProducer.sendBet(betRequest, userId);
+            betTransport.sendBet(betRequest, userId);
             BetResponse response = new BetResponse(
                     betRequest.betId(),
                     "PROCESSED",
-                    "Bet successfully published to Kafka for processing"
+                    "Bet accepted for processing"
             );
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            logger.error("Failed to publish bet to Kafka: {}", betRequest.betId(), ex);
+            logger.error("Failed to accept bet for processing: {}", betRequest.betId(), ex);
             BetResponse response = new BetResponse(
                     betRequest.betId(),
                     "ERROR",
-                    "Failed to publish bet to Kafka: " + ex.getMessage()
+                    "Failed to accept bet for processing: " + ex.getMessage()
             );
             return ResponseEntity.internalServerError().body(response);
         }
     }
 
     @GetMapping("/{betId}/contribution")
-    public ResponseEntity<?> getContribution(@PathVariable String betId) {
-        return jackpotService.getContribution(betId)
-                .map(contribution -> ResponseEntity.ok(contribution))
+    public ResponseEntity<byte[]> getContribution(@PathVariable String betId) {
+        // Recent bets come from the read model; older or not yet projected ones from the table
+        return readModel.contribution(betId)
+                .or(() -> jackpotService.getContributionView(betId))
+                .map(contribution -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(viewSerializer.write(contribution)))
                 .orElse(ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.jackpot.controller;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,10 +15,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.HistoryPage;
+import com.jackpot.dto.PoolHistoryPoint;
+import com.jackpot.dto.PoolValueAt;
 import com.jackpot.dto.RewardResponse;
+import com.jackpot.dto.RewardView;
 import com.jackpot.model.Reward;
+import com.jackpot.readmodel.ReadModel;
+import com.jackpot.service.HistoryService;
 import com.jackpot.service.JackpotService;
+import com.jackpot.service.JackpotSnapshot;
+import com.jackpot.service.JackpotSnapshotCache;
+import com.jackpot.service.JackpotStreamBroadcaster;
+import com.jackpot.service.PoolHistoryService;
+import com.jackpot.service.RewardEvaluator;
+import com.jackpot.service.ViewSerializer;
 
 @RestController
 @RequestMapping("/api/jackpots")
@@ -23,9 +42,42 @@ public class JackpotController {
   private static final Logger logger = LoggerFactory.getLogger(JackpotController.class);
 
   private final JackpotService jackpotService;
+  private final RewardEvaluator rewardEvaluator;
+  private final JackpotSnapshotCache snapshotCache;
+  private final JackpotStreamBroadcaster streamBroadcaster;
+  private final HistoryService historyService;
+  private final PoolHistoryService poolHistoryService;
+  private final ViewSerializer viewSerializer;
+  private final ReadModel readModel;
 
-  public JackpotController(JackpotService jackpotService) {
+  public JackpotController(JackpotService jackpotService,
+      RewardEvaluator rewardEvaluator,
+      JackpotSnapshotCache snapshotCache,
+      JackpotStreamBroadcaster streamBroadcaster,
+      HistoryService historyService,
+      PoolHistoryService poolHistoryService,
+      ViewSerializer viewSerializer,
+      ReadModel readModel) {
     this.jackpotService = jackpotService;
+    this.rewardEvaluator = rewardEvaluator;
+    this.snapshotCache = snapshotCache;
+    this.streamBroadcaster = streamBroadcaster;
+    this.historyService = historyService;
+    this.poolHistoryService = poolHistoryService;
+    this.viewSerializer = viewSerializer;
+    this.readModel = readModel;
+  }
+
+  @GetMapping
+  public ResponseEntity<byte[]> getJackpots(WebRequest request) {
+    JackpotSnapshotCache.ListSnapshot snapshot = snapshotCache.getAll();
+    if (request.checkNotModified(snapshot.etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(snapshot.etag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(snapshot.body());
   }
 
   @PostMapping("/{jackpotId}/evaluate-reward")
@@ -36,7 +88,7 @@ public class JackpotController {
 
     logger.info("Evaluating reward for bet: {}, user: {}, jackpot: {}", betId, userId, jackpotId);
     try {
-      Optional<Reward> reward = jackpotService.evaluateReward(betId, userId, jackpotId);
+      Optional<Reward> reward = rewardEvaluator.evaluateReward(betId, userId, jackpotId);
 
       if (reward.isPresent()) {
         RewardResponse response = new RewardResponse(
@@ -71,16 +123,80 @@ public class JackpotController {
   }
 
   @GetMapping("/{jackpotId}")
-  public ResponseEntity<?> getJackpot(@PathVariable String jackpotId) {
-    return jackpotService.getJackpot(jackpotId)
-        .map(jackpot -> ResponseEntity.ok(jackpot))
+  public ResponseEntity<byte[]> getJackpot(@PathVariable String jackpotId, WebRequest request) {
+    Optional<JackpotSnapshot> snapshot = snapshotCache.get(jackpotId);
+    if (snapshot.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+
+    // Served from the pre-serialized snapshot; an unchanged version answers 304 without a body
+    if (request.checkNotModified(snapshot.get().etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(snapshot.get().etag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(snapshot.get().body());
+  }
+
+  /**
+   * Server-Sent Events: a {@code snapshot} event with the full jackpot, then {@code pool} events
+   * at most once per tick and a {@code win} event for every win
+   */
+  @GetMapping(path = "/{jackpotId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamJackpot(@PathVariable String jackpotId) {
+    return streamBroadcaster.subscribe(jackpotId)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Pool value as it was at {@code ts}, taken from the last contribution or win at or before it
+   */
+  @GetMapping("/{jackpotId}/pool-at")
+  public ResponseEntity<PoolValueAt> getPoolAt(
+      @PathVariable String jackpotId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts) {
+    return poolHistoryService.getPoolValueAt(jackpotId, ts)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Recent downsampled pool values for charts, served from memory
+   */
+  @GetMapping("/{jackpotId}/pool-history")
+  public ResponseEntity<List<PoolHistoryPoint>> getPoolHistory(
+      @PathVariable String jackpotId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+    return poolHistoryService.getRecentHistory(jackpotId, from)
+        .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
 
+  @GetMapping("/{jackpotId}/contributions")
+  public ResponseEntity<HistoryPage<ContributionView>> getContributions(
+      @PathVariable String jackpotId,
+      @RequestParam(required = false) Long before,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(historyService.getJackpotContributions(jackpotId, before, limit));
+  }
+
+  @GetMapping("/{jackpotId}/rewards")
+  public ResponseEntity<HistoryPage<RewardView>> getRewards(
+      @PathVariable String jackpotId,
+      @RequestParam(required = false) Long before,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(historyService.getJackpotRewards(jackpotId, before, limit));
+  }
+
   @GetMapping("/{jackpotId}/rewards/{betId}")
-  public ResponseEntity<?> getReward(@PathVariable String jackpotId, @PathVariable String betId) {
-    return jackpotService.getReward(betId)
-        .map(reward -> ResponseEntity.ok(reward))
+  public ResponseEntity<byte[]> getReward(@PathVariable String jackpotId, @PathVariable String betId) {
+    return readModel.reward(betId)
+        .or(() -> jackpotService.getRewardView(betId))
+        .map(reward -> ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(viewSerializer.write(reward)))
         .orElse(ResponseEntity.notFound().build());
   }
 }
\ No newline at end of file
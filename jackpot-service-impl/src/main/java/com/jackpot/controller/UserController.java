@@ -0,0 +1,43 @@
+package com.jackpot.controller;
+
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.HistoryPage;
+import com.jackpot.dto.RewardView;
+import com.jackpot.security.CustomUserDetails;
+import com.jackpot.service.HistoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users/me")
+public class UserController {
+
+    private final HistoryService historyService;
+
+    public UserController(HistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    @GetMapping("/contributions")
+    public ResponseEntity<HistoryPage<ContributionView>> getContributions(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        if (userDetails == null) {
+            throw new SecurityException("User not authenticated");
+        }
+        return ResponseEntity.ok(historyService.getUserContributions(userDetails.getUserId(), before, limit));
+    }
+
+    @GetMapping("/rewards")
+    public ResponseEntity<HistoryPage<RewardView>> getRewards(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        if (userDetails == null) {
+            throw new SecurityException("User not authenticated");
+        }
+        return ResponseEntity.ok(historyService.getUserRewards(userDetails.getUserId(), before, limit));
+    }
+}
@@ -0,0 +1,37 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.jackpot.model.Contribution;
+
+/**
+ * Outbound event of a committed contribution, also published in-process by the engines
+ */
+public record ContributionApplied(
+    Long id,
+    String betId,
+    Long userId,
+    String jackpotId,
+    BigDecimal stakeAmount,
+    BigDecimal contributionAmount,
+    BigDecimal poolAfter,
+    LocalDateTime createdAt
+) {
+    public static ContributionApplied of(Contribution contribution) {
+        return new ContributionApplied(
+            contribution.getId(),
+            contribution.getBetId(),
+            contribution.getUserId(),
+            contribution.getJackpotId(),
+            contribution.getStakeAmount(),
+            contribution.getContributionAmount(),
+            contribution.getCurrentJackpotAmount(),
+            contribution.getCreatedAt()
+        );
+    }
+
+    public ContributionView toView() {
+        return new ContributionView(id, betId, userId, jackpotId, stakeAmount, contributionAmount, poolAfter, createdAt);
+    }
+}
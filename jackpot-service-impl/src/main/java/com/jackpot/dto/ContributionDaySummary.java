@@ -0,0 +1,13 @@
+package com.jackpot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and time span of one jackpot's contributions within a range
+ */
+public record ContributionDaySummary(
+    String jackpotId,
+    Long rowCount,
+    LocalDateTime firstCreatedAt,
+    LocalDateTime lastCreatedAt
+) {}
@@ -0,0 +1,18 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of a contribution, fetched column by column without loading the entity
+ */
+public record ContributionView(
+    Long id,
+    String betId,
+    Long userId,
+    String jackpotId,
+    BigDecimal stakeAmount,
+    BigDecimal contributionAmount,
+    BigDecimal currentJackpotAmount,
+    LocalDateTime createdAt
+) {}
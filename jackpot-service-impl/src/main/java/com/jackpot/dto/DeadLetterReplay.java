@@ -0,0 +1,11 @@
+package com.jackpot.dto;
+
+/**
+ * Outcome of one dead-letter replay: records sent back to {@code jackpot-bets}, records passed over
+ * because they can never be deserialized, and records still waiting on the dead-letter topic
+ */
+public record DeadLetterReplay(
+    int replayed,
+    int skipped,
+    long remaining
+) {}
@@ -0,0 +1,11 @@
+package com.jackpot.dto;
+
+import java.util.List;
+
+/**
+ * One page of history, newest first; pass {@code nextCursor} as {@code before} to get the next page
+ */
+public record HistoryPage<T>(
+    List<T> items,
+    Long nextCursor
+) {}
@@ -0,0 +1,48 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+
+import com.jackpot.model.Jackpot;
+
+/**
+ * Public representation of a jackpot; leaves out the optimistic-locking version
+ */
+public record JackpotView(
+    Long id,
+    String jackpotId,
+    BigDecimal initialPoolValue,
+    BigDecimal currentPoolValue,
+    Jackpot.ContributionType contributionType,
+    BigDecimal fixedContributionPercentage,
+    BigDecimal variableContributionBasePercentage,
+    BigDecimal variableContributionDecayRate,
+    Jackpot.RewardType rewardType,
+    BigDecimal fixedRewardChance,
+    BigDecimal variableRewardBaseChance,
+    BigDecimal variableRewardIncrement,
+    BigDecimal variableRewardThreshold
+) {
+    public static JackpotView of(Jackpot jackpot) {
+        return new JackpotView(
+            jackpot.getId(),
+            jackpot.getJackpotId(),
+            jackpot.getInitialPoolValue(),
+            jackpot.getCurrentPoolValue(),
+            jackpot.getContributionType(),
+            jackpot.getFixedContributionPercentage(),
+            jackpot.getVariableContributionBasePercentage(),
+            jackpot.getVariableContributionDecayRate(),
+            jackpot.getRewardType(),
+            jackpot.getFixedRewardChance(),
+            jackpot.getVariableRewardBaseChance(),
+            jackpot.getVariableRewardIncrement(),
+            jackpot.getVariableRewardThreshold()
+        );
+    }
+
+    public JackpotView withCurrentPoolValue(BigDecimal poolValue) {
+        return new JackpotView(id, jackpotId, initialPoolValue, poolValue, contributionType,
+            fixedContributionPercentage, variableContributionBasePercentage, variableContributionDecayRate,
+            rewardType, fixedRewardChance, variableRewardBaseChance, variableRewardIncrement, variableRewardThreshold);
+    }
+}
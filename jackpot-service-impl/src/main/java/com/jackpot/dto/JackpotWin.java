@@ -0,0 +1,10 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+
+public record JackpotWin(
+    String jackpotId,
+    String betId,
+    Long userId,
+    BigDecimal rewardAmount
+) {}
@@ -0,0 +1,7 @@
+package com.jackpot.dto;
+
+public record PasswordChangeRequest(
+    String username,
+    String password,
+    String newPassword
+) {}
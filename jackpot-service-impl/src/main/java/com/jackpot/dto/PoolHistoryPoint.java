@@ -0,0 +1,14 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lowest, highest and last pool value seen during one downsampled interval
+ */
+public record PoolHistoryPoint(
+    LocalDateTime time,
+    BigDecimal low,
+    BigDecimal high,
+    BigDecimal close
+) {}
@@ -0,0 +1,11 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of a jackpot's pool shards and the number of contributions ever added to them
+ */
+public record PoolShardTotals(
+    BigDecimal amount,
+    Long updates
+) {}
@@ -0,0 +1,20 @@
+package com.jackpot.dto;
+
+import com.jackpot.model.Jackpot;
+
+/**
+ * Latest state of a jackpot on the compacted pool-state topic, enough to serve it without a database read
+ *
+ * @param revision pool revision, increasing with every pool change of the same row
+ * @param round wins so far
+ */
+public record PoolState(
+    String jackpotId,
+    long revision,
+    long round,
+    JackpotView jackpot
+) {
+    public static PoolState of(Jackpot jackpot) {
+        return new PoolState(jackpot.getJackpotId(), jackpot.getPoolRevision(), jackpot.getRound(), JackpotView.of(jackpot));
+    }
+}
@@ -0,0 +1,9 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+
+public record PoolUpdate(
+    String jackpotId,
+    BigDecimal currentPoolValue,
+    Long version
+) {}
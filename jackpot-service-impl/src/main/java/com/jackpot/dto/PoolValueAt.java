@@ -0,0 +1,20 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pool value of a jackpot at a point in time, with the change that set it;
+ * {@code observedAt} is null when the pool had not changed yet
+ */
+public record PoolValueAt(
+    String jackpotId,
+    LocalDateTime ts,
+    BigDecimal poolValue,
+    Source source,
+    LocalDateTime observedAt
+) {
+    public enum Source {
+        CONTRIBUTION, REWARD, INITIAL
+    }
+}
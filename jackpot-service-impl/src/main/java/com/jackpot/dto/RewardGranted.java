@@ -0,0 +1,33 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.jackpot.model.Reward;
+
+/**
+ * Outbound event of a committed jackpot win
+ */
+public record RewardGranted(
+    Long id,
+    String betId,
+    Long userId,
+    String jackpotId,
+    BigDecimal rewardAmount,
+    LocalDateTime createdAt
+) {
+    public static RewardGranted of(Reward reward) {
+        return new RewardGranted(
+            reward.getId(),
+            reward.getBetId(),
+            reward.getUserId(),
+            reward.getJackpotId(),
+            reward.getJackpotRewardAmount(),
+            reward.getCreatedAt()
+        );
+    }
+
+    public RewardView toView() {
+        return new RewardView(id, betId, userId, jackpotId, rewardAmount, createdAt);
+    }
+}
@@ -0,0 +1,16 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of a reward, fetched column by column without loading the entity
+ */
+public record RewardView(
+    Long id,
+    String betId,
+    Long userId,
+    String jackpotId,
+    BigDecimal jackpotRewardAmount,
+    LocalDateTime createdAt
+) {}
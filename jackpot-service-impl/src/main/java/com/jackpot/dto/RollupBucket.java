@@ -0,0 +1,14 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Contribution totals of one hour or day bucket
+ */
+public record RollupBucket(
+    LocalDateTime bucketStart,
+    long betCount,
+    BigDecimal stakeTotal,
+    BigDecimal contributionTotal
+) {}
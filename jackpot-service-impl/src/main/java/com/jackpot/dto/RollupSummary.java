@@ -0,0 +1,27 @@
+package com.jackpot.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Contribution totals over a range of buckets, along with the buckets themselves
+ */
+public record RollupSummary(
+    String granularity,
+    long betCount,
+    BigDecimal stakeTotal,
+    BigDecimal contributionTotal,
+    List<RollupBucket> buckets
+) {
+    public static RollupSummary of(String granularity, List<RollupBucket> buckets) {
+        long betCount = 0;
+        BigDecimal stakeTotal = BigDecimal.ZERO;
+        BigDecimal contributionTotal = BigDecimal.ZERO;
+        for (RollupBucket bucket : buckets) {
+            betCount += bucket.betCount();
+            stakeTotal = stakeTotal.add(bucket.stakeTotal());
+            contributionTotal = contributionTotal.add(bucket.contributionTotal());
+        }
+        return new RollupSummary(granularity, betCount, stakeTotal, contributionTotal, buckets);
+    }
+}
@@ -0,0 +1,27 @@
+package com.jackpot.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is shed because the service is at capacity.
+ * Mapped to the given status (429 or 503) with a Retry-After header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
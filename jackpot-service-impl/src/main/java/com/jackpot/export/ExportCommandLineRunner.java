@@ -0,0 +1,85 @@
+package com.jackpot.export;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-shot export from the command line, e.g.
+ * {@code java -jar jackpot-service.jar --jackpot.export.cli.output=/tmp/contributions.ndjson.gz
+ * --jackpot.export.cli.dataset=contributions --jackpot.export.cli.from=2024-01-01T00:00:00}.
+ * The output is gzipped when the file name ends in {@code .gz}; the application exits when done.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.export.cli.output")
+public class ExportCommandLineRunner implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExportCommandLineRunner.class);
+
+  private final ExportService exportService;
+  private final ConfigurableApplicationContext context;
+  private final String output;
+  private final String dataset;
+  private final String format;
+  private final String jackpotId;
+  private final String from;
+  private final String to;
+
+  public ExportCommandLineRunner(ExportService exportService,
+      ConfigurableApplicationContext context,
+      @Value("${jackpot.export.cli.output}") String output,
+      @Value("${jackpot.export.cli.dataset:contributions}") String dataset,
+      @Value("${jackpot.export.cli.format:ndjson}") String format,
+      @Value("${jackpot.export.cli.jackpot-id:#{null}}") String jackpotId,
+      @Value("${jackpot.export.cli.from:#{null}}") String from,
+      @Value("${jackpot.export.cli.to:#{null}}") String to) {
+    this.exportService = exportService;
+    this.context = context;
+    this.output = output;
+    this.dataset = dataset;
+    this.format = format;
+    this.jackpotId = jackpotId;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    ExportRequest request = new ExportRequest(
+        ExportDataset.fromName(dataset)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown export dataset: " + dataset)),
+        ExportFormat.fromName(format)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown export format: " + format)),
+        jackpotId,
+        from == null ? null : LocalDateTime.parse(from),
+        to == null ? null : LocalDateTime.parse(to),
+        output.endsWith(".gz"));
+
+    int exitCode = 0;
+    ExportService.Permit permit = exportService.acquire();
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(output)))) {
+      long rows = exportService.export(request, out);
+      logger.info("Wrote {} rows to {}", rows, output);
+    } catch (Exception e) {
+      logger.error("Export to {} failed", output, e);
+      exitCode = 1;
+    } finally {
+      permit.close();
+    }
+
+    int code = exitCode;
+    System.exit(SpringApplication.exit(context, () -> code));
+  }
+}
@@ -0,0 +1,58 @@
+package com.jackpot.export;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Exportable tables and the columns written for each, in output order
+ */
+public enum ExportDataset {
+  CONTRIBUTIONS("contributions", List.of(
+      new Column("id", "id", ColumnType.LONG),
+      new Column("bet_id", "betId", ColumnType.STRING),
+      new Column("user_id", "userId", ColumnType.LONG),
+      new Column("jackpot_id", "jackpotId", ColumnType.STRING),
+      new Column("stake_amount", "stakeAmount", ColumnType.DECIMAL),
+      new Column("contribution_amount", "contributionAmount", ColumnType.DECIMAL),
+      new Column("current_jackpot_amount", "currentJackpotAmount", ColumnType.DECIMAL),
+      new Column("created_at", "createdAt", ColumnType.TIMESTAMP))),
+  REWARDS("rewards", List.of(
+      new Column("id", "id", ColumnType.LONG),
+      new Column("bet_id", "betId", ColumnType.STRING),
+      new Column("user_id", "userId", ColumnType.LONG),
+      new Column("jackpot_id", "jackpotId", ColumnType.STRING),
+      new Column("jackpot_reward_amount", "jackpotRewardAmount", ColumnType.DECIMAL),
+      new Column("created_at", "createdAt", ColumnType.TIMESTAMP)));
+
+  public enum ColumnType {
+    LONG, STRING, DECIMAL, TIMESTAMP
+  }
+
+  public record Column(String name, String field, ColumnType type) {
+  }
+
+  private final String table;
+  private final List<Column> columns;
+
+  ExportDataset(String table, List<Column> columns) {
+    this.table = table;
+    this.columns = columns;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public List<Column> getColumns() {
+    return columns;
+  }
+
+  public static Optional<ExportDataset> fromName(String name) {
+    try {
+      return Optional.of(valueOf(name.toUpperCase(Locale.ROOT)));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.jackpot.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param jackpotId optional jackpot filter
+ * @param from      optional inclusive lower bound on created_at
+ * @param to        optional exclusive upper bound on created_at
+ */
+public record ExportRequest(
+    ExportDataset dataset,
+    ExportFormat format,
+    String jackpotId,
+    LocalDateTime from,
+    LocalDateTime to,
+    boolean gzip
+) {
+
+  public String fileName() {
+    return dataset.getTable() + "." + format.getExtension() + (gzip ? ".gz" : "");
+  }
+}
@@ -0,0 +1,264 @@
+package com.jackpot.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.exception.ServiceOverloadedException;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Streams contributions and rewards as NDJSON or CSV straight from a forward-only JDBC cursor.
+ * Rows are written as they are read, so heap use does not depend on the number of rows exported.
+ * Exports run on their own small read-only connection pool and are capped in number, so a long
+ * export never takes connections from the contribution path.
+ */
+@Service
+public class ExportService implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final DataSource dataSource;
+  private final ObjectMapper objectMapper;
+  private final Semaphore permits;
+  private final int fetchSize;
+
+  @Autowired
+  public ExportService(DataSourceProperties dataSourceProperties,
+      ObjectMapper objectMapper,
+      @Value("${jackpot.export.max-concurrent:2}") int maxConcurrent,
+      @Value("${jackpot.export.fetch-size:1000}") int fetchSize) {
+    this(createPool(dataSourceProperties, maxConcurrent), objectMapper, maxConcurrent, fetchSize);
+  }
+
+  ExportService(DataSource dataSource, ObjectMapper objectMapper, int maxConcurrent, int fetchSize) {
+    this.dataSource = dataSource;
+    this.objectMapper = objectMapper;
+    this.permits = new Semaphore(maxConcurrent);
+    this.fetchSize = fetchSize;
+  }
+
+  private static HikariDataSource createPool(DataSourceProperties dataSourceProperties, int maxConcurrent) {
+    // Same database as the application, but never competing for the primary pool's connections
+    HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    pool.setPoolName("export");
+    pool.setMaximumPoolSize(maxConcurrent);
+    pool.setMinimumIdle(0);
+    pool.setReadOnly(true);
+    return pool;
+  }
+
+  /**
+   * Reserve an export slot; fails fast with 429 when the configured number of exports is already running
+   */
+  public Permit acquire() {
+    if (!permits.tryAcquire()) {
+      throw new ServiceOverloadedException("Too many exports in progress, please retry later",
+          HttpStatus.TOO_MANY_REQUESTS, 30);
+    }
+    return new Permit();
+  }
+
+  /**
+   * Slot held for the duration of one export
+   */
+  public final class Permit implements AutoCloseable {
+    private boolean released;
+
+    private Permit() {
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!released) {
+        released = true;
+        permits.release();
+      }
+    }
+  }
+
+  /**
+   * Write every matching row to the stream; the stream is not closed
+   *
+   * @return the number of rows written
+   */
+  public long export(ExportRequest request, OutputStream out) throws IOException {
+    long started = System.currentTimeMillis();
+    GZIPOutputStream gzip = request.gzip() ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+    Writer writer = new BufferedWriter(
+        new OutputStreamWriter(gzip != null ? gzip : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+    long rows;
+    try (Connection connection = dataSource.getConnection()) {
+      // Drivers such as PostgreSQL only honour the fetch size with auto-commit off
+      connection.setAutoCommit(false);
+      try (PreparedStatement statement = prepare(connection, request);
+           ResultSet resultSet = statement.executeQuery()) {
+        rows = request.format() == ExportFormat.CSV
+            ? writeCsv(request.dataset(), resultSet, writer)
+            : writeNdjson(request.dataset(), resultSet, writer);
+      } finally {
+        connection.rollback();
+      }
+    } catch (SQLException e) {
+      throw new IOException("Export of " + request.dataset().getTable() + " failed", e);
+    }
+
+    writer.flush();
+    if (gzip != null) {
+      gzip.finish();
+    }
+    logger.info("Exported {} {} rows as {} in {} ms", rows, request.dataset().getTable(), request.format(),
+        System.currentTimeMillis() - started);
+    return rows;
+  }
+
+  @Override
+  public void destroy() {
+    if (dataSource instanceof HikariDataSource pool) {
+      pool.close();
+    }
+  }
+
+  private PreparedStatement prepare(Connection connection, ExportRequest request) throws SQLException {
+    StringJoiner columns = new StringJoiner(", ");
+    request.dataset().getColumns().forEach(column -> columns.add(column.name()));
+
+    List<Object> parameters = new ArrayList<>();
+    StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+    if (request.jackpotId() != null) {
+      where.add("jackpot_id = ?");
+      parameters.add(request.jackpotId());
+    }
+    if (request.from() != null) {
+      where.add("created_at >= ?");
+      parameters.add(Timestamp.valueOf(request.from()));
+    }
+    if (request.to() != null) {
+      where.add("created_at < ?");
+      parameters.add(Timestamp.valueOf(request.to()));
+    }
+
+    String sql = "SELECT " + columns + " FROM " + request.dataset().getTable() + where + " ORDER BY id";
+    PreparedStatement statement = connection.prepareStatement(sql,
+        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    statement.setFetchSize(fetchSize);
+    for (int i = 0; i < parameters.size(); i++) {
+      statement.setObject(i + 1, parameters.get(i));
+    }
+    return statement;
+  }
+
+  private long writeNdjson(ExportDataset dataset, ResultSet resultSet, Writer writer)
+      throws IOException, SQLException {
+    List<ExportDataset.Column> columns = dataset.getColumns();
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+    generator.setRootValueSeparator(null);
+
+    long rows = 0;
+    while (resultSet.next()) {
+      generator.writeStartObject();
+      for (int i = 0; i < columns.size(); i++) {
+        ExportDataset.Column column = columns.get(i);
+        generator.writeFieldName(column.field());
+        switch (column.type()) {
+          case LONG -> {
+            long value = resultSet.getLong(i + 1);
+            if (resultSet.wasNull()) {
+              generator.writeNull();
+            } else {
+              generator.writeNumber(value);
+            }
+          }
+          case DECIMAL -> generator.writeNumber(resultSet.getBigDecimal(i + 1));
+          case TIMESTAMP -> {
+            Timestamp value = resultSet.getTimestamp(i + 1);
+            generator.writeString(value == null ? null : value.toLocalDateTime().toString());
+          }
+          default -> generator.writeString(resultSet.getString(i + 1));
+        }
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+      rows++;
+    }
+    generator.flush();
+    return rows;
+  }
+
+  private long writeCsv(ExportDataset dataset, ResultSet resultSet, Writer writer)
+      throws IOException, SQLException {
+    List<ExportDataset.Column> columns = dataset.getColumns();
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(columns.get(i).name());
+    }
+    writer.write('\n');
+
+    long rows = 0;
+    while (resultSet.next()) {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        String value = columns.get(i).type() == ExportDataset.ColumnType.TIMESTAMP
+            ? timestampText(resultSet.getTimestamp(i + 1))
+            : resultSet.getString(i + 1);
+        writeCsvValue(writer, value);
+      }
+      writer.write('\n');
+      rows++;
+    }
+    return rows;
+  }
+
+  private static String timestampText(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+  }
+
+  private static void writeCsvValue(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
@@ -0,0 +1,131 @@
+package com.jackpot.kafka;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.admission.ConnectionPoolMonitor;
+
+/**
+ * Pauses the bet listener, with its retry and dead-letter listeners, while the database pool is
+ * saturated, so the listener stops fetching bets that would only queue for a connection. Paused
+ * containers keep polling without fetching, so the consumer stays in the group and no rebalance
+ * follows from {@code max.poll.interval.ms} running out. The pool counts as saturated when the
+ * share of connections in use or the mean time to acquire one crosses its pause threshold. The
+ * listener resumes only once both have fallen below the lower resume thresholds and it has been
+ * paused for a minimum time, so it doesn't flap around one threshold. Bets already fetched when the
+ * pause is requested are still applied.
+ */
+@Component
+@ConditionalOnExpression("'${jackpot.engine:relational}' != 'streams' and '${jackpot.transport:kafka}' == 'kafka'")
+public class BetListenerBackpressure {
+
+  private static final Logger logger = LoggerFactory.getLogger(BetListenerBackpressure.class);
+
+  private final KafkaListenerEndpointRegistry registry;
+  private final ConnectionPoolMonitor poolMonitor;
+  private final boolean enabled;
+  private final double pauseActiveRatio;
+  private final double resumeActiveRatio;
+  private final double pauseAcquireMillis;
+  private final double resumeAcquireMillis;
+  private final long minPauseMillis;
+  private final Counter pauses;
+  private volatile boolean paused;
+  private long pausedAt;
+  private long lastSampled;
+  private long lastAcquireCount;
+  private double lastAcquireMillis;
+
+  public BetListenerBackpressure(KafkaListenerEndpointRegistry registry,
+      ConnectionPoolMonitor poolMonitor,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.backpressure.enabled:true}") boolean enabled,
+      @Value("${jackpot.backpressure.pause.active-ratio:0.9}") double pauseActiveRatio,
+      @Value("${jackpot.backpressure.resume.active-ratio:0.6}") double resumeActiveRatio,
+      @Value("${jackpot.backpressure.pause.acquire-ms:50}") double pauseAcquireMillis,
+      @Value("${jackpot.backpressure.resume.acquire-ms:5}") double resumeAcquireMillis,
+      @Value("${jackpot.backpressure.min-pause-ms:1000}") long minPauseMillis) {
+    if (resumeActiveRatio >= pauseActiveRatio || resumeAcquireMillis >= pauseAcquireMillis) {
+      throw new IllegalArgumentException("Backpressure resume thresholds must be below the pause thresholds");
+    }
+    this.registry = registry;
+    this.poolMonitor = poolMonitor;
+    this.enabled = enabled;
+    this.pauseActiveRatio = pauseActiveRatio;
+    this.resumeActiveRatio = resumeActiveRatio;
+    this.pauseAcquireMillis = pauseAcquireMillis;
+    this.resumeAcquireMillis = resumeAcquireMillis;
+    this.minPauseMillis = minPauseMillis;
+    this.pauses = Counter.builder("jackpot.bets.listener.pauses")
+        .description("Times the bet listener was paused for a saturated database pool")
+        .register(meterRegistry);
+    Gauge.builder("jackpot.bets.listener.paused", this, backpressure -> backpressure.paused ? 1 : 0)
+        .description("1 while the bet listener is paused for a saturated database pool")
+        .register(meterRegistry);
+  }
+
+  public boolean isPaused() {
+    return paused;
+  }
+
+  @Scheduled(fixedDelayString = "${jackpot.backpressure.sample-interval-ms:250}")
+  public synchronized void sample() {
+    if (!enabled) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    double activeRatio = poolMonitor.activeRatio();
+    double acquireMillis = recentAcquireMillis(now);
+    if (!paused && (activeRatio >= pauseActiveRatio || acquireMillis >= pauseAcquireMillis)) {
+      containers().forEach(MessageListenerContainer::pause);
+      paused = true;
+      pausedAt = now;
+      pauses.increment();
+      logger.warn("Paused the bet listener: {}% of database connections in use, {} ms to acquire one",
+          Math.round(activeRatio * 100), Math.round(acquireMillis));
+    } else if (paused && activeRatio <= resumeActiveRatio && acquireMillis <= resumeAcquireMillis
+        && now - pausedAt >= minPauseMillis) {
+      containers().forEach(MessageListenerContainer::resume);
+      paused = false;
+      logger.info("Resumed the bet listener after {} ms", now - pausedAt);
+    }
+  }
+
+  /**
+   * Mean time to acquire a connection since the last sample. With none acquired while threads wait,
+   * they have waited at least that long.
+   */
+  private double recentAcquireMillis(long now) {
+    long count = poolMonitor.acquireCount();
+    double total = poolMonitor.acquireMillis();
+    double mean;
+    if (count > lastAcquireCount) {
+      mean = (total - lastAcquireMillis) / (count - lastAcquireCount);
+    } else {
+      mean = poolMonitor.pending() > 0 && lastSampled > 0 ? now - lastSampled : 0;
+    }
+    lastSampled = now;
+    lastAcquireCount = count;
+    lastAcquireMillis = total;
+    return mean;
+  }
+
+  private List<MessageListenerContainer> containers() {
+    // The retry topics' containers are registered under ids derived from the listener's
+    return registry.getListenerContainers().stream()
+        .filter(container -> container.getListenerId() != null
+            && container.getListenerId().startsWith(KafkaConsumer.LISTENER_ID))
+        .toList();
+  }
+}
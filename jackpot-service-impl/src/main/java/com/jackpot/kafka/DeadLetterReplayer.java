@@ -0,0 +1,190 @@
+package com.jackpot.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.DeadLetterReplay;
+import com.jackpot.exception.ServiceOverloadedException;
+
+/**
+ * Re-injects records from {@code jackpot-bets-dlt} into {@code jackpot-bets} at a bounded rate, once
+ * whatever failed them has been fixed. Records are copied as raw bytes with their original key and
+ * headers, minus the dead-letter and retry headers, so they start over with a full set of attempts.
+ * Progress is committed under the {@code jackpot-dlt-replay} group after each batch, so the next
+ * replay continues where the last one stopped; a replay that fails mid-batch may send some records
+ * of that batch twice. Records that failed deserialization are skipped, since they would only fail again.
+ */
+@Component
+public class DeadLetterReplayer {
+
+  static final String GROUP_ID = "jackpot-dlt-replay";
+  private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayer.class);
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final List<String> STRIPPED_HEADER_PREFIXES = List.of("kafka_exception-", "kafka_key-exception-",
+      "kafka_original-", "kafka_dlt-", "retry_topic-");
+
+  private final ConsumerFactory<String, Object> consumerFactory;
+  private final ProducerFactory<String, Object> producerFactory;
+  private final int maxRecords;
+  private final int maxRate;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public DeadLetterReplayer(ConsumerFactory<String, Object> consumerFactory,
+      ProducerFactory<String, Object> producerFactory,
+      @Value("${jackpot.bets.dlt-replay.max-records:10000}") int maxRecords,
+      @Value("${jackpot.bets.dlt-replay.max-rate:500}") int maxRate) {
+    this.consumerFactory = consumerFactory;
+    this.producerFactory = producerFactory;
+    this.maxRecords = maxRecords;
+    this.maxRate = maxRate;
+  }
+
+  /**
+   * Replay up to {@code limit} records at no more than {@code ratePerSecond}
+   */
+  public DeadLetterReplay replay(int limit, int ratePerSecond) {
+    if (limit < 1 || limit > maxRecords) {
+      throw new IllegalArgumentException("limit must be between 1 and " + maxRecords);
+    }
+    if (ratePerSecond < 1 || ratePerSecond > maxRate) {
+      throw new IllegalArgumentException("rate must be between 1 and " + maxRate + " records per second");
+    }
+    if (!running.compareAndSet(false, true)) {
+      throw new ServiceOverloadedException("A dead-letter replay is already running", HttpStatus.TOO_MANY_REQUESTS, 5);
+    }
+    try {
+      return doReplay(limit, ratePerSecond);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private DeadLetterReplay doReplay(int limit, int ratePerSecond) {
+    Map<String, Object> consumerProps = new HashMap<>(consumerFactory.getConfigurationProperties());
+    consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, GROUP_ID);
+    consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(limit, 500));
+    DefaultKafkaProducerFactory<byte[], byte[]> bytesProducerFactory = new DefaultKafkaProducerFactory<>(
+        producerFactory.getConfigurationProperties(), new ByteArraySerializer(), new ByteArraySerializer());
+    long intervalNanos = 1_000_000_000L / ratePerSecond;
+    int replayed = 0;
+    int skipped = 0;
+
+    try (Consumer<byte[], byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+        new ByteArrayDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        Producer<byte[], byte[]> producer = bytesProducerFactory.createProducer()) {
+      List<PartitionInfo> partitionInfos = consumer.partitionsFor(KafkaConsumer.DLT_TOPIC, TIMEOUT);
+      if (partitionInfos == null || partitionInfos.isEmpty()) {
+        return new DeadLetterReplay(0, 0, 0);
+      }
+      List<TopicPartition> partitions = partitionInfos.stream()
+          .map(info -> new TopicPartition(info.topic(), info.partition()))
+          .toList();
+      // Assigned rather than subscribed: no group rebalance, and the end is fixed when the replay starts
+      consumer.assign(partitions);
+      Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, TIMEOUT);
+      Map<TopicPartition, Long> next = new HashMap<>();
+      for (TopicPartition partition : partitions) {
+        next.put(partition, consumer.position(partition, TIMEOUT));
+      }
+
+      long due = System.nanoTime();
+      while (replayed + skipped < limit && remaining(next, endOffsets) > 0) {
+        ConsumerRecords<byte[], byte[]> records = consumer.poll(Duration.ofMillis(500));
+        Map<TopicPartition, OffsetAndMetadata> processed = new HashMap<>();
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+          TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+          if (replayed + skipped >= limit || record.offset() >= endOffsets.get(partition)) {
+            break;
+          }
+          if (undeserializable(record)) {
+            skipped++;
+          } else {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+              LockSupport.parkNanos(wait);
+            }
+            due = Math.max(due, System.nanoTime() - intervalNanos) + intervalNanos;
+            producer.send(new ProducerRecord<>(KafkaConsumer.TOPIC, null, record.key(), record.value(),
+                replayHeaders(record))).get();
+            replayed++;
+          }
+          processed.put(partition, new OffsetAndMetadata(record.offset() + 1));
+          next.put(partition, record.offset() + 1);
+        }
+        if (!processed.isEmpty()) {
+          consumer.commitSync(processed);
+        }
+        // Records polled past the limit are read again by the next replay
+        processed.forEach((partition, offset) -> consumer.seek(partition, offset.offset()));
+      }
+      long remaining = remaining(next, endOffsets);
+      logger.info("Replayed {} dead-lettered bet(s), skipped {}, {} left", replayed, skipped, remaining);
+      return new DeadLetterReplay(replayed, skipped, remaining);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to replay dead-lettered bet", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Dead-letter replay interrupted", e);
+    } finally {
+      bytesProducerFactory.destroy();
+    }
+  }
+
+  private static long remaining(Map<TopicPartition, Long> next, Map<TopicPartition, Long> endOffsets) {
+    return endOffsets.entrySet().stream()
+        .mapToLong(end -> Math.max(0, end.getValue() - next.getOrDefault(end.getKey(), end.getValue())))
+        .sum();
+  }
+
+  private static boolean undeserializable(ConsumerRecord<byte[], byte[]> record) {
+    return mentionsDeserialization(record.headers().lastHeader(KafkaHeaders.EXCEPTION_FQCN))
+        || mentionsDeserialization(record.headers().lastHeader(KafkaHeaders.EXCEPTION_CAUSE_FQCN));
+  }
+
+  private static boolean mentionsDeserialization(Header header) {
+    return header != null && new String(header.value(), StandardCharsets.UTF_8).endsWith("DeserializationException");
+  }
+
+  private static RecordHeaders replayHeaders(ConsumerRecord<byte[], byte[]> record) {
+    RecordHeaders headers = new RecordHeaders();
+    for (Header header : record.headers()) {
+      // Failure details and retry attempts would send the record straight back to the dead-letter topic
+      if (STRIPPED_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+        headers.add(header);
+      }
+    }
+    return headers;
+  }
+}
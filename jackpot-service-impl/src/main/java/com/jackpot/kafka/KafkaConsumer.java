@@ -1,62 +1,98 @@
 package com.jackpot.kafka;
 
+import java.nio.charset.StandardCharsets;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import com.jackpot.dto.BetRequest;
-import com.jackpot.service.JackpotService;
-
+import com.jackpot.service.JackpotEngine;
+
+/**
+ * Applies bets from {@code jackpot-bets} through the configured {@link JackpotEngine}; the streams
+ * engine consumes the topic itself and the ring-buffer transport does without it, so this listener is
+ * not created with either. A bet that fails is rethrown to the container, which moves it on to the
+ * retry topics and finally to {@code jackpot-bets-dlt} (see {@link com.jackpot.config.KafkaRetryConfig}),
+ * so the partition never waits on it.
+ */
 @Component
+@ConditionalOnExpression("'${jackpot.engine:relational}' != 'streams' and '${jackpot.transport:kafka}' == 'kafka'")
 public class KafkaConsumer {
 
+  public static final String TOPIC = "jackpot-bets";
+  public static final String DLT_TOPIC = TOPIC + "-dlt";
+  public static final String LISTENER_ID = "jackpot-bets-listener";
   private static final Logger logger = LoggerFactory.getLogger(KafkaConsumer.class);
 
-  private final JackpotService jackpotService;
+  private final JackpotEngine jackpotEngine;
+  private final MeterRegistry meterRegistry;
 
-  public KafkaConsumer(JackpotService jackpotService) {
-    this.jackpotService = jackpotService;
+  public KafkaConsumer(JackpotEngine jackpotEngine, MeterRegistry meterRegistry) {
+    this.jackpotEngine = jackpotEngine;
+    this.meterRegistry = meterRegistry;
   }
 
-  @KafkaListener(topics = "jackpot-bets", groupId = "jackpot-service-group")
+  @KafkaListener(id = LISTENER_ID, topics = TOPIC, groupId = "jackpot-service-group")
   public void consumeBet(BetRequest betRequest, @Header(KafkaHeaders.RECEIVED_KEY) String key) {
-    try {
-      if (betRequest == null) {
-        logger.warn("Received null bet request from Kafka - skipping processing");
-        return;
-      }
+    if (betRequest == null) {
+      logger.warn("Received null bet request from Kafka - skipping processing");
+      return;
+    }
 
-      logger.info("Received bet from Kafka with key '{}': {}", key, betRequest);
+    logger.info("Received bet from Kafka with key '{}': {}", key, betRequest);
 
-      // Extract userId from the composite key (format: userId-betId)
-      Long userId = extractUserIdFromKey(key, betRequest.betId());
+    // Extract userId from the composite key (format: userId-betId)
+    Long userId = extractUserIdFromKey(key, betRequest.betId());
 
-      // Process the bet contribution
-      jackpotService.processContribution(
-          betRequest.betId(),
-          userId,
-          betRequest.jackpotId(),
-          betRequest.betAmount()
-      );
+    // Process the bet contribution; failures go back to the container for retry or dead-lettering
+    jackpotEngine.processContribution(
+        betRequest.betId(),
+        userId,
+        betRequest.jackpotId(),
+        betRequest.betAmount()
+    );
 
-      logger.info("Successfully processed bet contribution: {} for user {}", betRequest.betId(), userId);
+    logger.info("Successfully processed bet contribution: {} for user {}", betRequest.betId(), userId);
+  }
 
-    } catch (Exception e) {
-      logger.error("Failed to process bet from Kafka: {}", betRequest != null ? betRequest.betId() : "null", e);
+  /**
+   * Bets that exhausted their retries or failed for good; they stay on the topic for
+   * {@link DeadLetterReplayer} to re-inject once the cause is fixed
+   */
+  public void onDeadLetter(ConsumerRecord<String, BetRequest> record) {
+    // The listener's exception arrives wrapped in a ListenerExecutionFailedException
+    String exception = header(record, KafkaHeaders.EXCEPTION_CAUSE_FQCN);
+    if (exception == null) {
+      exception = header(record, KafkaHeaders.EXCEPTION_FQCN);
     }
+    logger.error("Dead-lettered bet with key '{}' at {}-{}@{}: {}: {}", record.key(), record.topic(),
+        record.partition(), record.offset(), exception, header(record, KafkaHeaders.EXCEPTION_MESSAGE));
+    meterRegistry.counter("jackpot.bets.dead-lettered",
+        "exception", exception == null ? "unknown" : exception.substring(exception.lastIndexOf('.') + 1)).increment();
   }
 
-  private Long extractUserIdFromKey(String key, String betId) {
+  /**
+   * User id from a bet's message key, {@code userId-betId}
+   */
+  public static Long extractUserIdFromKey(String key, String betId) {
     if (key == null || !key.contains("-")) {
       throw new IllegalArgumentException("Invalid Kafka message key format. Expected format: userId-betId");
     }
 
     // Extract userId from composite key (format: userId-betId)
-    String userId = key.substring(0, key.indexOf("-" + betId));
+    int separator = key.indexOf("-" + betId);
+    if (separator < 0) {
+      throw new IllegalArgumentException("Kafka message key does not match bet " + betId + ": " + key);
+    }
+    String userId = key.substring(0, separator);
 
     if (userId.isEmpty()) {
       throw new IllegalArgumentException("User ID cannot be empty in Kafka message key");
@@ -64,4 +100,9 @@ public class KafkaConsumer {
 
     return Long.valueOf(userId);
   }
-}
\ No newline at end of file
+
+  private static String header(ConsumerRecord<?, ?> record, String name) {
+    org.apache.kafka.common.header.Header header = record.headers().lastHeader(name);
+    return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+  }
+}
@@ -1,9 +1,11 @@
 package com.jackpot.kafka;
 
 import com.jackpot.dto.BetRequest;
+import com.jackpot.transport.BetTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
@@ -11,7 +13,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Component;
 
 @Component
-public class KafkaProducer {
+@ConditionalOnProperty(name = "jackpot.transport", havingValue = "kafka", matchIfMissing = true)
+public class KafkaProducer implements BetTransport {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducer.class);
     private static final String TOPIC = "jackpot-bets";
@@ -22,6 +25,7 @@ public class KafkaProducer {
         this.kafkaTemplate = kafkaTemplate;
     }
 
+    @Override
     public void sendBet(BetRequest betRequest, Long userId) {
         logger.info("Sending bet to Kafka topic '{}' for user '{}': {}", TOPIC, userId, betRequest);
 
@@ -0,0 +1,68 @@
+package com.jackpot.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.service.JackpotWonEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes committed contributions and wins to outbound topics, keyed by bet id, for read models
+ * on this or other nodes. Sent after commit, so a rolled-back bet is never published; a send that
+ * fails or is cut short by a crash is counted and not retried, and readers fall back to the tables.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.events.publish", havingValue = "true")
+public class OutboundEventPublisher {
+
+  public static final String CONTRIBUTIONS_TOPIC = "jackpot-contributions";
+  public static final String REWARDS_TOPIC = "jackpot-rewards";
+  private static final Logger logger = LoggerFactory.getLogger(OutboundEventPublisher.class);
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final Counter failures;
+
+  public OutboundEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.failures = Counter.builder("jackpot.events.publish.failures")
+        .description("Outbound contribution and reward events that could not be published")
+        .register(meterRegistry);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onContributionApplied(ContributionApplied event) {
+    send(CONTRIBUTIONS_TOPIC, event.betId(), event);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onJackpotWon(JackpotWonEvent event) {
+    RewardGranted granted = RewardGranted.of(event.reward());
+    send(REWARDS_TOPIC, granted.betId(), granted);
+  }
+
+  private void send(String topic, String key, Object event) {
+    try {
+      kafkaTemplate.send(topic, key, event).whenComplete((result, ex) -> {
+        if (ex != null) {
+          failed(topic, key, ex);
+        }
+      });
+    } catch (RuntimeException e) {
+      failed(topic, key, e);
+    }
+  }
+
+  private void failed(String topic, String key, Throwable cause) {
+    failures.increment();
+    logger.warn("Failed to publish event for bet {} to {}", key, topic, cause);
+  }
+}
@@ -0,0 +1,110 @@
+package com.jackpot.kafka;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.PoolState;
+import com.jackpot.service.JackpotSnapshotCache;
+
+/**
+ * Reads the compacted pool-state topic from the start up to its current end before the node
+ * reports ready, and hydrates the jackpot snapshot cache from the newest state per jackpot.
+ * The topic holds about one record per jackpot, so this takes the same time however much history
+ * the database holds. An unreachable broker or a topic not read within the timeout leaves the
+ * cache to be loaded from the database as before.
+ */
+@Component
+@Order(-1)
+@ConditionalOnProperty(name = "jackpot.pool-state.enabled", havingValue = "true")
+public class PoolStateHydrator implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(PoolStateHydrator.class);
+
+  private final ConsumerFactory<String, Object> consumerFactory;
+  private final JackpotSnapshotCache snapshotCache;
+  private final Duration timeout;
+
+  public PoolStateHydrator(ConsumerFactory<String, Object> consumerFactory,
+      JackpotSnapshotCache snapshotCache,
+      @Value("${jackpot.pool-state.hydrate-timeout-ms:10000}") long timeoutMillis) {
+    this.consumerFactory = consumerFactory;
+    this.snapshotCache = snapshotCache;
+    this.timeout = Duration.ofMillis(timeoutMillis);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long started = System.currentTimeMillis();
+    Collection<PoolState> states;
+    try {
+      states = read();
+    } catch (RuntimeException e) {
+      logger.warn("Failed to read jackpot pool states, loading jackpots from the database", e);
+      return;
+    }
+    snapshotCache.hydrate(states);
+    logger.info("Hydrated {} jackpot pool states in {} ms", states.size(), System.currentTimeMillis() - started);
+  }
+
+  /**
+   * @return the newest state of every jackpot on the topic
+   */
+  public Collection<PoolState> read() {
+    Properties overrides = new Properties();
+    // Read by assignment from the start every time; nothing to commit
+    overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+    overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    long deadline = System.currentTimeMillis() + timeout.toMillis();
+
+    try (Consumer<String, Object> consumer = consumerFactory.createConsumer(null, "pool-state-hydrator", null,
+        overrides)) {
+      List<PartitionInfo> partitionInfos = consumer.partitionsFor(PoolStatePublisher.TOPIC, timeout);
+      if (partitionInfos == null || partitionInfos.isEmpty()) {
+        return List.of();
+      }
+      List<TopicPartition> partitions = partitionInfos.stream()
+          .map(info -> new TopicPartition(info.topic(), info.partition()))
+          .toList();
+      consumer.assign(partitions);
+      consumer.seekToBeginning(partitions);
+      Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, timeout);
+
+      Map<String, PoolState> states = new HashMap<>();
+      while (!caughtUp(consumer, endOffsets)) {
+        if (System.currentTimeMillis() > deadline) {
+          throw new IllegalStateException("Pool-state topic not read within " + timeout.toMillis() + " ms");
+        }
+        for (ConsumerRecord<String, Object> record : consumer.poll(Duration.ofMillis(100))) {
+          if (record.value() instanceof PoolState state) {
+            states.merge(state.jackpotId(), state,
+                (current, incoming) -> current.revision() > incoming.revision() ? current : incoming);
+          }
+        }
+      }
+      return states.values();
+    }
+  }
+
+  private static boolean caughtUp(Consumer<String, Object> consumer, Map<TopicPartition, Long> endOffsets) {
+    return endOffsets.entrySet().stream().allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+  }
+}
@@ -0,0 +1,97 @@
+package com.jackpot.kafka;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jackpot.dto.PoolState;
+import com.jackpot.service.JackpotChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes the latest state of every changed jackpot to a log-compacted topic keyed by jackpot id,
+ * from which restarting nodes hydrate their caches ({@link PoolStateHydrator}). Changes are
+ * coalesced per jackpot and sent once per tick, so a hot jackpot costs one record per tick
+ * however many bets it takes. A failed send is retried on the next tick unless a newer state replaced
+ * it; states not yet sent when the process stops are missing until the jackpot changes again.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.pool-state.enabled", havingValue = "true")
+public class PoolStatePublisher {
+
+  public static final String TOPIC = "jackpot-pool-state";
+  private static final Logger logger = LoggerFactory.getLogger(PoolStatePublisher.class);
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final Map<String, PoolState> pending = new ConcurrentHashMap<>();
+  private final Counter failures;
+
+  public PoolStatePublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.failures = Counter.builder("jackpot.pool-state.publish.failures")
+        .description("Pool states that could not be published")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Compacted, so the topic holds about one record per jackpot however long it runs
+   */
+  @Bean
+  static NewTopic poolStateTopic(@Value("${jackpot.pool-state.partitions:1}") int partitions,
+      @Value("${jackpot.pool-state.replicas:1}") int replicas) {
+    return TopicBuilder.name(TOPIC).partitions(partitions).replicas(replicas).compact().build();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onJackpotChanged(JackpotChangedEvent event) {
+    offer(PoolState.of(event.jackpot()));
+  }
+
+  // Commits of the same row may be delivered out of order; keep the newest
+  private void offer(PoolState state) {
+    pending.merge(state.jackpotId(), state,
+        (current, incoming) -> current.revision() > incoming.revision() ? current : incoming);
+  }
+
+  @Scheduled(fixedRateString = "${jackpot.pool-state.tick-ms:250}")
+  public void tick() {
+    for (String jackpotId : pending.keySet()) {
+      PoolState state = pending.remove(jackpotId);
+      if (state != null) {
+        send(state);
+      }
+    }
+  }
+
+  private void send(PoolState state) {
+    try {
+      kafkaTemplate.send(TOPIC, state.jackpotId(), state).whenComplete((result, ex) -> {
+        if (ex != null) {
+          failed(state, ex);
+        }
+      });
+    } catch (RuntimeException e) {
+      failed(state, e);
+    }
+  }
+
+  private void failed(PoolState state, Throwable cause) {
+    failures.increment();
+    offer(state);
+    logger.warn("Failed to publish state of jackpot {} at revision {}", state.jackpotId(), state.revision(), cause);
+  }
+}
@@ -0,0 +1,363 @@
+package com.jackpot.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.LedgerCheckpoint;
+import com.jackpot.model.Reward;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.repository.LedgerCheckpointRepository;
+import com.jackpot.repository.RewardRepository;
+import com.jackpot.repository.UserRepository;
+import com.jackpot.service.JackpotEngine;
+import com.jackpot.service.JackpotRules;
+
+/**
+ * Jackpot engine that keeps pool state in memory and records every outcome in a local {@link SegmentLog}
+ * instead of updating rows. A bet costs one sequential append; the relational tables are brought up to
+ * date asynchronously by {@link LedgerProjector}. On start the state is rebuilt from the latest snapshot,
+ * or the read model at the projector's checkpoint, plus the log records after it.
+ * Enabled with {@code jackpot.engine=event-sourced}; suited to a single node owning the ledger directory.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "jackpot.engine", havingValue = "event-sourced")
+public class EventSourcedJackpotEngine implements JackpotEngine {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventSourcedJackpotEngine.class);
+  static final String PROJECTOR = "read-model";
+
+  private final JackpotRepository jackpotRepository;
+  private final ContributionRepository contributionRepository;
+  private final RewardRepository rewardRepository;
+  private final UserRepository userRepository;
+  private final LedgerCheckpointRepository checkpointRepository;
+  private final Path directory;
+  private final int segmentSize;
+  private final int snapshotEvery;
+  private final boolean forceWin;
+  private final Random random = new Random();
+
+  // Appends are ordered by one lock; the log has a single writer
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<String, Jackpot> jackpots = new HashMap<>();
+  private final Set<String> wonJackpots = new HashSet<>();
+
+  // Outcomes appended but not projected yet, consulted before the read model
+  private final Map<String, Long> unprojectedBets = new ConcurrentHashMap<>();
+  private final Map<String, LedgerEvent> unprojectedRewards = new ConcurrentHashMap<>();
+
+  private SegmentLog log;
+  private LedgerSnapshotStore snapshotStore;
+  private volatile long sequence;
+  private volatile long snapshotSequence;
+  private volatile long projectedSequence;
+
+  public EventSourcedJackpotEngine(JackpotRepository jackpotRepository,
+      ContributionRepository contributionRepository,
+      RewardRepository rewardRepository,
+      UserRepository userRepository,
+      LedgerCheckpointRepository checkpointRepository,
+      @Value("${jackpot.ledger.dir:data/ledger}") String directory,
+      @Value("${jackpot.ledger.segment-size:67108864}") int segmentSize,
+      @Value("${jackpot.ledger.snapshot-every:10000}") int snapshotEvery,
+      @Value("${jackpot.force-win:false}") boolean forceWin) {
+    this.jackpotRepository = jackpotRepository;
+    this.contributionRepository = contributionRepository;
+    this.rewardRepository = rewardRepository;
+    this.userRepository = userRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.directory = Path.of(directory);
+    this.segmentSize = segmentSize;
+    this.snapshotEvery = snapshotEvery;
+    this.forceWin = forceWin;
+  }
+
+  @PostConstruct
+  public void recover() throws IOException {
+    long started = System.currentTimeMillis();
+    log = SegmentLog.open(directory, segmentSize);
+    snapshotStore = new LedgerSnapshotStore(directory);
+    long checkpoint = checkpointRepository.findById(PROJECTOR).map(LedgerCheckpoint::getSequence).orElse(0L);
+
+    lock.lock();
+    try {
+      // Configuration always comes from the table; pools at this point are as of the checkpoint
+      for (Jackpot jackpot : jackpotRepository.findAll()) {
+        jackpots.put(jackpot.getJackpotId(), jackpot);
+        if (rewardRepository.existsByJackpotId(jackpot.getJackpotId())) {
+          wonJackpots.add(jackpot.getJackpotId());
+        }
+      }
+
+      long base = checkpoint;
+      long replayFrom = checkpoint + 1;
+      Optional<LedgerSnapshotStore.Snapshot> snapshot = snapshotStore.read();
+      if (snapshot.isPresent()) {
+        snapshotSequence = snapshot.get().sequence();
+        replayFrom = Math.min(snapshotSequence, checkpoint) + 1;
+        if (snapshotSequence > checkpoint) {
+          base = snapshotSequence;
+          snapshot.get().pools().forEach((jackpotId, state) -> {
+            Jackpot jackpot = jackpots.get(jackpotId);
+            if (jackpot != null) {
+              jackpot.setCurrentPoolValue(state.pool());
+              if (state.hasWinner()) {
+                wonJackpots.add(jackpotId);
+              }
+            }
+          });
+        }
+      }
+
+      // Pools only need the records after the base; bet lookups need everything not projected yet
+      SegmentLog.Cursor cursor = log.cursor(replayFrom);
+      long replayed = 0;
+      for (LedgerEvent event = cursor.next(); event != null; event = cursor.next()) {
+        if (replayed == 0 && event.sequence() != replayFrom) {
+          throw new IllegalStateException("Ledger in " + directory + " starts at sequence " + event.sequence()
+              + " but recovery needs " + replayFrom);
+        }
+        if (event.sequence() > base) {
+          apply(event);
+        }
+        if (event.sequence() > checkpoint) {
+          track(event);
+        }
+        replayed++;
+      }
+
+      sequence = Math.max(base, log.lastSequence());
+      projectedSequence = checkpoint;
+      logger.info("Recovered {} jackpots at ledger sequence {} from {} and {} log records in {} ms",
+          jackpots.size(), sequence, base == checkpoint ? "checkpoint " + checkpoint : "snapshot " + base,
+          replayed, System.currentTimeMillis() - started);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Contribution processContribution(String betId, Long userId, String jackpotId, BigDecimal betAmount) {
+    JackpotRules.validateBetParameters(betId, userId, jackpotId, betAmount);
+
+    LedgerEvent event;
+    lock.lock();
+    try {
+      Jackpot jackpot = jackpot(jackpotId)
+          .orElseThrow(() -> new RuntimeException("Jackpot not found: " + jackpotId));
+      BigDecimal contributionAmount = JackpotRules.contributionAmount(jackpot, betAmount);
+      event = LedgerEvent.contribution(sequence + 1, System.currentTimeMillis(), userId, jackpotId, betId,
+          betAmount, contributionAmount, jackpot.getCurrentPoolValue().add(contributionAmount));
+      append(event);
+    } finally {
+      lock.unlock();
+    }
+    return toContribution(event);
+  }
+
+  @Override
+  public boolean isApplied(String betId) {
+    // Unprojected entries are removed only after their rows commit, so checking them first never misses one
+    return unprojectedBets.containsKey(betId) || contributionRepository.existsByBetId(betId);
+  }
+
+  @Override
+  public Optional<Reward> evaluateReward(String betId, Long userId, String jackpotId) {
+    if (knownJackpot(jackpotId).isEmpty() || !userRepository.existsById(userId)) {
+      return Optional.empty();
+    }
+    if (!isApplied(betId)) {
+      return Optional.empty();
+    }
+    LedgerEvent pendingReward = unprojectedRewards.get(betId);
+    if (pendingReward != null) {
+      return Optional.of(toReward(pendingReward));
+    }
+    Optional<Reward> existing = rewardRepository.findByBetId(betId);
+    if (existing.isPresent()) {
+      return existing;
+    }
+
+    LedgerEvent event;
+    lock.lock();
+    try {
+      Optional<Jackpot> jackpot = jackpot(jackpotId);
+      // Single winner per jackpot; also covers a concurrent evaluation of the same bet
+      if (jackpot.isEmpty() || wonJackpots.contains(jackpotId)) {
+        return Optional.empty();
+      }
+      boolean winsJackpot = forceWin || random.nextDouble() * 100 < JackpotRules.rewardChance(jackpot.get());
+      if (!winsJackpot) {
+        return Optional.empty();
+      }
+      event = LedgerEvent.reward(sequence + 1, System.currentTimeMillis(), userId, jackpotId, betId,
+          jackpot.get().getCurrentPoolValue(), jackpot.get().getInitialPoolValue());
+      append(event);
+    } finally {
+      lock.unlock();
+    }
+    return Optional.of(toReward(event));
+  }
+
+  public long lastSequence() {
+    return sequence;
+  }
+
+  public long projectedSequence() {
+    return projectedSequence;
+  }
+
+  SegmentLog.Cursor cursor(long fromSequence) {
+    return log.cursor(fromSequence);
+  }
+
+  /**
+   * Called by the projector once every record up to the sequence is committed to the read model
+   */
+  void onProjected(long projected) {
+    projectedSequence = projected;
+    unprojectedBets.values().removeIf(eventSequence -> eventSequence <= projected);
+    unprojectedRewards.values().removeIf(event -> event.sequence() <= projected);
+  }
+
+  @Scheduled(fixedDelayString = "${jackpot.ledger.force-interval-ms:100}")
+  public void flush() throws IOException {
+    log.force();
+    if (sequence - snapshotSequence >= snapshotEvery) {
+      snapshot();
+    }
+  }
+
+  /**
+   * Write the current state as a snapshot and drop segments no longer needed for recovery or projection
+   */
+  public void snapshot() throws IOException {
+    LedgerSnapshotStore.Snapshot snapshot;
+    lock.lock();
+    try {
+      if (sequence == snapshotSequence) {
+        return;
+      }
+      Map<String, LedgerSnapshotStore.PoolState> pools = new LinkedHashMap<>();
+      jackpots.forEach((jackpotId, jackpot) -> pools.put(jackpotId,
+          new LedgerSnapshotStore.PoolState(jackpot.getCurrentPoolValue(), wonJackpots.contains(jackpotId))));
+      snapshot = new LedgerSnapshotStore.Snapshot(sequence, pools);
+    } finally {
+      lock.unlock();
+    }
+
+    // The snapshot must never be ahead of the durable log
+    log.force();
+    snapshotStore.write(snapshot);
+    snapshotSequence = snapshot.sequence();
+    int deleted = log.deleteSegmentsBefore(Math.min(snapshot.sequence(), projectedSequence) + 1);
+    logger.info("Wrote ledger snapshot at sequence {}, deleted {} segment(s)", snapshot.sequence(), deleted);
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    snapshot();
+    log.close();
+  }
+
+  private void append(LedgerEvent event) {
+    // Tracked before the record becomes visible to the projector, which untracks it once committed
+    track(event);
+    try {
+      log.append(event);
+    } catch (IOException e) {
+      untrack(event);
+      throw new UncheckedIOException("Failed to append to the ledger", e);
+    }
+    sequence = event.sequence();
+    apply(event);
+  }
+
+  private void apply(LedgerEvent event) {
+    Jackpot jackpot = jackpots.get(event.jackpotId());
+    if (jackpot == null) {
+      logger.warn("Ledger record {} refers to unknown jackpot {}", event.sequence(), event.jackpotId());
+      return;
+    }
+    jackpot.setCurrentPoolValue(event.poolAfter());
+    if (event.type() == LedgerEvent.Type.REWARD) {
+      wonJackpots.add(event.jackpotId());
+    }
+  }
+
+  private void track(LedgerEvent event) {
+    if (event.type() == LedgerEvent.Type.CONTRIBUTION) {
+      unprojectedBets.put(event.betId(), event.sequence());
+    } else {
+      unprojectedRewards.put(event.betId(), event);
+    }
+  }
+
+  private void untrack(LedgerEvent event) {
+    if (event.type() == LedgerEvent.Type.CONTRIBUTION) {
+      unprojectedBets.remove(event.betId(), event.sequence());
+    } else {
+      unprojectedRewards.remove(event.betId(), event);
+    }
+  }
+
+  private Optional<Jackpot> knownJackpot(String jackpotId) {
+    lock.lock();
+    try {
+      return jackpot(jackpotId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Optional<Jackpot> jackpot(String jackpotId) {
+    Jackpot jackpot = jackpots.get(jackpotId);
+    if (jackpot == null) {
+      // A jackpot created after startup has no ledger records yet, so its row is current
+      jackpot = jackpotRepository.findByJackpotId(jackpotId).orElse(null);
+      if (jackpot != null) {
+        jackpots.put(jackpotId, jackpot);
+      }
+    }
+    return Optional.ofNullable(jackpot);
+  }
+
+  private static Contribution toContribution(LedgerEvent event) {
+    Contribution contribution = new Contribution(event.betId(), event.userId(), event.jackpotId(), event.stake(),
+        event.amount(), event.poolAfter());
+    contribution.setCreatedAt(event.createdAt());
+    return contribution;
+  }
+
+  static Reward toReward(LedgerEvent event) {
+    Reward reward = new Reward(event.betId(), event.userId(), event.jackpotId(), event.amount());
+    reward.setCreatedAt(event.createdAt());
+    return reward;
+  }
+}
@@ -0,0 +1,117 @@
+package com.jackpot.ledger;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * One outcome appended to the ledger. Each event carries the pool value it left behind, so replay
+ * only assigns values and never re-runs the contribution formulas.
+ *
+ * @param amount contribution amount, or the amount won for a reward
+ * @param stake  bet amount of a contribution, null for a reward
+ */
+public record LedgerEvent(long sequence,
+                          Type type,
+                          long timestampMillis,
+                          long userId,
+                          String jackpotId,
+                          String betId,
+                          BigDecimal amount,
+                          BigDecimal stake,
+                          BigDecimal poolAfter) {
+
+  public enum Type {
+    CONTRIBUTION, REWARD
+  }
+
+  public static LedgerEvent contribution(long sequence, long timestampMillis, long userId, String jackpotId,
+      String betId, BigDecimal stake, BigDecimal amount, BigDecimal poolAfter) {
+    return new LedgerEvent(sequence, Type.CONTRIBUTION, timestampMillis, userId, jackpotId, betId, amount, stake,
+        poolAfter);
+  }
+
+  public static LedgerEvent reward(long sequence, long timestampMillis, long userId, String jackpotId,
+      String betId, BigDecimal amount, BigDecimal poolAfter) {
+    return new LedgerEvent(sequence, Type.REWARD, timestampMillis, userId, jackpotId, betId, amount, null,
+        poolAfter);
+  }
+
+  public LocalDateTime createdAt() {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+  }
+
+  byte[] encode() {
+    byte[] jackpot = jackpotId.getBytes(StandardCharsets.UTF_8);
+    byte[] bet = betId.getBytes(StandardCharsets.UTF_8);
+    byte[] amountBytes = amount.unscaledValue().toByteArray();
+    byte[] stakeBytes = stake == null ? null : stake.unscaledValue().toByteArray();
+    byte[] poolBytes = poolAfter.unscaledValue().toByteArray();
+
+    int size = Long.BYTES + 1 + Long.BYTES + Long.BYTES
+        + 2 + jackpot.length + 2 + bet.length
+        + decimalSize(amountBytes) + 1 + (stakeBytes == null ? 0 : decimalSize(stakeBytes)) + decimalSize(poolBytes);
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putLong(sequence);
+    buffer.put((byte) type.ordinal());
+    buffer.putLong(timestampMillis);
+    buffer.putLong(userId);
+    putString(buffer, jackpot);
+    putString(buffer, bet);
+    putDecimal(buffer, amount.scale(), amountBytes);
+    buffer.put((byte) (stakeBytes == null ? 0 : 1));
+    if (stakeBytes != null) {
+      putDecimal(buffer, stake.scale(), stakeBytes);
+    }
+    putDecimal(buffer, poolAfter.scale(), poolBytes);
+    return buffer.array();
+  }
+
+  static LedgerEvent decode(ByteBuffer buffer) {
+    long sequence = buffer.getLong();
+    Type type = Type.values()[buffer.get()];
+    long timestampMillis = buffer.getLong();
+    long userId = buffer.getLong();
+    String jackpotId = getString(buffer);
+    String betId = getString(buffer);
+    BigDecimal amount = getDecimal(buffer);
+    BigDecimal stake = buffer.get() == 0 ? null : getDecimal(buffer);
+    BigDecimal poolAfter = getDecimal(buffer);
+    return new LedgerEvent(sequence, type, timestampMillis, userId, jackpotId, betId, amount, stake, poolAfter);
+  }
+
+  private static int decimalSize(byte[] unscaled) {
+    return Integer.BYTES + 1 + unscaled.length;
+  }
+
+  private static void putString(ByteBuffer buffer, byte[] value) {
+    if (value.length > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Ledger field too long: " + value.length + " bytes");
+    }
+    buffer.putShort((short) value.length);
+    buffer.put(value);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] value = new byte[buffer.getShort()];
+    buffer.get(value);
+    return new String(value, StandardCharsets.UTF_8);
+  }
+
+  private static void putDecimal(ByteBuffer buffer, int scale, byte[] unscaled) {
+    buffer.putInt(scale);
+    buffer.put((byte) unscaled.length);
+    buffer.put(unscaled);
+  }
+
+  private static BigDecimal getDecimal(ByteBuffer buffer) {
+    int scale = buffer.getInt();
+    byte[] unscaled = new byte[buffer.get() & 0xFF];
+    buffer.get(unscaled);
+    return new BigDecimal(new BigInteger(unscaled), scale);
+  }
+}
@@ -0,0 +1,150 @@
+package com.jackpot.ledger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.LedgerCheckpoint;
+import com.jackpot.model.Reward;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.repository.LedgerCheckpointRepository;
+import com.jackpot.repository.RewardRepository;
+import com.jackpot.service.ContributionRollupService;
+import com.jackpot.service.JackpotChangedEvent;
+import com.jackpot.service.JackpotWonEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Applies ledger records to the relational tables in batches. The rows of a batch and the new
+ * checkpoint commit in one transaction, so each record is applied exactly once; a failed batch is
+ * rolled back and retried on the next run. Pool change and win events are published from the same
+ * transaction, so caches and streams keep working off the read model.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.engine", havingValue = "event-sourced")
+public class LedgerProjector {
+
+  private static final Logger logger = LoggerFactory.getLogger(LedgerProjector.class);
+
+  private final EventSourcedJackpotEngine engine;
+  private final JackpotRepository jackpotRepository;
+  private final ContributionRepository contributionRepository;
+  private final RewardRepository rewardRepository;
+  private final ContributionRollupService rollupService;
+  private final LedgerCheckpointRepository checkpointRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  private SegmentLog.Cursor cursor;
+
+  public LedgerProjector(EventSourcedJackpotEngine engine,
+      JackpotRepository jackpotRepository,
+      ContributionRepository contributionRepository,
+      RewardRepository rewardRepository,
+      ContributionRollupService rollupService,
+      LedgerCheckpointRepository checkpointRepository,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.ledger.projection-batch-size:500}") int batchSize) {
+    this.engine = engine;
+    this.jackpotRepository = jackpotRepository;
+    this.contributionRepository = contributionRepository;
+    this.rewardRepository = rewardRepository;
+    this.rollupService = rollupService;
+    this.checkpointRepository = checkpointRepository;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    Gauge.builder("jackpot.ledger.projection.lag", engine,
+            ledger -> ledger.lastSequence() - ledger.projectedSequence())
+        .description("Ledger records not yet applied to the relational tables")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${jackpot.ledger.projection-interval-ms:100}")
+  public synchronized void project() {
+    try {
+      while (projectBatch() == batchSize) {
+        // Keep going while there is a backlog
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Ledger projection failed after sequence {}, retrying", engine.projectedSequence(), e);
+      cursor = null;
+    }
+  }
+
+  /**
+   * @return the number of records applied
+   */
+  int projectBatch() {
+    if (cursor == null) {
+      cursor = engine.cursor(engine.projectedSequence() + 1);
+    }
+    List<LedgerEvent> batch = new ArrayList<>(batchSize);
+    LedgerEvent event;
+    while (batch.size() < batchSize && (event = cursor.next()) != null) {
+      batch.add(event);
+    }
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    long last = batch.get(batch.size() - 1).sequence();
+    transactionTemplate.executeWithoutResult(status -> apply(batch, last));
+    engine.onProjected(last);
+    return batch.size();
+  }
+
+  private void apply(List<LedgerEvent> batch, long last) {
+    Map<String, BigDecimal> pools = new LinkedHashMap<>();
+    Map<String, Integer> wins = new HashMap<>();
+    List<Reward> rewards = new ArrayList<>();
+    for (LedgerEvent event : batch) {
+      if (event.type() == LedgerEvent.Type.CONTRIBUTION) {
+        Contribution contribution = new Contribution(event.betId(), event.userId(), event.jackpotId(),
+            event.stake(), event.amount(), event.poolAfter());
+        contribution.setCreatedAt(event.createdAt());
+        Contribution saved = contributionRepository.save(contribution);
+        rollupService.record(saved);
+        eventPublisher.publishEvent(ContributionApplied.of(saved));
+      } else {
+        rewards.add(rewardRepository.save(EventSourcedJackpotEngine.toReward(event)));
+        wins.merge(event.jackpotId(), 1, Integer::sum);
+      }
+      pools.put(event.jackpotId(), event.poolAfter());
+    }
+
+    // One row update per jackpot per batch, whatever the number of bets
+    pools.forEach((jackpotId, pool) -> jackpotRepository.findByJackpotId(jackpotId).ifPresent(jackpot -> {
+      jackpot.setCurrentPoolValue(pool);
+      jackpot.setRound(jackpot.getRound() + wins.getOrDefault(jackpotId, 0));
+      eventPublisher.publishEvent(new JackpotChangedEvent(jackpotRepository.save(jackpot)));
+    }));
+    rewards.forEach(reward -> eventPublisher.publishEvent(new JackpotWonEvent(reward)));
+
+    LedgerCheckpoint checkpoint = checkpointRepository.findById(EventSourcedJackpotEngine.PROJECTOR)
+        .orElseGet(() -> new LedgerCheckpoint(EventSourcedJackpotEngine.PROJECTOR, 0));
+    checkpoint.setSequence(last);
+    checkpointRepository.save(checkpoint);
+  }
+}
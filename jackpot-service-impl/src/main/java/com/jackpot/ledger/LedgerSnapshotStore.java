@@ -0,0 +1,112 @@
+package com.jackpot.ledger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Latest pool state of every jackpot as of one ledger sequence, so recovery only replays the log tail.
+ * A snapshot is written to a temporary file, flushed and atomically renamed over the previous one;
+ * an unreadable snapshot is ignored and recovery falls back to a longer replay.
+ */
+public class LedgerSnapshotStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(LedgerSnapshotStore.class);
+  private static final int MAGIC = 0x4A4B5331;
+
+  private final Path file;
+  private final Path tempFile;
+
+  public record PoolState(BigDecimal pool, boolean hasWinner) {
+  }
+
+  public record Snapshot(long sequence, Map<String, PoolState> pools) {
+  }
+
+  public LedgerSnapshotStore(Path directory) {
+    this.file = directory.resolve("snapshot.bin");
+    this.tempFile = directory.resolve("snapshot.bin.tmp");
+  }
+
+  public void write(Snapshot snapshot) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeLong(snapshot.sequence());
+    out.writeInt(snapshot.pools().size());
+    for (Map.Entry<String, PoolState> entry : snapshot.pools().entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeInt(entry.getValue().pool().scale());
+      byte[] unscaled = entry.getValue().pool().unscaledValue().toByteArray();
+      out.writeByte(unscaled.length);
+      out.write(unscaled);
+      out.writeBoolean(entry.getValue().hasWinner());
+    }
+    CRC32 crc = new CRC32();
+    crc.update(bytes.toByteArray());
+    out.writeInt((int) crc.getValue());
+
+    try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  public Optional<Snapshot> read() {
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try {
+      byte[] bytes = Files.readAllBytes(file);
+      if (bytes.length < 2 * Integer.BYTES) {
+        throw new IOException("truncated");
+      }
+      CRC32 crc = new CRC32();
+      crc.update(bytes, 0, bytes.length - Integer.BYTES);
+      if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - Integer.BYTES, Integer.BYTES).getInt()) {
+        throw new IOException("checksum mismatch");
+      }
+
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+      if (in.readInt() != MAGIC) {
+        throw new IOException("not a ledger snapshot");
+      }
+      long sequence = in.readLong();
+      int count = in.readInt();
+      Map<String, PoolState> pools = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        String jackpotId = in.readUTF();
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        pools.put(jackpotId, new PoolState(new BigDecimal(new BigInteger(unscaled), scale), in.readBoolean()));
+      }
+      return Optional.of(new Snapshot(sequence, pools));
+    } catch (IOException e) {
+      logger.warn("Ignoring unreadable ledger snapshot {}: {}", file, e.getMessage());
+      return Optional.empty();
+    }
+  }
+}
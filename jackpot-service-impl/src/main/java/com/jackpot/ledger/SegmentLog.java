@@ -0,0 +1,288 @@
+package com.jackpot.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of {@link LedgerEvent}s in preallocated, memory-mapped segment files.
+ * Each record is framed as {@code [int length][int crc32][payload]}; the length is written last, so
+ * a record interrupted by a crash reads as the end of the log. On open, an unreadable tail of the
+ * newest segment is discarded, while damage to any older segment fails startup.
+ * A single writer appends; readers use {@link Cursor}s and only see records whose append completed.
+ */
+public class SegmentLog implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SegmentLog.class);
+  private static final Pattern SEGMENT_NAME = Pattern.compile("ledger-(\\d{20})\\.log");
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private Segment active;
+  private volatile long lastSequence;
+
+  private static final class Segment {
+    private final long firstSequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int position;
+
+    private Segment(long firstSequence, Path path, MappedByteBuffer buffer) {
+      this.firstSequence = firstSequence;
+      this.path = path;
+      this.buffer = buffer;
+    }
+  }
+
+  private SegmentLog(Path directory, int segmentSize) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+  }
+
+  public static SegmentLog open(Path directory, int segmentSize) throws IOException {
+    Files.createDirectories(directory);
+    SegmentLog log = new SegmentLog(directory, segmentSize);
+    log.recover();
+    return log;
+  }
+
+  /**
+   * Sequence of the newest record, 0 when the log is empty
+   */
+  public long lastSequence() {
+    return lastSequence;
+  }
+
+  public synchronized void append(LedgerEvent event) throws IOException {
+    if (event.sequence() <= lastSequence) {
+      throw new IllegalArgumentException("Ledger sequence " + event.sequence() + " is not after " + lastSequence);
+    }
+    byte[] payload = event.encode();
+    int recordSize = HEADER_SIZE + payload.length;
+    if (active == null || active.position + recordSize > active.buffer.capacity()) {
+      roll(event.sequence(), recordSize);
+    }
+
+    MappedByteBuffer buffer = active.buffer;
+    int position = active.position;
+    buffer.put(position + HEADER_SIZE, payload);
+    buffer.putInt(position + Integer.BYTES, checksum(payload));
+    buffer.putInt(position, payload.length);
+    active.position = position + recordSize;
+    // Publishes the record to cursors on other threads
+    lastSequence = event.sequence();
+  }
+
+  /**
+   * Flush appended records of the active segment to storage. Records already survive a crash of
+   * the process once appended; this bounds what an operating system crash can lose.
+   */
+  public synchronized void force() {
+    if (active != null) {
+      active.buffer.force();
+    }
+  }
+
+  /**
+   * Delete segments whose records all precede the given sequence; the active segment is always kept
+   *
+   * @return the number of segments deleted
+   */
+  public synchronized int deleteSegmentsBefore(long sequence) throws IOException {
+    int deleted = 0;
+    Iterator<Map.Entry<Long, Segment>> iterator = segments.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Segment segment = iterator.next().getValue();
+      Long next = segments.higherKey(segment.firstSequence);
+      if (segment == active || next == null || next > sequence) {
+        break;
+      }
+      iterator.remove();
+      Files.deleteIfExists(segment.path);
+      deleted++;
+    }
+    return deleted;
+  }
+
+  public int segmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Reader positioned at the first record with a sequence of at least {@code fromSequence}
+   */
+  public Cursor cursor(long fromSequence) {
+    return new Cursor(fromSequence);
+  }
+
+  @Override
+  public synchronized void close() {
+    force();
+    // Mappings are released by the garbage collector; nothing may be appended after this
+    active = null;
+  }
+
+  /**
+   * Forward-only reader; returns null once it has caught up and can be polled again later
+   */
+  public final class Cursor {
+    private final long fromSequence;
+    private Segment segment;
+    private ByteBuffer buffer;
+    private int position;
+    private long returned;
+
+    private Cursor(long fromSequence) {
+      this.fromSequence = fromSequence;
+    }
+
+    public LedgerEvent next() {
+      while (returned < lastSequence) {
+        if (segment == null && !moveTo(segments.floorKey(fromSequence))) {
+          return null;
+        }
+        int length = position + HEADER_SIZE <= buffer.capacity() ? buffer.getInt(position) : 0;
+        if (length == 0) {
+          if (!moveTo(segments.higherKey(segment.firstSequence))) {
+            return null;
+          }
+          continue;
+        }
+        LedgerEvent event = LedgerEvent.decode(buffer.slice(position + HEADER_SIZE, length));
+        position += HEADER_SIZE + length;
+        returned = event.sequence();
+        if (event.sequence() >= fromSequence) {
+          return event;
+        }
+      }
+      return null;
+    }
+
+    private boolean moveTo(Long firstSequence) {
+      Segment next = firstSequence != null ? segments.get(firstSequence)
+          : segment == null && !segments.isEmpty() ? segments.firstEntry().getValue() : null;
+      if (next == null) {
+        return false;
+      }
+      segment = next;
+      buffer = next.buffer.duplicate();
+      position = 0;
+      return true;
+    }
+  }
+
+  private void roll(long firstSequence, int recordSize) throws IOException {
+    if (active != null) {
+      active.buffer.force();
+    }
+    active = map(firstSequence, Math.max(segmentSize, recordSize + Integer.BYTES));
+    segments.put(firstSequence, active);
+  }
+
+  private Segment map(long firstSequence, long size) throws IOException {
+    Path path = directory.resolve(String.format("ledger-%020d.log", firstSequence));
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // Mapping past the end extends the file, so a new segment is allocated at its full size up front
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+      return new Segment(firstSequence, path, buffer);
+    }
+  }
+
+  private void recover() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path path : files.toList()) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (matcher.matches()) {
+          long firstSequence = Long.parseLong(matcher.group(1));
+          segments.put(firstSequence, map(firstSequence, 0));
+        }
+      }
+    }
+
+    long previous = 0;
+    for (Segment segment : segments.values()) {
+      boolean last = segment == segments.lastEntry().getValue();
+      previous = scan(segment, previous, last);
+    }
+    if (!segments.isEmpty()) {
+      active = segments.lastEntry().getValue();
+    }
+    lastSequence = previous;
+    logger.info("Opened ledger in {} with {} segment(s), last sequence {}", directory, segments.size(), previous);
+  }
+
+  private long scan(Segment segment, long previous, boolean last) {
+    MappedByteBuffer buffer = segment.buffer;
+    int position = 0;
+    while (position + HEADER_SIZE <= buffer.capacity()) {
+      int length = buffer.getInt(position);
+      if (length == 0) {
+        break;
+      }
+      String problem = null;
+      long sequence = 0;
+      if (length < 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+        problem = "invalid length " + length;
+      } else {
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER_SIZE, payload);
+        if (checksum(payload) != buffer.getInt(position + Integer.BYTES)) {
+          problem = "checksum mismatch";
+        } else {
+          sequence = ByteBuffer.wrap(payload).getLong();
+          if (sequence <= previous || (previous == 0 && sequence < segment.firstSequence)) {
+            problem = "sequence " + sequence + " out of order";
+          }
+        }
+      }
+
+      if (problem != null) {
+        if (!last) {
+          throw new IllegalStateException("Ledger segment " + segment.path + " is corrupt at offset " + position
+              + ": " + problem);
+        }
+        logger.warn("Discarding unreadable tail of ledger segment {} from offset {}: {}", segment.path, position,
+            problem);
+        truncate(buffer, position);
+        break;
+      }
+      previous = sequence;
+      position += HEADER_SIZE + length;
+    }
+    segment.position = position;
+    return previous;
+  }
+
+  private static void truncate(MappedByteBuffer buffer, int from) {
+    byte[] zeros = new byte[8192];
+    for (int position = from; position < buffer.capacity(); position += zeros.length) {
+      buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+    }
+    buffer.force();
+  }
+
+  private static int checksum(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+}
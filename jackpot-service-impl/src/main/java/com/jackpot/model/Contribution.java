@@ -7,11 +7,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contributions")
+@Table(name = "contributions", indexes = {
+    @Index(name = "idx_contributions_user_id_id", columnList = "user_id, id"),
+    @Index(name = "idx_contributions_jackpot_id_id", columnList = "jackpot_id, id"),
+    @Index(name = "idx_contributions_jackpot_id_created_at", columnList = "jackpot_id, created_at, id"),
+    @Index(name = "idx_contributions_created_at", columnList = "created_at")
+})
 public class Contribution {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @NotNull
@@ -0,0 +1,86 @@
+package com.jackpot.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Catalog entry for the contributions of one jackpot moved from one day of the hot table to an archive file.
+ * The last row's pool value is kept so point-in-time lookups rarely need to open the file.
+ */
+@Entity
+@Table(name = "contribution_archives", indexes = {
+    @Index(name = "idx_contribution_archives_jackpot_last", columnList = "jackpot_id, last_created_at"),
+    @Index(name = "idx_contribution_archives_bucket_day", columnList = "bucket_day")
+})
+public class ContributionArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate bucketDay;
+
+    @Column(name = "jackpot_id", nullable = false)
+    private String jackpotId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "first_created_at", nullable = false)
+    private LocalDateTime firstCreatedAt;
+
+    @Column(name = "last_created_at", nullable = false)
+    private LocalDateTime lastCreatedAt;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "last_pool_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal lastPoolValue;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public ContributionArchive() {}
+
+    public ContributionArchive(LocalDate bucketDay, String jackpotId, String fileName, long rowCount,
+                               LocalDateTime firstCreatedAt, Contribution last) {
+        this.bucketDay = bucketDay;
+        this.jackpotId = jackpotId;
+        this.fileName = fileName;
+        this.rowCount = rowCount;
+        this.firstCreatedAt = firstCreatedAt;
+        this.lastCreatedAt = last.getCreatedAt();
+        this.lastId = last.getId();
+        this.lastPoolValue = last.getCurrentJackpotAmount();
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public LocalDate getBucketDay() { return bucketDay; }
+
+    public String getJackpotId() { return jackpotId; }
+
+    public String getFileName() { return fileName; }
+
+    public long getRowCount() { return rowCount; }
+
+    public LocalDateTime getFirstCreatedAt() { return firstCreatedAt; }
+
+    public LocalDateTime getLastCreatedAt() { return lastCreatedAt; }
+
+    public Long getLastId() { return lastId; }
+
+    public BigDecimal getLastPoolValue() { return lastPoolValue; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
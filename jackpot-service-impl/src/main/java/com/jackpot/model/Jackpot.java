@@ -1,9 +1,12 @@
 package com.jackpot.model;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
 
 @Entity
 @Table(name = "jackpots")
@@ -22,10 +25,28 @@ public class Jackpot {
     @Column(name = "initial_pool_value", nullable = false, precision = 19, scale = 2)
     private BigDecimal initialPoolValue;
 
+    // Part of the pool kept in this row; striped jackpots keep the rest in jackpot_pool_shards
     @NotNull
     @Column(name = "current_pool_value", nullable = false, precision = 19, scale = 2)
     private BigDecimal currentPoolValue;
 
+    @Min(1)
+    @ColumnDefault("1")
+    @Column(name = "pool_shards", nullable = false)
+    private int poolShards = 1;
+
+    // Wins so far, so a pool value is only compared with values of the same round
+    @ColumnDefault("0")
+    @Column(name = "pool_round", nullable = false)
+    private long round;
+
+    // Sum of the pool shards as of loading, or as of the last contribution this instance added
+    @Formula("(SELECT COALESCE(SUM(s.amount), 0) FROM jackpot_pool_shards s WHERE s.jackpot_id = jackpot_id)")
+    private BigDecimal stripedPoolValue = BigDecimal.ZERO;
+
+    @Formula("(SELECT COALESCE(SUM(s.updates), 0) FROM jackpot_pool_shards s WHERE s.jackpot_id = jackpot_id)")
+    private long stripedUpdates;
+
     @NotNull
     @Enumerated(EnumType.STRING)
     @Column(name = "contribution_type", nullable = false)
@@ -97,8 +118,45 @@ public class Jackpot {
     public BigDecimal getInitialPoolValue() { return initialPoolValue; }
     public void setInitialPoolValue(BigDecimal initialPoolValue) { this.initialPoolValue = initialPoolValue; }
 
-    public BigDecimal getCurrentPoolValue() { return currentPoolValue; }
-    public void setCurrentPoolValue(BigDecimal currentPoolValue) { this.currentPoolValue = currentPoolValue; }
+    public BigDecimal getCurrentPoolValue() {
+        return currentPoolValue == null ? null : currentPoolValue.add(stripedPoolValue);
+    }
+
+    /**
+     * Set the whole pool; whatever the pool shards hold stays there and this row takes the rest
+     */
+    public void setCurrentPoolValue(BigDecimal currentPoolValue) {
+        this.currentPoolValue = currentPoolValue == null ? null : currentPoolValue.subtract(stripedPoolValue);
+    }
+
+    public int getPoolShards() { return poolShards; }
+    public void setPoolShards(int poolShards) { this.poolShards = poolShards; }
+
+    public long getRound() { return round; }
+    public void setRound(long round) { this.round = round; }
+
+    /**
+     * Take the current totals of the pool shards, read in the caller's transaction
+     */
+    public void applyStripes(BigDecimal stripedPoolValue, long stripedUpdates) {
+        this.stripedPoolValue = stripedPoolValue;
+        this.stripedUpdates = stripedUpdates;
+    }
+
+    /**
+     * Move the shard totals into this row once the shards have been zeroed; the pool stays the same
+     */
+    public void collapseStripes() {
+        if (currentPoolValue != null) {
+            currentPoolValue = currentPoolValue.add(stripedPoolValue);
+        }
+        stripedPoolValue = BigDecimal.ZERO;
+    }
+
+    /**
+     * Increases with every pool change: shard updates leave the row version alone, so the two are added
+     */
+    public long getPoolRevision() { return (version == null ? 0 : version) + stripedUpdates; }
 
     public ContributionType getContributionType() { return contributionType; }
     public void setContributionType(ContributionType contributionType) { this.contributionType = contributionType; }
@@ -0,0 +1,81 @@
+package com.jackpot.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDateTime;
+
+/**
+ * Contribution totals of one jackpot over one hour or day, maintained incrementally. Striped
+ * jackpots spread each bucket over the same shards as their pool; a bucket is the sum of its shards.
+ */
+@Entity
+@Table(name = "jackpot_contribution_rollups")
+@IdClass(JackpotRollupId.class)
+public class JackpotContributionRollup {
+
+    @Id
+    @Column(name = "jackpot_id", nullable = false)
+    private String jackpotId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @ColumnDefault("0")
+    @Column(name = "shard", nullable = false)
+    private int shard;
+
+    @Column(name = "bet_count", nullable = false)
+    private long betCount;
+
+    @Column(name = "stake_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal stakeTotal;
+
+    @Column(name = "contribution_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal contributionTotal;
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    // Constructors
+    public JackpotContributionRollup() {}
+
+    public JackpotContributionRollup(String jackpotId, Granularity granularity, LocalDateTime bucketStart,
+                                     long betCount, BigDecimal stakeTotal, BigDecimal contributionTotal) {
+        this(jackpotId, granularity, bucketStart, 0, betCount, stakeTotal, contributionTotal);
+    }
+
+    public JackpotContributionRollup(String jackpotId, Granularity granularity, LocalDateTime bucketStart, int shard,
+                                     long betCount, BigDecimal stakeTotal, BigDecimal contributionTotal) {
+        this.jackpotId = jackpotId;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.shard = shard;
+        this.betCount = betCount;
+        this.stakeTotal = stakeTotal;
+        this.contributionTotal = contributionTotal;
+    }
+
+    // Getters
+    public String getJackpotId() { return jackpotId; }
+
+    public Granularity getGranularity() { return granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+
+    public int getShard() { return shard; }
+
+    public long getBetCount() { return betCount; }
+
+    public BigDecimal getStakeTotal() { return stakeTotal; }
+
+    public BigDecimal getContributionTotal() { return contributionTotal; }
+}
@@ -0,0 +1,57 @@
+package com.jackpot.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Part of a striped jackpot pool. Contributions add to one of the jackpot's shards instead of its
+ * row, so concurrent bets on a hot jackpot lock different rows; the pool is the row's value plus
+ * the sum of its shards.
+ */
+@Entity
+@Table(name = "jackpot_pool_shards")
+@IdClass(JackpotPoolShardId.class)
+public class JackpotPoolShard {
+
+    @Id
+    @Column(name = "jackpot_id", nullable = false, length = 50)
+    private String jackpotId;
+
+    @Id
+    @Column(name = "shard", nullable = false)
+    private int shard;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // Contributions ever added to the shard; never reset, so pool revisions keep increasing across wins
+    @Column(name = "updates", nullable = false)
+    private long updates;
+
+    // Constructors
+    public JackpotPoolShard() {}
+
+    public JackpotPoolShard(String jackpotId, int shard, BigDecimal amount, long updates) {
+        this.jackpotId = jackpotId;
+        this.shard = shard;
+        this.amount = amount;
+        this.updates = updates;
+    }
+
+    // Getters and Setters
+    public String getJackpotId() { return jackpotId; }
+
+    public int getShard() { return shard; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public long getUpdates() { return updates; }
+
+    /**
+     * Zero the shard once its amount has been moved elsewhere; counted as an update so the pool revision moves on
+     */
+    public void drain() {
+        amount = BigDecimal.ZERO;
+        updates++;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jackpot.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class JackpotPoolShardId implements Serializable {
+
+    private String jackpotId;
+    private int shard;
+
+    public JackpotPoolShardId() {}
+
+    public JackpotPoolShardId(String jackpotId, int shard) {
+        this.jackpotId = jackpotId;
+        this.shard = shard;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JackpotPoolShardId that)) return false;
+        return Objects.equals(jackpotId, that.jackpotId) && shard == that.shard;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jackpotId, shard);
+    }
+}
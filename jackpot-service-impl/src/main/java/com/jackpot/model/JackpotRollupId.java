@@ -0,0 +1,38 @@
+package com.jackpot.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class JackpotRollupId implements Serializable {
+
+    private String jackpotId;
+    private JackpotContributionRollup.Granularity granularity;
+    private LocalDateTime bucketStart;
+    private int shard;
+
+    public JackpotRollupId() {}
+
+    public JackpotRollupId(String jackpotId, JackpotContributionRollup.Granularity granularity, LocalDateTime bucketStart,
+                           int shard) {
+        this.jackpotId = jackpotId;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.shard = shard;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JackpotRollupId that)) return false;
+        return Objects.equals(jackpotId, that.jackpotId)
+                && granularity == that.granularity
+                && Objects.equals(bucketStart, that.bucketStart)
+                && shard == that.shard;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jackpotId, granularity, bucketStart, shard);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jackpot.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Last ledger sequence applied to the relational read model by a projector
+ */
+@Entity
+@Table(name = "ledger_checkpoints")
+public class LedgerCheckpoint {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    // Constructors
+    public LedgerCheckpoint() {}
+
+    public LedgerCheckpoint(String name, long sequence) {
+        this.name = name;
+        this.sequence = sequence;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+}
@@ -7,11 +7,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "rewards")
+@Table(name = "rewards", indexes = {
+    @Index(name = "idx_rewards_user_id_id", columnList = "user_id, id"),
+    @Index(name = "idx_rewards_jackpot_id_id", columnList = "jackpot_id, id")
+})
 public class Reward {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @NotNull
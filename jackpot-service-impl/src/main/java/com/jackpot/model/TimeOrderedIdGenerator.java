@@ -0,0 +1,79 @@
+package com.jackpot.model;
+
+import java.lang.reflect.Member;
+import java.util.function.LongSupplier;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+
+/**
+ * 64-bit ids made of milliseconds since 2024-01-01 (41 bits), a node id (10 bits) and a per-millisecond
+ * sequence (12 bits). Ids are unique as long as every instance writing a table has its own node id,
+ * and grow with time, so newest-first ordering by id still follows insertion order.
+ * No database round trip is needed. If the clock steps back, the last timestamp is reused until the
+ * clock catches up; if a millisecond's sequence runs out, the next millisecond is used early.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+  /**
+   * Hibernate setting holding the node id, 0 to 1023
+   */
+  public static final String NODE_ID_SETTING = "jackpot.id.node-id";
+
+  static final long EPOCH_MILLIS = 1704067200000L;
+  static final int NODE_BITS = 10;
+  static final int SEQUENCE_BITS = 12;
+  static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long nodeId;
+  private final LongSupplier clock;
+  private long lastTimestamp = -1;
+  private long sequence;
+
+  public TimeOrderedIdGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+    this(nodeId(context.getServiceRegistry()), System::currentTimeMillis);
+  }
+
+  /**
+   * Generator for ids assigned outside Hibernate, such as by the streams engine
+   */
+  public TimeOrderedIdGenerator(long nodeId) {
+    this(nodeId, System::currentTimeMillis);
+  }
+
+  TimeOrderedIdGenerator(long nodeId, LongSupplier clock) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException(NODE_ID_SETTING + " must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+    }
+    this.nodeId = nodeId;
+    this.clock = clock;
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    return nextId();
+  }
+
+  public synchronized long nextId() {
+    long timestamp = Math.max(clock.getAsLong() - EPOCH_MILLIS, lastTimestamp);
+    if (timestamp == lastTimestamp) {
+      sequence = (sequence + 1) & SEQUENCE_MASK;
+      if (sequence == 0) {
+        timestamp++;
+      }
+    } else {
+      sequence = 0;
+    }
+    lastTimestamp = timestamp;
+    return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+  }
+
+  private static long nodeId(ServiceRegistry serviceRegistry) {
+    Object value = serviceRegistry.getService(ConfigurationService.class).getSettings().get(NODE_ID_SETTING);
+    return value == null ? 0 : Long.parseLong(value.toString().trim());
+  }
+}
@@ -0,0 +1,54 @@
+package com.jackpot.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Contribution totals of one user over one day, maintained incrementally
+ */
+@Entity
+@Table(name = "user_contribution_rollups")
+@IdClass(UserRollupId.class)
+public class UserContributionRollup {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate bucketDay;
+
+    @Column(name = "bet_count", nullable = false)
+    private long betCount;
+
+    @Column(name = "stake_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal stakeTotal;
+
+    @Column(name = "contribution_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal contributionTotal;
+
+    // Constructors
+    public UserContributionRollup() {}
+
+    public UserContributionRollup(Long userId, LocalDate bucketDay, long betCount,
+                                  BigDecimal stakeTotal, BigDecimal contributionTotal) {
+        this.userId = userId;
+        this.bucketDay = bucketDay;
+        this.betCount = betCount;
+        this.stakeTotal = stakeTotal;
+        this.contributionTotal = contributionTotal;
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+
+    public LocalDate getBucketDay() { return bucketDay; }
+
+    public long getBetCount() { return betCount; }
+
+    public BigDecimal getStakeTotal() { return stakeTotal; }
+
+    public BigDecimal getContributionTotal() { return contributionTotal; }
+}
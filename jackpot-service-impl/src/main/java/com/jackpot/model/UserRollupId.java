@@ -0,0 +1,30 @@
+package com.jackpot.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class UserRollupId implements Serializable {
+
+    private Long userId;
+    private LocalDate bucketDay;
+
+    public UserRollupId() {}
+
+    public UserRollupId(Long userId, LocalDate bucketDay) {
+        this.userId = userId;
+        this.bucketDay = bucketDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserRollupId that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(bucketDay, that.bucketDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, bucketDay);
+    }
+}
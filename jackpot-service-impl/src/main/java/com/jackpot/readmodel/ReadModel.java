@@ -0,0 +1,57 @@
+package com.jackpot.readmodel;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.dto.RewardView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Query views of recent contributions and rewards keyed by bet id, materialized from the outbound
+ * topics by {@link ReadModelProjector}, so bet lookups stay off the tables bets are written to.
+ * Views are bounded and trail the write side by the projection lag; readers fall back to the
+ * tables on a miss, which also covers bets never projected. Disabled, every lookup misses.
+ * Size, hit and miss counts are published as {@code cache.*} metrics tagged {@code cache=readModel*}.
+ */
+@Component
+public class ReadModel {
+
+  private final Cache<String, ContributionView> contributions;
+  private final Cache<String, RewardView> rewards;
+  private final boolean enabled;
+
+  public ReadModel(@Value("${jackpot.read-model.enabled:false}") boolean enabled,
+      @Value("${jackpot.read-model.maximum-size:100000}") long maximumSize,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.contributions = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    this.rewards = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, contributions, "readModelContributions");
+    CaffeineCacheMetrics.monitor(meterRegistry, rewards, "readModelRewards");
+  }
+
+  public void apply(ContributionApplied event) {
+    contributions.put(event.betId(), event.toView());
+  }
+
+  public void apply(RewardGranted event) {
+    rewards.put(event.betId(), event.toView());
+  }
+
+  public Optional<ContributionView> contribution(String betId) {
+    return enabled ? Optional.ofNullable(contributions.getIfPresent(betId)) : Optional.empty();
+  }
+
+  public Optional<RewardView> reward(String betId) {
+    return enabled ? Optional.ofNullable(rewards.getIfPresent(betId)) : Optional.empty();
+  }
+}
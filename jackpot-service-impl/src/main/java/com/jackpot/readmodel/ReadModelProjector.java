@@ -0,0 +1,34 @@
+package com.jackpot.readmodel;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.kafka.OutboundEventPublisher;
+
+/**
+ * Feeds the {@link ReadModel} from the outbound topics. Every node keeps views of every bet, so
+ * each consumes in a group of its own ({@code jackpot.read-model.group-id}, per node by default).
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.read-model.enabled", havingValue = "true")
+public class ReadModelProjector {
+
+  private final ReadModel readModel;
+
+  public ReadModelProjector(ReadModel readModel) {
+    this.readModel = readModel;
+  }
+
+  @KafkaListener(topics = OutboundEventPublisher.CONTRIBUTIONS_TOPIC, groupId = "${jackpot.read-model.group-id}")
+  public void onContributionApplied(ContributionApplied event) {
+    readModel.apply(event);
+  }
+
+  @KafkaListener(topics = OutboundEventPublisher.REWARDS_TOPIC, groupId = "${jackpot.read-model.group-id}")
+  public void onRewardGranted(RewardGranted event) {
+    readModel.apply(event);
+  }
+}
@@ -0,0 +1,31 @@
+package com.jackpot.repository;
+
+import com.jackpot.model.ContributionArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ContributionArchiveRepository extends JpaRepository<ContributionArchive, Long> {
+
+    // Latest archived day; every day up to it has left the hot table
+    @Query("SELECT MAX(a.bucketDay) FROM ContributionArchive a")
+    Optional<LocalDate> findLatestBucketDay();
+
+    @Query("SELECT COUNT(DISTINCT a.fileName) FROM ContributionArchive a WHERE a.bucketDay = :day")
+    long countFilesByBucketDay(@Param("day") LocalDate day);
+
+    // Archive whose last row of the jackpot is the latest one at or before a point in time
+    Optional<ContributionArchive> findFirstByJackpotIdAndLastCreatedAtLessThanEqualOrderByLastCreatedAtDescLastIdDesc(
+            String jackpotId, LocalDateTime createdAt);
+
+    // Archives holding rows of the jackpot both before and after a point in time
+    List<ContributionArchive> findByJackpotIdAndLastCreatedAtGreaterThanAndFirstCreatedAtLessThanEqual(
+            String jackpotId, LocalDateTime after, LocalDateTime notAfter);
+}
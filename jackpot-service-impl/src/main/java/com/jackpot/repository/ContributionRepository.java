@@ -1,16 +1,66 @@
 package com.jackpot.repository;
 
+import com.jackpot.dto.ContributionDaySummary;
+import com.jackpot.dto.ContributionView;
 import com.jackpot.model.Contribution;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContributionRepository extends JpaRepository<Contribution, Long> {
     Optional<Contribution> findByBetId(String betId);
+
+    // Only the columns the API exposes; nothing enters the persistence context
+    @Query("SELECT new com.jackpot.dto.ContributionView(c.id, c.betId, c.userId, c.jackpotId, c.stakeAmount, " +
+            "c.contributionAmount, c.currentJackpotAmount, c.createdAt) FROM Contribution c WHERE c.betId = :betId")
+    Optional<ContributionView> findViewByBetId(@Param("betId") String betId);
+
     List<Contribution> findByUserId(Long userId);
     List<Contribution> findByJackpotId(String jackpotId);
     boolean existsByBetId(String betId);
-}
\ No newline at end of file
+
+    // Keyset pages of views, newest first, served by the (user_id, id) and (jackpot_id, id) indexes
+    @Query("SELECT new com.jackpot.dto.ContributionView(c.id, c.betId, c.userId, c.jackpotId, c.stakeAmount, " +
+            "c.contributionAmount, c.currentJackpotAmount, c.createdAt) FROM Contribution c " +
+            "WHERE c.userId = :userId AND c.id < :beforeId ORDER BY c.id DESC")
+    List<ContributionView> findViewsByUserIdBefore(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("SELECT new com.jackpot.dto.ContributionView(c.id, c.betId, c.userId, c.jackpotId, c.stakeAmount, " +
+            "c.contributionAmount, c.currentJackpotAmount, c.createdAt) FROM Contribution c " +
+            "WHERE c.jackpotId = :jackpotId AND c.id < :beforeId ORDER BY c.id DESC")
+    List<ContributionView> findViewsByJackpotIdBefore(@Param("jackpotId") String jackpotId, @Param("beforeId") Long beforeId, Limit limit);
+
+    // Latest contribution at or before a point in time, a single descent of the (jackpot_id, created_at, id) index
+    Optional<Contribution> findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(
+            String jackpotId, LocalDateTime createdAt);
+
+    // Archival of cold days, served by the created_at index
+    @Query("SELECT MIN(c.createdAt) FROM Contribution c")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    @Query("SELECT new com.jackpot.dto.ContributionDaySummary(c.jackpotId, COUNT(c), MIN(c.createdAt), MAX(c.createdAt)) " +
+            "FROM Contribution c WHERE c.createdAt >= :from AND c.createdAt < :to GROUP BY c.jackpotId")
+    List<ContributionDaySummary> summarizeCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.jackpot.dto.ContributionView(c.id, c.betId, c.userId, c.jackpotId, c.stakeAmount, " +
+            "c.contributionAmount, c.currentJackpotAmount, c.createdAt) FROM Contribution c " +
+            "WHERE c.createdAt >= :from AND c.createdAt < :to ORDER BY c.id")
+    Stream<ContributionView> streamViewsCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM Contribution c WHERE c.createdAt >= :from AND c.createdAt < :to")
+    int deleteCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,65 @@
+package com.jackpot.repository;
+
+import com.jackpot.model.JackpotContributionRollup;
+import com.jackpot.model.JackpotRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JackpotContributionRollupRepository extends JpaRepository<JackpotContributionRollup, JackpotRollupId> {
+
+    List<JackpotContributionRollup> findByJackpotIdAndGranularityAndBucketStartBetweenOrderByBucketStartAscShardAsc(
+            String jackpotId, JackpotContributionRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("UPDATE JackpotContributionRollup r SET r.betCount = r.betCount + 1, " +
+            "r.stakeTotal = r.stakeTotal + :stake, r.contributionTotal = r.contributionTotal + :contribution " +
+            "WHERE r.jackpotId = :jackpotId AND r.granularity = :granularity AND r.bucketStart = :bucketStart " +
+            "AND r.shard = :shard")
+    int increment(@Param("jackpotId") String jackpotId,
+                  @Param("granularity") JackpotContributionRollup.Granularity granularity,
+                  @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("shard") int shard,
+                  @Param("stake") BigDecimal stake,
+                  @Param("contribution") BigDecimal contribution);
+
+    // Committed on its own so a duplicate-key race never aborts the caller's transaction
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO jackpot_contribution_rollups " +
+            "(jackpot_id, granularity, bucket_start, shard, bet_count, stake_total, contribution_total) " +
+            "VALUES (:jackpotId, :granularity, :bucketStart, :shard, 0, 0, 0)", nativeQuery = true)
+    void insertEmpty(@Param("jackpotId") String jackpotId,
+                     @Param("granularity") String granularity,
+                     @Param("bucketStart") LocalDateTime bucketStart,
+                     @Param("shard") int shard);
+
+    @Modifying
+    @Query(value = "DELETE FROM jackpot_contribution_rollups WHERE bucket_start >= :from AND bucket_start < :before", nativeQuery = true)
+    int deleteBetween(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query(value = "INSERT INTO jackpot_contribution_rollups " +
+            "(jackpot_id, granularity, bucket_start, shard, bet_count, stake_total, contribution_total) " +
+            "SELECT jackpot_id, 'HOUR', DATE_TRUNC('HOUR', created_at), 0, COUNT(*), SUM(stake_amount), SUM(contribution_amount) " +
+            "FROM contributions WHERE created_at >= :from AND created_at < :before " +
+            "GROUP BY jackpot_id, DATE_TRUNC('HOUR', created_at)", nativeQuery = true)
+    int backfillHours(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query(value = "INSERT INTO jackpot_contribution_rollups " +
+            "(jackpot_id, granularity, bucket_start, shard, bet_count, stake_total, contribution_total) " +
+            "SELECT jackpot_id, 'DAY', DATE_TRUNC('DAY', created_at), 0, COUNT(*), SUM(stake_amount), SUM(contribution_amount) " +
+            "FROM contributions WHERE created_at >= :from AND created_at < :before " +
+            "GROUP BY jackpot_id, DATE_TRUNC('DAY', created_at)", nativeQuery = true)
+    int backfillDays(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before);
+}
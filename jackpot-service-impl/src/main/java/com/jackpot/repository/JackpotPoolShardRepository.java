@@ -0,0 +1,45 @@
+package com.jackpot.repository;
+
+import com.jackpot.dto.PoolShardTotals;
+import com.jackpot.model.JackpotPoolShard;
+import com.jackpot.model.JackpotPoolShardId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface JackpotPoolShardRepository extends JpaRepository<JackpotPoolShard, JackpotPoolShardId> {
+
+    @Modifying
+    @Query("UPDATE JackpotPoolShard s SET s.amount = s.amount + :amount, s.updates = s.updates + 1 " +
+            "WHERE s.jackpotId = :jackpotId AND s.shard = :shard")
+    int increment(@Param("jackpotId") String jackpotId,
+                  @Param("shard") int shard,
+                  @Param("amount") BigDecimal amount);
+
+    // Committed on its own so a duplicate-key race never aborts the caller's transaction
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO jackpot_pool_shards (jackpot_id, shard, amount, updates) " +
+            "VALUES (:jackpotId, :shard, 0, 0)", nativeQuery = true)
+    void insertEmpty(@Param("jackpotId") String jackpotId, @Param("shard") int shard);
+
+    // Sees the caller's own increment and every committed one, without waiting for other shards' locks
+    @Query("SELECT new com.jackpot.dto.PoolShardTotals(COALESCE(SUM(s.amount), 0), COALESCE(SUM(s.updates), 0)) " +
+            "FROM JackpotPoolShard s WHERE s.jackpotId = :jackpotId")
+    PoolShardTotals totals(@Param("jackpotId") String jackpotId);
+
+    // Waits for every in-flight contribution to the jackpot and holds back new ones until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM JackpotPoolShard s WHERE s.jackpotId = :jackpotId ORDER BY s.shard")
+    List<JackpotPoolShard> findByJackpotIdForUpdate(@Param("jackpotId") String jackpotId);
+}
@@ -1,17 +1,41 @@
 package com.jackpot.repository;
 
+import com.jackpot.dto.RewardView;
 import com.jackpot.model.Reward;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RewardRepository extends JpaRepository<Reward, Long> {
     Optional<Reward> findByBetId(String betId);
+
+    // Only the columns the API exposes; nothing enters the persistence context
+    @Query("SELECT new com.jackpot.dto.RewardView(r.id, r.betId, r.userId, r.jackpotId, r.jackpotRewardAmount, " +
+            "r.createdAt) FROM Reward r WHERE r.betId = :betId")
+    Optional<RewardView> findViewByBetId(@Param("betId") String betId);
+
     List<Reward> findByUserId(Long userId);
     List<Reward> findByJackpotId(String jackpotId);
     boolean existsByBetId(String betId);
     boolean existsByJackpotId(String jackpotId);
-}
\ No newline at end of file
+
+    // Keyset pages of views, newest first, served by the (user_id, id) and (jackpot_id, id) indexes
+    @Query("SELECT new com.jackpot.dto.RewardView(r.id, r.betId, r.userId, r.jackpotId, r.jackpotRewardAmount, " +
+            "r.createdAt) FROM Reward r WHERE r.userId = :userId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<RewardView> findViewsByUserIdBefore(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("SELECT new com.jackpot.dto.RewardView(r.id, r.betId, r.userId, r.jackpotId, r.jackpotRewardAmount, " +
+            "r.createdAt) FROM Reward r WHERE r.jackpotId = :jackpotId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<RewardView> findViewsByJackpotIdBefore(@Param("jackpotId") String jackpotId, @Param("beforeId") Long beforeId, Limit limit);
+
+    // Latest win at or before a point in time; a jackpot has at most a handful of rewards
+    Optional<Reward> findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(
+            String jackpotId, LocalDateTime createdAt);
+}
@@ -0,0 +1,52 @@
+package com.jackpot.repository;
+
+import com.jackpot.model.UserContributionRollup;
+import com.jackpot.model.UserRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserContributionRollupRepository extends JpaRepository<UserContributionRollup, UserRollupId> {
+
+    List<UserContributionRollup> findByUserIdAndBucketDayBetweenOrderByBucketDay(
+            Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("UPDATE UserContributionRollup r SET r.betCount = r.betCount + 1, " +
+            "r.stakeTotal = r.stakeTotal + :stake, r.contributionTotal = r.contributionTotal + :contribution " +
+            "WHERE r.userId = :userId AND r.bucketDay = :bucketDay")
+    int increment(@Param("userId") Long userId,
+                  @Param("bucketDay") LocalDate bucketDay,
+                  @Param("stake") BigDecimal stake,
+                  @Param("contribution") BigDecimal contribution);
+
+    // Committed on its own so a duplicate-key race never aborts the caller's transaction
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO user_contribution_rollups " +
+            "(user_id, bucket_day, bet_count, stake_total, contribution_total) " +
+            "VALUES (:userId, :bucketDay, 0, 0, 0)", nativeQuery = true)
+    void insertEmpty(@Param("userId") Long userId, @Param("bucketDay") LocalDate bucketDay);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_contribution_rollups WHERE bucket_day >= :from AND bucket_day < :before", nativeQuery = true)
+    int deleteBetween(@Param("from") LocalDate from, @Param("before") LocalDate before);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_contribution_rollups " +
+            "(user_id, bucket_day, bet_count, stake_total, contribution_total) " +
+            "SELECT user_id, CAST(created_at AS DATE), COUNT(*), SUM(stake_amount), SUM(contribution_amount) " +
+            "FROM contributions WHERE created_at >= :from AND created_at < :before " +
+            "GROUP BY user_id, CAST(created_at AS DATE)", nativeQuery = true)
+    int backfillDays(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before);
+}
@@ -15,6 +15,17 @@ public class CustomUserDetails implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * Lightweight principal built from verified token claims, without loading the user row
+     */
+    public CustomUserDetails(Long userId, String username) {
+        User claimsUser = new User();
+        claimsUser.setId(userId);
+        claimsUser.setUsername(username);
+        claimsUser.setEnabled(true);
+        this.user = claimsUser;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.emptyList();
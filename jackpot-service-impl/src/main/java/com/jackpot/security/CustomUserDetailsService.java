@@ -4,26 +4,101 @@ import com.jackpot.model.User;
 import com.jackpot.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final UserInvalidationBroadcaster invalidationBroadcaster;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    UserDetailsCache userDetailsCache,
+                                    UserInvalidationBroadcaster invalidationBroadcaster) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.invalidationBroadcaster = invalidationBroadcaster;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CustomUserDetails userDetails = userDetailsCache.get(username, name -> userRepository.findByUsername(name)
+                .map(CustomUserDetails::new)
+                .orElse(null));
+
+        if (userDetails == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return userDetails;
+    }
+
+    /**
+     * Store a password re-encoded with the current BCrypt cost factor after a successful login
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = findUser(userDetails.getUsername());
+        user.setPassword(newPassword);
+        User saved = userRepository.save(user);
+
+        // Same password, new hash: issued tokens stay valid
+        invalidateAfterCommit(saved.getId(), saved.getUsername(), false);
+        return new CustomUserDetails(saved);
+    }
+
+    /**
+     * Replace the user's password and log them out everywhere
+     */
+    @Transactional
+    public void changePassword(String username, String encodedPassword) {
+        User user = findUser(username);
+        user.setPassword(encodedPassword);
+        userRepository.save(user);
 
-        return new CustomUserDetails(user);
+        invalidateAfterCommit(user.getId(), username, true);
+    }
+
+    /**
+     * Disable the user and reject every token issued to them
+     */
+    @Transactional
+    public void disableUser(String username) {
+        User user = findUser(username);
+        user.setEnabled(false);
+        userRepository.save(user);
+
+        invalidateAfterCommit(user.getId(), username, true);
+    }
+
+    /**
+     * Evicting before the commit would let a concurrent load re-cache the old row until the cache
+     * entry expires, so the invalidation waits for the transaction to commit
+     */
+    private void invalidateAfterCommit(Long userId, String username, boolean revokeTokens) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidationBroadcaster.invalidate(userId, username, revokeTokens);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidationBroadcaster.invalidate(userId, username, revokeTokens);
+            }
+        });
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
-}
\ No newline at end of file
+}
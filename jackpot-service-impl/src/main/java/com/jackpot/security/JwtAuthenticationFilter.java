@@ -1,5 +1,6 @@
 package com.jackpot.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +20,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                                   TokenRevocationRegistry revocationRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
     }
 
     @Override
@@ -31,22 +35,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
+        Claims claims = null;
         String jwt = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Verifies signature and expiry
+                claims = jwtUtil.extractAllClaims(jwt);
             } catch (Exception e) {
                 logger.warn("JWT token validation failed", e);
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(claims, jwt);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -55,4 +61,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails resolvePrincipal(Claims claims, String jwt) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+
+        if (userId == null) {
+            // Token issued before user id claims were introduced
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            return jwtUtil.validateToken(jwt, userDetails) ? userDetails : null;
+        }
+
+        if (revocationRegistry.isRevoked(userId, claims.get(JwtUtil.EPOCH_CLAIM, Long.class))) {
+            logger.debug("Rejected revoked JWT for user " + userId);
+            return null;
+        }
+
+        return new CustomUserDetails(userId, claims.getSubject());
+    }
+}
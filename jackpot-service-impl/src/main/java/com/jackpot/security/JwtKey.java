@@ -0,0 +1,16 @@
+package com.jackpot.security;
+
+/**
+ * A versioned JWT signing secret from the key ring. The {@code kid} is the monotonically
+ * increasing version and is written to the header of every token signed with this key.
+ */
+public record JwtKey(
+    String kid,
+    String secret,
+    long createdAt
+) {
+
+  public long version() {
+    return Long.parseLong(kid);
+  }
+}
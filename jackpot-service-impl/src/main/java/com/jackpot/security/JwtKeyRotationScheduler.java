@@ -0,0 +1,38 @@
+package com.jackpot.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically adds a new key to the JWT key ring.
+ * Issued tokens stay valid because retired keys remain in the ring for the grace period.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.key-rotation-enabled", havingValue = "true", matchIfMissing = true)
+public class JwtKeyRotationScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(JwtKeyRotationScheduler.class);
+
+  private final RedisJwtSecretManager redisJwtSecretManager;
+  private final long rotationInterval;
+
+  public JwtKeyRotationScheduler(RedisJwtSecretManager redisJwtSecretManager,
+      @Value("${jwt.key-rotation-interval:604800000}") long rotationInterval) {
+    this.redisJwtSecretManager = redisJwtSecretManager;
+    this.rotationInterval = rotationInterval;
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.key-rotation-check-interval:300000}",
+      initialDelayString = "${jwt.key-rotation-check-interval:300000}")
+  public void rotateIfDue() {
+    try {
+      redisJwtSecretManager.rotateIfDue(rotationInterval);
+    } catch (Exception e) {
+      logger.warn("Scheduled JWT key rotation failed, will retry on next check", e);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.jackpot.security;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Holds the JWT key ring in memory so that signing and parsing tokens never touch Redis.
+ * The ring is reloaded on a fixed schedule and immediately when a rotation notification is
+ * received; if Redis is unavailable the previously loaded ring keeps being served.
+ * Tokens are verified with the key named by their {@code kid} header; tokens without one are
+ * verified with the legacy secret while it is still in the ring.
+ */
+@Component
+public class JwtSigningKeyCache implements MessageListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(JwtSigningKeyCache.class);
+  private static final long UNKNOWN_KID_RELOAD_INTERVAL_MS = 5000;
+
+  private final RedisJwtSecretManager redisJwtSecretManager;
+  private final JwtParser parser;
+  private volatile KeyRing current;
+  private volatile long lastUnknownKidReload;
+
+  public JwtSigningKeyCache(RedisJwtSecretManager redisJwtSecretManager) {
+    this.redisJwtSecretManager = redisJwtSecretManager;
+    this.parser = Jwts.parserBuilder()
+        .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+          @Override
+          @SuppressWarnings("rawtypes") // jjwt 0.11 declares the resolver with a raw JwsHeader
+          public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            return resolveVerificationKey(header.getKeyId());
+          }
+        })
+        .build();
+  }
+
+  /**
+   * The key new tokens are signed with
+   */
+  public SigningKey getSigningKey() {
+    return resolve().signingKey();
+  }
+
+  public JwtParser getParser() {
+    return parser;
+  }
+
+  /**
+   * Reload the key ring from Redis, keeping the cached ring if Redis cannot be reached
+   */
+  @Scheduled(fixedDelayString = "${jwt.key-refresh-interval:60000}",
+      initialDelayString = "${jwt.key-refresh-interval:60000}")
+  public void refresh() {
+    try {
+      reload();
+    } catch (Exception e) {
+      logger.warn("Failed to refresh JWT key ring from Redis, serving cached keys", e);
+    }
+  }
+
+  /**
+   * Invoked when {@link RedisJwtSecretManager#refreshJwtSecret()} publishes a rotation
+   */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    logger.info("JWT key rotation notification received, reloading key ring");
+    refresh();
+  }
+
+  SecretKey resolveVerificationKey(String kid) {
+    // Tokens issued before key ids were introduced are signed with the legacy secret
+    String keyId = kid != null ? kid : RedisJwtSecretManager.LEGACY_KID;
+
+    SecretKey key = resolve().keysByKid().get(keyId);
+    if (key == null && reloadForUnknownKid()) {
+      // Another node may have rotated before our notification arrived
+      key = resolve().keysByKid().get(keyId);
+    }
+    if (key == null) {
+      throw new SignatureException(kid != null
+          ? "Unknown JWT signing key id: " + kid
+          : "JWT without key id is no longer accepted");
+    }
+    return key;
+  }
+
+  private boolean reloadForUnknownKid() {
+    long now = System.currentTimeMillis();
+    if (now - lastUnknownKidReload < UNKNOWN_KID_RELOAD_INTERVAL_MS) {
+      return false;
+    }
+    lastUnknownKidReload = now;
+    refresh();
+    return true;
+  }
+
+  private KeyRing resolve() {
+    KeyRing ring = current;
+    if (ring == null) {
+      ring = loadIfAbsent();
+    }
+    return ring;
+  }
+
+  private synchronized KeyRing loadIfAbsent() {
+    return current != null ? current : reload();
+  }
+
+  private synchronized KeyRing reload() {
+    List<JwtKey> keys = redisJwtSecretManager.getOrCreateKeyRing();
+    KeyRing previous = current;
+
+    Map<String, SecretKey> keysByKid = new HashMap<>(keys.size() * 2);
+    for (JwtKey jwtKey : keys) {
+      SecretKey cached = previous != null ? previous.keysByKid().get(jwtKey.kid()) : null;
+      keysByKid.put(jwtKey.kid(), cached != null ? cached : Keys.hmacShaKeyFor(jwtKey.secret().getBytes()));
+    }
+
+    String signingKid = keys.get(0).kid();
+    KeyRing ring = new KeyRing(new SigningKey(signingKid, keysByKid.get(signingKid)), Map.copyOf(keysByKid));
+    current = ring;
+    return ring;
+  }
+
+  public record SigningKey(String kid, SecretKey key) {}
+
+  private record KeyRing(SigningKey signingKey, Map<String, SecretKey> keysByKid) {}
+}
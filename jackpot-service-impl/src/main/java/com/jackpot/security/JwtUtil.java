@@ -3,31 +3,45 @@ package com.jackpot.security;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtUtil {
 
+  public static final String USER_ID_CLAIM = "uid";
+  public static final String EPOCH_CLAIM = "epoch";
+
   private final Long expiration;
-  private final RedisJwtSecretManager redisJwtSecretManager;
+  private final JwtSigningKeyCache signingKeyCache;
+  private final TokenRevocationRegistry revocationRegistry;
 
-  public JwtUtil(RedisJwtSecretManager redisJwtSecretManager,
+  public JwtUtil(JwtSigningKeyCache signingKeyCache,
+      TokenRevocationRegistry revocationRegistry,
       @Value("${jwt.expiration}") Long expiration) {
-    this.redisJwtSecretManager = redisJwtSecretManager;
+    this.signingKeyCache = signingKeyCache;
+    this.revocationRegistry = revocationRegistry;
     this.expiration = expiration;
   }
 
+  /**
+   * Parse and verify the token, returning all of its claims
+   */
+  public Claims extractAllClaims(String token) {
+    return signingKeyCache.getParser()
+        .parseClaimsJws(token)
+        .getBody();
+  }
+
   public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
     final Claims claims = extractAllClaims(token);
     return claimsResolver.apply(claims);
@@ -43,6 +57,11 @@ public class JwtUtil {
 
   public String generateToken(UserDetails userDetails) {
     Map<String, Object> claims = new HashMap<>();
+    if (userDetails instanceof CustomUserDetails customUserDetails) {
+      // Lets authenticated requests build their principal without a users lookup
+      claims.put(USER_ID_CLAIM, customUserDetails.getUserId());
+      claims.put(EPOCH_CLAIM, revocationRegistry.currentEpoch(customUserDetails.getUserId()));
+    }
     return createToken(claims, userDetails.getUsername());
   }
 
@@ -52,31 +71,18 @@ public class JwtUtil {
   }
 
   private String createToken(Map<String, Object> claims, String subject) {
+    JwtSigningKeyCache.SigningKey signingKey = signingKeyCache.getSigningKey();
     return Jwts.builder()
+        .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
         .setClaims(claims)
         .setSubject(subject)
+        .setId(UUID.randomUUID().toString())
         .setIssuedAt(new Date(System.currentTimeMillis()))
         .setExpiration(new Date(System.currentTimeMillis() + expiration))
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey.key(), SignatureAlgorithm.HS256)
         .compact();
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-  }
-
-  private String getJwtSecret() {
-    return redisJwtSecretManager.getOrCreateJwtSecret();
-  }
-
-  private SecretKey getSigningKey() {
-    return Keys.hmacShaKeyFor(getJwtSecret().getBytes());
-  }
-
   private Boolean isTokenExpired(String token) {
     return extractExpiration(token).before(new Date());
   }
@@ -0,0 +1,102 @@
+package com.jackpot.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.exception.ServiceOverloadedException;
+
+/**
+ * Runs BCrypt-heavy credential verification on a dedicated pool sized to the CPU cores.
+ * Logins beyond the pool and its bounded queue are shed with 429 instead of competing
+ * with bet traffic for CPU on request threads.
+ */
+@Component
+public class LoginExecutor implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoginExecutor.class);
+
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final long retryAfterSeconds;
+
+  public LoginExecutor(@Value("${jackpot.login.threads:0}") int threads,
+      @Value("${jackpot.login.queue-capacity:64}") int queueCapacity,
+      @Value("${jackpot.login.timeout:5000}") long timeoutMillis,
+      @Value("${jackpot.login.retry-after-seconds:1}") long retryAfterSeconds) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+    this.timeoutMillis = timeoutMillis;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Run the task on the login pool and wait for its result.
+   * Runtime exceptions thrown by the task (e.g. bad credentials) are rethrown unchanged.
+   */
+  public <T> T execute(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      logger.warn("Login capacity exhausted, shedding login request");
+      throw overloaded();
+    }
+
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Login failed", e.getCause());
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      logger.warn("Login did not complete within {} ms, shedding login request", timeoutMillis);
+      throw overloaded();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw overloaded();
+    }
+  }
+
+  public int getActiveLogins() {
+    return executor.getActiveCount();
+  }
+
+  public int getQueuedLogins() {
+    return executor.getQueue().size();
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private ServiceOverloadedException overloaded() {
+    return new ServiceOverloadedException("Too many login attempts in progress, please retry later",
+        HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds);
+  }
+}
@@ -2,22 +2,43 @@ package com.jackpot.security;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+/**
+ * Manages the JWT key ring in Redis.
+ * Keys live in the hash {@code <jwt.secret>:ring} as {@code kid -> createdAt:secret}; the key with
+ * the highest version signs new tokens, while retired keys keep verifying tokens for a grace period.
+ * The single secret used before the ring existed is seeded under {@link #LEGACY_KID} so tokens
+ * issued without a {@code kid} header stay valid until they expire.
+ */
 @Component
 public class RedisJwtSecretManager {
 
+  public static final String ROTATION_CHANNEL = "jwt-secret-rotated";
+  /** Reserved kid for the pre-ring secret; versions handed out by the counter start at 1 */
+  public static final String LEGACY_KID = "0";
+  private static final Logger logger = LoggerFactory.getLogger(RedisJwtSecretManager.class);
   private static final long SECRET_TTL_DAYS = 30;
+  private final long gracePeriodMillis;
   private RedisTemplate<String, String> redisTemplate;
   private final String secret;
 
-  public RedisJwtSecretManager(@Value("${jwt.secret}") String secret, RedisTemplate<String, String> redisTemplate) {
+  public RedisJwtSecretManager(@Value("${jwt.secret}") String secret,
+      @Value("${jwt.key-grace-period:${jwt.expiration:86400000}}") long gracePeriodMillis,
+      RedisTemplate<String, String> redisTemplate) {
     this.secret = secret;
+    this.gracePeriodMillis = gracePeriodMillis;
     this.redisTemplate = redisTemplate;
   }
 
@@ -25,40 +46,124 @@ public class RedisJwtSecretManager {
    * Get the current JWT secret without creating a new one
    */
   public String getCurrentJwtSecret() {
-    return redisTemplate.opsForValue().get(secret);
+    List<JwtKey> ring = getKeyRing();
+    return ring.isEmpty() ? null : ring.get(0).secret();
   }
 
   /**
    * Get or create JWT secret from Redis
-   * If secret doesn't exist, generate a new one and store it in Redis
+   * If no key exists yet, generate the first one of the ring
    */
   public String getOrCreateJwtSecret() {
-    String currentSecret = redisTemplate.opsForValue().get(secret);
-
-    if (currentSecret == null) {
-      currentSecret = generateSecureSecret();
-      redisTemplate.opsForValue().set(
-          secret,
-          currentSecret,
-          SECRET_TTL_DAYS,
-          TimeUnit.DAYS
-      );
+    return getOrCreateKeyRing().get(0).secret();
+  }
+
+  /**
+   * Get all keys that are still valid for verification, newest (signing) key first
+   */
+  public List<JwtKey> getKeyRing() {
+    Map<Object, Object> entries = redisTemplate.opsForHash().entries(ringKey());
+    List<JwtKey> ring = new ArrayList<>(entries.size());
+    for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+      String value = (String) entry.getValue();
+      int separator = value.indexOf(':');
+      ring.add(new JwtKey((String) entry.getKey(),
+          value.substring(separator + 1),
+          Long.parseLong(value.substring(0, separator))));
+    }
+    ring.sort(Comparator.comparingLong(JwtKey::version).reversed());
+    return ring;
+  }
+
+  /**
+   * Get the key ring, creating the first key if the ring is empty.
+   * The legacy secret is never used for signing, so a ring holding only that key gets a new one.
+   */
+  public List<JwtKey> getOrCreateKeyRing() {
+    List<JwtKey> ring = getKeyRing();
+    if (ring.isEmpty() || LEGACY_KID.equals(ring.get(0).kid())) {
+      seedLegacySecret();
+      refreshJwtSecret();
+      ring = getKeyRing();
+    }
+    return ring;
+  }
+
+  /**
+   * Refresh the JWT secret (useful for key rotation).
+   * Adds a new signing key to the ring; previous keys keep verifying tokens for the grace period,
+   * so rotation does not log anybody out. Every node is notified to reload its cached ring.
+   */
+  public JwtKey refreshJwtSecret() {
+    long now = System.currentTimeMillis();
+    Long version = redisTemplate.opsForValue().increment(versionKey());
+    JwtKey key = new JwtKey(String.valueOf(version), generateSecureSecret(), now);
+
+    redisTemplate.opsForHash().put(ringKey(), key.kid(), key.createdAt() + ":" + key.secret());
+    redisTemplate.expire(ringKey(), SECRET_TTL_DAYS, TimeUnit.DAYS);
+    pruneRetiredKeys(now);
+
+    redisTemplate.convertAndSend(ROTATION_CHANNEL, key.kid());
+    logger.info("Rotated JWT signing key, new kid {}", key.kid());
+    return key;
+  }
+
+  /**
+   * Rotate the signing key if it is older than the given interval.
+   * A short-lived Redis lock makes sure only one node rotates per interval.
+   */
+  public boolean rotateIfDue(long rotationIntervalMillis) {
+    List<JwtKey> ring = getKeyRing();
+    long now = System.currentTimeMillis();
+    if (!ring.isEmpty() && now - ring.get(0).createdAt() < rotationIntervalMillis) {
+      return false;
+    }
+
+    Boolean acquired = redisTemplate.opsForValue()
+        .setIfAbsent(rotationLockKey(), String.valueOf(now), Math.max(1, rotationIntervalMillis / 2), TimeUnit.MILLISECONDS);
+    if (!Boolean.TRUE.equals(acquired)) {
+      return false;
     }
 
-    return currentSecret;
+    refreshJwtSecret();
+    return true;
   }
 
   /**
-   * Refresh the JWT secret (useful for key rotation)
+   * Carry the secret stored at {@code <jwt.secret>} by earlier releases into the ring.
+   * It is retired by the first ring key and pruned like any other key once the grace period ends.
    */
-  public void refreshJwtSecret() {
-    String newSecret = generateSecureSecret();
-    redisTemplate.opsForValue().set(
-        secret,
-        newSecret,
-        SECRET_TTL_DAYS,
-        TimeUnit.DAYS
-    );
+  private void seedLegacySecret() {
+    String legacySecret = redisTemplate.opsForValue().get(secret);
+    if (legacySecret != null) {
+      redisTemplate.opsForHash().putIfAbsent(ringKey(), LEGACY_KID, System.currentTimeMillis() + ":" + legacySecret);
+    }
+  }
+
+  /**
+   * Remove keys that were superseded longer ago than the grace period.
+   * Tokens signed with such a key have expired by now.
+   */
+  private void pruneRetiredKeys(long now) {
+    List<JwtKey> ring = getKeyRing();
+    for (int i = 1; i < ring.size(); i++) {
+      long retiredAt = ring.get(i - 1).createdAt();
+      if (now - retiredAt > gracePeriodMillis) {
+        redisTemplate.opsForHash().delete(ringKey(), ring.get(i).kid());
+      }
+    }
+  }
+
+  private String ringKey() {
+    return secret + ":ring";
+  }
+
+  private String versionKey() {
+    return secret + ":version";
+  }
+
+  private String rotationLockKey() {
+    return secret + ":rotation-lock";
   }
 
   /**
@@ -79,4 +184,4 @@ public class RedisJwtSecretManager {
       throw new RuntimeException("Failed to generate JWT secret", e);
     }
   }
-}
\ No newline at end of file
+}
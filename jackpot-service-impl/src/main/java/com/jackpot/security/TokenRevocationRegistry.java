@@ -0,0 +1,116 @@
+package com.jackpot.security;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Revocation state consulted for every authenticated request.
+ * Each user has a revocation epoch (a timestamp); tokens carry the epoch that was current when
+ * they were issued and are rejected once the user's epoch has moved past it.
+ * Epochs are stored in Redis under {@code user-revocation-epoch:<userId>} for as long as tokens
+ * issued before them can still be valid, and re-read in the background once a cached epoch is older
+ * than the refresh interval, so a node that was down or disconnected when a user was revoked picks
+ * it up. While Redis is unreachable the last epoch read keeps being served, for at most
+ * {@code jackpot.revocation.max-staleness}; a token is treated as revoked only when no epoch of its
+ * user within that limit is known.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+  private static final String EPOCH_KEY_PREFIX = "user-revocation-epoch:";
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final long tokenExpirationMillis;
+  private final LoadingCache<Long, Long> userEpochs;
+
+  @Autowired
+  public TokenRevocationRegistry(RedisTemplate<String, String> redisTemplate,
+      @Value("${jwt.expiration:86400000}") long tokenExpirationMillis,
+      @Value("${jackpot.revocation.refresh-interval:30000}") long refreshIntervalMillis,
+      @Value("${jackpot.revocation.max-staleness:3600000}") long maxStalenessMillis,
+      @Value("${jackpot.revocation.maximum-size:100000}") long maximumSize) {
+    this(redisTemplate, tokenExpirationMillis, refreshIntervalMillis, maxStalenessMillis, maximumSize,
+        ForkJoinPool.commonPool(), Ticker.systemTicker());
+  }
+
+  TokenRevocationRegistry(RedisTemplate<String, String> redisTemplate, long tokenExpirationMillis,
+      long refreshIntervalMillis, long maxStalenessMillis, long maximumSize, Executor executor, Ticker ticker) {
+    this.redisTemplate = redisTemplate;
+    this.tokenExpirationMillis = tokenExpirationMillis;
+    this.userEpochs = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        // A failed refresh keeps the old epoch; only an epoch older than the limit is dropped
+        .refreshAfterWrite(Duration.ofMillis(refreshIntervalMillis))
+        .expireAfterWrite(Duration.ofMillis(Math.max(maxStalenessMillis, refreshIntervalMillis)))
+        .executor(executor)
+        .ticker(ticker)
+        .build(this::loadEpoch);
+  }
+
+  /**
+   * Epoch to embed into a token issued now; throws if it cannot be read from Redis
+   */
+  public long currentEpoch(Long userId) {
+    return userEpochs.get(userId);
+  }
+
+  /**
+   * Invalidate every token issued to the user so far.
+   * The epoch is stored in Redis before it is applied, so a failure leaves nothing half revoked.
+   */
+  public long revokeUser(Long userId) {
+    long epoch = System.currentTimeMillis();
+    // Once this expires every token carrying an older epoch has expired as well
+    redisTemplate.opsForValue().set(epochKey(userId), String.valueOf(epoch), tokenExpirationMillis, TimeUnit.MILLISECONDS);
+    return applyUserEpoch(userId, epoch);
+  }
+
+  /**
+   * Apply an epoch produced elsewhere (e.g. on another node); epochs only move forward
+   */
+  public long applyUserEpoch(Long userId, long epoch) {
+    return userEpochs.asMap().merge(userId, epoch, Math::max);
+  }
+
+  /**
+   * Re-read every cached epoch from Redis in the background; an epoch that cannot be read is kept
+   */
+  public void reload() {
+    userEpochs.refreshAll(userEpochs.asMap().keySet());
+  }
+
+  public boolean isRevoked(Long userId, Long tokenEpoch) {
+    long epoch;
+    try {
+      epoch = currentEpoch(userId);
+    } catch (RuntimeException e) {
+      // Fail closed: no epoch of this user is known, and the unreadable one may have revoked this token
+      logger.warn("Could not read revocation epoch of user {}, rejecting token", userId, e);
+      return true;
+    }
+    return (tokenEpoch == null ? 0L : tokenEpoch) < epoch;
+  }
+
+  private Long loadEpoch(Long userId) {
+    String epoch = redisTemplate.opsForValue().get(epochKey(userId));
+    return epoch == null ? 0L : Long.parseLong(epoch);
+  }
+
+  private static String epochKey(Long userId) {
+    return EPOCH_KEY_PREFIX + userId;
+  }
+}
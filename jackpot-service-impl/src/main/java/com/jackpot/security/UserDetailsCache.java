@@ -0,0 +1,54 @@
+package com.jackpot.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL'd cache of user details keyed by username.
+ * The TTL bounds how long a node can serve a stale entry if an invalidation message is missed.
+ * Size, hit and miss counts are published as {@code cache.*} metrics tagged {@code cache=userDetails}.
+ */
+@Component
+public class UserDetailsCache {
+
+  private final Cache<String, CustomUserDetails> cache;
+
+  public UserDetailsCache(@Value("${jackpot.user-cache.maximum-size:10000}") long maximumSize,
+      @Value("${jackpot.user-cache.ttl:300000}") long ttlMillis,
+      MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofMillis(ttlMillis))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+  }
+
+  /**
+   * Return the cached entry or load it; a loader returning null is not cached
+   */
+  public CustomUserDetails get(String username, Function<String, CustomUserDetails> loader) {
+    return cache.get(username, loader);
+  }
+
+  public void evict(String username) {
+    cache.invalidate(username);
+  }
+
+  public void evictAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+}
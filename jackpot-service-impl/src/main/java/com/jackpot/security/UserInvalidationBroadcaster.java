@@ -0,0 +1,95 @@
+package com.jackpot.security;
+
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagates user changes (disabled, password changed) to every node over a Redis channel.
+ * Each node evicts the user from its {@link UserDetailsCache} and, when tokens are revoked,
+ * applies the new revocation epoch to its {@link TokenRevocationRegistry}.
+ * Message format: {@code userId:epoch:username}, where epoch 0 means no token revocation.
+ * Messages are only a fast path: epochs are stored in Redis before they are published, and a node
+ * that (re)subscribes drops its cached users and epochs, since it may have missed messages meanwhile.
+ */
+@Component
+public class UserInvalidationBroadcaster implements MessageListener, SubscriptionListener {
+
+  public static final String INVALIDATION_CHANNEL = "user-invalidated";
+  private static final Logger logger = LoggerFactory.getLogger(UserInvalidationBroadcaster.class);
+
+  private final UserDetailsCache userDetailsCache;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final RedisTemplate<String, String> redisTemplate;
+
+  public UserInvalidationBroadcaster(UserDetailsCache userDetailsCache,
+      TokenRevocationRegistry revocationRegistry,
+      RedisTemplate<String, String> redisTemplate) {
+    this.userDetailsCache = userDetailsCache;
+    this.revocationRegistry = revocationRegistry;
+    this.redisTemplate = redisTemplate;
+  }
+
+  /**
+   * Invalidate the user locally and on every other node; called once the change has committed.
+   * A revocation that cannot be stored in Redis is rethrown after the user has been evicted
+   * everywhere, so the caller sees that tokens stay valid and can retry.
+   *
+   * @param revokeTokens also reject every token issued to the user so far
+   */
+  public void invalidate(Long userId, String username, boolean revokeTokens) {
+    long epoch = 0L;
+    RuntimeException revocationFailure = null;
+    if (revokeTokens) {
+      try {
+        epoch = revocationRegistry.revokeUser(userId);
+      } catch (RuntimeException e) {
+        revocationFailure = e;
+      }
+    }
+    userDetailsCache.evict(username);
+
+    try {
+      redisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId + ":" + epoch + ":" + username);
+    } catch (Exception e) {
+      // The epoch is already stored; other nodes pick it up once their cached entries expire
+      logger.warn("Failed to broadcast invalidation of user {}", username, e);
+    }
+    if (revocationFailure != null) {
+      logger.error("Failed to revoke tokens of user {}; they stay valid until revoked again", username);
+      throw revocationFailure;
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+    String[] parts = payload.split(":", 3);
+    if (parts.length != 3) {
+      logger.warn("Ignoring malformed user invalidation message: {}", payload);
+      return;
+    }
+
+    long epoch = Long.parseLong(parts[1]);
+    if (epoch > 0) {
+      revocationRegistry.applyUserEpoch(Long.valueOf(parts[0]), epoch);
+    }
+    userDetailsCache.evict(parts[2]);
+  }
+
+  /**
+   * Called on startup and whenever the listener container resubscribes after losing its connection
+   */
+  @Override
+  public void onChannelSubscribed(byte[] channel, long count) {
+    logger.info("Subscribed to user invalidations, dropping cached users and revocation epochs");
+    userDetailsCache.evictAll();
+    revocationRegistry.reload();
+  }
+}
@@ -0,0 +1,219 @@
+package com.jackpot.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jackpot.dto.RollupBucket;
+import com.jackpot.dto.RollupSummary;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.JackpotContributionRollup;
+import com.jackpot.model.JackpotContributionRollup.Granularity;
+import com.jackpot.repository.ContributionArchiveRepository;
+import com.jackpot.repository.JackpotContributionRollupRepository;
+import com.jackpot.repository.UserContributionRollupRepository;
+
+/**
+ * Contribution totals per jackpot per hour and day, and per user per day.
+ * Buckets are incremented in the same transaction as the contribution itself, so analytics read
+ * a handful of bucket rows instead of scanning contributions. The backfill rebuilds closed days
+ * from the contributions table, e.g. for data recorded before rollups existed; archived days are no
+ * longer in that table, so their buckets are kept as they are.
+ */
+@Service
+public class ContributionRollupService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContributionRollupService.class);
+  private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+
+  private final JackpotContributionRollupRepository jackpotRollupRepository;
+  private final UserContributionRollupRepository userRollupRepository;
+  private final ContributionArchiveRepository archiveRepository;
+  private final int maxBuckets;
+  private final boolean backfillOnStartup;
+
+  public ContributionRollupService(JackpotContributionRollupRepository jackpotRollupRepository,
+      UserContributionRollupRepository userRollupRepository,
+      ContributionArchiveRepository archiveRepository,
+      @Value("${jackpot.rollup.max-buckets:1000}") int maxBuckets,
+      @Value("${jackpot.rollup.backfill-on-startup:false}") boolean backfillOnStartup) {
+    this.jackpotRollupRepository = jackpotRollupRepository;
+    this.userRollupRepository = userRollupRepository;
+    this.archiveRepository = archiveRepository;
+    this.maxBuckets = maxBuckets;
+    this.backfillOnStartup = backfillOnStartup;
+  }
+
+  /**
+   * Add a contribution to its buckets; must run inside the transaction that saves the contribution
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(Contribution contribution) {
+    record(contribution, 0);
+  }
+
+  /**
+   * Add a contribution of a striped jackpot to the given shard of its buckets, the one its pool
+   * shard was taken from, so concurrent contributions do not queue on the same bucket row either
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(Contribution contribution, int shard) {
+    LocalDateTime createdAt = contribution.getCreatedAt();
+    incrementJackpot(contribution, Granularity.HOUR, createdAt.truncatedTo(ChronoUnit.HOURS), shard);
+    incrementJackpot(contribution, Granularity.DAY, createdAt.truncatedTo(ChronoUnit.DAYS), shard);
+    incrementUser(contribution, createdAt.toLocalDate());
+  }
+
+  /**
+   * Totals of a jackpot for buckets starting within [from, to]; an open end means now and an
+   * open start means as many buckets back as a single request may cover
+   */
+  @Transactional(readOnly = true)
+  public RollupSummary getJackpotSummary(String jackpotId, Granularity granularity,
+      LocalDateTime from, LocalDateTime to) {
+    ChronoUnit unit = granularity == Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+    LocalDateTime end = to != null ? to : LocalDateTime.now();
+    LocalDateTime start = from != null ? from : end.truncatedTo(unit).minus(maxBuckets - 1L, unit);
+    checkRange(unit.between(start, end));
+
+    List<JackpotContributionRollup> rollups = jackpotRollupRepository
+        .findByJackpotIdAndGranularityAndBucketStartBetweenOrderByBucketStartAscShardAsc(jackpotId, granularity, start, end);
+    // Shards of a bucket come next to each other
+    List<RollupBucket> buckets = new ArrayList<>();
+    for (JackpotContributionRollup rollup : rollups) {
+      RollupBucket bucket = new RollupBucket(rollup.getBucketStart(), rollup.getBetCount(),
+          rollup.getStakeTotal(), rollup.getContributionTotal());
+      int last = buckets.size() - 1;
+      if (last >= 0 && buckets.get(last).bucketStart().equals(bucket.bucketStart())) {
+        RollupBucket previous = buckets.get(last);
+        bucket = new RollupBucket(bucket.bucketStart(), previous.betCount() + bucket.betCount(),
+            previous.stakeTotal().add(bucket.stakeTotal()), previous.contributionTotal().add(bucket.contributionTotal()));
+        buckets.set(last, bucket);
+      } else {
+        buckets.add(bucket);
+      }
+    }
+    return RollupSummary.of(granularity.name(), buckets);
+  }
+
+  /**
+   * Daily totals of a user for days within [from, to]; open bounds default to the user's lifetime,
+   * which costs one row per day the user actually played
+   */
+  @Transactional(readOnly = true)
+  public RollupSummary getUserSummary(Long userId, LocalDate from, LocalDate to) {
+    LocalDate start = from != null ? from : EARLIEST;
+    LocalDate end = to != null ? to : LocalDate.now();
+    if (start.isAfter(end)) {
+      throw new IllegalArgumentException("Range start must not be after its end");
+    }
+
+    List<RollupBucket> buckets = userRollupRepository
+        .findByUserIdAndBucketDayBetweenOrderByBucketDay(userId, start, end)
+        .stream()
+        .map(rollup -> new RollupBucket(rollup.getBucketDay().atStartOfDay(), rollup.getBetCount(),
+            rollup.getStakeTotal(), rollup.getContributionTotal()))
+        .toList();
+    return RollupSummary.of(Granularity.DAY.name(), buckets);
+  }
+
+  /**
+   * Rebuild every bucket of the days before {@code before} (exclusive) from the contributions table,
+   * starting after the last archived day.
+   * Buckets of later days are left to the incremental path, so the backfill is safe to run while
+   * contributions are being processed as long as {@code before} is not in the future.
+   *
+   * @return the number of bucket rows written
+   */
+  @Transactional
+  public int backfill(LocalDate before) {
+    if (before.isAfter(LocalDate.now())) {
+      throw new IllegalArgumentException("Backfill cutoff cannot be in the future: " + before);
+    }
+    LocalDate from = archiveRepository.findLatestBucketDay().map(day -> day.plusDays(1)).orElse(EARLIEST);
+    if (!from.isBefore(before)) {
+      return 0;
+    }
+    long started = System.currentTimeMillis();
+    LocalDateTime start = from.atStartOfDay();
+    LocalDateTime cutoff = before.atStartOfDay();
+
+    jackpotRollupRepository.deleteBetween(start, cutoff);
+    userRollupRepository.deleteBetween(from, before);
+    int rows = jackpotRollupRepository.backfillHours(start, cutoff)
+        + jackpotRollupRepository.backfillDays(start, cutoff)
+        + userRollupRepository.backfillDays(start, cutoff);
+
+    logger.info("Rebuilt {} rollup buckets from {} before {} in {} ms", rows, from, before,
+        System.currentTimeMillis() - started);
+    return rows;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillOnStartup() {
+    if (backfillOnStartup) {
+      backfill(LocalDate.now());
+    }
+  }
+
+  private void incrementJackpot(Contribution contribution, Granularity granularity, LocalDateTime bucketStart,
+      int shard) {
+    if (increment(contribution, granularity, bucketStart, shard) > 0) {
+      return;
+    }
+    // First contribution of the bucket; a concurrent first contribution may create the row as well
+    try {
+      jackpotRollupRepository.insertEmpty(contribution.getJackpotId(), granularity.name(), bucketStart, shard);
+    } catch (DataIntegrityViolationException e) {
+      logger.debug("Rollup bucket {} {} {} created concurrently", contribution.getJackpotId(), granularity, bucketStart);
+    }
+    if (increment(contribution, granularity, bucketStart, shard) == 0) {
+      throw new IllegalStateException("Rollup bucket missing for jackpot " + contribution.getJackpotId());
+    }
+  }
+
+  private int increment(Contribution contribution, Granularity granularity, LocalDateTime bucketStart, int shard) {
+    return jackpotRollupRepository.increment(contribution.getJackpotId(), granularity, bucketStart, shard,
+        contribution.getStakeAmount(), contribution.getContributionAmount());
+  }
+
+  private void incrementUser(Contribution contribution, LocalDate bucketDay) {
+    if (incrementUserBucket(contribution, bucketDay) > 0) {
+      return;
+    }
+    try {
+      userRollupRepository.insertEmpty(contribution.getUserId(), bucketDay);
+    } catch (DataIntegrityViolationException e) {
+      logger.debug("Rollup bucket of user {} for {} created concurrently", contribution.getUserId(), bucketDay);
+    }
+    if (incrementUserBucket(contribution, bucketDay) == 0) {
+      throw new IllegalStateException("Rollup bucket missing for user " + contribution.getUserId());
+    }
+  }
+
+  private int incrementUserBucket(Contribution contribution, LocalDate bucketDay) {
+    return userRollupRepository.increment(contribution.getUserId(), bucketDay,
+        contribution.getStakeAmount(), contribution.getContributionAmount());
+  }
+
+  private void checkRange(long buckets) {
+    if (buckets < 0) {
+      throw new IllegalArgumentException("Range start must not be after its end");
+    }
+    if (buckets > maxBuckets) {
+      throw new IllegalArgumentException("Range spans more than " + maxBuckets + " buckets");
+    }
+  }
+}
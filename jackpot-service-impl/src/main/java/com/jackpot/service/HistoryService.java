@@ -0,0 +1,80 @@
+package com.jackpot.service;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.HistoryPage;
+import com.jackpot.dto.RewardView;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.RewardRepository;
+
+/**
+ * Contribution and reward history with keyset pagination (cursor = last seen id).
+ * Pages cost the same regardless of how deep the client is, and are read as views without loading entities.
+ */
+@Service
+public class HistoryService {
+
+  private final ContributionRepository contributionRepository;
+  private final RewardRepository rewardRepository;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+
+  public HistoryService(ContributionRepository contributionRepository,
+      RewardRepository rewardRepository,
+      @Value("${jackpot.history.default-page-size:20}") int defaultPageSize,
+      @Value("${jackpot.history.max-page-size:100}") int maxPageSize) {
+    this.contributionRepository = contributionRepository;
+    this.rewardRepository = rewardRepository;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+  }
+
+  public HistoryPage<ContributionView> getUserContributions(Long userId, Long before, Integer limit) {
+    int size = pageSize(limit);
+    return page(contributionRepository.findViewsByUserIdBefore(
+        userId, cursor(before), Limit.of(size + 1)), size, ContributionView::id);
+  }
+
+  public HistoryPage<ContributionView> getJackpotContributions(String jackpotId, Long before, Integer limit) {
+    int size = pageSize(limit);
+    return page(contributionRepository.findViewsByJackpotIdBefore(
+        jackpotId, cursor(before), Limit.of(size + 1)), size, ContributionView::id);
+  }
+
+  public HistoryPage<RewardView> getUserRewards(Long userId, Long before, Integer limit) {
+    int size = pageSize(limit);
+    return page(rewardRepository.findViewsByUserIdBefore(
+        userId, cursor(before), Limit.of(size + 1)), size, RewardView::id);
+  }
+
+  public HistoryPage<RewardView> getJackpotRewards(String jackpotId, Long before, Integer limit) {
+    int size = pageSize(limit);
+    return page(rewardRepository.findViewsByJackpotIdBefore(
+        jackpotId, cursor(before), Limit.of(size + 1)), size, RewardView::id);
+  }
+
+  private <T> HistoryPage<T> page(List<T> rows, int size, ToLongFunction<T> idOf) {
+    if (rows.size() <= size) {
+      return new HistoryPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, size);
+    return new HistoryPage<>(List.copyOf(items), idOf.applyAsLong(items.get(size - 1)));
+  }
+
+  private int pageSize(Integer limit) {
+    if (limit == null || limit <= 0) {
+      return defaultPageSize;
+    }
+    return Math.min(limit, maxPageSize);
+  }
+
+  private long cursor(Long before) {
+    return before == null ? Long.MAX_VALUE : before;
+  }
+}
@@ -0,0 +1,9 @@
+package com.jackpot.service;
+
+import com.jackpot.model.Jackpot;
+
+/**
+ * Published whenever a jackpot's pool changes; listeners run after the transaction commits
+ */
+public record JackpotChangedEvent(Jackpot jackpot) {
+}
@@ -0,0 +1,22 @@
+package com.jackpot.service;
+
+import java.math.BigDecimal;
+
+import com.jackpot.model.Contribution;
+
+/**
+ * Applies bets and reward evaluations to jackpot pools.
+ * {@link JackpotService} updates the relational tables in place; with {@code jackpot.engine=event-sourced}
+ * the ledger engine appends outcomes to a local log and projects the tables asynchronously.
+ * With {@code jackpot.engine=streams} bets never pass through an engine: a Kafka Streams topology
+ * consumes them, and only its {@link RewardEvaluator} side is exposed.
+ */
+public interface JackpotEngine extends RewardEvaluator {
+
+  Contribution processContribution(String betId, Long userId, String jackpotId, BigDecimal betAmount);
+
+  /**
+   * Whether the engine has already applied the bet, including applications not yet visible in the tables
+   */
+  boolean isApplied(String betId);
+}
@@ -0,0 +1,114 @@
+package com.jackpot.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jackpot.dto.PoolShardTotals;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.JackpotPoolShard;
+import com.jackpot.repository.JackpotPoolShardRepository;
+import com.jackpot.repository.JackpotRepository;
+
+/**
+ * Pools of hot jackpots striped across several rows. Every contribution to the same jackpot used to
+ * update its one jackpots row, so commits queued behind that row's lock no matter how many consumer
+ * threads there were. A jackpot with {@code pool_shards} K > 1 instead adds each contribution to one
+ * of K shard rows, picked per consumer thread, and the pool is read as the row plus the shard sum.
+ * A win locks every shard, pays out the exact sum and zeroes them, so no contribution is lost or
+ * counted twice; contributions in between only record the pool as their own transaction saw it.
+ */
+@Service
+public class JackpotPoolStripes {
+
+  public static final int MAX_SHARDS = 64;
+  private static final Logger logger = LoggerFactory.getLogger(JackpotPoolStripes.class);
+
+  // Consumer threads each own their partitions, so a slot per thread spreads partitions over shards
+  private static final AtomicInteger nextSlot = new AtomicInteger();
+  private static final ThreadLocal<Integer> slot = ThreadLocal.withInitial(nextSlot::getAndIncrement);
+
+  private final JackpotPoolShardRepository shardRepository;
+  private final JackpotRepository jackpotRepository;
+
+  public JackpotPoolStripes(JackpotPoolShardRepository shardRepository, JackpotRepository jackpotRepository) {
+    this.shardRepository = shardRepository;
+    this.jackpotRepository = jackpotRepository;
+  }
+
+  /**
+   * Add a contribution to the calling thread's shard and refresh the jackpot's pool from all shards;
+   * must run inside the transaction that saves the contribution
+   *
+   * @return the shard added to, for the contribution's rollup buckets
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public int add(Jackpot jackpot, BigDecimal amount) {
+    String jackpotId = jackpot.getJackpotId();
+    int shard = shardFor(jackpot);
+    if (shardRepository.increment(jackpotId, shard, amount) == 0) {
+      // First contribution to the shard; a concurrent first contribution may create the row as well
+      try {
+        shardRepository.insertEmpty(jackpotId, shard);
+      } catch (DataIntegrityViolationException e) {
+        logger.debug("Pool shard {} of jackpot {} created concurrently", shard, jackpotId);
+      }
+      if (shardRepository.increment(jackpotId, shard, amount) == 0) {
+        throw new IllegalStateException("Pool shard " + shard + " missing for jackpot " + jackpotId);
+      }
+    }
+    PoolShardTotals totals = shardRepository.totals(jackpotId);
+    jackpot.applyStripes(totals.amount(), totals.updates());
+    return shard;
+  }
+
+  /**
+   * Fold every shard of the jackpot back into its row, waiting for contributions in flight and
+   * holding back new ones until the caller commits, so the jackpot's pool is exact afterwards
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void collapse(Jackpot jackpot) {
+    List<JackpotPoolShard> shards = shardRepository.findByJackpotIdForUpdate(jackpot.getJackpotId());
+    BigDecimal amount = BigDecimal.ZERO;
+    long updates = 0;
+    for (JackpotPoolShard shard : shards) {
+      amount = amount.add(shard.getAmount());
+      if (shard.getAmount().signum() != 0) {
+        shard.drain();
+      }
+      updates += shard.getUpdates();
+    }
+    jackpot.applyStripes(amount, updates);
+    jackpot.collapseStripes();
+  }
+
+  /**
+   * Change the number of rows a jackpot's pool is striped across. Shards beyond a lowered count
+   * keep their amounts, which still count towards the pool and are folded in on the next win.
+   *
+   * @return the updated jackpot, or empty if there is no such jackpot
+   */
+  @Transactional
+  public Optional<Jackpot> configure(String jackpotId, int shards) {
+    if (shards < 1 || shards > MAX_SHARDS) {
+      throw new IllegalArgumentException("Pool shards must be between 1 and " + MAX_SHARDS);
+    }
+    return jackpotRepository.findByJackpotId(jackpotId).map(jackpot -> {
+      jackpot.setPoolShards(shards);
+      logger.info("Jackpot {} pool striped across {} shards", jackpotId, shards);
+      return jackpotRepository.save(jackpot);
+    });
+  }
+
+  int shardFor(Jackpot jackpot) {
+    return Math.floorMod(slot.get(), jackpot.getPoolShards());
+  }
+}
@@ -0,0 +1,113 @@
+package com.jackpot.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.jackpot.model.Jackpot;
+
+/**
+ * Contribution and reward formulas shared by every {@link JackpotEngine}
+ */
+public final class JackpotRules {
+
+  private JackpotRules() {
+  }
+
+  public static BigDecimal contributionAmount(Jackpot jackpot, BigDecimal betAmount) {
+    return contributionAmount(jackpot, jackpot.getCurrentPoolValue(), betAmount);
+  }
+
+  /**
+   * Contribution of a bet to a pool held outside the jackpot, as by the streams engine
+   */
+  public static BigDecimal contributionAmount(Jackpot jackpot, BigDecimal pool, BigDecimal betAmount) {
+    switch (jackpot.getContributionType()) {
+
+      case FIXED:
+        // Formula:
+        // contribution = max(0.01, betAmount * fixedContributionPercentage / 100)
+
+        if (jackpot.getFixedContributionPercentage() == null) {
+          throw new IllegalStateException("Fixed contribution percentage not configured for jackpot: " + jackpot.getJackpotId());
+        }
+
+        BigDecimal fixedContribution = betAmount.multiply(jackpot.getFixedContributionPercentage())
+            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+
+        // Ensure minimum contribution of 0.01
+        return fixedContribution.max(BigDecimal.valueOf(0.01));
+
+      case VARIABLE:
+        // Formula:
+        // variablePercentage = clamp(1, 100, base - (decay * pool / 1000))
+        // contribution = max(0.01, betAmount * variablePercentage / 100)
+
+        if (jackpot.getVariableContributionBasePercentage() == null || jackpot.getVariableContributionDecayRate() == null) {
+          throw new IllegalStateException("Variable contribution parameters not configured for jackpot: " + jackpot.getJackpotId());
+        }
+
+        BigDecimal basePercentage = jackpot.getVariableContributionBasePercentage();
+        BigDecimal decayRate = jackpot.getVariableContributionDecayRate();
+        BigDecimal poolSize = pool;
+
+        // variablePercentage = base - (decay * pool / 1000)
+        BigDecimal variablePercentage = basePercentage.subtract(
+            decayRate.multiply(poolSize.divide(BigDecimal.valueOf(1000), 2, RoundingMode.HALF_UP))
+        );
+
+        // Clamp variablePercentage to range [1, 100]
+        variablePercentage = variablePercentage.min(BigDecimal.valueOf(100)).max(BigDecimal.ONE);
+
+        BigDecimal variableContribution = betAmount.multiply(variablePercentage)
+            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+
+        // Ensure minimum contribution of 0.01
+        return variableContribution.max(BigDecimal.valueOf(0.01));
+
+      default:
+        throw new IllegalArgumentException("Unknown contribution type: " + jackpot.getContributionType());
+    }
+  }
+
+  public static double rewardChance(Jackpot jackpot) {
+    return rewardChance(jackpot, jackpot.getCurrentPoolValue());
+  }
+
+  public static double rewardChance(Jackpot jackpot, BigDecimal pool) {
+    switch (jackpot.getRewardType()) {
+      case FIXED:
+        return jackpot.getFixedRewardChance().doubleValue();
+
+      case VARIABLE:
+        double baseChance = jackpot.getVariableRewardBaseChance().doubleValue();
+        double increment = jackpot.getVariableRewardIncrement().doubleValue();
+        double threshold = jackpot.getVariableRewardThreshold().doubleValue();
+        double poolSize = pool.doubleValue();
+
+        // Linear increase formula: min(100, baseChance + increment * pool/threshold)
+        double calculatedChance = baseChance + (increment * poolSize / threshold);
+        return Math.min(100.0, calculatedChance);
+
+      default:
+        throw new IllegalArgumentException("Unknown reward type: " + jackpot.getRewardType());
+    }
+  }
+
+  public static void validateBetParameters(String betId, Long userId, String jackpotId, BigDecimal betAmount) {
+    if (betId == null || betId.trim().isEmpty()) {
+      throw new IllegalArgumentException("Bet ID cannot be null or empty");
+    }
+    if (userId == null) {
+      throw new IllegalArgumentException("User ID cannot be null");
+    }
+    if (jackpotId == null || jackpotId.trim().isEmpty()) {
+      throw new IllegalArgumentException("Jackpot ID cannot be null or empty");
+    }
+    if (betAmount == null) {
+      throw new IllegalArgumentException("Bet amount cannot be null");
+    }
+    if (betAmount.compareTo(BigDecimal.ZERO) < 0) {
+      throw new IllegalArgumentException("Bet amount cannot be negative");
+    }
+  }
+}
@@ -1,14 +1,17 @@
 package com.jackpot.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Optional;
 import java.util.Random;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.RewardView;
 import com.jackpot.model.Contribution;
 import com.jackpot.model.Jackpot;
 import com.jackpot.model.Reward;
@@ -18,7 +21,7 @@ import com.jackpot.repository.RewardRepository;
 import com.jackpot.repository.UserRepository;
 
 @Service
-public class JackpotService {
+public class JackpotService implements JackpotEngine {
 
   private final ContributionRepository contributionRepository;
   @Value("${jackpot.force-win:false}")
@@ -27,17 +30,27 @@ public class JackpotService {
   private final Random random = new Random();
   private final RewardRepository rewardRepository;
   private final UserRepository userRepository;
+  private final ContributionRollupService rollupService;
+  private final JackpotPoolStripes poolStripes;
+  private final ApplicationEventPublisher eventPublisher;
 
   public JackpotService(JackpotRepository jackpotRepository,
       ContributionRepository contributionRepository,
       RewardRepository rewardRepository,
-      UserRepository userRepository) {
+      UserRepository userRepository,
+      ContributionRollupService rollupService,
+      JackpotPoolStripes poolStripes,
+      ApplicationEventPublisher eventPublisher) {
     this.jackpotRepository = jackpotRepository;
     this.contributionRepository = contributionRepository;
     this.rewardRepository = rewardRepository;
     this.userRepository = userRepository;
+    this.rollupService = rollupService;
+    this.poolStripes = poolStripes;
+    this.eventPublisher = eventPublisher;
   }
 
+  @Override
   @Transactional
   public Optional<Reward> evaluateReward(String betId, Long userId, String jackpotId) {
     // Validate bet, user, and jackpot existence
@@ -63,7 +76,7 @@ public class JackpotService {
     }
 
     // Calculate reward chance based on jackpot configuration
-    double rewardChance = calculateRewardChance(jackpot);
+    double rewardChance = JackpotRules.rewardChance(jackpot);
 
     //  for testing forceWin
     boolean winsJackpot = forceWin || random.nextDouble() * 100 < rewardChance;
@@ -74,14 +87,21 @@ public class JackpotService {
         return Optional.empty();
       }
 
+      // Fold striped contributions into the row, so the winner gets every contribution committed before
+      poolStripes.collapse(jackpot);
+
       // Create reward
       Reward reward = new Reward(betId, userId, jackpotId, jackpot.getCurrentPoolValue());
 
       // Reset jackpot to initial value
       jackpot.setCurrentPoolValue(jackpot.getInitialPoolValue());
-      jackpotRepository.save(jackpot);
+      jackpot.setRound(jackpot.getRound() + 1);
+      jackpot = jackpotRepository.save(jackpot);
+      eventPublisher.publishEvent(new JackpotChangedEvent(jackpot));
 
-      return Optional.of(rewardRepository.save(reward));
+      Reward savedReward = rewardRepository.save(reward);
+      eventPublisher.publishEvent(new JackpotWonEvent(savedReward));
+      return Optional.of(savedReward);
     }
 
     return Optional.empty();
@@ -91,6 +111,11 @@ public class JackpotService {
     return contributionRepository.findByBetId(betId);
   }
 
+  @Transactional(readOnly = true)
+  public Optional<ContributionView> getContributionView(String betId) {
+    return contributionRepository.findViewByBetId(betId);
+  }
+
   public Optional<Jackpot> getJackpot(String jackpotId) {
     return jackpotRepository.findByJackpotId(jackpotId);
   }
@@ -99,115 +124,51 @@ public class JackpotService {
     return rewardRepository.findByBetId(betId);
   }
 
+  @Transactional(readOnly = true)
+  public Optional<RewardView> getRewardView(String betId) {
+    return rewardRepository.findViewByBetId(betId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public boolean isApplied(String betId) {
+    return contributionRepository.existsByBetId(betId);
+  }
+
+  @Override
   @Transactional
   public Contribution processContribution(String betId, Long userId, String jackpotId, BigDecimal betAmount) {
     // Validate input parameters
-    validateBetParameters(betId, userId, jackpotId, betAmount);
+    JackpotRules.validateBetParameters(betId, userId, jackpotId, betAmount);
 
     // Find jackpot with optimistic locking
     Jackpot jackpot = jackpotRepository.findByJackpotIdWithLock(jackpotId)
         .orElseThrow(() -> new RuntimeException("Jackpot not found: " + jackpotId));
 
     // Calculate contribution amount based on jackpot configuration
-    BigDecimal contributionAmount = calculateContributionAmount(jackpot, betAmount);
-
-    // Update jackpot pool
-    jackpot.setCurrentPoolValue(jackpot.getCurrentPoolValue().add(contributionAmount));
-    jackpot = jackpotRepository.save(jackpot);
+    BigDecimal contributionAmount = JackpotRules.contributionAmount(jackpot, betAmount);
+
+    // Update jackpot pool; striped pools leave the contended jackpot row alone
+    int shard = 0;
+    if (jackpot.getPoolShards() > 1) {
+      shard = poolStripes.add(jackpot, contributionAmount);
+    } else {
+      jackpot.setCurrentPoolValue(jackpot.getCurrentPoolValue().add(contributionAmount));
+      jackpot = jackpotRepository.save(jackpot);
+    }
+    eventPublisher.publishEvent(new JackpotChangedEvent(jackpot));
 
     // Create contribution record
     Contribution contribution = new Contribution(
         betId, userId, jackpotId, betAmount, contributionAmount, jackpot.getCurrentPoolValue()
     );
 
-    return contributionRepository.save(contribution);
-  }
-
-  private BigDecimal calculateContributionAmount(Jackpot jackpot, BigDecimal betAmount) {
-    switch (jackpot.getContributionType()) {
-
-      case FIXED:
-        // Formula:
-        // contribution = max(0.01, betAmount * fixedContributionPercentage / 100)
-
-        if (jackpot.getFixedContributionPercentage() == null) {
-          throw new IllegalStateException("Fixed contribution percentage not configured for jackpot: " + jackpot.getJackpotId());
-        }
-
-        BigDecimal fixedContribution = betAmount.multiply(jackpot.getFixedContributionPercentage())
-            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-        // Ensure minimum contribution of 0.01
-        return fixedContribution.max(BigDecimal.valueOf(0.01));
-
-      case VARIABLE:
-        // Formula:
-        // variablePercentage = clamp(1, 100, base - (decay * pool / 1000))
-        // contribution = max(0.01, betAmount * variablePercentage / 100)
-
-        if (jackpot.getVariableContributionBasePercentage() == null || jackpot.getVariableContributionDecayRate() == null) {
-          throw new IllegalStateException("Variable contribution parameters not configured for jackpot: " + jackpot.getJackpotId());
-        }
-
-        BigDecimal basePercentage = jackpot.getVariableContributionBasePercentage();
-        BigDecimal decayRate = jackpot.getVariableContributionDecayRate();
-        BigDecimal poolSize = jackpot.getCurrentPoolValue();
+    Contribution savedContribution = contributionRepository.save(contribution);
 
-        // variablePercentage = base - (decay * pool / 1000)
-        BigDecimal variablePercentage = basePercentage.subtract(
-            decayRate.multiply(poolSize.divide(BigDecimal.valueOf(1000), 2, RoundingMode.HALF_UP))
-        );
-
-        // Clamp variablePercentage to range [1, 100]
-        variablePercentage = variablePercentage.min(BigDecimal.valueOf(100)).max(BigDecimal.ONE);
-
-        BigDecimal variableContribution = betAmount.multiply(variablePercentage)
-            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-        // Ensure minimum contribution of 0.01
-        return variableContribution.max(BigDecimal.valueOf(0.01));
-
-      default:
-        throw new IllegalArgumentException("Unknown contribution type: " + jackpot.getContributionType());
-    }
-  }
-
-  private double calculateRewardChance(Jackpot jackpot) {
-    switch (jackpot.getRewardType()) {
-      case FIXED:
-        return jackpot.getFixedRewardChance().doubleValue();
-
-      case VARIABLE:
-        double baseChance = jackpot.getVariableRewardBaseChance().doubleValue();
-        double increment = jackpot.getVariableRewardIncrement().doubleValue();
-        double threshold = jackpot.getVariableRewardThreshold().doubleValue();
-        double pool = jackpot.getCurrentPoolValue().doubleValue();
-
-        // Linear increase formula: min(100, baseChance + increment * pool/threshold)
-        double calculatedChance = baseChance + (increment * pool / threshold);
-        return Math.min(100.0, calculatedChance);
-
-      default:
-        throw new IllegalArgumentException("Unknown reward type: " + jackpot.getRewardType());
-    }
-  }
-
-  private void validateBetParameters(String betId, Long userId, String jackpotId, BigDecimal betAmount) {
-    if (betId == null || betId.trim().isEmpty()) {
-      throw new IllegalArgumentException("Bet ID cannot be null or empty");
-    }
-    if (userId == null) {
-      throw new IllegalArgumentException("User ID cannot be null");
-    }
-    if (jackpotId == null || jackpotId.trim().isEmpty()) {
-      throw new IllegalArgumentException("Jackpot ID cannot be null or empty");
-    }
-    if (betAmount == null) {
-      throw new IllegalArgumentException("Bet amount cannot be null");
-    }
-    if (betAmount.compareTo(BigDecimal.ZERO) < 0) {
-      throw new IllegalArgumentException("Bet amount cannot be negative");
-    }
+    // Keep analytics buckets in step with the contribution in the same transaction
+    rollupService.record(savedContribution, shard);
+    eventPublisher.publishEvent(ContributionApplied.of(savedContribution));
+    return savedContribution;
   }
 
   private boolean validateBetUserAndJackpot(String betId, Long userId, String jackpotId) {
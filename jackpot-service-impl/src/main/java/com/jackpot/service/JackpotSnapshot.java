@@ -0,0 +1,13 @@
+package com.jackpot.service;
+
+/**
+ * Pre-serialized JSON of a jackpot at a given row version
+ *
+ * @param etag strong entity tag derived from the row id and version
+ */
+public record JackpotSnapshot(String jackpotId, Long id, long version, String etag, byte[] body) {
+
+  static String etagOf(Long id, long version) {
+    return "\"" + id + "-" + version + "\"";
+  }
+}
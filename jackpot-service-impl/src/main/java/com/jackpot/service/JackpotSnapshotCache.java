@@ -0,0 +1,195 @@
+package com.jackpot.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jackpot.dto.JackpotView;
+import com.jackpot.dto.PoolState;
+import com.jackpot.model.Jackpot;
+import com.jackpot.repository.JackpotRepository;
+
+/**
+ * Pre-serialized jackpot responses for the polling endpoints.
+ * Snapshots are replaced after each committed pool change on this node and reloaded periodically
+ * to pick up changes made by other nodes; reads are served from memory without touching the database.
+ * A jackpot missing from the cache is loaded once on first read; an id that does not exist is
+ * remembered until the next reload, so polling it does not reach the database. When hydrated from the pool-state
+ * topic at startup, the first reload runs in the background instead of before readiness.
+ */
+@Component
+public class JackpotSnapshotCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(JackpotSnapshotCache.class);
+
+  private final JackpotRepository jackpotRepository;
+  private final ViewSerializer viewSerializer;
+  private final Map<String, JackpotSnapshot> snapshots = new ConcurrentHashMap<>();
+  private final Set<String> missing = ConcurrentHashMap.newKeySet();
+  private final AtomicLong generation = new AtomicLong();
+  private volatile CachedList cachedList;
+  private volatile boolean hydrated;
+
+  public JackpotSnapshotCache(JackpotRepository jackpotRepository, ViewSerializer viewSerializer) {
+    this.jackpotRepository = jackpotRepository;
+    this.viewSerializer = viewSerializer;
+  }
+
+  /**
+   * Serialized list of every cached jackpot with an ETag covering all their versions
+   */
+  public record ListSnapshot(String etag, byte[] body) {
+  }
+
+  private record CachedList(long generation, ListSnapshot snapshot) {
+  }
+
+  public Optional<JackpotSnapshot> get(String jackpotId) {
+    JackpotSnapshot snapshot = snapshots.get(jackpotId);
+    if (snapshot != null) {
+      return Optional.of(snapshot);
+    }
+    if (missing.contains(jackpotId)) {
+      return Optional.empty();
+    }
+    Optional<JackpotSnapshot> loaded = jackpotRepository.findByJackpotId(jackpotId).map(this::update);
+    if (loaded.isEmpty()) {
+      missing.add(jackpotId);
+    }
+    return loaded;
+  }
+
+  public ListSnapshot getAll() {
+    long currentGeneration = generation.get();
+    CachedList current = cachedList;
+    if (current == null || current.generation() != currentGeneration) {
+      // Rebuilt at most once per change; a concurrent change just triggers another rebuild
+      current = new CachedList(currentGeneration, buildListSnapshot());
+      cachedList = current;
+    }
+    return current.snapshot();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onJackpotChanged(JackpotChangedEvent event) {
+    update(event.jackpot());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (hydrated) {
+      // Picks up jackpots missing from the topic without holding back readiness
+      CompletableFuture.runAsync(this::refresh);
+    } else {
+      refresh();
+    }
+  }
+
+  /**
+   * Take states published before startup; newer states already cached are kept
+   */
+  public void hydrate(Collection<PoolState> states) {
+    states.forEach(this::apply);
+    hydrated = !states.isEmpty();
+  }
+
+  /**
+   * Take a state of a pool kept outside the jackpots table, unless a newer one is cached
+   */
+  public void apply(PoolState state) {
+    JackpotView view = state.jackpot();
+    put(new JackpotSnapshot(state.jackpotId(), view.id(), state.revision(),
+        JackpotSnapshot.etagOf(view.id(), state.revision()), viewSerializer.write(view)));
+  }
+
+  /**
+   * Reload every jackpot; bounds staleness for pool changes committed by other nodes
+   */
+  @Scheduled(fixedDelayString = "${jackpot.snapshot.refresh-interval:5000}",
+      initialDelayString = "${jackpot.snapshot.refresh-interval:5000}")
+  public void refresh() {
+    List<Jackpot> jackpots;
+    try {
+      jackpots = jackpotRepository.findAll();
+    } catch (Exception e) {
+      logger.warn("Failed to refresh jackpot snapshots, serving cached values", e);
+      return;
+    }
+
+    // Jackpots created since are found by the next read
+    missing.clear();
+    Set<String> present = new HashSet<>();
+    for (Jackpot jackpot : jackpots) {
+      present.add(jackpot.getJackpotId());
+      update(jackpot);
+    }
+    if (snapshots.keySet().retainAll(present)) {
+      generation.incrementAndGet();
+    }
+  }
+
+  JackpotSnapshot update(Jackpot jackpot) {
+    // Contributions to striped pools change the pool without bumping the row version
+    long version = jackpot.getPoolRevision();
+    JackpotSnapshot existing = snapshots.get(jackpot.getJackpotId());
+    if (isCurrent(existing, jackpot.getId(), version)) {
+      return existing;
+    }
+
+    return put(new JackpotSnapshot(jackpot.getJackpotId(), jackpot.getId(), version,
+        JackpotSnapshot.etagOf(jackpot.getId(), version), viewSerializer.write(JackpotView.of(jackpot))));
+  }
+
+  private JackpotSnapshot put(JackpotSnapshot candidate) {
+    missing.remove(candidate.jackpotId());
+    // Commits of the same row may be delivered out of order; never go back to an older version
+    JackpotSnapshot result = snapshots.merge(candidate.jackpotId(), candidate,
+        (current, incoming) -> isCurrent(current, incoming.id(), incoming.version()) ? current : incoming);
+    if (result == candidate) {
+      generation.incrementAndGet();
+    }
+    return result;
+  }
+
+  private static boolean isCurrent(JackpotSnapshot snapshot, Long id, long version) {
+    return snapshot != null && snapshot.id() != null && snapshot.id().equals(id) && snapshot.version() >= version;
+  }
+
+  private ListSnapshot buildListSnapshot() {
+    List<JackpotSnapshot> ordered = snapshots.values().stream()
+        .sorted((a, b) -> a.jackpotId().compareTo(b.jackpotId()))
+        .toList();
+
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    CRC32 versions = new CRC32();
+    body.write('[');
+    for (int i = 0; i < ordered.size(); i++) {
+      JackpotSnapshot snapshot = ordered.get(i);
+      if (i > 0) {
+        body.write(',');
+      }
+      body.writeBytes(snapshot.body());
+      versions.update(snapshot.etag().getBytes());
+    }
+    body.write(']');
+    return new ListSnapshot("\"" + Long.toHexString(versions.getValue()) + "-" + ordered.size() + "\"",
+        body.toByteArray());
+  }
+}
@@ -0,0 +1,391 @@
+package com.jackpot.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.dto.JackpotWin;
+import com.jackpot.dto.PoolUpdate;
+import com.jackpot.exception.ServiceOverloadedException;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.Reward;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans out live pool values and wins to SSE subscribers.
+ * Pool changes are coalesced per jackpot and broadcast once per tick, serialized once for all subscribers.
+ * Each subscriber holds at most the latest pool value and a small bounded queue of wins; a subscriber that
+ * cannot keep up skips intermediate pool values and is disconnected if its win queue overflows or a send
+ * stalls. A stalled send keeps blocking its sender thread until the container gives up on the write, so
+ * the pool gets a thread in its place for that long and other subscribers keep receiving events.
+ * Subscribers never touch the database: the initial state comes from {@link JackpotSnapshotCache}.
+ */
+@Component
+public class JackpotStreamBroadcaster implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(JackpotStreamBroadcaster.class);
+
+  private final JackpotSnapshotCache snapshotCache;
+  private final ObjectMapper objectMapper;
+  private final ThreadPoolExecutor sender;
+  private final int senderThreads;
+  private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private final long emitterTimeoutMillis;
+  private final int maxSubscribers;
+  private final int winQueueCapacity;
+  private final long slowConsumerTimeoutMillis;
+  private final long heartbeatMillis;
+  private volatile long lastHeartbeat = System.currentTimeMillis();
+
+  public JackpotStreamBroadcaster(JackpotSnapshotCache snapshotCache,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.stream.sender-threads:0}") int senderThreads,
+      @Value("${jackpot.stream.timeout:1800000}") long emitterTimeoutMillis,
+      @Value("${jackpot.stream.max-subscribers:10000}") int maxSubscribers,
+      @Value("${jackpot.stream.win-queue-capacity:16}") int winQueueCapacity,
+      @Value("${jackpot.stream.slow-consumer-timeout:5000}") long slowConsumerTimeoutMillis,
+      @Value("${jackpot.stream.heartbeat:15000}") long heartbeatMillis) {
+    this.snapshotCache = snapshotCache;
+    this.objectMapper = objectMapper;
+    this.emitterTimeoutMillis = emitterTimeoutMillis;
+    this.maxSubscribers = maxSubscribers;
+    this.winQueueCapacity = winQueueCapacity;
+    this.slowConsumerTimeoutMillis = slowConsumerTimeoutMillis;
+    this.heartbeatMillis = heartbeatMillis;
+
+    int poolSize = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors();
+    this.senderThreads = poolSize;
+    AtomicInteger threadCount = new AtomicInteger();
+    // Each subscriber has at most one drain task queued, plus one to complete its emitter
+    this.sender = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(2 * Math.max(1, maxSubscribers)),
+        runnable -> {
+          Thread thread = new Thread(runnable, "jackpot-stream-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+
+    Gauge.builder("jackpot.stream.subscribers", subscriberCount, AtomicInteger::get)
+        .description("Open jackpot SSE subscriptions")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Open a stream for the jackpot; empty if the jackpot does not exist
+   */
+  public Optional<SseEmitter> subscribe(String jackpotId) {
+    Optional<JackpotSnapshot> snapshot = snapshotCache.get(jackpotId);
+    if (snapshot.isEmpty()) {
+      return Optional.empty();
+    }
+    if (subscriberCount.incrementAndGet() > maxSubscribers) {
+      subscriberCount.decrementAndGet();
+      throw new ServiceOverloadedException("Too many jackpot streams open, please retry later",
+          HttpStatus.SERVICE_UNAVAILABLE, 5);
+    }
+
+    SseEmitter emitter = createEmitter(emitterTimeoutMillis);
+    Subscriber subscriber = new Subscriber(jackpotId, emitter);
+    // Queue the current state before registering so a concurrent tick cannot be overwritten by it
+    subscriber.latestPool.set(SseEmitter.event()
+        .name("snapshot")
+        .id(String.valueOf(snapshot.get().version()))
+        .data(new String(snapshot.get().body(), StandardCharsets.UTF_8), MediaType.APPLICATION_JSON)
+        .build());
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> unsubscribe(subscriber));
+    emitter.onError(error -> unsubscribe(subscriber));
+
+    channels.compute(jackpotId, (id, channel) -> {
+      Channel target = channel != null ? channel : new Channel();
+      target.subscribers.add(subscriber);
+      return target;
+    });
+    subscriber.signal();
+    return Optional.of(emitter);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onJackpotChanged(JackpotChangedEvent event) {
+    Jackpot jackpot = event.jackpot();
+    Channel channel = channels.get(jackpot.getJackpotId());
+    if (channel == null) {
+      return;
+    }
+    PoolUpdate update = new PoolUpdate(jackpot.getJackpotId(), jackpot.getCurrentPoolValue(),
+        jackpot.getPoolRevision());
+    // Keep only the newest value until the next tick
+    channel.pending.accumulateAndGet(update, (current, incoming) -> current != null
+        && current.version() != null && incoming.version() != null && current.version() > incoming.version()
+        ? current : incoming);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onJackpotWon(JackpotWonEvent event) {
+    Reward reward = event.reward();
+    Channel channel = channels.get(reward.getJackpotId());
+    if (channel == null || channel.subscribers.isEmpty()) {
+      return;
+    }
+    // Wins are rare and must not be coalesced away, so they are queued straight away
+    Set<DataWithMediaType> win = SseEmitter.event()
+        .name("win")
+        .data(toJson(new JackpotWin(reward.getJackpotId(), reward.getBetId(), reward.getUserId(),
+            reward.getJackpotRewardAmount())), MediaType.APPLICATION_JSON)
+        .build();
+    for (Subscriber subscriber : channel.subscribers) {
+      subscriber.offerWin(win);
+    }
+  }
+
+  /**
+   * Broadcast the latest pool value of every changed jackpot, serialized once per jackpot
+   */
+  @Scheduled(fixedRateString = "${jackpot.stream.tick-ms:250}")
+  public void tick() {
+    long now = System.currentTimeMillis();
+    boolean heartbeat = now - lastHeartbeat >= heartbeatMillis;
+    if (heartbeat) {
+      lastHeartbeat = now;
+    }
+
+    for (Channel channel : channels.values()) {
+      PoolUpdate update = channel.pending.getAndSet(null);
+      Set<DataWithMediaType> event = update == null ? null : SseEmitter.event()
+          .name("pool")
+          .id(String.valueOf(update.version()))
+          .data(toJson(update), MediaType.APPLICATION_JSON)
+          .build();
+
+      for (Subscriber subscriber : channel.subscribers) {
+        if (subscriber.isStalled(now)) {
+          logger.warn("Dropping slow jackpot stream subscriber for {}", subscriber.jackpotId);
+          subscriber.close();
+        } else if (event != null) {
+          // A subscriber with a send in flight takes no thread; its drain picks the value up afterwards
+          subscriber.offerPool(event);
+        } else if (heartbeat) {
+          subscriber.offerHeartbeat();
+        }
+      }
+    }
+  }
+
+  SseEmitter createEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  public int getSubscriberCount() {
+    return subscriberCount.get();
+  }
+
+  int getSenderThreads() {
+    return sender.getMaximumPoolSize();
+  }
+
+  /**
+   * Grow the pool by one thread for every stalled send, and shrink it again once the send returns,
+   * so {@code sender-threads} threads stay free for subscribers that keep up
+   */
+  private synchronized void adjustSenders(int delta) {
+    int size = Math.max(senderThreads, sender.getMaximumPoolSize() + delta);
+    if (delta > 0) {
+      sender.setMaximumPoolSize(size);
+      sender.setCorePoolSize(size);
+    } else {
+      sender.setCorePoolSize(size);
+      sender.setMaximumPoolSize(size);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+    sender.shutdownNow();
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    if (subscriber.closed.compareAndSet(false, true)) {
+      subscriberCount.decrementAndGet();
+    }
+    channels.computeIfPresent(subscriber.jackpotId, (id, channel) -> {
+      channel.subscribers.remove(subscriber);
+      return channel.subscribers.isEmpty() ? null : channel;
+    });
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize stream event", e);
+    }
+  }
+
+  private static final class Channel {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<PoolUpdate> pending = new AtomicReference<>();
+  }
+
+  private final class Subscriber {
+    private final String jackpotId;
+    private final SseEmitter emitter;
+    private final AtomicReference<Set<DataWithMediaType>> latestPool = new AtomicReference<>();
+    private final ArrayBlockingQueue<Set<DataWithMediaType>> wins = new ArrayBlockingQueue<>(winQueueCapacity);
+    private final AtomicBoolean heartbeat = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private final AtomicBoolean abandoned = new AtomicBoolean();
+    private final AtomicLong sendingSince = new AtomicLong();
+
+    private Subscriber(String jackpotId, SseEmitter emitter) {
+      this.jackpotId = jackpotId;
+      this.emitter = emitter;
+    }
+
+    private void offerPool(Set<DataWithMediaType> event) {
+      // Overwrites a value the client has not received yet; slow clients skip intermediate values
+      latestPool.set(event);
+      signal();
+    }
+
+    private void offerWin(Set<DataWithMediaType> event) {
+      if (!wins.offer(event)) {
+        logger.warn("Win queue full for jackpot stream subscriber on {}, disconnecting", jackpotId);
+        close();
+        return;
+      }
+      signal();
+    }
+
+    private void offerHeartbeat() {
+      heartbeat.set(true);
+      signal();
+    }
+
+    private boolean isStalled(long now) {
+      long since = sendingSince.get();
+      return since > 0 && now - since > slowConsumerTimeoutMillis;
+    }
+
+    /**
+     * Give the pool a thread in place of the one blocked in this subscriber's send
+     */
+    private void abandonSend() {
+      if (abandoned.compareAndSet(false, true)) {
+        adjustSenders(1);
+        // The send may have returned before the flag was set, leaving nothing to shrink the pool again
+        if (sendingSince.get() == 0 && abandoned.compareAndSet(true, false)) {
+          adjustSenders(-1);
+        }
+      }
+    }
+
+    private void signal() {
+      if (closed.get() || !scheduled.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        sender.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        scheduled.set(false);
+        close();
+      }
+    }
+
+    private void drain() {
+      try {
+        Set<DataWithMediaType> event;
+        while (!closed.get() && (event = wins.poll()) != null) {
+          send(event);
+        }
+        event = latestPool.getAndSet(null);
+        if (closed.get()) {
+          return;
+        } else if (event != null) {
+          send(event);
+        } else if (heartbeat.get()) {
+          send(SseEmitter.event().comment("heartbeat").build());
+        }
+        heartbeat.set(false);
+      } catch (IOException | IllegalStateException e) {
+        // Client went away or the emitter already completed
+        close();
+      } finally {
+        scheduled.set(false);
+      }
+
+      if (!closed.get() && (!wins.isEmpty() || latestPool.get() != null)) {
+        signal();
+      }
+    }
+
+    private void send(Set<DataWithMediaType> event) throws IOException {
+      sendingSince.set(System.currentTimeMillis());
+      try {
+        emitter.send(event);
+      } finally {
+        sendingSince.set(0);
+        if (abandoned.compareAndSet(true, false)) {
+          adjustSenders(-1);
+        }
+        if (closed.get()) {
+          // Closed while this send held the emitter's lock
+          complete();
+        }
+      }
+    }
+
+    private void close() {
+      unsubscribe(this);
+      if (sendingSince.get() > 0) {
+        // A stalled send holds the emitter's lock; the sending thread completes the emitter once it returns
+        abandonSend();
+        return;
+      }
+      complete();
+    }
+
+    private void complete() {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        sender.execute(emitter::complete);
+      } catch (RejectedExecutionException e) {
+        logger.debug("Sender pool shut down or full, jackpot stream for {} left to time out", jackpotId);
+      }
+    }
+  }
+}
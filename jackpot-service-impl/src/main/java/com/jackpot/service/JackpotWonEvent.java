@@ -0,0 +1,9 @@
+package com.jackpot.service;
+
+import com.jackpot.model.Reward;
+
+/**
+ * Published when a bet wins a jackpot; listeners run after the transaction commits
+ */
+public record JackpotWonEvent(Reward reward) {
+}
@@ -0,0 +1,166 @@
+package com.jackpot.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jackpot.archive.ArchivedContributions;
+import com.jackpot.dto.PoolHistoryPoint;
+import com.jackpot.dto.PoolValueAt;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.Reward;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.repository.RewardRepository;
+
+/**
+ * Pool values over time.
+ * Point-in-time lookups use the pool value each contribution records after the bet: the latest
+ * contribution or win at or before the requested time is found with one index descent each, falling
+ * back to the contribution archives when the hot table has nothing that old.
+ * Recent history for charts is kept in memory as a downsampled ring per jackpot, fed by committed
+ * pool changes on this node and by a periodic sample that also picks up other nodes' changes.
+ */
+@Service
+public class PoolHistoryService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PoolHistoryService.class);
+
+  private final JackpotRepository jackpotRepository;
+  private final ContributionRepository contributionRepository;
+  private final RewardRepository rewardRepository;
+  private final ArchivedContributions archivedContributions;
+  private final long resolutionMillis;
+  private final int capacity;
+  private final Map<String, PoolSeries> series = new ConcurrentHashMap<>();
+
+  public PoolHistoryService(JackpotRepository jackpotRepository,
+      ContributionRepository contributionRepository,
+      RewardRepository rewardRepository,
+      ArchivedContributions archivedContributions,
+      @Value("${jackpot.pool-history.resolution-ms:60000}") long resolutionMillis,
+      @Value("${jackpot.pool-history.capacity:1440}") int capacity) {
+    this.jackpotRepository = jackpotRepository;
+    this.contributionRepository = contributionRepository;
+    this.rewardRepository = rewardRepository;
+    this.archivedContributions = archivedContributions;
+    this.resolutionMillis = resolutionMillis;
+    this.capacity = capacity;
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<PoolValueAt> getPoolValueAt(String jackpotId, LocalDateTime ts) {
+    return jackpotRepository.findByJackpotId(jackpotId).map(jackpot -> poolValueAt(jackpot, ts));
+  }
+
+  /**
+   * Downsampled pool values retained in memory, oldest first; empty if nothing was recorded for the jackpot
+   */
+  public Optional<List<PoolHistoryPoint>> getRecentHistory(String jackpotId, LocalDateTime from) {
+    PoolSeries jackpotSeries = series.get(jackpotId);
+    if (jackpotSeries == null) {
+      return Optional.empty();
+    }
+    return Optional.of(jackpotSeries.since(from == null ? Long.MIN_VALUE : PoolSeries.toEpochMillis(from)));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onJackpotChanged(JackpotChangedEvent event) {
+    record(event.jackpot().getJackpotId(), System.currentTimeMillis(), event.jackpot());
+  }
+
+  /**
+   * Record every pool once per interval so the ring also reflects changes committed by other nodes
+   */
+  @Scheduled(fixedRateString = "${jackpot.pool-history.resolution-ms:60000}",
+      initialDelayString = "${jackpot.pool-history.resolution-ms:60000}")
+  public void sample() {
+    try {
+      long now = System.currentTimeMillis();
+      jackpotRepository.findAll().forEach(jackpot -> record(jackpot.getJackpotId(), now, jackpot));
+    } catch (Exception e) {
+      logger.warn("Failed to sample jackpot pools", e);
+    }
+  }
+
+  /**
+   * Fill the rings with the value at the end of each retained interval, one indexed lookup per interval
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void warmUp() {
+    long started = System.currentTimeMillis();
+    long now = started - Math.floorMod(started, resolutionMillis);
+    try {
+      for (Jackpot jackpot : jackpotRepository.findAll()) {
+        for (int i = capacity - 1; i >= 0; i--) {
+          long intervalStart = now - i * resolutionMillis;
+          PoolValueAt value = poolValueAt(jackpot,
+              PoolSeries.toLocalDateTime(intervalStart + resolutionMillis - 1));
+          if (value.source() != PoolValueAt.Source.INITIAL) {
+            seriesOf(jackpot.getJackpotId()).record(intervalStart, value.poolValue());
+          }
+        }
+      }
+    } catch (Exception e) {
+      logger.warn("Failed to warm up pool history, charts start empty", e);
+      return;
+    }
+    logger.info("Warmed up pool history for {} jackpots in {} ms", series.size(),
+        System.currentTimeMillis() - started);
+  }
+
+  /**
+   * Pool value of an already loaded jackpot at {@code ts}, derived from its contributions and wins
+   */
+  @Transactional(readOnly = true)
+  public PoolValueAt getPoolValueAt(Jackpot jackpot, LocalDateTime ts) {
+    return poolValueAt(jackpot, ts);
+  }
+
+  private PoolValueAt poolValueAt(Jackpot jackpot, LocalDateTime ts) {
+    Optional<Contribution> contribution = contributionRepository
+        .findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(jackpot.getJackpotId(), ts)
+        // Archived days all precede the hot window, so they only matter when it has nothing before ts
+        .or(() -> archivedContributions.findLatestAtOrBefore(jackpot.getJackpotId(), ts));
+    Optional<Reward> reward = rewardRepository
+        .findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(jackpot.getJackpotId(), ts);
+
+    // A win resets the pool, so it takes precedence over contributions recorded before it
+    if (reward.isPresent() && (contribution.isEmpty()
+        || !reward.get().getCreatedAt().isBefore(contribution.get().getCreatedAt()))) {
+      return new PoolValueAt(jackpot.getJackpotId(), ts, jackpot.getInitialPoolValue(),
+          PoolValueAt.Source.REWARD, reward.get().getCreatedAt());
+    }
+    if (contribution.isPresent()) {
+      return new PoolValueAt(jackpot.getJackpotId(), ts, contribution.get().getCurrentJackpotAmount(),
+          PoolValueAt.Source.CONTRIBUTION, contribution.get().getCreatedAt());
+    }
+    return new PoolValueAt(jackpot.getJackpotId(), ts, jackpot.getInitialPoolValue(),
+        PoolValueAt.Source.INITIAL, null);
+  }
+
+  private void record(String jackpotId, long timestampMillis, Jackpot jackpot) {
+    if (jackpot.getCurrentPoolValue() != null) {
+      seriesOf(jackpotId).record(timestampMillis, jackpot.getCurrentPoolValue());
+    }
+  }
+
+  private PoolSeries seriesOf(String jackpotId) {
+    return series.computeIfAbsent(jackpotId, id -> new PoolSeries(resolutionMillis, capacity));
+  }
+}
@@ -0,0 +1,123 @@
+package com.jackpot.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.PoolValueAt;
+import com.jackpot.model.Jackpot;
+import com.jackpot.repository.JackpotRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks at startup that every stored pool equals the value implied by its history: the pool
+ * recorded by the latest contribution, or the initial value if a win came after it.
+ * Pool changes and their contributions commit together, so a mismatch means the data was
+ * changed outside the service. Costs two index lookups per jackpot regardless of how many
+ * contributions are stored, so it does not slow down restarts of large databases. Striped
+ * jackpots are skipped, as their contributions only record an approximate pool.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "jackpot.engine", havingValue = "relational", matchIfMissing = true)
+public class PoolIntegrityVerifier implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(PoolIntegrityVerifier.class);
+
+  public enum OnMismatch {
+    WARN, REPAIR, FAIL
+  }
+
+  private final JackpotRepository jackpotRepository;
+  private final PoolHistoryService poolHistoryService;
+  private final Counter mismatches;
+  private final OnMismatch onMismatch;
+  private final boolean enabled;
+
+  public PoolIntegrityVerifier(JackpotRepository jackpotRepository,
+      PoolHistoryService poolHistoryService,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.integrity.on-mismatch:warn}") String onMismatch,
+      @Value("${jackpot.integrity.verify-on-startup:true}") boolean enabled) {
+    this.jackpotRepository = jackpotRepository;
+    this.poolHistoryService = poolHistoryService;
+    this.mismatches = Counter.builder("jackpot.integrity.mismatches")
+        .description("Jackpot pools that did not match their contribution history")
+        .register(meterRegistry);
+    this.onMismatch = OnMismatch.valueOf(onMismatch.trim().toUpperCase(Locale.ROOT));
+    this.enabled = enabled;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (enabled) {
+      verify();
+    }
+  }
+
+  /**
+   * @return ids of the jackpots whose pool did not match
+   */
+  public List<String> verify() {
+    long started = System.currentTimeMillis();
+    List<String> mismatched = new ArrayList<>();
+    List<Jackpot> jackpots = jackpotRepository.findAll();
+
+    for (Jackpot jackpot : jackpots) {
+      if (jackpot.getPoolShards() > 1) {
+        // Concurrent contributions record the pool as each of them saw it, so the latest may not match
+        logger.debug("Skipping striped jackpot {}", jackpot.getJackpotId());
+        continue;
+      }
+      PoolValueAt expected = poolHistoryService.getPoolValueAt(jackpot, LocalDateTime.now());
+      if (expected.poolValue().compareTo(jackpot.getCurrentPoolValue()) == 0 || changedSince(jackpot)) {
+        continue;
+      }
+      mismatched.add(jackpot.getJackpotId());
+      mismatches.increment();
+      logger.warn("Jackpot {} pool is {} but its history implies {} ({} at {})", jackpot.getJackpotId(),
+          jackpot.getCurrentPoolValue(), expected.poolValue(), expected.source(), expected.observedAt());
+      if (onMismatch == OnMismatch.REPAIR) {
+        repair(jackpot, expected.poolValue());
+      }
+    }
+
+    logger.info("Verified {} jackpot pools in {} ms, {} mismatched", jackpots.size(),
+        System.currentTimeMillis() - started, mismatched.size());
+    if (!mismatched.isEmpty() && onMismatch == OnMismatch.FAIL) {
+      throw new IllegalStateException("Jackpot pools do not match their history: " + mismatched);
+    }
+    return mismatched;
+  }
+
+  // Bets may already be consuming; a pool that moved on since it was read is not a mismatch
+  private boolean changedSince(Jackpot jackpot) {
+    return jackpotRepository.findByJackpotId(jackpot.getJackpotId())
+        .map(current -> current.getPoolRevision() != jackpot.getPoolRevision())
+        .orElse(true);
+  }
+
+  private void repair(Jackpot jackpot, BigDecimal poolValue) {
+    try {
+      jackpot.setCurrentPoolValue(poolValue);
+      jackpotRepository.save(jackpot);
+      logger.warn("Repaired jackpot {} pool to {}", jackpot.getJackpotId(), poolValue);
+    } catch (OptimisticLockingFailureException e) {
+      logger.warn("Jackpot {} changed while being repaired, leaving it as is", jackpot.getJackpotId());
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.jackpot.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jackpot.dto.PoolHistoryPoint;
+
+/**
+ * Fixed-size ring of downsampled pool values for one jackpot.
+ * Each slot covers one interval and keeps the low, high and last value in cents,
+ * so a day at one-minute resolution takes a few tens of kilobytes.
+ */
+final class PoolSeries {
+
+  private final long resolutionMillis;
+  private final long[] intervalStarts;
+  private final long[] lows;
+  private final long[] highs;
+  private final long[] closes;
+  private int head = -1;
+  private int size;
+
+  PoolSeries(long resolutionMillis, int capacity) {
+    this.resolutionMillis = resolutionMillis;
+    this.intervalStarts = new long[capacity];
+    this.lows = new long[capacity];
+    this.highs = new long[capacity];
+    this.closes = new long[capacity];
+  }
+
+  synchronized void record(long timestampMillis, BigDecimal value) {
+    long intervalStart = timestampMillis - Math.floorMod(timestampMillis, resolutionMillis);
+    long cents = value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+
+    if (size > 0 && intervalStart < intervalStarts[head]) {
+      // Late observation; fold it into its slot if still retained, never reorder the ring
+      int slot = find(intervalStart);
+      if (slot >= 0) {
+        lows[slot] = Math.min(lows[slot], cents);
+        highs[slot] = Math.max(highs[slot], cents);
+      }
+      return;
+    }
+    if (size > 0 && intervalStart == intervalStarts[head]) {
+      lows[head] = Math.min(lows[head], cents);
+      highs[head] = Math.max(highs[head], cents);
+      closes[head] = cents;
+      return;
+    }
+
+    head = (head + 1) % intervalStarts.length;
+    size = Math.min(size + 1, intervalStarts.length);
+    intervalStarts[head] = intervalStart;
+    lows[head] = cents;
+    highs[head] = cents;
+    closes[head] = cents;
+  }
+
+  /**
+   * Retained intervals starting at or after {@code fromMillis}, oldest first
+   */
+  synchronized List<PoolHistoryPoint> since(long fromMillis) {
+    List<PoolHistoryPoint> points = new ArrayList<>(size);
+    for (int i = size - 1; i >= 0; i--) {
+      int slot = Math.floorMod(head - i, intervalStarts.length);
+      if (intervalStarts[slot] >= fromMillis) {
+        points.add(new PoolHistoryPoint(toLocalDateTime(intervalStarts[slot]),
+            BigDecimal.valueOf(lows[slot], 2), BigDecimal.valueOf(highs[slot], 2), BigDecimal.valueOf(closes[slot], 2)));
+      }
+    }
+    return points;
+  }
+
+  private int find(long intervalStart) {
+    for (int i = 0; i < size; i++) {
+      int slot = Math.floorMod(head - i, intervalStarts.length);
+      if (intervalStarts[slot] == intervalStart) {
+        return slot;
+      }
+      if (intervalStarts[slot] < intervalStart) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  static LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+
+  static long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,15 @@
+package com.jackpot.service;
+
+import java.util.Optional;
+
+import com.jackpot.model.Reward;
+
+/**
+ * Read side of an engine: tells whether a bet won its jackpot. Every {@link JackpotEngine} answers
+ * evaluations; with {@code jackpot.engine=streams} bets are applied by the topology itself, so the
+ * streams engine is only a {@code RewardEvaluator}.
+ */
+public interface RewardEvaluator {
+
+  Optional<Reward> evaluateReward(String betId, Long userId, String jackpotId);
+}
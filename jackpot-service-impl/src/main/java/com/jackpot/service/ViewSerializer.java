@@ -0,0 +1,42 @@
+package com.jackpot.service;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.JackpotView;
+import com.jackpot.dto.RewardView;
+
+/**
+ * Serializes read views with {@link ObjectWriter}s resolved once at startup, so no serializer
+ * lookup or writer construction happens per response. Output goes through Jackson's recycled
+ * buffers, which allocate less than a caller-sized stream; see ResponseSerializationBenchmark.
+ */
+@Component
+public class ViewSerializer {
+
+  private final Map<Class<?>, ObjectWriter> writers;
+
+  public ViewSerializer(ObjectMapper objectMapper) {
+    this.writers = Map.of(
+        ContributionView.class, objectMapper.writerFor(ContributionView.class),
+        RewardView.class, objectMapper.writerFor(RewardView.class),
+        JackpotView.class, objectMapper.writerFor(JackpotView.class));
+  }
+
+  public byte[] write(Object view) {
+    ObjectWriter writer = writers.get(view.getClass());
+    if (writer == null) {
+      throw new IllegalArgumentException("No writer registered for " + view.getClass().getName());
+    }
+    try {
+      return writer.writeValueAsBytes(view);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize " + view.getClass().getSimpleName(), e);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.jackpot.streams;
+
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.PoolState;
+import com.jackpot.dto.RewardGranted;
+
+/**
+ * What applying one bet produced; {@code reward} is null unless the bet won
+ *
+ * @param pool state of the jackpot after the bet
+ */
+public record BetOutcome(
+    ContributionApplied contribution,
+    RewardGranted reward,
+    PoolState pool
+) {}
@@ -0,0 +1,176 @@
+package com.jackpot.streams;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import com.jackpot.dto.BetRequest;
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.JackpotView;
+import com.jackpot.dto.PoolState;
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.kafka.KafkaConsumer;
+import com.jackpot.kafka.OutboundEventPublisher;
+import com.jackpot.kafka.PoolStatePublisher;
+import com.jackpot.model.Jackpot;
+import com.jackpot.service.JackpotRules;
+
+/**
+ * Topology of the streams engine. Bets from {@code jackpot-bets} are re-keyed by jackpot, so all bets
+ * on a jackpot are applied in order by one task, against its pool in a local persistent store backed by
+ * a changelog topic. Each bet emits its contribution to {@code jackpot-contributions} and, if it wins,
+ * its reward to {@code jackpot-rewards}, both keyed by bet id; rewards are also kept by bet id for
+ * evaluations. The jackpot's new state goes to the compacted {@code jackpot-pool-state} topic, keyed by
+ * jackpot id. With exactly-once processing, store updates and outputs commit together with the input
+ * offsets, so a bet is applied once however often it is redelivered, and consumers reading committed
+ * records never see a pool that was rolled back.
+ */
+public class JackpotTopology {
+
+  public static final String BETS_TOPIC = "jackpot-bets";
+  public static final String POOLS_STORE = "jackpot-pools";
+  public static final String REWARDS_STORE = "jackpot-rewards-by-bet";
+  private static final Logger logger = LoggerFactory.getLogger(JackpotTopology.class);
+
+  private final Function<String, Optional<Jackpot>> jackpots;
+  private final DoubleSupplier random;
+  private final boolean forceWin;
+  private final LongSupplier ids;
+
+  /**
+   * @param jackpots configuration of a jackpot by id; its pool is only read when the store first sees it
+   * @param random uniform values in [0, 1) for reward draws
+   * @param ids ids of emitted contributions and rewards
+   */
+  public JackpotTopology(Function<String, Optional<Jackpot>> jackpots, DoubleSupplier random, boolean forceWin,
+      LongSupplier ids) {
+    this.jackpots = jackpots;
+    this.random = random;
+    this.forceWin = forceWin;
+    this.ids = ids;
+  }
+
+  public Topology build() {
+    StreamsBuilder builder = new StreamsBuilder();
+    builder.addStateStore(Stores.keyValueStoreBuilder(Stores.persistentKeyValueStore(POOLS_STORE),
+        Serdes.String(), internalSerde(StreamPool.class)));
+    builder.addStateStore(Stores.keyValueStoreBuilder(Stores.persistentKeyValueStore(REWARDS_STORE),
+        Serdes.String(), internalSerde(RewardGranted.class)));
+
+    KStream<String, BetOutcome> outcomes = builder
+        .stream(BETS_TOPIC, Consumed.with(Serdes.String(), internalSerde(BetRequest.class)))
+        .flatMap(JackpotTopology::byJackpot)
+        .repartition(Repartitioned.with(Serdes.String(), internalSerde(StreamBet.class)).withName("bets-by-jackpot"))
+        .process(PoolProcessor::new, POOLS_STORE, REWARDS_STORE);
+
+    // Type headers let the read model's listeners deserialize both topics
+    outcomes.mapValues(BetOutcome::contribution)
+        .to(OutboundEventPublisher.CONTRIBUTIONS_TOPIC,
+            Produced.with(Serdes.String(), new JsonSerde<>(ContributionApplied.class)));
+    outcomes.filter((betId, outcome) -> outcome.reward() != null)
+        .mapValues(BetOutcome::reward)
+        .to(OutboundEventPublisher.REWARDS_TOPIC, Produced.with(Serdes.String(), new JsonSerde<>(RewardGranted.class)));
+    outcomes.map((betId, outcome) -> KeyValue.pair(outcome.pool().jackpotId(), outcome.pool()))
+        .to(PoolStatePublisher.TOPIC, Produced.with(Serdes.String(), new JsonSerde<>(PoolState.class)));
+    return builder.build();
+  }
+
+  private static <T> Serde<T> internalSerde(Class<T> type) {
+    return new JsonSerde<>(type).noTypeInfo().ignoreTypeHeaders();
+  }
+
+  private static List<KeyValue<String, StreamBet>> byJackpot(String key, BetRequest bet) {
+    if (bet == null) {
+      logger.warn("Received null bet request - skipping processing");
+      return List.of();
+    }
+    try {
+      Long userId = KafkaConsumer.extractUserIdFromKey(key, bet.betId());
+      JackpotRules.validateBetParameters(bet.betId(), userId, bet.jackpotId(), bet.betAmount());
+      return List.of(KeyValue.pair(bet.jackpotId(), new StreamBet(bet.betId(), userId, bet.jackpotId(), bet.betAmount())));
+    } catch (RuntimeException e) {
+      logger.error("Failed to process bet: {} with key '{}'", bet.betId(), key, e);
+      return List.of();
+    }
+  }
+
+  private final class PoolProcessor implements Processor<String, StreamBet, String, BetOutcome> {
+
+    private ProcessorContext<String, BetOutcome> context;
+    private KeyValueStore<String, StreamPool> pools;
+    private KeyValueStore<String, RewardGranted> rewards;
+
+    @Override
+    public void init(ProcessorContext<String, BetOutcome> context) {
+      this.context = context;
+      this.pools = context.getStateStore(POOLS_STORE);
+      this.rewards = context.getStateStore(REWARDS_STORE);
+    }
+
+    @Override
+    public void process(Record<String, StreamBet> record) {
+      StreamBet bet = record.value();
+      Optional<Jackpot> jackpot = jackpots.apply(bet.jackpotId());
+      if (jackpot.isEmpty()) {
+        logger.error("Failed to process bet: {}, jackpot not found: {}", bet.betId(), bet.jackpotId());
+        return;
+      }
+
+      StreamPool pool = pools.get(bet.jackpotId());
+      if (pool == null) {
+        pool = StreamPool.of(jackpot.get());
+      }
+      BigDecimal contributionAmount;
+      double rewardChance;
+      try {
+        contributionAmount = JackpotRules.contributionAmount(jackpot.get(), pool.pool(), bet.betAmount());
+        rewardChance = JackpotRules.rewardChance(jackpot.get(), pool.pool().add(contributionAmount));
+      } catch (RuntimeException e) {
+        logger.error("Failed to process bet: {} on jackpot {}", bet.betId(), bet.jackpotId(), e);
+        return;
+      }
+
+      LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault());
+      pool = pool.add(contributionAmount);
+      ContributionApplied contribution = new ContributionApplied(ids.getAsLong(), bet.betId(), bet.userId(),
+          bet.jackpotId(), bet.betAmount(), contributionAmount, pool.pool(), createdAt);
+
+      // Every bet is drawn as it is applied; single winner per jackpot, as in the other engines
+      RewardGranted reward = null;
+      if (pool.round() == 0 && (forceWin || random.getAsDouble() * 100 < rewardChance)) {
+        reward = new RewardGranted(ids.getAsLong(), bet.betId(), bet.userId(), bet.jackpotId(), pool.pool(), createdAt);
+        pool = pool.win(jackpot.get().getInitialPoolValue());
+        rewards.put(bet.betId(), reward);
+      }
+
+      pools.put(bet.jackpotId(), pool);
+      PoolState state = new PoolState(bet.jackpotId(), pool.revision(), pool.round(),
+          JackpotView.of(jackpot.get()).withCurrentPoolValue(pool.pool()));
+      context.forward(record.withKey(bet.betId()).withValue(new BetOutcome(contribution, reward, state)));
+    }
+  }
+}
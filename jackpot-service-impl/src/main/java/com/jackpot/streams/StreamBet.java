@@ -0,0 +1,13 @@
+package com.jackpot.streams;
+
+import java.math.BigDecimal;
+
+/**
+ * Bet re-keyed by jackpot, with the user id taken from its original message key
+ */
+public record StreamBet(
+    String betId,
+    Long userId,
+    String jackpotId,
+    BigDecimal betAmount
+) {}
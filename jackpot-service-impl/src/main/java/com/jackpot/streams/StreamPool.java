@@ -0,0 +1,29 @@
+package com.jackpot.streams;
+
+import java.math.BigDecimal;
+
+import com.jackpot.model.Jackpot;
+
+/**
+ * Pool of one jackpot in the streams engine's state store
+ *
+ * @param revision pool changes so far, continuing from the row's revision when the store first saw the jackpot
+ * @param round wins so far
+ */
+public record StreamPool(
+    BigDecimal pool,
+    long revision,
+    long round
+) {
+    public static StreamPool of(Jackpot jackpot) {
+        return new StreamPool(jackpot.getCurrentPoolValue(), jackpot.getPoolRevision(), jackpot.getRound());
+    }
+
+    public StreamPool add(BigDecimal contribution) {
+        return new StreamPool(pool.add(contribution), revision + 1, round);
+    }
+
+    public StreamPool win(BigDecimal initialPool) {
+        return new StreamPool(initialPool, revision + 1, round + 1);
+    }
+}
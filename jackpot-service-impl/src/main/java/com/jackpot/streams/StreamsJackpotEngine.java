@@ -0,0 +1,149 @@
+package com.jackpot.streams;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.errors.StreamsUncaughtExceptionHandler.StreamThreadExceptionResponse;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.dto.RewardView;
+import com.jackpot.exception.ServiceOverloadedException;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.Reward;
+import com.jackpot.model.TimeOrderedIdGenerator;
+import com.jackpot.readmodel.ReadModel;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.repository.UserRepository;
+import com.jackpot.service.RewardEvaluator;
+
+/**
+ * Reward evaluation for bets applied by {@link JackpotTopology} on Kafka Streams: bets are consumed from
+ * {@code jackpot-bets} by the topology instead of {@link com.jackpot.kafka.KafkaConsumer}, pools live in
+ * local RocksDB stores restored from their changelogs, and contributions and rewards go to the outbound
+ * topics rather than the tables. Every bet is drawn for the jackpot as it is applied, so evaluating a
+ * reward looks up the draw. Pool changes reach the snapshot cache through the pool-state topic
+ * ({@link StreamsPoolStateListener}) once committed. Bets are only submitted through the topic, so this is
+ * a {@link RewardEvaluator} and not a full {@link com.jackpot.service.JackpotEngine}. Enabled with {@code jackpot.engine=streams}; exactly-once by default.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "jackpot.engine", havingValue = "streams")
+public class StreamsJackpotEngine implements RewardEvaluator {
+
+  private static final Logger logger = LoggerFactory.getLogger(StreamsJackpotEngine.class);
+
+  private final JackpotRepository jackpotRepository;
+  private final UserRepository userRepository;
+  private final ReadModel readModel;
+  private final Properties properties = new Properties();
+  private final boolean forceWin;
+  private final TimeOrderedIdGenerator ids;
+  private final Map<String, Jackpot> jackpots = new ConcurrentHashMap<>();
+  private KafkaStreams streams;
+
+  public StreamsJackpotEngine(JackpotRepository jackpotRepository,
+      UserRepository userRepository,
+      ReadModel readModel,
+      @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+      @Value("${jackpot.streams.application-id:jackpot-engine}") String applicationId,
+      @Value("${jackpot.streams.state-dir:data/streams}") String stateDir,
+      @Value("${jackpot.streams.processing-guarantee:exactly_once_v2}") String processingGuarantee,
+      @Value("${jackpot.streams.threads:1}") int threads,
+      @Value("${jackpot.streams.replication-factor:1}") int replicationFactor,
+      @Value("${jackpot.force-win:false}") boolean forceWin,
+      @Value("${spring.jpa.properties.jackpot.id.node-id:0}") long nodeId) {
+    this.jackpotRepository = jackpotRepository;
+    this.userRepository = userRepository;
+    this.readModel = readModel;
+    this.forceWin = forceWin;
+    this.ids = new TimeOrderedIdGenerator(nodeId);
+    properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    properties.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+    properties.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+    properties.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, processingGuarantee);
+    properties.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, threads);
+    properties.put(StreamsConfig.REPLICATION_FACTOR_CONFIG, replicationFactor);
+  }
+
+  @PostConstruct
+  public void start() {
+    Random random = new Random();
+    JackpotTopology topology = new JackpotTopology(this::jackpot, random::nextDouble, forceWin, ids::nextId);
+    streams = new KafkaStreams(topology.build(), properties);
+    streams.setUncaughtExceptionHandler(e -> {
+      logger.error("Jackpot stream thread failed, replacing it", e);
+      return StreamThreadExceptionResponse.REPLACE_THREAD;
+    });
+    streams.start();
+    logger.info("Started streams engine {} with {}", properties.get(StreamsConfig.APPLICATION_ID_CONFIG),
+        properties.get(StreamsConfig.PROCESSING_GUARANTEE_CONFIG));
+  }
+
+  @PreDestroy
+  public void close() {
+    streams.close(Duration.ofSeconds(10));
+  }
+
+  @Override
+  public Optional<Reward> evaluateReward(String betId, Long userId, String jackpotId) {
+    if (!userRepository.existsById(userId)) {
+      return Optional.empty();
+    }
+    RewardGranted granted;
+    try {
+      ReadOnlyKeyValueStore<String, RewardGranted> rewards = streams.store(
+          StoreQueryParameters.fromNameAndType(JackpotTopology.REWARDS_STORE, QueryableStoreTypes.keyValueStore()));
+      granted = rewards.get(betId);
+    } catch (InvalidStateStoreException e) {
+      throw new ServiceOverloadedException("Jackpot state is being restored", HttpStatus.SERVICE_UNAVAILABLE, 1);
+    }
+    // The store only covers partitions assigned to this node; the read model sees every reward
+    Optional<Reward> reward = granted != null
+        ? Optional.of(toReward(granted))
+        : readModel.reward(betId).map(StreamsJackpotEngine::toReward);
+    return reward.filter(r -> r.getJackpotId().equals(jackpotId) && r.getUserId().equals(userId));
+  }
+
+  private Optional<Jackpot> jackpot(String jackpotId) {
+    Jackpot jackpot = jackpots.get(jackpotId);
+    if (jackpot == null) {
+      // Configuration and the starting pool of jackpots the store has not seen yet come from the table
+      jackpot = jackpotRepository.findByJackpotId(jackpotId).orElse(null);
+      if (jackpot != null) {
+        jackpots.put(jackpotId, jackpot);
+      }
+    }
+    return Optional.ofNullable(jackpot);
+  }
+
+  private static Reward toReward(RewardGranted granted) {
+    return toReward(granted.toView());
+  }
+
+  private static Reward toReward(RewardView view) {
+    Reward reward = new Reward(view.betId(), view.userId(), view.jackpotId(), view.jackpotRewardAmount());
+    reward.setId(view.id());
+    reward.setCreatedAt(view.createdAt());
+    return reward;
+  }
+}
@@ -0,0 +1,57 @@
+package com.jackpot.streams;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.PoolState;
+import com.jackpot.kafka.PoolStatePublisher;
+import com.jackpot.service.JackpotSnapshotCache;
+
+/**
+ * Keeps the snapshot cache current under the streams engine from the pool states {@link JackpotTopology}
+ * writes to {@code jackpot-pool-state}. Only committed records are read, so a pool change is cached once
+ * its bet's transaction commits and never when it aborts and the bet is applied again. Every node caches
+ * every jackpot, so each consumes in a group of its own ({@code jackpot.streams.pool-state-group-id}) and
+ * reads the compacted topic from the start whenever partitions are assigned.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.engine", havingValue = "streams")
+public class StreamsPoolStateListener extends AbstractConsumerSeekAware {
+
+  private final JackpotSnapshotCache snapshotCache;
+
+  public StreamsPoolStateListener(JackpotSnapshotCache snapshotCache) {
+    this.snapshotCache = snapshotCache;
+  }
+
+  /**
+   * The topology's output topic, unless {@link PoolStatePublisher} already declares it
+   */
+  @Bean
+  @ConditionalOnProperty(name = "jackpot.pool-state.enabled", havingValue = "false", matchIfMissing = true)
+  static NewTopic streamsPoolStateTopic(@Value("${jackpot.pool-state.partitions:1}") int partitions,
+      @Value("${jackpot.pool-state.replicas:1}") int replicas) {
+    return TopicBuilder.name(PoolStatePublisher.TOPIC).partitions(partitions).replicas(replicas).compact().build();
+  }
+
+  @KafkaListener(topics = PoolStatePublisher.TOPIC, groupId = "${jackpot.streams.pool-state-group-id}",
+      properties = "isolation.level=read_committed")
+  public void onPoolState(PoolState state) {
+    snapshotCache.apply(state);
+  }
+
+  @Override
+  public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+    super.onPartitionsAssigned(assignments, callback);
+    callback.seekToBeginning(assignments.keySet());
+  }
+}
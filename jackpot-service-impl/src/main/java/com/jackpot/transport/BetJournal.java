@@ -0,0 +1,277 @@
+package com.jackpot.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jackpot.dto.BetRequest;
+
+/**
+ * Append-only journal of bets accepted by the ring-buffer transport, so a bet acknowledged to the
+ * client survives a restart that comes before the engine applied it. Records are framed like the
+ * ledger's, {@code [int length][int crc32][payload]} with the length written last, in preallocated,
+ * memory-mapped segment files; the sequence of the last applied bet is kept in a separate mapped
+ * checkpoint. Producers append concurrently, so records within a segment are not necessarily in
+ * sequence order. On open, a torn tail of the newest segment is cut off and the records after the
+ * checkpoint are returned for replay; segments whose bets have all been applied are deleted when a
+ * new one is started.
+ */
+public class BetJournal implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(BetJournal.class);
+  private static final Pattern SEGMENT_NAME = Pattern.compile("bets-(\\d{20})\\.journal");
+  private static final String CHECKPOINT = "applied.checkpoint";
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  public record Entry(long sequence, long userId, BetRequest bet) {
+  }
+
+  private static final class Segment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int position;
+    private long maxSequence;
+
+    private Segment(Path path, MappedByteBuffer buffer) {
+      this.path = path;
+      this.buffer = buffer;
+    }
+  }
+
+  private final Path directory;
+  private final int segmentSize;
+  private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+  private final MappedByteBuffer checkpoint;
+  private final List<Entry> unapplied = new ArrayList<>();
+  private Segment active;
+  private long lastSequence;
+
+  private BetJournal(Path directory, int segmentSize, MappedByteBuffer checkpoint) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.checkpoint = checkpoint;
+  }
+
+  public static BetJournal open(Path directory, int segmentSize) throws IOException {
+    Files.createDirectories(directory);
+    MappedByteBuffer checkpoint;
+    try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+    }
+    BetJournal journal = new BetJournal(directory, segmentSize, checkpoint);
+    journal.recover();
+    return journal;
+  }
+
+  /**
+   * Bets journaled after the checkpoint, in sequence order, as found on open
+   */
+  public List<Entry> unapplied() {
+    return List.copyOf(unapplied);
+  }
+
+  /**
+   * Highest sequence in the journal or the checkpoint, 0 when both are empty
+   */
+  public synchronized long lastSequence() {
+    return lastSequence;
+  }
+
+  public long appliedSequence() {
+    return checkpoint.getLong(0);
+  }
+
+  public synchronized void append(long sequence, long userId, BetRequest bet) throws IOException {
+    byte[] betId = bet.betId().getBytes(StandardCharsets.UTF_8);
+    byte[] jackpotId = bet.jackpotId().getBytes(StandardCharsets.UTF_8);
+    byte[] amount = bet.betAmount().unscaledValue().toByteArray();
+    int payloadSize = 2 * Long.BYTES + 2 + betId.length + 2 + jackpotId.length + Integer.BYTES + 2 + amount.length;
+    int recordSize = HEADER_SIZE + payloadSize;
+    if (active == null || active.position + recordSize > active.buffer.capacity()) {
+      roll(sequence, recordSize);
+    }
+
+    ByteBuffer payload = active.buffer.slice(active.position + HEADER_SIZE, payloadSize);
+    payload.putLong(sequence);
+    payload.putLong(userId);
+    putBytes(payload, betId);
+    putBytes(payload, jackpotId);
+    payload.putInt(bet.betAmount().scale());
+    putBytes(payload, amount);
+    CRC32 crc = new CRC32();
+    crc.update(payload.flip());
+    active.buffer.putInt(active.position + Integer.BYTES, (int) crc.getValue());
+    active.buffer.putInt(active.position, payloadSize);
+    active.position += recordSize;
+    active.maxSequence = Math.max(active.maxSequence, sequence);
+    lastSequence = Math.max(lastSequence, sequence);
+  }
+
+  /**
+   * Record that every bet up to the sequence has been applied. A mapped write, cheap enough per bet.
+   */
+  public void markApplied(long sequence) {
+    checkpoint.putLong(0, sequence);
+  }
+
+  /**
+   * Flush appended records and the checkpoint to storage. Both already survive a crash of the
+   * process; this bounds what an operating system crash can lose.
+   */
+  public synchronized void force() {
+    if (active != null) {
+      active.buffer.force();
+    }
+    checkpoint.force();
+  }
+
+  public synchronized int segmentCount() {
+    return segments.size();
+  }
+
+  @Override
+  public synchronized void close() {
+    force();
+    // Mappings are released by the garbage collector; nothing may be appended after this
+    active = null;
+  }
+
+  private void roll(long firstSequence, int recordSize) throws IOException {
+    if (active != null) {
+      active.buffer.force();
+    }
+    checkpoint.force();
+    deleteApplied();
+    Path path = directory.resolve(String.format("bets-%020d.journal", firstSequence));
+    active = new Segment(path, map(path, Math.max(segmentSize, recordSize + Integer.BYTES)));
+    segments.put(firstSequence, active);
+  }
+
+  private void deleteApplied() throws IOException {
+    long applied = appliedSequence();
+    Iterator<Segment> iterator = segments.values().iterator();
+    while (iterator.hasNext()) {
+      Segment segment = iterator.next();
+      if (segment.maxSequence <= applied) {
+        iterator.remove();
+        Files.deleteIfExists(segment.path);
+      }
+    }
+  }
+
+  private static MappedByteBuffer map(Path path, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // Mapping past the end extends the file, so a new segment is allocated at its full size up front
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+    }
+  }
+
+  private void recover() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path path : files.toList()) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (matcher.matches()) {
+          segments.put(Long.parseLong(matcher.group(1)), new Segment(path, map(path, 0)));
+        }
+      }
+    }
+
+    long applied = appliedSequence();
+    lastSequence = applied;
+    Segment newest = segments.isEmpty() ? null : segments.lastEntry().getValue();
+    for (Segment segment : segments.values()) {
+      scan(segment, segment == newest, applied);
+      lastSequence = Math.max(lastSequence, segment.maxSequence);
+    }
+    unapplied.sort(Comparator.comparingLong(Entry::sequence));
+    // Appends continue in a fresh segment
+    logger.info("Opened bet journal in {} with {} segment(s), {} bet(s) not applied", directory, segments.size(),
+        unapplied.size());
+  }
+
+  private void scan(Segment segment, boolean newest, long applied) {
+    MappedByteBuffer buffer = segment.buffer;
+    int position = 0;
+    while (position + HEADER_SIZE <= buffer.capacity()) {
+      int length = buffer.getInt(position);
+      if (length == 0) {
+        break;
+      }
+      Entry entry = null;
+      if (length > 0 && length <= buffer.capacity() - position - HEADER_SIZE) {
+        ByteBuffer payload = buffer.slice(position + HEADER_SIZE, length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() == buffer.getInt(position + Integer.BYTES)) {
+          entry = decode(payload);
+        }
+      }
+      if (entry == null) {
+        if (!newest) {
+          throw new IllegalStateException("Bet journal segment " + segment.path + " is corrupt at offset " + position);
+        }
+        logger.warn("Discarding unreadable tail of bet journal segment {} from offset {}", segment.path, position);
+        truncate(buffer, position);
+        break;
+      }
+      if (entry.sequence() > applied) {
+        unapplied.add(entry);
+      }
+      segment.maxSequence = Math.max(segment.maxSequence, entry.sequence());
+      position += HEADER_SIZE + length;
+    }
+    segment.position = position;
+  }
+
+  private static void truncate(MappedByteBuffer buffer, int from) {
+    byte[] zeros = new byte[8192];
+    for (int position = from; position < buffer.capacity(); position += zeros.length) {
+      buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+    }
+    buffer.force();
+  }
+
+  private static Entry decode(ByteBuffer payload) {
+    long sequence = payload.getLong();
+    long userId = payload.getLong();
+    String betId = new String(getBytes(payload), StandardCharsets.UTF_8);
+    String jackpotId = new String(getBytes(payload), StandardCharsets.UTF_8);
+    int scale = payload.getInt();
+    BigDecimal amount = new BigDecimal(new BigInteger(getBytes(payload)), scale);
+    return new Entry(sequence, userId, new BetRequest(betId, jackpotId, amount));
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    buffer.putShort((short) bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static byte[] getBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,213 @@
+package com.jackpot.transport;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ring of preallocated bet slots between the threads accepting bets and a single consumer thread, laid
+ * out after the LMAX Disruptor. A producer claims the next sequence, fills that slot in place and
+ * publishes it; the consumer takes every bet published since its last pass as one batch and frees
+ * their slots once the batch is handled. No lock is taken on the way, except by the blocking
+ * {@link WaitStrategy} to wake a parked consumer, and no slot is allocated per bet. Producers wait
+ * while the ring is full, so a consumer that falls behind slows down acceptance instead of
+ * buffering without bound.
+ */
+public class BetRingBuffer {
+
+  private static final Logger logger = LoggerFactory.getLogger(BetRingBuffer.class);
+
+  /**
+   * Called on the consumer thread for every published bet, in sequence order
+   */
+  @FunctionalInterface
+  public interface Handler {
+    void onBet(long sequence, Slot slot, boolean endOfBatch);
+  }
+
+  /**
+   * One preallocated entry; only the producer that claimed it writes it, until it is published
+   */
+  public static final class Slot {
+    private String betId;
+    private long userId;
+    private String jackpotId;
+    private BigDecimal betAmount;
+
+    public void set(String betId, long userId, String jackpotId, BigDecimal betAmount) {
+      this.betId = betId;
+      this.userId = userId;
+      this.jackpotId = jackpotId;
+      this.betAmount = betAmount;
+    }
+
+    /**
+     * Release the slot's references once handled; a cleared slot is skipped
+     */
+    public void clear() {
+      set(null, 0, null, null);
+    }
+
+    public boolean isEmpty() {
+      return betId == null;
+    }
+
+    public String betId() {
+      return betId;
+    }
+
+    public long userId() {
+      return userId;
+    }
+
+    public String jackpotId() {
+      return jackpotId;
+    }
+
+    public BigDecimal betAmount() {
+      return betAmount;
+    }
+  }
+
+  private final Slot[] slots;
+  private final int mask;
+  // Sequence last published into each slot; the consumer reads a slot only once it matches
+  private final AtomicLongArray published;
+  private final AtomicLong claimed;
+  private volatile long consumed;
+  private volatile boolean closed;
+  private final WaitStrategy waitStrategy;
+  private final Handler handler;
+  private Thread consumer;
+
+  /**
+   * @param size         number of slots, a power of two
+   * @param lastSequence sequence already used, so numbering continues after a restart
+   */
+  public BetRingBuffer(int size, WaitStrategy waitStrategy, long lastSequence, Handler handler) {
+    if (size < 1 || Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("Ring buffer size must be a power of two: " + size);
+    }
+    this.slots = new Slot[size];
+    for (int i = 0; i < size; i++) {
+      slots[i] = new Slot();
+    }
+    this.mask = size - 1;
+    this.published = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      published.set(i, -1);
+    }
+    this.claimed = new AtomicLong(lastSequence);
+    this.consumed = lastSequence;
+    this.waitStrategy = waitStrategy;
+    this.handler = handler;
+  }
+
+  public synchronized void start() {
+    consumer = new Thread(this::consume, "bet-ring-buffer");
+    consumer.start();
+  }
+
+  /**
+   * Claim the next sequence, waiting for a free slot while the ring is full. Every claimed sequence
+   * must be {@link #publish published}, or the consumer stops at it.
+   */
+  public long claim() {
+    if (closed) {
+      throw new IllegalStateException("Bet ring buffer is closed");
+    }
+    long sequence = claimed.incrementAndGet();
+    while (sequence - slots.length > consumed) {
+      if (closed) {
+        throw new IllegalStateException("Bet ring buffer is closed");
+      }
+      LockSupport.parkNanos(1_000);
+    }
+    return sequence;
+  }
+
+  public Slot slot(long sequence) {
+    return slots[(int) sequence & mask];
+  }
+
+  public void publish(long sequence) {
+    published.set((int) sequence & mask, sequence);
+    waitStrategy.signal();
+  }
+
+  public long lastConsumed() {
+    return consumed;
+  }
+
+  /**
+   * Bets claimed but not handled yet
+   */
+  public long backlog() {
+    return claimed.get() - consumed;
+  }
+
+  public int capacity() {
+    return slots.length;
+  }
+
+  /**
+   * Stop accepting bets and wait for the consumer to handle those already published
+   */
+  public void close(Duration timeout) throws InterruptedException {
+    closed = true;
+    waitStrategy.signal();
+    Thread thread;
+    synchronized (this) {
+      thread = consumer;
+    }
+    if (thread != null) {
+      thread.join(timeout.toMillis());
+      if (thread.isAlive()) {
+        logger.warn("Bet ring buffer consumer did not drain within {}, {} bet(s) left", timeout, backlog());
+        thread.interrupt();
+      }
+    }
+  }
+
+  boolean isPublished(long sequence) {
+    return published.get((int) sequence & mask) == sequence;
+  }
+
+  boolean isAvailable(long sequence) {
+    return closed || isPublished(sequence);
+  }
+
+  private void consume() {
+    long next = consumed + 1;
+    try {
+      while (true) {
+        waitStrategy.waitFor(next, this);
+        if (!isPublished(next)) {
+          // Closed with nothing left to handle
+          return;
+        }
+        long end = next;
+        while (end - next < mask && isPublished(end + 1)) {
+          end++;
+        }
+        for (long sequence = next; sequence <= end; sequence++) {
+          try {
+            handler.onBet(sequence, slot(sequence), sequence == end);
+          } catch (RuntimeException e) {
+            logger.error("Bet handler failed at sequence {}", sequence, e);
+          }
+        }
+        // Frees the whole batch for producers at once
+        consumed = end;
+        next = end + 1;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
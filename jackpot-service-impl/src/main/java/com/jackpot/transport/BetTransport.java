@@ -0,0 +1,14 @@
+package com.jackpot.transport;
+
+import com.jackpot.dto.BetRequest;
+
+/**
+ * Carries accepted bets to the {@link com.jackpot.service.JackpotEngine}. By default they go through
+ * the {@code jackpot-bets} topic ({@link com.jackpot.kafka.KafkaProducer} and
+ * {@link com.jackpot.kafka.KafkaConsumer}); with {@code jackpot.transport=ring-buffer} they are handed
+ * over in process by {@link RingBufferBetTransport}, for single-node deployments without Kafka.
+ */
+public interface BetTransport {
+
+  void sendBet(BetRequest betRequest, Long userId);
+}
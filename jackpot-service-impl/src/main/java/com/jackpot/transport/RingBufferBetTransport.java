@@ -0,0 +1,247 @@
+package com.jackpot.transport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jackpot.dto.BetRequest;
+import com.jackpot.service.JackpotEngine;
+
+/**
+ * Bet transport for single-node deployments without Kafka: bets are handed from the request thread to
+ * the {@link JackpotEngine} through a {@link BetRingBuffer}, applied by its consumer thread in the
+ * order they were accepted. With the journal enabled, each bet is appended to a local
+ * {@link BetJournal} before the request is acknowledged, and bets not yet applied when the process
+ * stopped are replayed on startup before new ones are taken; without it, they are lost.
+ * A bet the engine rejects is retried a bounded number of times and then appended to a dead-letter
+ * journal of its own, so it is neither lost nor holds up the bets behind it.
+ * Enabled with {@code jackpot.transport=ring-buffer}.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.transport", havingValue = "ring-buffer")
+public class RingBufferBetTransport implements BetTransport {
+
+  private static final Logger logger = LoggerFactory.getLogger(RingBufferBetTransport.class);
+  // Dead letters are rare; no need to preallocate the size of the main journal's segments
+  private static final int DEAD_LETTER_SEGMENT_SIZE = 1 << 20;
+
+  private final JackpotEngine jackpotEngine;
+  private final MeterRegistry meterRegistry;
+  private final int size;
+  private final String waitStrategy;
+  private final boolean journalEnabled;
+  private final Path journalDirectory;
+  private final int segmentSize;
+  private final int retryAttempts;
+  private final long retryBackoffMillis;
+  private final Path deadLetterDirectory;
+  private BetJournal journal;
+  private BetJournal deadLetters;
+  private BetRingBuffer ringBuffer;
+  // Set once a bet could be neither applied nor dead-lettered; the checkpoint then stays before it
+  private volatile boolean checkpointHeld;
+
+  public RingBufferBetTransport(JackpotEngine jackpotEngine,
+      MeterRegistry meterRegistry,
+      @Value("${jackpot.engine:relational}") String engine,
+      @Value("${jackpot.ring-buffer.size:4096}") int size,
+      @Value("${jackpot.ring-buffer.wait-strategy:blocking}") String waitStrategy,
+      @Value("${jackpot.ring-buffer.journal.enabled:false}") boolean journalEnabled,
+      @Value("${jackpot.ring-buffer.journal.dir:data/bet-journal}") String journalDirectory,
+      @Value("${jackpot.ring-buffer.journal.segment-size:16777216}") int segmentSize,
+      @Value("${jackpot.ring-buffer.retry.attempts:3}") int retryAttempts,
+      @Value("${jackpot.ring-buffer.retry.backoff-ms:100}") long retryBackoffMillis,
+      @Value("${jackpot.ring-buffer.dead-letter.dir:data/bet-dead-letter}") String deadLetterDirectory) {
+    if ("streams".equals(engine)) {
+      throw new IllegalStateException("The ring-buffer transport needs the relational or event-sourced engine; "
+          + "the streams engine reads bets from Kafka");
+    }
+    this.jackpotEngine = jackpotEngine;
+    this.meterRegistry = meterRegistry;
+    this.size = size;
+    this.waitStrategy = waitStrategy;
+    this.journalEnabled = journalEnabled;
+    this.journalDirectory = Path.of(journalDirectory);
+    this.segmentSize = segmentSize;
+    this.retryAttempts = Math.max(1, retryAttempts);
+    this.retryBackoffMillis = retryBackoffMillis;
+    this.deadLetterDirectory = Path.of(deadLetterDirectory);
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    long lastSequence = 0;
+    // Created with the first dead letter
+    if (Files.isDirectory(deadLetterDirectory)) {
+      deadLetters = BetJournal.open(deadLetterDirectory, DEAD_LETTER_SEGMENT_SIZE);
+      if (!deadLetters.unapplied().isEmpty()) {
+        logger.warn("{} dead-lettered bet(s) in {} are waiting to be resubmitted", deadLetters.unapplied().size(),
+            deadLetterDirectory);
+      }
+    }
+    if (journalEnabled) {
+      journal = BetJournal.open(journalDirectory, segmentSize);
+      replay();
+      lastSequence = journal.lastSequence();
+    }
+    ringBuffer = new BetRingBuffer(size, WaitStrategy.of(waitStrategy), lastSequence, this::onBet);
+    Gauge.builder("jackpot.ring-buffer.backlog", ringBuffer, BetRingBuffer::backlog)
+        .description("Bets accepted but not yet applied by the engine")
+        .register(meterRegistry);
+    ringBuffer.start();
+    logger.info("Started ring-buffer bet transport with {} slots, {} wait strategy, journal {}", size, waitStrategy,
+        journalEnabled ? journalDirectory : "disabled");
+  }
+
+  @PreDestroy
+  public void close() throws InterruptedException {
+    ringBuffer.close(Duration.ofSeconds(10));
+    if (journal != null) {
+      journal.close();
+    }
+    if (deadLetters != null) {
+      deadLetters.close();
+    }
+  }
+
+  @Override
+  public void sendBet(BetRequest betRequest, Long userId) {
+    long sequence = ringBuffer.claim();
+    BetRingBuffer.Slot slot = ringBuffer.slot(sequence);
+    try {
+      if (journal != null) {
+        journal.append(sequence, userId, betRequest);
+      }
+      slot.set(betRequest.betId(), userId, betRequest.jackpotId(), betRequest.betAmount());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to journal bet " + betRequest.betId(), e);
+    } finally {
+      // A claimed sequence is always published; the consumer skips a slot left empty
+      ringBuffer.publish(sequence);
+    }
+  }
+
+  /**
+   * Bets accepted but not yet applied by the engine
+   */
+  public long backlog() {
+    return ringBuffer.backlog();
+  }
+
+  public int capacity() {
+    return size;
+  }
+
+  @Scheduled(fixedDelayString = "${jackpot.ring-buffer.journal.force-interval-ms:100}")
+  public void flush() {
+    if (journal != null) {
+      journal.force();
+    }
+  }
+
+  private void onBet(long sequence, BetRingBuffer.Slot slot, boolean endOfBatch) {
+    if (!slot.isEmpty()) {
+      try {
+        apply(slot.betId(), slot.userId(), slot.jackpotId(), slot.betAmount());
+      } finally {
+        slot.clear();
+      }
+    }
+    markApplied(sequence);
+  }
+
+  /**
+   * Apply a bet, retrying failures; one that still fails, or can never succeed, is dead-lettered
+   */
+  private void apply(String betId, long userId, String jackpotId, BigDecimal betAmount) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        jackpotEngine.processContribution(betId, userId, jackpotId, betAmount);
+        logger.debug("Successfully processed bet contribution: {} for user {}", betId, userId);
+        return;
+      } catch (RuntimeException e) {
+        // Invalid bets fail the same way every time
+        if (attempt >= retryAttempts || e instanceof IllegalArgumentException) {
+          deadLetter(new BetRequest(betId, jackpotId, betAmount), userId, e);
+          return;
+        }
+        logger.warn("Failed to process bet {} from ring buffer, attempt {} of {}", betId, attempt, retryAttempts, e);
+        if (!backOff(attempt)) {
+          deadLetter(new BetRequest(betId, jackpotId, betAmount), userId, e);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return false if interrupted, e.g. while closing
+   */
+  private boolean backOff(int attempt) {
+    try {
+      Thread.sleep(retryBackoffMillis * attempt);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void deadLetter(BetRequest bet, long userId, RuntimeException cause) {
+    meterRegistry.counter("jackpot.bets.dead-lettered", "exception", cause.getClass().getSimpleName()).increment();
+    try {
+      if (deadLetters == null) {
+        deadLetters = BetJournal.open(deadLetterDirectory, DEAD_LETTER_SEGMENT_SIZE);
+      }
+      // Numbered within the dead-letter journal; ring sequences restart at 0 without the main journal
+      deadLetters.append(deadLetters.lastSequence() + 1, userId, bet);
+      deadLetters.force();
+      logger.error("Dead-lettered bet {} of user {} to {}", bet.betId(), userId, deadLetterDirectory, cause);
+    } catch (IOException | RuntimeException e) {
+      checkpointHeld = true;
+      e.addSuppressed(cause);
+      logger.error("Failed to dead-letter bet {} of user {}; {}", bet.betId(), userId, journal != null
+          ? "the journal checkpoint is held before it, so it is replayed on restart" : "the bet is lost", e);
+    }
+  }
+
+  private void markApplied(long sequence) {
+    if (journal != null && !checkpointHeld) {
+      journal.markApplied(sequence);
+    }
+  }
+
+  private void replay() {
+    long replayed = 0;
+    long last = journal.appliedSequence();
+    for (BetJournal.Entry entry : journal.unapplied()) {
+      BetRequest bet = entry.bet();
+      // The engine may have applied the last bet before a crash without the checkpoint moving past it;
+      // the event-sourced engine knows of bets it has logged but not yet projected to the tables
+      if (!jackpotEngine.isApplied(bet.betId())) {
+        apply(bet.betId(), entry.userId(), bet.jackpotId(), bet.betAmount());
+        replayed++;
+      }
+      last = entry.sequence();
+      markApplied(last);
+    }
+    if (replayed > 0) {
+      logger.info("Replayed {} journaled bet(s) up to sequence {}", replayed, last);
+    }
+  }
+}
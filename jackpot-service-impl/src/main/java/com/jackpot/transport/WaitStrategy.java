@@ -0,0 +1,122 @@
+package com.jackpot.transport;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How the consumer of a {@link BetRingBuffer} waits for the next bet. The choice trades the latency
+ * of a bet arriving at an idle consumer against the CPU the consumer burns while idle:
+ * {@code blocking} parks it until a producer signals, {@code sleeping} spins, yields and then parks
+ * briefly, {@code yielding} spins and yields, and {@code busy-spin} keeps a core to itself.
+ */
+public interface WaitStrategy {
+
+  /**
+   * Return once the sequence is published or the ring buffer is closed
+   */
+  void waitFor(long sequence, BetRingBuffer ringBuffer) throws InterruptedException;
+
+  /**
+   * Called after every publish and on close
+   */
+  default void signal() {
+  }
+
+  static WaitStrategy of(String name) {
+    return switch (name) {
+      case "blocking" -> new Blocking();
+      case "sleeping" -> new Sleeping();
+      case "yielding" -> new Yielding();
+      case "busy-spin" -> new BusySpin();
+      default -> throw new IllegalArgumentException("Unknown wait strategy: " + name
+          + ", expected blocking, sleeping, yielding or busy-spin");
+    };
+  }
+
+  final class Blocking implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    // Producers only take the lock while the consumer is parked
+    private volatile boolean waiting;
+
+    @Override
+    public void waitFor(long sequence, BetRingBuffer ringBuffer) throws InterruptedException {
+      if (ringBuffer.isAvailable(sequence)) {
+        return;
+      }
+      lock.lock();
+      try {
+        waiting = true;
+        while (!ringBuffer.isAvailable(sequence)) {
+          published.await();
+        }
+      } finally {
+        waiting = false;
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void signal() {
+      if (waiting) {
+        lock.lock();
+        try {
+          published.signalAll();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+
+  final class Sleeping implements WaitStrategy {
+
+    @Override
+    public void waitFor(long sequence, BetRingBuffer ringBuffer) throws InterruptedException {
+      for (int attempt = 0; !ringBuffer.isAvailable(sequence); attempt++) {
+        if (attempt < 100) {
+          Thread.onSpinWait();
+        } else if (attempt < 200) {
+          Thread.yield();
+        } else {
+          LockSupport.parkNanos(100_000);
+          if (Thread.interrupted()) {
+            throw new InterruptedException();
+          }
+        }
+      }
+    }
+  }
+
+  final class Yielding implements WaitStrategy {
+
+    @Override
+    public void waitFor(long sequence, BetRingBuffer ringBuffer) throws InterruptedException {
+      for (int attempt = 0; !ringBuffer.isAvailable(sequence); attempt++) {
+        if (attempt < 100) {
+          Thread.onSpinWait();
+        } else {
+          Thread.yield();
+          if (Thread.interrupted()) {
+            throw new InterruptedException();
+          }
+        }
+      }
+    }
+  }
+
+  final class BusySpin implements WaitStrategy {
+
+    @Override
+    public void waitFor(long sequence, BetRingBuffer ringBuffer) throws InterruptedException {
+      while (!ringBuffer.isAvailable(sequence)) {
+        Thread.onSpinWait();
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+    }
+  }
+}
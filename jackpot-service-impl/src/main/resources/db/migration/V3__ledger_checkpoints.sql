@@ -0,0 +1,5 @@
+-- Ledger sequence each projector has applied to the relational tables (event-sourced engine only)
+CREATE TABLE IF NOT EXISTS ledger_checkpoints (
+    name VARCHAR(50) PRIMARY KEY,
+    sequence BIGINT NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Contribution and reward ids are time-ordered values assigned by the application so inserts can be batched;
+-- existing rows keep their smaller identity values, which still sort before every new id
+ALTER TABLE contributions ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE rewards ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,18 @@
+-- Cold contribution days move to archive files; the hot table keeps a bounded window, found by created_at
+CREATE INDEX IF NOT EXISTS idx_contributions_created_at ON contributions(created_at);
+
+-- Catalog of contribution days moved from the hot table to archive files, one row per jackpot per file
+CREATE TABLE IF NOT EXISTS contribution_archives (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_day DATE NOT NULL,
+    jackpot_id VARCHAR(50) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    row_count BIGINT NOT NULL,
+    first_created_at TIMESTAMP NOT NULL,
+    last_created_at TIMESTAMP NOT NULL,
+    last_id BIGINT NOT NULL,
+    last_pool_value DECIMAL(19,2) NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_contribution_archives_jackpot_last ON contribution_archives(jackpot_id, last_created_at);
+CREATE INDEX IF NOT EXISTS idx_contribution_archives_bucket_day ON contribution_archives(bucket_day);
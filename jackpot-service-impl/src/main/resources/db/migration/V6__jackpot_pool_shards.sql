@@ -0,0 +1,16 @@
+-- Number of rows a jackpot's pool is striped across; 1 keeps the whole pool in the jackpots row
+ALTER TABLE jackpots ADD COLUMN IF NOT EXISTS pool_shards INT DEFAULT 1 NOT NULL;
+
+-- Parts of striped pools, added to by contributions and folded back into the jackpots row on a win
+CREATE TABLE IF NOT EXISTS jackpot_pool_shards (
+    jackpot_id VARCHAR(50) NOT NULL,
+    shard INT NOT NULL,
+    amount DECIMAL(19,2) NOT NULL,
+    updates BIGINT NOT NULL,
+    PRIMARY KEY (jackpot_id, shard)
+);
+
+-- Rollup buckets of striped jackpots are spread over the same shards, so they are no hot row either
+ALTER TABLE jackpot_contribution_rollups ADD COLUMN IF NOT EXISTS shard INT DEFAULT 0 NOT NULL;
+ALTER TABLE jackpot_contribution_rollups DROP PRIMARY KEY;
+ALTER TABLE jackpot_contribution_rollups ADD PRIMARY KEY (jackpot_id, granularity, bucket_start, shard);
@@ -0,0 +1,2 @@
+-- Wins so far; the pool after the n-th win belongs to round n
+ALTER TABLE jackpots ADD COLUMN IF NOT EXISTS pool_round BIGINT DEFAULT 0 NOT NULL;
@@ -23,12 +23,14 @@ CREATE TABLE IF NOT EXISTS jackpots (
     variable_reward_base_chance DECIMAL(5,2),
     variable_reward_increment DECIMAL(5,2),
     variable_reward_threshold DECIMAL(19,2),
+    pool_shards INT DEFAULT 1 NOT NULL,
+    pool_round BIGINT DEFAULT 0 NOT NULL,
     version BIGINT DEFAULT 0
 );
 
 -- Create contributions table
 CREATE TABLE IF NOT EXISTS contributions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- time-ordered, assigned by the application
     bet_id VARCHAR(50) NOT NULL,
     user_id BIGINT NOT NULL,
     jackpot_id VARCHAR(50) NOT NULL,
@@ -41,7 +43,7 @@ CREATE TABLE IF NOT EXISTS contributions (
 
 -- Create rewards table
 CREATE TABLE IF NOT EXISTS rewards (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- time-ordered, assigned by the application
     bet_id VARCHAR(50) NOT NULL,
     user_id BIGINT NOT NULL,
     jackpot_id VARCHAR(50) NOT NULL,
@@ -50,11 +52,66 @@ CREATE TABLE IF NOT EXISTS rewards (
     version BIGINT DEFAULT 0
 );
 
+-- Contribution totals per jackpot per hour and per day, maintained with each contribution
+CREATE TABLE IF NOT EXISTS jackpot_contribution_rollups (
+    jackpot_id VARCHAR(50) NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    shard INT DEFAULT 0 NOT NULL,
+    bet_count BIGINT NOT NULL,
+    stake_total DECIMAL(19,2) NOT NULL,
+    contribution_total DECIMAL(19,2) NOT NULL,
+    PRIMARY KEY (jackpot_id, granularity, bucket_start, shard)
+);
+
+-- Parts of striped jackpot pools; the pool is the jackpots row plus the sum of its shards
+CREATE TABLE IF NOT EXISTS jackpot_pool_shards (
+    jackpot_id VARCHAR(50) NOT NULL,
+    shard INT NOT NULL,
+    amount DECIMAL(19,2) NOT NULL,
+    updates BIGINT NOT NULL,
+    PRIMARY KEY (jackpot_id, shard)
+);
+
+-- Contribution totals per user per day, maintained with each contribution
+CREATE TABLE IF NOT EXISTS user_contribution_rollups (
+    user_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    bet_count BIGINT NOT NULL,
+    stake_total DECIMAL(19,2) NOT NULL,
+    contribution_total DECIMAL(19,2) NOT NULL,
+    PRIMARY KEY (user_id, bucket_day)
+);
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_contributions_bet_id ON contributions(bet_id);
-CREATE INDEX IF NOT EXISTS idx_contributions_user_id ON contributions(user_id);
-CREATE INDEX IF NOT EXISTS idx_contributions_jackpot_id ON contributions(jackpot_id);
+-- Composite (owner, id) indexes serve keyset-paginated history, newest first
+CREATE INDEX IF NOT EXISTS idx_contributions_user_id_id ON contributions(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_contributions_jackpot_id_id ON contributions(jackpot_id, id);
+CREATE INDEX IF NOT EXISTS idx_contributions_jackpot_id_created_at ON contributions(jackpot_id, created_at, id);
+-- Day-range scans of the archival job
+CREATE INDEX IF NOT EXISTS idx_contributions_created_at ON contributions(created_at);
 CREATE INDEX IF NOT EXISTS idx_rewards_bet_id ON rewards(bet_id);
-CREATE INDEX IF NOT EXISTS idx_rewards_user_id ON rewards(user_id);
-CREATE INDEX IF NOT EXISTS idx_rewards_jackpot_id ON rewards(jackpot_id);
-CREATE INDEX IF NOT EXISTS idx_jackpots_jackpot_id ON jackpots(jackpot_id);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_rewards_user_id_id ON rewards(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_rewards_jackpot_id_id ON rewards(jackpot_id, id);
+CREATE INDEX IF NOT EXISTS idx_jackpots_jackpot_id ON jackpots(jackpot_id);
+-- Ledger sequence each projector has applied to the tables above (event-sourced engine only)
+CREATE TABLE IF NOT EXISTS ledger_checkpoints (
+    name VARCHAR(50) PRIMARY KEY,
+    sequence BIGINT NOT NULL
+);
+-- Catalog of contribution days moved from the hot table to archive files, one row per jackpot per file
+CREATE TABLE IF NOT EXISTS contribution_archives (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_day DATE NOT NULL,
+    jackpot_id VARCHAR(50) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    row_count BIGINT NOT NULL,
+    first_created_at TIMESTAMP NOT NULL,
+    last_created_at TIMESTAMP NOT NULL,
+    last_id BIGINT NOT NULL,
+    last_pool_value DECIMAL(19,2) NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_contribution_archives_jackpot_last ON contribution_archives(jackpot_id, last_created_at);
+CREATE INDEX IF NOT EXISTS idx_contribution_archives_bucket_day ON contribution_archives(bucket_day);
@@ -0,0 +1,119 @@
+package com.jackpot.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.jackpot.exception.ServiceOverloadedException;
+import com.jackpot.transport.BetTransport;
+import com.jackpot.transport.RingBufferBetTransport;
+
+class BetAdmissionTest {
+
+  private final BetLagMonitor lagMonitor = mock(BetLagMonitor.class);
+  private final ConnectionPoolMonitor poolMonitor = mock(ConnectionPoolMonitor.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void testAdmit_TakesBetsBelowTheThrottleThresholdOrWithUnknownLag() {
+    // Arrange
+    BetAdmission admission = admission(mock(BetTransport.class), true);
+
+    // Act & Assert
+    when(lagMonitor.lag()).thenReturn(1000L);
+    admission.admit();
+    when(lagMonitor.lag()).thenReturn(-1L);
+    admission.admit();
+  }
+
+  @Test
+  void testAdmit_ShedsBeyondTheShedThresholdWithTheDrainTime() {
+    // Arrange: 4000 bets past the throttle threshold, draining at 500 a second
+    BetAdmission admission = admission(mock(BetTransport.class), true);
+    when(lagMonitor.lag()).thenReturn(5000L);
+    when(lagMonitor.drainRate()).thenReturn(500.0);
+
+    // Act
+    ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, admission::admit);
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    assertEquals(8, exception.getRetryAfterSeconds());
+    assertEquals(1.0, meterRegistry.get("jackpot.bets.rejected").tag("reason", "lag").tag("status", "503")
+        .counter().count());
+  }
+
+  @Test
+  void testAdmit_ThrottlesAShareOfBetsBetweenTheThresholds() {
+    // Arrange: 9 tenths of the way from the throttle to the shed threshold, so about 1 bet in 10 is taken
+    BetAdmission admission = admission(mock(BetTransport.class), true);
+    when(lagMonitor.lag()).thenReturn(1900L);
+
+    // Act
+    int throttled = 0;
+    for (int i = 0; i < 1000; i++) {
+      try {
+        admission.admit();
+      } catch (ServiceOverloadedException e) {
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+        assertEquals(1, e.getRetryAfterSeconds());
+        throttled++;
+      }
+    }
+
+    // Assert
+    assertTrue(throttled > 800 && throttled < 980, "throttled " + throttled);
+  }
+
+  @Test
+  void testAdmit_ShedsWhileThreadsQueueForConnections() {
+    // Arrange
+    BetAdmission admission = admission(mock(BetTransport.class), true);
+    when(poolMonitor.pending()).thenReturn(11);
+
+    // Act
+    ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, admission::admit);
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    assertEquals(1.0, meterRegistry.get("jackpot.bets.rejected").tag("reason", "database").counter().count());
+  }
+
+  @Test
+  void testAdmit_MeasuresTheRingBufferBacklogAgainstItsCapacity() {
+    // Arrange
+    RingBufferBetTransport ringBuffer = mock(RingBufferBetTransport.class);
+    when(ringBuffer.capacity()).thenReturn(1024);
+    when(ringBuffer.backlog()).thenReturn(1000L);
+    BetAdmission admission = admission(ringBuffer, true);
+
+    // Act
+    ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, admission::admit);
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    assertEquals(1.0, meterRegistry.get("jackpot.bets.rejected").tag("reason", "backlog").counter().count());
+  }
+
+  @Test
+  void testAdmit_TakesEveryBetWhenDisabled() {
+    // Arrange
+    BetAdmission admission = admission(mock(BetTransport.class), false);
+    when(poolMonitor.pending()).thenReturn(100);
+    when(lagMonitor.lag()).thenReturn(1_000_000L);
+
+    // Act & Assert
+    admission.admit();
+  }
+
+  private BetAdmission admission(BetTransport transport, boolean enabled) {
+    return new BetAdmission(lagMonitor, poolMonitor, transport, meterRegistry, enabled, 1000, 2000, 0.5, 0.9, 10, 1,
+        30);
+  }
+}
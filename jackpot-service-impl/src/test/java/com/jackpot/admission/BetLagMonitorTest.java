@@ -0,0 +1,71 @@
+package com.jackpot.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import com.jackpot.kafka.KafkaConsumer;
+
+class BetLagMonitorTest {
+
+  private static final TopicPartition FIRST = new TopicPartition(KafkaConsumer.TOPIC, 0);
+  private static final TopicPartition SECOND = new TopicPartition(KafkaConsumer.TOPIC, 1);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @SuppressWarnings("unchecked")
+  private final BetLagMonitor monitor = new BetLagMonitor(mock(ConsumerFactory.class), meterRegistry, true, "kafka",
+      "relational", "jackpot-engine", 1000);
+
+  @Test
+  void testRecord_SumsLagOverPartitionsAndMeasuresTheDrainRate() throws Exception {
+    // Arrange: the group committed 40 of 100 bets on one partition and nothing yet on the other
+    MockConsumer<String, Object> consumer = consumer();
+    consumer.updateEndOffsets(Map.of(FIRST, 100L, SECOND, 30L));
+    consumer.updateBeginningOffsets(Map.of(FIRST, 0L, SECOND, 10L));
+    consumer.commitSync(Map.of(FIRST, new OffsetAndMetadata(40)));
+
+    // Act
+    monitor.record(consumer);
+    long first = monitor.lag();
+    consumer.commitSync(Map.of(FIRST, new OffsetAndMetadata(90)));
+    Thread.sleep(50);
+    monitor.record(consumer);
+
+    // Assert
+    assertEquals(60 + 20, first);
+    assertEquals(10 + 20, monitor.lag());
+    assertEquals(30.0, meterRegistry.get("jackpot.bets.consumer-lag").gauge().value());
+    assertTrue(monitor.drainRate() > 0 && monitor.drainRate() < 50 / 0.05, "drain rate " + monitor.drainRate());
+  }
+
+  @Test
+  void testLag_UnknownUntilSampled() {
+    assertEquals(-1, monitor.lag());
+    assertTrue(Double.isNaN(meterRegistry.get("jackpot.bets.consumer-lag").gauge().value()));
+  }
+
+  private static MockConsumer<String, Object> consumer() {
+    MockConsumer<String, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    Node node = new Node(0, "localhost", 9092);
+    consumer.updatePartitions(KafkaConsumer.TOPIC, List.of(
+        new PartitionInfo(KafkaConsumer.TOPIC, 0, node, new Node[] {node}, new Node[] {node}),
+        new PartitionInfo(KafkaConsumer.TOPIC, 1, node, new Node[] {node}, new Node[] {node})));
+    // The mock only reports committed offsets of assigned partitions
+    consumer.assign(List.of(FIRST, SECOND));
+    return consumer;
+  }
+}
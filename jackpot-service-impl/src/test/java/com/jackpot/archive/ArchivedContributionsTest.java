@@ -0,0 +1,123 @@
+package com.jackpot.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.jackpot.dto.ContributionView;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.ContributionArchive;
+import com.jackpot.repository.ContributionArchiveRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ArchivedContributionsTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+  private static final String FILE = "contributions-2024-06-01.col";
+
+  @TempDir
+  Path directory;
+  @Mock
+  private ContributionArchiveRepository archiveRepository;
+  private ArchivedContributions archivedContributions;
+
+  @BeforeEach
+  void setUp() {
+    archivedContributions = new ArchivedContributions(archiveRepository, directory.toString());
+  }
+
+  @Test
+  void testFindLatestAtOrBefore_UsesCatalogForClosedFiles() {
+    // Arrange
+    LocalDateTime ts = LocalDateTime.of(2024, 6, 5, 12, 0);
+    when(archiveRepository.findFirstByJackpotIdAndLastCreatedAtLessThanEqualOrderByLastCreatedAtDescLastIdDesc(
+        "jackpot-1", ts)).thenReturn(Optional.of(archive(DAY.atTime(9, 0), DAY.atTime(18, 0), "1030.00")));
+
+    // Act
+    Contribution contribution = archivedContributions.findLatestAtOrBefore("jackpot-1", ts).orElseThrow();
+
+    // Assert - no file was opened, the directory is empty
+    assertEquals(new BigDecimal("1030.00"), contribution.getCurrentJackpotAmount());
+    assertEquals(DAY.atTime(18, 0), contribution.getCreatedAt());
+  }
+
+  @Test
+  void testFindLatestAtOrBefore_ScansFileSpanningTime() throws Exception {
+    // Arrange
+    writeArchive(
+        row(1, "jackpot-1", "1010.00", "2024-06-01T09:00:00"),
+        row(2, "jackpot-2", "2010.00", "2024-06-01T11:00:00"),
+        row(3, "jackpot-1", "1020.00", "2024-06-01T12:00:00"),
+        row(4, "jackpot-1", "1030.00", "2024-06-01T18:00:00"));
+    LocalDateTime ts = DAY.atTime(13, 0);
+    when(archiveRepository.findByJackpotIdAndLastCreatedAtGreaterThanAndFirstCreatedAtLessThanEqual(
+        "jackpot-1", ts, ts)).thenReturn(List.of(archive(DAY.atTime(9, 0), DAY.atTime(18, 0), "1030.00")));
+
+    // Act
+    Contribution contribution = archivedContributions.findLatestAtOrBefore("jackpot-1", ts).orElseThrow();
+
+    // Assert
+    assertEquals(3L, contribution.getId());
+    assertEquals("bet-3", contribution.getBetId());
+    assertEquals(new BigDecimal("1020.00"), contribution.getCurrentJackpotAmount());
+  }
+
+  @Test
+  void testScan_CombinesFilesSelectedByCatalog() throws Exception {
+    // Arrange
+    writeArchive(
+        row(1, "jackpot-1", "1010.00", "2024-06-01T09:00:00"),
+        row(2, "jackpot-2", "2010.00", "2024-06-01T11:00:00"),
+        row(3, "jackpot-1", "1020.00", "2024-06-01T12:00:00"));
+    when(archiveRepository.findAll()).thenReturn(List.of(archive(DAY.atTime(9, 0), DAY.atTime(12, 0), "1020.00")));
+
+    // Act
+    List<Long> ids = archivedContributions.scan(new ArchiveQuery("jackpot-1", null, null, null),
+        Collectors.mapping(ContributionView::id, Collectors.toList()));
+
+    // Assert
+    assertEquals(List.of(1L, 3L), ids);
+  }
+
+  @Test
+  void testFindLatestAtOrBefore_NothingArchived() {
+    // Act & Assert
+    assertTrue(archivedContributions.findLatestAtOrBefore("jackpot-1", DAY.atTime(13, 0)).isEmpty());
+  }
+
+  private ContributionArchive archive(LocalDateTime first, LocalDateTime last, String lastPool) {
+    Contribution lastRow = new Contribution("bet-4", 7L, "jackpot-1", new BigDecimal("100.00"),
+        new BigDecimal("10.00"), new BigDecimal(lastPool));
+    lastRow.setId(4L);
+    lastRow.setCreatedAt(last);
+    return new ContributionArchive(DAY, "jackpot-1", FILE, 3, first, lastRow);
+  }
+
+  private static ContributionView row(long id, String jackpotId, String pool, String createdAt) {
+    return new ContributionView(id, "bet-" + id, 7L, jackpotId, new BigDecimal("100.00"), new BigDecimal("10.00"),
+        new BigDecimal(pool), LocalDateTime.parse(createdAt));
+  }
+
+  private void writeArchive(ContributionView... rows) throws Exception {
+    try (ColumnarContributionWriter writer = new ColumnarContributionWriter(directory.resolve(FILE))) {
+      for (ContributionView row : rows) {
+        writer.append(row);
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.jackpot.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jackpot.dto.ContributionView;
+
+class ColumnarContributionReaderTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testScan_RoundTripsEveryColumnInOrder() throws Exception {
+    // Arrange - ten blocks of 100 rows across three jackpots
+    List<ContributionView> rows = rows(1000);
+    Path file = write(rows, 100);
+
+    // Act
+    List<ContributionView> scanned;
+    try (ColumnarContributionReader reader = ColumnarContributionReader.open(file)) {
+      assertEquals(10, reader.blocks().size());
+      assertEquals(1000, reader.rowCount());
+      scanned = reader.scan(ArchiveQuery.all(), Collectors.toList());
+    }
+
+    // Assert
+    assertEquals(rows, scanned);
+  }
+
+  @Test
+  void testScan_PushesDownJackpotUserAndTime() throws Exception {
+    // Arrange
+    List<ContributionView> rows = rows(1000);
+    Path file = write(rows, 100);
+    ArchiveQuery query = new ArchiveQuery("jackpot-2", 3L, START.plusSeconds(200), START.plusSeconds(500));
+
+    // Act
+    List<ContributionView> scanned;
+    long candidateBlocks;
+    try (ColumnarContributionReader reader = ColumnarContributionReader.open(file)) {
+      scanned = reader.scan(query, Collectors.toList());
+      candidateBlocks = reader.blocks().stream().filter(query::mightMatch).count();
+    }
+
+    // Assert - only the blocks overlapping the time range are read
+    List<ContributionView> expected = rows.stream()
+        .filter(row -> row.jackpotId().equals("jackpot-2") && row.userId() == 3L)
+        .filter(row -> !row.createdAt().isBefore(START.plusSeconds(200)) && row.createdAt().isBefore(START.plusSeconds(500)))
+        .toList();
+    assertTrue(expected.size() > 0);
+    assertEquals(expected, scanned);
+    assertEquals(3, candidateBlocks);
+  }
+
+  @Test
+  void testScan_DetectsCorruptBlock() throws Exception {
+    // Arrange - flip a byte in the first block's payload
+    Path file = write(rows(10), 100);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {0x7F}), 40);
+    }
+
+    // Act & Assert
+    try (ColumnarContributionReader reader = ColumnarContributionReader.open(file)) {
+      assertThrows(IllegalStateException.class, () -> reader.scan(ArchiveQuery.all(), Collectors.counting()));
+    }
+  }
+
+  @Test
+  void testOpen_RejectsIncompleteFile() throws Exception {
+    // Arrange - a file whose footer was never written
+    Path file = write(rows(10), 100);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 4);
+    }
+
+    // Act & Assert
+    assertThrows(IOException.class, () -> ColumnarContributionReader.open(file));
+  }
+
+  @Test
+  void testAppend_RejectsSubCentAmounts() throws Exception {
+    // Arrange
+    ContributionView row = new ContributionView(1L, "bet-1", 1L, "jackpot-1", new BigDecimal("1.005"),
+        new BigDecimal("0.05"), new BigDecimal("1000.00"), START);
+
+    // Act & Assert
+    try (ColumnarContributionWriter writer = new ColumnarContributionWriter(directory.resolve("bad.col"))) {
+      assertThrows(IllegalArgumentException.class, () -> writer.append(row));
+    }
+  }
+
+  private Path write(List<ContributionView> rows, int blockRows) throws IOException {
+    Path file = directory.resolve("contributions.col");
+    try (ColumnarContributionWriter writer = new ColumnarContributionWriter(file, blockRows)) {
+      for (ContributionView row : rows) {
+        writer.append(row);
+      }
+    }
+    return file;
+  }
+
+  private static List<ContributionView> rows(int count) {
+    List<ContributionView> rows = new ArrayList<>();
+    long[] pools = {100_000, 200_000, 300_000};
+    for (int i = 0; i < count; i++) {
+      int jackpot = i % 3;
+      long contribution = 50 + i % 7;
+      pools[jackpot] = i % 97 == 0 ? 100_000 : pools[jackpot] + contribution;
+      rows.add(new ContributionView(1_000_000L + i * 4_194_304L + i % 5, "bet-" + i + "-ü", (long) (i % 11),
+          "jackpot-" + jackpot, BigDecimal.valueOf(1000 + i, 2), BigDecimal.valueOf(contribution, 2),
+          BigDecimal.valueOf(pools[jackpot], 2), START.plusSeconds(i).plusNanos(i % 3 * 1000)));
+    }
+    return rows;
+  }
+}
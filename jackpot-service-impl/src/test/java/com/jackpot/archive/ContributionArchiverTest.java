@@ -0,0 +1,133 @@
+package com.jackpot.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.jackpot.dto.ContributionDaySummary;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.ContributionArchive;
+import com.jackpot.repository.ContributionArchiveRepository;
+import com.jackpot.repository.ContributionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ContributionArchiverTest {
+
+  private static final LocalDate DAY = LocalDate.now().minusDays(45);
+  private static final LocalDateTime FROM = DAY.atStartOfDay();
+  private static final LocalDateTime TO = FROM.plusDays(1);
+
+  @TempDir
+  Path directory;
+  @Mock
+  private ContributionRepository contributionRepository;
+  @Mock
+  private ContributionArchiveRepository archiveRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+  private ContributionArchiver archiver;
+
+  @BeforeEach
+  void setUp() {
+    archiver = new ContributionArchiver(contributionRepository, archiveRepository,
+        transactionManager, directory.toString(), 30, true);
+  }
+
+  @Test
+  void testArchiveColdDays_ArchivesDaysOlderThanHotWindow() throws Exception {
+    // Arrange - one cold day, after which the oldest row is inside the hot window
+    when(contributionRepository.findOldestCreatedAt())
+        .thenReturn(Optional.of(FROM.plusHours(10)), Optional.of(LocalDateTime.now().minusDays(2)));
+    stubDay(3);
+
+    // Act
+    List<LocalDate> archived = archiver.archiveColdDays();
+
+    // Assert
+    assertEquals(List.of(DAY), archived);
+    Path file = directory.resolve("contributions-" + DAY + ".col");
+    try (ColumnarContributionReader reader = ColumnarContributionReader.open(file)) {
+      List<String> betIds = reader.scan(ArchiveQuery.all(), Collectors.mapping(ContributionView::betId, Collectors.toList()));
+      assertEquals(List.of("bet-1", "bet-2", "bet-3"), betIds);
+    }
+
+    ArgumentCaptor<ContributionArchive> archive = ArgumentCaptor.forClass(ContributionArchive.class);
+    verify(archiveRepository).save(archive.capture());
+    assertEquals(3, archive.getValue().getRowCount());
+    assertEquals(new BigDecimal("1015.00"), archive.getValue().getLastPoolValue());
+    // The read of the day's rows, then the catalog and delete
+    verify(transactionManager, times(2)).commit(any());
+  }
+
+  @Test
+  void testArchiveDay_DeleteMismatchRollsBackAndDiscardsFile() {
+    // Arrange - a row arrived between the export and the delete
+    stubDay(4);
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> archiver.archiveDay(DAY));
+    verify(transactionManager).rollback(any());
+    verify(transactionManager, times(1)).commit(any());
+    assertFalse(Files.exists(directory.resolve("contributions-" + DAY + ".col")));
+  }
+
+  @Test
+  void testArchiveDay_LateRowsGoToAnotherPart() {
+    // Arrange
+    when(archiveRepository.countFilesByBucketDay(DAY)).thenReturn(1L);
+    stubDay(3);
+
+    // Act
+    archiver.archiveDay(DAY);
+
+    // Assert
+    assertTrue(Files.exists(directory.resolve("contributions-" + DAY + "-1.col")));
+  }
+
+  @Test
+  void testConstructor_RejectsEmptyHotWindow() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new ContributionArchiver(contributionRepository,
+        archiveRepository, transactionManager, directory.toString(), 0, true));
+  }
+
+  private void stubDay(int deleted) {
+    when(contributionRepository.streamViewsCreatedBetween(FROM, TO)).thenAnswer(invocation -> Stream.of(1, 2, 3)
+        .map(i -> new ContributionView((long) i, "bet-" + i, 7L, "jackpot-1", new BigDecimal("100.00"),
+            new BigDecimal("5.00"), BigDecimal.valueOf(100_000 + i * 500, 2), FROM.plusHours(9 + i))));
+    Contribution last = new Contribution("bet-3", 7L, "jackpot-1", new BigDecimal("100.00"),
+        new BigDecimal("5.00"), new BigDecimal("1015.00"));
+    last.setId(42L);
+    last.setCreatedAt(FROM.plusHours(20));
+    when(contributionRepository.summarizeCreatedBetween(FROM, TO)).thenReturn(
+        List.of(new ContributionDaySummary("jackpot-1", 3L, FROM.plusHours(10), FROM.plusHours(20))));
+    when(contributionRepository.findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(
+        "jackpot-1", FROM.plusHours(20))).thenReturn(Optional.of(last));
+    when(contributionRepository.deleteCreatedBetween(FROM, TO)).thenReturn(deleted);
+  }
+}
@@ -0,0 +1,123 @@
+package com.jackpot.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jackpot.archive.ArchiveQuery;
+import com.jackpot.archive.ColumnarContributionReader;
+import com.jackpot.archive.ColumnarContributionWriter;
+import com.jackpot.dto.ContributionView;
+
+/**
+ * Size of a day of contributions in the columnar archive format against NDJSON, plain and gzipped, and
+ * rows scanned per second by full and filtered scans. Not part of the test suite; run the main method as
+ * described in {@link ResponseSerializationBenchmark}, optionally passing the number of rows.
+ */
+public class ArchiveScanBenchmark {
+
+  private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 1, 0, 0);
+  private static final long EPOCH_2024 = 1_704_067_200_000L;
+
+  public static void main(String[] args) throws Exception {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+    ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    Path file = Files.createTempFile("contributions", ".col");
+    try {
+      CountingOutputStream ndjson = new CountingOutputStream();
+      CountingOutputStream gzipped = new CountingOutputStream();
+      long started = System.nanoTime();
+      try (ColumnarContributionWriter writer = new ColumnarContributionWriter(file);
+           GZIPOutputStream gzip = new GZIPOutputStream(gzipped, 64 * 1024);
+           SequenceWriter plain = objectMapper.writer().withRootValueSeparator("\n").writeValues(ndjson);
+           SequenceWriter compressed = objectMapper.writer().withRootValueSeparator("\n").writeValues(gzip)) {
+        long[] pools = {1_000_000, 2_000_000, 5_000_000, 10_000_000};
+        for (int i = 0; i < rows; i++) {
+          ContributionView row = row(i, rows, pools);
+          writer.append(row);
+          plain.write(row);
+          compressed.write(row);
+        }
+      }
+      System.out.printf("%,d rows written in %d ms%n", rows, (System.nanoTime() - started) / 1_000_000);
+      long columnar = Files.size(file);
+      System.out.printf("%-12s %,16d bytes %6.1f bytes/row%n", "ndjson", ndjson.count, (double) ndjson.count / rows);
+      System.out.printf("%-12s %,16d bytes %6.1f bytes/row%n", "ndjson.gz", gzipped.count, (double) gzipped.count / rows);
+      System.out.printf("%-12s %,16d bytes %6.1f bytes/row  %.1fx smaller than ndjson, %.1fx than gzip%n", "columnar",
+          columnar, (double) columnar / rows, (double) ndjson.count / columnar, (double) gzipped.count / columnar);
+
+      try (ColumnarContributionReader reader = ColumnarContributionReader.open(file)) {
+        System.out.printf("%n%-34s %12s %10s %16s%n", "scan (" + Runtime.getRuntime().availableProcessors()
+            + " cores)", "matches", "ms", "rows/minute");
+        for (int round = 0; round < 3; round++) {
+          // The first rounds warm up the JIT
+          boolean report = round == 2;
+          scan(reader, "full, count", ArchiveQuery.all(), report);
+          scan(reader, "one jackpot", new ArchiveQuery("jackpot-fixed-fixed", null, null, null), report);
+          scan(reader, "one user", new ArchiveQuery(null, 4242L, null, null), report);
+          scan(reader, "one hour", new ArchiveQuery(null, null, DAY.plusHours(12), DAY.plusHours(13)), report);
+        }
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void scan(ColumnarContributionReader reader, String name, ArchiveQuery query, boolean report) {
+    long started = System.nanoTime();
+    long matches = reader.scan(query, Collectors.counting());
+    long elapsedNanos = System.nanoTime() - started;
+    if (report) {
+      // Throughput counts every row the scan covers, i.e. the whole file
+      System.out.printf("%-34s %,12d %10d %,16d%n", name, matches, elapsedNanos / 1_000_000,
+          reader.rowCount() * 60_000_000_000L / Math.max(1, elapsedNanos));
+    }
+  }
+
+  // Bets spread over the day, ids as the application assigns them, random bet ids and users
+  private static ContributionView row(int index, int rows, long[] pools) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long millis = 86_400_000L * index / rows;
+    long id = ((DAY.toLocalDate().toEpochDay() * 86_400_000L - EPOCH_2024 + millis) << 22) | (index & 0xFFF);
+    int jackpot = random.nextInt(4);
+    long stake = 100 * (1 + random.nextInt(500));
+    long contribution = stake / 20;
+    pools[jackpot] = random.nextInt(100_000) == 0 ? (jackpot + 1) * 1_000_000L : pools[jackpot] + contribution;
+    String jackpotId = switch (jackpot) {
+      case 0 -> "jackpot-fixed-fixed";
+      case 1 -> "jackpot-fixed-variable";
+      case 2 -> "jackpot-variable-fixed";
+      default -> "jackpot-variable-variable";
+    };
+    return new ContributionView(id, UUID.randomUUID().toString(), 1L + random.nextInt(100_000), jackpotId,
+        BigDecimal.valueOf(stake, 2), BigDecimal.valueOf(contribution, 2), BigDecimal.valueOf(pools[jackpot], 2),
+        DAY.plusNanos(millis * 1_000_000 + random.nextInt(1000) * 1000L));
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+    long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      count += len;
+    }
+  }
+}
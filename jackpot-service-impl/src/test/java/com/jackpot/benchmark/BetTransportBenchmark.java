@@ -0,0 +1,160 @@
+package com.jackpot.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import ch.qos.logback.classic.Level;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import com.jackpot.dto.BetRequest;
+import com.jackpot.kafka.KafkaProducer;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Reward;
+import com.jackpot.service.JackpotEngine;
+import com.jackpot.transport.BetTransport;
+import com.jackpot.transport.RingBufferBetTransport;
+
+/**
+ * Latency from {@link BetTransport#sendBet} being called on the request thread to the engine receiving
+ * the bet, one bet at a time so the consumer is idle whenever a bet arrives: {@link RingBufferBetTransport}
+ * with each wait strategy, with and without its journal, against {@link KafkaProducer} and a consumer
+ * polling an embedded broker on the loopback interface. The engine only records the time, so both
+ * figures leave out the contribution itself. The spinning wait strategies are only measured with a core
+ * to spare, since on one core the spinning consumer and the request thread take turns by time slice.
+ * Not part of the test suite; run the main method as
+ * described in {@link ResponseSerializationBenchmark}.
+ */
+public class BetTransportBenchmark {
+
+  private static final int RING_BETS = 50_000;
+  private static final int KAFKA_BETS = 2_000;
+  private static final BigDecimal STAKE = new BigDecimal("100.00");
+
+  private static final class TimingEngine implements JackpotEngine {
+    private volatile long received;
+
+    @Override
+    public Contribution processContribution(String betId, Long userId, String jackpotId, BigDecimal betAmount) {
+      received = System.nanoTime();
+      return null;
+    }
+
+    @Override
+    public boolean isApplied(String betId) {
+      return false;
+    }
+
+    @Override
+    public Optional<Reward> evaluateReward(String betId, Long userId, String jackpotId) {
+      return Optional.empty();
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    // Client and broker logging at the default debug level would dominate the figures
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    System.out.printf("%-30s %10s %10s %10s%n", "transport", "p50 us", "p99 us", "p99.9 us");
+    boolean spareCore = Runtime.getRuntime().availableProcessors() > 1;
+    for (String waitStrategy : List.of("blocking", "sleeping", "yielding", "busy-spin")) {
+      if (spareCore || waitStrategy.equals("blocking") || waitStrategy.equals("sleeping")) {
+        ring(waitStrategy, false);
+      }
+    }
+    ring("blocking", true);
+    kafka();
+  }
+
+  private static void ring(String waitStrategy, boolean journal) throws Exception {
+    Path directory = Files.createTempDirectory("bet-journal");
+    TimingEngine engine = new TimingEngine();
+    RingBufferBetTransport transport = new RingBufferBetTransport(engine, new SimpleMeterRegistry(), "relational", 4096,
+        waitStrategy, journal, directory.toString(), 64 << 20, 1, 0, directory.resolve("dead-letter").toString());
+    transport.start();
+    try {
+      long[] latencies = new long[RING_BETS];
+      for (int i = -RING_BETS; i < RING_BETS; i++) {
+        long sent = System.nanoTime();
+        transport.sendBet(new BetRequest("bet-" + i, "jackpot-1", STAKE), 7L);
+        while (engine.received < sent) {
+          // Yields rather than spins, so a consumer sharing the core gets to run
+          Thread.yield();
+        }
+        // The first half warms up the JIT
+        if (i >= 0) {
+          latencies[i] = engine.received - sent;
+        }
+      }
+      report("ring-buffer " + waitStrategy + (journal ? " + journal" : ""), latencies);
+    } finally {
+      transport.close();
+      FileSystemUtils.deleteRecursively(directory);
+    }
+  }
+
+  private static void kafka() throws IOException {
+    EmbeddedKafkaBroker broker = new EmbeddedKafkaKraftBroker(1, 1, "jackpot-bets");
+    broker.afterPropertiesSet();
+    Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("transport-benchmark", "false", broker);
+    consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    consumerProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.jackpot.dto");
+    DefaultKafkaProducerFactory<String, BetRequest> producerFactory = new DefaultKafkaProducerFactory<>(
+        KafkaTestUtils.producerProps(broker), new StringSerializer(), new JsonSerializer<>());
+    try (KafkaConsumer<String, BetRequest> consumer = new KafkaConsumer<>(consumerProps, new StringDeserializer(),
+        new JsonDeserializer<>(BetRequest.class))) {
+      KafkaProducer producer = new KafkaProducer(new KafkaTemplate<>(producerFactory));
+      consumer.subscribe(List.of("jackpot-bets"));
+      while (consumer.assignment().isEmpty()) {
+        consumer.poll(Duration.ofMillis(100));
+      }
+      long[] latencies = new long[KAFKA_BETS];
+      for (int i = -200; i < KAFKA_BETS; i++) {
+        long sent = System.nanoTime();
+        producer.sendBet(new BetRequest("bet-" + i, "jackpot-1", STAKE), 7L);
+        int received = 0;
+        while (received == 0) {
+          received = consumer.poll(Duration.ofMillis(100)).count();
+        }
+        // The first bets warm up the producer, consumer and broker
+        if (i >= 0) {
+          latencies[i] = System.nanoTime() - sent;
+        }
+      }
+      report("kafka (loopback broker)", latencies);
+    } finally {
+      producerFactory.destroy();
+      broker.destroy();
+    }
+  }
+
+  private static void report(String name, long[] latencies) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    System.out.printf("%-30s %10.1f %10.1f %10.1f%n", name, percentile(sorted, 0.5), percentile(sorted, 0.99),
+        percentile(sorted, 0.999));
+  }
+
+  private static double percentile(long[] sorted, double percentile) {
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1_000.0;
+  }
+}
@@ -0,0 +1,124 @@
+package com.jackpot.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import com.jackpot.model.Contribution;
+
+/**
+ * Contribution rows inserted per second through Hibernate: the {@link Contribution} entity with its
+ * application-assigned ids and JDBC batching, against the same columns keyed by an identity column,
+ * in transactions of the size the ledger projector uses. Not part of the test suite; run the main
+ * method as described in {@link ResponseSerializationBenchmark}. Pass a JDBC URL, user and password to
+ * measure another database than in-memory H2, where each round trip costs far more.
+ */
+public class ContributionInsertBenchmark {
+
+  private static final int ROWS = 200_000;
+  private static final int ROWS_PER_TRANSACTION = 500;
+  private static final int BATCH_SIZE = 50;
+
+  // Same columns, indexes and version as Contribution, mapped in XML so the application's entity scan never sees it
+  private static final String IDENTITY_MAPPING = """
+      <entity-mappings xmlns="https://jakarta.ee/xml/ns/persistence/orm" version="3.1">
+        <entity class="com.jackpot.benchmark.ContributionInsertBenchmark$IdentityContribution" access="FIELD">
+          <table name="identity_contributions">
+            <index column-list="user_id, id"/>
+            <index column-list="jackpot_id, id"/>
+            <index column-list="jackpot_id, created_at, id"/>
+          </table>
+          <attributes>
+            <id name="id"><generated-value strategy="IDENTITY"/></id>
+            <basic name="betId"><column name="bet_id" nullable="false"/></basic>
+            <basic name="userId"><column name="user_id" nullable="false"/></basic>
+            <basic name="jackpotId"><column name="jackpot_id" nullable="false"/></basic>
+            <basic name="stakeAmount"><column name="stake_amount" precision="19" scale="2"/></basic>
+            <basic name="contributionAmount"><column name="contribution_amount" precision="19" scale="2"/></basic>
+            <basic name="currentJackpotAmount"><column name="current_jackpot_amount" precision="19" scale="2"/></basic>
+            <basic name="createdAt"><column name="created_at" nullable="false"/></basic>
+            <version name="version"/>
+          </attributes>
+        </entity>
+      </entity-mappings>
+      """;
+
+  public static void main(String[] args) {
+    Configuration configuration = new Configuration()
+        .addAnnotatedClass(Contribution.class)
+        .addInputStream(new ByteArrayInputStream(IDENTITY_MAPPING.getBytes(StandardCharsets.UTF_8)))
+        .setProperty(AvailableSettings.URL, args.length > 0 ? args[0] : "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1")
+        .setProperty(AvailableSettings.USER, args.length > 1 ? args[1] : "sa")
+        .setProperty(AvailableSettings.PASS, args.length > 2 ? args[2] : "")
+        .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+        .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(BATCH_SIZE))
+        .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+        // Bean validation would only apply to one side
+        .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none");
+
+    try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+      System.out.printf("%-14s %12s %10s%n", "ids", "rows/s", "ms");
+      for (int round = 0; round < 2; round++) {
+        // The first round warms up the JIT and the database
+        boolean report = round == 1;
+        run(sessionFactory, "identity", IdentityContribution::new, report);
+        run(sessionFactory, "time-ordered", ContributionInsertBenchmark::contribution, report);
+      }
+    }
+  }
+
+  private static void run(SessionFactory sessionFactory, String name, IntFunction<Object> rows, boolean report) {
+    long started = System.nanoTime();
+    for (int written = 0; written < ROWS; written += ROWS_PER_TRANSACTION) {
+      try (Session session = sessionFactory.openSession()) {
+        session.beginTransaction();
+        for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+          session.persist(rows.apply(written + i));
+        }
+        session.getTransaction().commit();
+      }
+    }
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    if (report) {
+      System.out.printf("%-14s %12d %10d%n", name, ROWS * 1000L / Math.max(1, elapsedMillis), elapsedMillis);
+    }
+  }
+
+  private static Contribution contribution(int index) {
+    return new Contribution("bet-" + index, (long) (index % 1000), "jackpot-" + (index % 4),
+        new BigDecimal("100.00"), new BigDecimal("5.00"), BigDecimal.valueOf(100_000L + index * 5L, 2));
+  }
+
+  static class IdentityContribution {
+    Long id;
+    String betId;
+    Long userId;
+    String jackpotId;
+    BigDecimal stakeAmount;
+    BigDecimal contributionAmount;
+    BigDecimal currentJackpotAmount;
+    LocalDateTime createdAt;
+    Long version;
+
+    IdentityContribution() {
+    }
+
+    IdentityContribution(int index) {
+      Contribution source = contribution(index);
+      betId = source.getBetId();
+      userId = source.getUserId();
+      jackpotId = source.getJackpotId();
+      stakeAmount = source.getStakeAmount();
+      contributionAmount = source.getContributionAmount();
+      currentJackpotAmount = source.getCurrentJackpotAmount();
+      createdAt = source.getCreatedAt();
+    }
+  }
+}
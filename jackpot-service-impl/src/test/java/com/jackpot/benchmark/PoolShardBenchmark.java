@@ -0,0 +1,125 @@
+package com.jackpot.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Commits per second of concurrent contributions to one hot jackpot: every transaction updating the
+ * jackpots row and the jackpot's hour bucket, against the pool and bucket striped across K shard
+ * rows as {@link com.jackpot.service.JackpotPoolStripes} does, with each thread keeping to its own
+ * shard. A transaction holds its row locks from the first update until it commits; the hold time
+ * stands for what the service does in between (contribution insert, user bucket, commit round trips),
+ * which on a networked database is mostly waiting, so commits on one row queue up while commits on
+ * different rows overlap. Not part of the test suite; run the main method as described in
+ * {@link ResponseSerializationBenchmark}. Pass a JDBC URL, user and password to measure another
+ * database than in-memory H2.
+ */
+public class PoolShardBenchmark {
+
+  private static final int THREADS = 16;
+  private static final int[] SHARDS = {1, 2, 4, 8, 16};
+  private static final long HOLD_MICROS = 2_000;
+  private static final long WARMUP_MILLIS = 1_000;
+  private static final long MEASURE_MILLIS = 3_000;
+  private static final BigDecimal CONTRIBUTION = new BigDecimal("5.00");
+
+  private static final String UPDATE_ROW =
+      "UPDATE jackpots SET current_pool_value = current_pool_value + ?, version = version + 1 WHERE jackpot_id = ?";
+  private static final String UPDATE_SHARD =
+      "UPDATE jackpot_pool_shards SET amount = amount + ?, updates = updates + 1 WHERE jackpot_id = ? AND shard = ?";
+  private static final String UPDATE_BUCKET = "UPDATE jackpot_contribution_rollups SET bet_count = bet_count + 1, "
+      + "contribution_total = contribution_total + ? WHERE jackpot_id = ? AND shard = ?";
+
+  public static void main(String[] args) throws Exception {
+    String url = args.length > 0 ? args[0] : "jdbc:h2:mem:shard-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    String user = args.length > 1 ? args[1] : "sa";
+    String password = args.length > 2 ? args[2] : "";
+
+    try (Connection connection = DriverManager.getConnection(url, user, password);
+        Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS jackpot_pool_shards");
+      statement.execute("DROP TABLE IF EXISTS jackpot_contribution_rollups");
+      statement.execute("DROP TABLE IF EXISTS jackpots");
+      statement.execute("CREATE TABLE jackpots (jackpot_id VARCHAR(50) PRIMARY KEY, "
+          + "current_pool_value DECIMAL(19,2) NOT NULL, version BIGINT NOT NULL)");
+      statement.execute("CREATE TABLE jackpot_pool_shards (jackpot_id VARCHAR(50) NOT NULL, shard INT NOT NULL, "
+          + "amount DECIMAL(19,2) NOT NULL, updates BIGINT NOT NULL, PRIMARY KEY (jackpot_id, shard))");
+      // One hour bucket, kept to the columns the increment touches
+      statement.execute("CREATE TABLE jackpot_contribution_rollups (jackpot_id VARCHAR(50) NOT NULL, shard INT NOT NULL, "
+          + "bet_count BIGINT NOT NULL, contribution_total DECIMAL(19,2) NOT NULL, PRIMARY KEY (jackpot_id, shard))");
+      statement.execute("INSERT INTO jackpots VALUES ('hot', 1000.00, 0)");
+      for (int shard = 0; shard < SHARDS[SHARDS.length - 1]; shard++) {
+        statement.execute("INSERT INTO jackpot_pool_shards VALUES ('hot', " + shard + ", 0, 0)");
+        statement.execute("INSERT INTO jackpot_contribution_rollups VALUES ('hot', " + shard + ", 0, 0)");
+      }
+    }
+
+    System.out.printf("%d threads, row lock held %d us per transaction%n", THREADS, HOLD_MICROS);
+    System.out.printf("%-12s %12s%n", "pool", "commits/s");
+    run(url, user, password, "row", 0);
+    for (int shards : SHARDS) {
+      run(url, user, password, shards + " shards", shards);
+    }
+  }
+
+  private static void run(String url, String user, String password, String name, int shards) throws Exception {
+    AtomicBoolean measuring = new AtomicBoolean();
+    AtomicBoolean stopped = new AtomicBoolean();
+    AtomicLong commits = new AtomicLong();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      int slot = i;
+      Thread thread = new Thread(() -> {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+          connection.setAutoCommit(false);
+          PreparedStatement update = connection.prepareStatement(shards == 0 ? UPDATE_ROW : UPDATE_SHARD);
+          update.setBigDecimal(1, CONTRIBUTION);
+          update.setString(2, "hot");
+          if (shards > 0) {
+            update.setInt(3, slot % shards);
+          }
+          PreparedStatement bucket = connection.prepareStatement(UPDATE_BUCKET);
+          bucket.setBigDecimal(1, CONTRIBUTION);
+          bucket.setString(2, "hot");
+          bucket.setInt(3, shards == 0 ? 0 : slot % shards);
+          while (!stopped.get()) {
+            update.executeUpdate();
+            bucket.executeUpdate();
+            long holdUntil = System.nanoTime() + HOLD_MICROS * 1_000;
+            while (System.nanoTime() < holdUntil) {
+              Thread.sleep(0, 100_000);
+            }
+            connection.commit();
+            if (measuring.get()) {
+              commits.incrementAndGet();
+            }
+          }
+        } catch (SQLException | InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    Thread.sleep(WARMUP_MILLIS);
+    measuring.set(true);
+    long started = System.nanoTime();
+    Thread.sleep(MEASURE_MILLIS);
+    measuring.set(false);
+    long elapsedNanos = System.nanoTime() - started;
+    stopped.set(true);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    System.out.printf("%-12s %12d%n", name, commits.get() * 1_000_000_000L / elapsedNanos);
+  }
+}
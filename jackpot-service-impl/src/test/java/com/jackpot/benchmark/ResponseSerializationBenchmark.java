@@ -0,0 +1,92 @@
+package com.jackpot.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.JackpotView;
+import com.jackpot.dto.RewardView;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.Reward;
+import com.jackpot.service.ViewSerializer;
+
+/**
+ * Bytes, allocations and time per response for the read endpoints: entities written by a
+ * per-call writer, as the default message converter does, against views written by {@link ViewSerializer}.
+ * Not part of the test suite; run the main method from the IDE or with the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes:$(cat cp.txt) com.jackpot.benchmark.ResponseSerializationBenchmark}
+ * after {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+public class ResponseSerializationBenchmark {
+
+  private static final int WARMUP = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  public static void main(String[] args) throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    ViewSerializer viewSerializer = new ViewSerializer(objectMapper);
+
+    Contribution contribution = new Contribution("bet-12345", 42L, "jackpot-fixed-fixed",
+        new BigDecimal("100.00"), new BigDecimal("5.00"), new BigDecimal("1005.00"));
+    contribution.setId(1L);
+    Reward reward = new Reward("bet-12345", 42L, "jackpot-fixed-fixed", new BigDecimal("1005.00"));
+    reward.setId(1L);
+    Jackpot jackpot = new Jackpot("jackpot-fixed-fixed", new BigDecimal("1000.00"),
+        Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+    jackpot.setId(1L);
+    jackpot.setVersion(7L);
+    jackpot.setFixedContributionPercentage(new BigDecimal("5.00"));
+    jackpot.setFixedRewardChance(new BigDecimal("10.00"));
+
+    ContributionView contributionView = new ContributionView(contribution.getId(), contribution.getBetId(),
+        contribution.getUserId(), contribution.getJackpotId(), contribution.getStakeAmount(),
+        contribution.getContributionAmount(), contribution.getCurrentJackpotAmount(), contribution.getCreatedAt());
+    RewardView rewardView = new RewardView(reward.getId(), reward.getBetId(), reward.getUserId(),
+        reward.getJackpotId(), reward.getJackpotRewardAmount(), reward.getCreatedAt());
+
+    System.out.printf("%-22s %10s %14s %10s%n", "case", "bytes", "alloc B/op", "ns/op");
+    run("contribution entity", () -> writeEntity(objectMapper, contribution));
+    run("contribution view", () -> viewSerializer.write(contributionView));
+    run("reward entity", () -> writeEntity(objectMapper, reward));
+    run("reward view", () -> viewSerializer.write(rewardView));
+    run("jackpot entity", () -> writeEntity(objectMapper, jackpot));
+    run("jackpot view", () -> viewSerializer.write(JackpotView.of(jackpot)));
+  }
+
+  private static byte[] writeEntity(ObjectMapper objectMapper, Object entity) {
+    try {
+      return objectMapper.writer().writeValueAsBytes(entity);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void run(String name, Supplier<byte[]> response) {
+    long sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += response.get().length;
+    }
+
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long started = System.nanoTime();
+    int bytes = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      bytes = response.get().length;
+      sink += bytes;
+    }
+    long elapsed = System.nanoTime() - started;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    System.out.printf("%-22s %10d %14d %10d%s%n", name, bytes, allocated / ITERATIONS, elapsed / ITERATIONS,
+        sink == 42 ? " " : "");
+  }
+}
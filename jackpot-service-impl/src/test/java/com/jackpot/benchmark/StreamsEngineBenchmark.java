@@ -0,0 +1,176 @@
+package com.jackpot.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.persistence.LockModeType;
+
+import ch.qos.logback.classic.Level;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StreamsConfig;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import com.jackpot.dto.BetRequest;
+import com.jackpot.kafka.OutboundEventPublisher;
+import com.jackpot.kafka.PoolStatePublisher;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.JackpotPoolShard;
+import com.jackpot.service.JackpotRules;
+import com.jackpot.streams.JackpotTopology;
+
+/**
+ * Bets applied per second by the relational path, one transaction per bet that locks the jackpot row,
+ * updates its pool and inserts the contribution through Hibernate, against {@link JackpotTopology} on
+ * Kafka Streams with its RocksDB pool store and exactly-once commits, reading bets from and writing
+ * contributions to an embedded broker. The streams figure includes the broker round trips and the
+ * repartition topic; the relational one leaves out Kafka and the rollup updates.
+ * {@code TopologyTestDriver} commits after every record, so it is no measure of throughput. Not part of
+ * the test suite; run the main method as described in {@link ResponseSerializationBenchmark}. Pass a
+ * JDBC URL, user and password to measure another database than in-memory H2.
+ */
+public class StreamsEngineBenchmark {
+
+  private static final int BETS = 50_000;
+  private static final BigDecimal STAKE = new BigDecimal("100.00");
+
+  public static void main(String[] args) throws IOException {
+    // Client and broker logging at the default debug level would dominate both figures
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    Configuration configuration = new Configuration()
+        .addAnnotatedClass(Jackpot.class)
+        .addAnnotatedClass(JackpotPoolShard.class)
+        .addAnnotatedClass(Contribution.class)
+        .setProperty(AvailableSettings.URL, args.length > 0 ? args[0] : "jdbc:h2:mem:streams-benchmark;DB_CLOSE_DELAY=-1")
+        .setProperty(AvailableSettings.USER, args.length > 1 ? args[1] : "sa")
+        .setProperty(AvailableSettings.PASS, args.length > 2 ? args[2] : "")
+        .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+        .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none");
+
+    Path stateDir = Files.createTempDirectory("streams-benchmark");
+    EmbeddedKafkaBroker broker = new EmbeddedKafkaKraftBroker(1, 1, JackpotTopology.BETS_TOPIC,
+        OutboundEventPublisher.CONTRIBUTIONS_TOPIC, OutboundEventPublisher.REWARDS_TOPIC, PoolStatePublisher.TOPIC)
+        // Exactly-once needs the transaction log, which defaults to three replicas
+        .brokerProperties(Map.of("transaction.state.log.replication.factor", "1", "transaction.state.log.min.isr", "1"));
+    broker.afterPropertiesSet();
+    try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+      Jackpot jackpot = jackpot();
+      sessionFactory.inTransaction(session -> session.persist(jackpot));
+
+      System.out.printf("%-12s %12s %10s%n", "engine", "bets/s", "ms");
+      for (int round = 0; round < 2; round++) {
+        // The first round warms up the JIT, the database and RocksDB
+        boolean report = round == 1;
+        relational(sessionFactory, report);
+        streams(broker, jackpot, stateDir.resolve("round-" + round), "streams-benchmark-" + round, report);
+      }
+    } finally {
+      broker.destroy();
+      FileSystemUtils.deleteRecursively(stateDir);
+    }
+  }
+
+  private static void relational(SessionFactory sessionFactory, boolean report) {
+    long started = System.nanoTime();
+    for (int i = 0; i < BETS; i++) {
+      try (Session session = sessionFactory.openSession()) {
+        session.beginTransaction();
+        Jackpot jackpot = session.createSelectionQuery("from Jackpot where jackpotId = :id", Jackpot.class)
+            .setParameter("id", "jackpot-1")
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getSingleResult();
+        BigDecimal contribution = JackpotRules.contributionAmount(jackpot, STAKE);
+        jackpot.setCurrentPoolValue(jackpot.getCurrentPoolValue().add(contribution));
+        session.persist(new Contribution("bet-" + i, 7L, "jackpot-1", STAKE, contribution,
+            jackpot.getCurrentPoolValue()));
+        session.getTransaction().commit();
+      }
+    }
+    report(report, "relational", started);
+  }
+
+  private static void streams(EmbeddedKafkaBroker broker, Jackpot jackpot, Path stateDir, String applicationId,
+      boolean report) {
+    Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+    try (KafkaProducer<String, Object> producer = new KafkaProducer<>(producerProps, new StringSerializer(),
+        new JsonSerializer<>())) {
+      for (int i = 0; i < BETS; i++) {
+        producer.send(new ProducerRecord<>(JackpotTopology.BETS_TOPIC, "7-" + applicationId + "-" + i,
+            new BetRequest(applicationId + "-" + i, "jackpot-1", STAKE)));
+      }
+    }
+
+    AtomicLong ids = new AtomicLong();
+    JackpotTopology topology = new JackpotTopology(id -> Optional.of(jackpot), () -> 1.0, false, ids::incrementAndGet);
+    Properties properties = new Properties();
+    properties.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+    properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+    properties.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+    properties.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+    properties.put(StreamsConfig.REPLICATION_FACTOR_CONFIG, 1);
+
+    Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(applicationId + "-reader", "false", broker);
+    consumerProps.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+    consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    try (KafkaStreams streams = new KafkaStreams(topology.build(), properties);
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(consumerProps, new StringDeserializer(),
+            new StringDeserializer())) {
+      // Only contributions of this run count, so the reader starts at the current end
+      consumer.subscribe(List.of(OutboundEventPublisher.CONTRIBUTIONS_TOPIC));
+      while (consumer.assignment().isEmpty()) {
+        consumer.poll(Duration.ofMillis(100));
+      }
+      streams.start();
+      long first = 0;
+      long received = 0;
+      while (received < BETS) {
+        int count = consumer.poll(Duration.ofMillis(100)).count();
+        if (count > 0 && first == 0) {
+          // Startup and rebalancing are left out: the clock starts with the first committed output
+          first = System.nanoTime();
+        }
+        received += count;
+      }
+      report(report, "streams", first);
+    }
+  }
+
+  private static void report(boolean report, String name, long started) {
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    if (report) {
+      System.out.printf("%-12s %12d %10d%n", name, BETS * 1000L / Math.max(1, elapsedMillis), elapsedMillis);
+    }
+  }
+
+  private static Jackpot jackpot() {
+    Jackpot jackpot = new Jackpot("jackpot-1", new BigDecimal("1000.00"), Jackpot.ContributionType.FIXED,
+        Jackpot.RewardType.FIXED);
+    jackpot.setFixedContributionPercentage(new BigDecimal("5.00"));
+    jackpot.setFixedRewardChance(new BigDecimal("1.00"));
+    return jackpot;
+  }
+}
@@ -0,0 +1,165 @@
+package com.jackpot.controller;
+
+import com.jackpot.dto.AuthRequest;
+import com.jackpot.dto.AuthResponse;
+import com.jackpot.dto.PasswordChangeRequest;
+import com.jackpot.exception.ServiceOverloadedException;
+import com.jackpot.model.User;
+import com.jackpot.security.CustomUserDetails;
+import com.jackpot.security.CustomUserDetailsService;
+import com.jackpot.security.JwtUtil;
+import com.jackpot.security.LoginExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private LoginExecutor loginExecutor;
+
+    private AuthController authController;
+
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        loginExecutor = new LoginExecutor(1, 1, 5000L, 2L);
+        authController = new AuthController(authenticationManager, loginExecutor, jwtUtil, userDetailsService, passwordEncoder);
+
+        User user = new User("user1", "$2a$10$UdVZv0YFDD8O49vuhiUplOJ7PESG3mrIO8kLQC9S4s16DXUmPR.R2", "user1@example.com");
+        user.setId(1L);
+        userDetails = new CustomUserDetails(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.destroy();
+    }
+
+    @Test
+    void testLogin_Success_ReusesAuthenticatedPrincipal() {
+        // Arrange
+        when(authenticationManager.authenticate(any()))
+            .thenReturn(new UsernamePasswordAuthenticationToken(userDetails, null, Collections.emptyList()));
+        when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
+
+        // Act
+        ResponseEntity<?> response = authController.createAuthenticationToken(new AuthRequest("user1", "password123"));
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(new AuthResponse("jwt-token"), response.getBody());
+        verify(jwtUtil).generateToken(userDetails);
+    }
+
+    @Test
+    void testLogin_BadCredentials() {
+        // Arrange
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act
+        ResponseEntity<?> response = authController.createAuthenticationToken(new AuthRequest("user1", "wrong"));
+
+        // Assert
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("Incorrect username or password", response.getBody());
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void testChangePassword_VerifiesCurrentPasswordThenRevokes() {
+        // Arrange
+        when(authenticationManager.authenticate(any()))
+            .thenReturn(new UsernamePasswordAuthenticationToken(userDetails, null, Collections.emptyList()));
+        when(passwordEncoder.encode("new-password")).thenReturn("new-encoded-password");
+
+        // Act
+        ResponseEntity<?> response = authController.changePassword(
+            new PasswordChangeRequest("user1", "password123", "new-password"));
+
+        // Assert
+        assertEquals(204, response.getStatusCode().value());
+        verify(userDetailsService).changePassword("user1", "new-encoded-password");
+    }
+
+    @Test
+    void testChangePassword_BadCredentials_NothingChanged() {
+        // Arrange
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act
+        ResponseEntity<?> response = authController.changePassword(
+            new PasswordChangeRequest("user1", "wrong", "new-password"));
+
+        // Assert
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(userDetailsService, passwordEncoder);
+    }
+
+    @Test
+    void testLogin_PoolSaturated_ShedWith429() throws Exception {
+        // Arrange - occupy the single worker and the single queue slot
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread busyWorker = new Thread(() -> loginExecutor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        Thread queued = new Thread(() -> loginExecutor.execute(() -> true));
+        busyWorker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queued.start();
+        waitUntilQueued();
+
+        try {
+            // Act & Assert
+            ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> authController.createAuthenticationToken(new AuthRequest("user1", "password123")));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+            assertEquals(2L, exception.getRetryAfterSeconds());
+            verifyNoInteractions(authenticationManager);
+        } finally {
+            release.countDown();
+            busyWorker.join();
+            queued.join();
+        }
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        // The queued task is submitted asynchronously by the helper thread
+        for (int i = 0; i < 100 && loginExecutor.getQueuedLogins() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, loginExecutor.getQueuedLogins());
+    }
+}
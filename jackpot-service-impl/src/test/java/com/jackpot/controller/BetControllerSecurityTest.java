@@ -1,11 +1,12 @@
 package com.jackpot.controller;
 
+import com.jackpot.admission.BetAdmission;
 import com.jackpot.dto.BetRequest;
 import com.jackpot.dto.BetResponse;
-import com.jackpot.kafka.KafkaProducer;
 import com.jackpot.model.User;
 import com.jackpot.security.CustomUserDetails;
 import com.jackpot.service.JackpotService;
+import com.jackpot.transport.BetTransport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,11 +40,14 @@ import static org.mockito.Mockito.*;
 class BetControllerSecurityTest {
 
     @Mock
-    private KafkaProducer kafkaProducer;
+    private BetTransport betTransport;
 
     @Mock
     private JackpotService jackpotService;
 
+    @Mock
+    private BetAdmission betAdmission;
+
     @InjectMocks
     private BetController betController;
 
@@ -82,7 +86,7 @@ class BetControllerSecurityTest {
         assertEquals(200, response.getStatusCodeValue());
 
         // Verify that user ID 100L (from authentication) was used
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(100L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(100L));
     }
 
     @Test
@@ -106,7 +110,7 @@ class BetControllerSecurityTest {
         assertEquals(200, response.getStatusCodeValue());
 
         // User ID "777" should still be used
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(777L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(777L));
     }
 
     @Test
@@ -133,7 +137,7 @@ class BetControllerSecurityTest {
         assertEquals(200, response.getStatusCodeValue());
 
         // Verify the bet was processed despite the large amount
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(100L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(100L));
     }
 
     @Test
@@ -149,7 +153,7 @@ class BetControllerSecurityTest {
         assertEquals(200, response.getStatusCodeValue());
 
         // Verify the bet was processed with special characters
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(100L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(100L));
     }
 
     @Test
@@ -174,7 +178,7 @@ class BetControllerSecurityTest {
         assertEquals(200, response3.getStatusCodeValue());
 
         // Verify all three calls used the same user ID
-        verify(kafkaProducer, times(3)).sendBet(any(BetRequest.class), eq(100L));
+        verify(betTransport, times(3)).sendBet(any(BetRequest.class), eq(100L));
     }
 
     @Test
@@ -189,8 +193,8 @@ class BetControllerSecurityTest {
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
 
-        // Verify the correct user ID was passed to KafkaProducer
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(100L));
+        // Verify the correct user ID was passed to the transport
+        verify(betTransport).sendBet(any(BetRequest.class), eq(100L));
     }
 
     @Test
@@ -226,7 +230,7 @@ class BetControllerSecurityTest {
                 () -> betController.publishBet(betRequest, null));
 
         assertEquals("User not authenticated", exception.getMessage());
-        verify(kafkaProducer, never()).sendBet(any(BetRequest.class), any(Long.class));
+        verify(betTransport, never()).sendBet(any(BetRequest.class), any(Long.class));
     }
 
     @Test
@@ -234,7 +238,7 @@ class BetControllerSecurityTest {
         // Arrange
         BetRequest betRequest = new BetRequest("timeout-bet-001", "jackpot-fixed", BigDecimal.valueOf(100));
         RuntimeException exception = new RuntimeException("Kafka timeout");
-        doThrow(exception).when(kafkaProducer).sendBet(any(BetRequest.class), eq(100L));
+        doThrow(exception).when(betTransport).sendBet(any(BetRequest.class), eq(100L));
 
         // Act
         ResponseEntity<BetResponse> response = betController.publishBet(betRequest, user1);
@@ -265,8 +269,8 @@ class BetControllerSecurityTest {
         assertEquals(200, response2.getStatusCodeValue());
 
         // Verify that each user's bet used their own user ID
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(100L));
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(999L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(100L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(999L));
     }
 
     @Test
@@ -289,6 +293,6 @@ class BetControllerSecurityTest {
         }
 
         // Verify all calls used the same user ID
-        verify(kafkaProducer, times(numberOfRequests)).sendBet(any(BetRequest.class), eq(100L));
+        verify(betTransport, times(numberOfRequests)).sendBet(any(BetRequest.class), eq(100L));
     }
 }
\ No newline at end of file
@@ -1,21 +1,30 @@
 package com.jackpot.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jackpot.admission.BetAdmission;
 import com.jackpot.dto.BetRequest;
 import com.jackpot.dto.BetResponse;
-import com.jackpot.kafka.KafkaProducer;
-import com.jackpot.model.Contribution;
+import com.jackpot.dto.ContributionView;
+import com.jackpot.exception.ServiceOverloadedException;
 import com.jackpot.model.User;
+import com.jackpot.readmodel.ReadModel;
 import com.jackpot.security.CustomUserDetails;
 import com.jackpot.service.JackpotService;
+import com.jackpot.service.ViewSerializer;
+import com.jackpot.transport.BetTransport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,11 +35,20 @@ import static org.mockito.Mockito.*;
 class BetControllerTest {
 
     @Mock
-    private KafkaProducer kafkaProducer;
+    private BetTransport betTransport;
 
     @Mock
     private JackpotService jackpotService;
 
+    @Mock
+    private BetAdmission betAdmission;
+
+    @Mock
+    private ReadModel readModel;
+
+    @Spy
+    private ViewSerializer viewSerializer = new ViewSerializer(new ObjectMapper().registerModule(new JavaTimeModule()));
+
     @InjectMocks
     private BetController betController;
 
@@ -61,16 +79,17 @@ class BetControllerTest {
         assertNotNull(response.getBody());
         assertEquals("bet123", response.getBody().betId());
         assertEquals("PROCESSED", response.getBody().status());
+        assertEquals("Bet accepted for processing", response.getBody().message());
 
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(123L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(123L));
     }
 
     @Test
     void testPublishBet_FailureWithCustomUserDetails() {
         // Arrange
         BetRequest betRequest = new BetRequest("bet123", "jackpot-fixed", BigDecimal.valueOf(100));
-        RuntimeException exception = new RuntimeException("Kafka error");
-        doThrow(exception).when(kafkaProducer).sendBet(any(BetRequest.class), eq(123L));
+        RuntimeException exception = new RuntimeException("Transport error");
+        doThrow(exception).when(betTransport).sendBet(any(BetRequest.class), eq(123L));
 
         // Act
         ResponseEntity<BetResponse> response = betController.publishBet(betRequest, userDetails);
@@ -81,9 +100,9 @@ class BetControllerTest {
         assertNotNull(response.getBody());
         assertEquals("bet123", response.getBody().betId());
         assertEquals("ERROR", response.getBody().status());
-        assertTrue(response.getBody().message().contains("Failed to publish bet to Kafka"));
+        assertTrue(response.getBody().message().contains("Failed to accept bet for processing: Transport error"));
 
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(123L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(123L));
     }
 
     @Test
@@ -96,7 +115,22 @@ class BetControllerTest {
             () -> betController.publishBet(betRequest, null));
 
         assertEquals("User not authenticated", exception.getMessage());
-        verify(kafkaProducer, never()).sendBet(any(BetRequest.class), any(Long.class));
+        verify(betTransport, never()).sendBet(any(BetRequest.class), any(Long.class));
+    }
+
+    @Test
+    void testPublishBet_TurnedAwayWhileBehind() {
+        // Arrange
+        BetRequest betRequest = new BetRequest("bet123", "jackpot-fixed", BigDecimal.valueOf(100));
+        doThrow(new ServiceOverloadedException("Bet processing is behind", HttpStatus.SERVICE_UNAVAILABLE, 3))
+            .when(betAdmission).admit();
+
+        // Act & Assert - left to the exception handler, which sets Retry-After
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+            () -> betController.publishBet(betRequest, userDetails));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        verify(betTransport, never()).sendBet(any(BetRequest.class), any(Long.class));
     }
 
     @Test
@@ -110,7 +144,7 @@ class BetControllerTest {
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(123L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(123L));
     }
 
     @Test
@@ -124,7 +158,7 @@ class BetControllerTest {
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(123L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(123L));
     }
 
     @Test
@@ -142,37 +176,55 @@ class BetControllerTest {
         assertEquals(200, response.getStatusCodeValue());
 
         // Verify that the user ID 123L (from authentication) is used, not any value from request
-        verify(kafkaProducer).sendBet(any(BetRequest.class), eq(123L));
+        verify(betTransport).sendBet(any(BetRequest.class), eq(123L));
     }
 
     @Test
     void testGetContribution_Success() {
         // Arrange
         String betId = "bet123";
-        Contribution expectedContribution = new Contribution(betId, 456L, "jackpot-fixed",
-            BigDecimal.valueOf(100), BigDecimal.valueOf(50), BigDecimal.valueOf(1000));
-        when(jackpotService.getContribution(betId)).thenReturn(java.util.Optional.of(expectedContribution));
+        ContributionView expectedContribution = new ContributionView(1L, betId, 456L, "jackpot-fixed",
+            BigDecimal.valueOf(100), BigDecimal.valueOf(50), BigDecimal.valueOf(1000), null);
+        when(jackpotService.getContributionView(betId)).thenReturn(java.util.Optional.of(expectedContribution));
+
+        // Act
+        ResponseEntity<byte[]> response = betController.getContribution(betId);
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        String body = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"betId\":\"bet123\""));
+        assertTrue(body.contains("\"contributionAmount\":50"));
+        assertFalse(body.contains("version"));
+        verify(jackpotService).getContributionView(betId);
+    }
+
+    @Test
+    void testGetContribution_ServesReadModelFirst() {
+        // Arrange
+        String betId = "bet123";
+        when(readModel.contribution(betId)).thenReturn(java.util.Optional.of(new ContributionView(1L, betId, 456L,
+            "jackpot-fixed", BigDecimal.valueOf(100), BigDecimal.valueOf(50), BigDecimal.valueOf(1000), null)));
 
         // Act
-        ResponseEntity<?> response = betController.getContribution(betId);
+        ResponseEntity<byte[]> response = betController.getContribution(betId);
 
         // Assert
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(expectedContribution, response.getBody());
-        verify(jackpotService).getContribution(betId);
+        verify(jackpotService, never()).getContributionView(any());
     }
 
     @Test
     void testGetContribution_NotFound() {
         // Arrange
         String betId = "nonexistent";
-        when(jackpotService.getContribution(betId)).thenReturn(java.util.Optional.empty());
+        when(jackpotService.getContributionView(betId)).thenReturn(java.util.Optional.empty());
 
         // Act
-        ResponseEntity<?> response = betController.getContribution(betId);
+        ResponseEntity<byte[]> response = betController.getContribution(betId);
 
         // Assert
         assertEquals(404, response.getStatusCodeValue());
-        verify(jackpotService).getContribution(betId);
+        verify(jackpotService).getContributionView(betId);
     }
 }
\ No newline at end of file
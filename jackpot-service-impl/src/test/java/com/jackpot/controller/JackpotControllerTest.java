@@ -0,0 +1,165 @@
+package com.jackpot.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.dto.RewardView;
+import com.jackpot.readmodel.ReadModel;
+import com.jackpot.service.HistoryService;
+import com.jackpot.service.JackpotService;
+import com.jackpot.service.JackpotSnapshot;
+import com.jackpot.service.JackpotSnapshotCache;
+import com.jackpot.service.JackpotStreamBroadcaster;
+import com.jackpot.service.PoolHistoryService;
+import com.jackpot.service.RewardEvaluator;
+import com.jackpot.service.ViewSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JackpotControllerTest {
+
+    @Mock
+    private JackpotService jackpotService;
+
+    @Mock
+    private RewardEvaluator rewardEvaluator;
+
+    @Mock
+    private JackpotSnapshotCache snapshotCache;
+
+    @Mock
+    private JackpotStreamBroadcaster streamBroadcaster;
+
+    @Mock
+    private HistoryService historyService;
+
+    @Mock
+    private PoolHistoryService poolHistoryService;
+
+    @Mock
+    private ReadModel readModel;
+
+    private JackpotController jackpotController;
+
+    private final JackpotSnapshot snapshot = new JackpotSnapshot("jackpot-1", 1L, 7L, "\"1-7\"",
+            "{\"jackpotId\":\"jackpot-1\"}".getBytes(StandardCharsets.UTF_8));
+
+    @BeforeEach
+    void setUp() {
+        jackpotController = new JackpotController(jackpotService, rewardEvaluator, snapshotCache, streamBroadcaster, historyService,
+                poolHistoryService, new ViewSerializer(new ObjectMapper()), readModel);
+    }
+
+    @Test
+    void testGetJackpot_ServesSnapshotWithEtag() {
+        // Arrange
+        when(snapshotCache.get("jackpot-1")).thenReturn(Optional.of(snapshot));
+
+        // Act
+        ResponseEntity<byte[]> response = jackpotController.getJackpot("jackpot-1", webRequest(null));
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("\"1-7\"", response.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(snapshot.body(), response.getBody());
+        verifyNoInteractions(jackpotService);
+    }
+
+    @Test
+    void testGetJackpot_MatchingEtagReturnsNotModified() {
+        // Arrange
+        when(snapshotCache.get("jackpot-1")).thenReturn(Optional.of(snapshot));
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/jackpots/jackpot-1");
+        servletRequest.addHeader("If-None-Match", "\"1-7\"");
+
+        // Act
+        ResponseEntity<byte[]> response = jackpotController.getJackpot("jackpot-1",
+                new ServletWebRequest(servletRequest, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+    }
+
+    @Test
+    void testGetJackpot_UnknownJackpot() {
+        // Arrange
+        when(snapshotCache.get("missing")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<byte[]> response = jackpotController.getJackpot("missing", webRequest(null));
+
+        // Assert
+        assertEquals(404, response.getStatusCode().value());
+    }
+
+    @Test
+    void testGetJackpots_ServesListSnapshot() {
+        // Arrange
+        byte[] body = "[{\"jackpotId\":\"jackpot-1\"}]".getBytes(StandardCharsets.UTF_8);
+        when(snapshotCache.getAll()).thenReturn(new JackpotSnapshotCache.ListSnapshot("\"abc-1\"", body));
+
+        // Act
+        ResponseEntity<byte[]> response = jackpotController.getJackpots(webRequest(null));
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("\"abc-1\"", response.getHeaders().getETag());
+        assertArrayEquals(body, response.getBody());
+    }
+
+    @Test
+    void testGetReward_ServesView() {
+        // Arrange
+        when(jackpotService.getRewardView("bet-1")).thenReturn(Optional.of(
+                new RewardView(3L, "bet-1", 7L, "jackpot-1", BigDecimal.valueOf(1015), null)));
+
+        // Act
+        ResponseEntity<byte[]> response = jackpotController.getReward("jackpot-1", "bet-1");
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        String body = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"jackpotRewardAmount\":1015"));
+        assertFalse(body.contains("version"));
+    }
+
+    @Test
+    void testGetReward_ServesReadModelFirst() {
+        // Arrange
+        when(readModel.reward("bet-1")).thenReturn(Optional.of(
+                new RewardView(3L, "bet-1", 7L, "jackpot-1", BigDecimal.valueOf(1015), null)));
+
+        // Act
+        ResponseEntity<byte[]> response = jackpotController.getReward("jackpot-1", "bet-1");
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        verifyNoInteractions(jackpotService);
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jackpots");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,114 @@
+package com.jackpot.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.exception.ServiceOverloadedException;
+
+class ExportServiceTest {
+
+  private JdbcDataSource dataSource;
+  private Connection keepAlive;
+  private ExportService exportService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:export-test;DB_CLOSE_DELAY=-1");
+    keepAlive = dataSource.getConnection();
+    try (Statement statement = keepAlive.createStatement()) {
+      statement.execute("CREATE TABLE contributions (id BIGINT PRIMARY KEY, bet_id VARCHAR(50), user_id BIGINT,"
+          + " jackpot_id VARCHAR(50), stake_amount DECIMAL(19,2), contribution_amount DECIMAL(19,2),"
+          + " current_jackpot_amount DECIMAL(19,2), created_at TIMESTAMP)");
+      statement.execute("INSERT INTO contributions VALUES"
+          + " (1, 'bet-1', 1, 'jackpot-1', 100.00, 5.00, 1005.00, '2024-01-01 10:00:00'),"
+          + " (2, 'bet,\"2\"', 2, 'jackpot-2', 50.00, 1.50, 2001.50, '2024-01-01 11:00:00'),"
+          + " (3, 'bet-3', 1, 'jackpot-1', 100.00, 5.00, 1010.00, '2024-01-02 09:00:00')");
+    }
+    exportService = new ExportService(dataSource, new ObjectMapper(), 1, 2);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    try (Statement statement = keepAlive.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    keepAlive.close();
+  }
+
+  @Test
+  void testExport_NdjsonFilteredByJackpotAndTime() throws Exception {
+    // Arrange
+    ExportRequest request = new ExportRequest(ExportDataset.CONTRIBUTIONS, ExportFormat.NDJSON, "jackpot-1",
+        LocalDateTime.parse("2024-01-01T00:00:00"), LocalDateTime.parse("2024-01-02T00:00:00"), false);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    long rows = exportService.export(request, out);
+
+    // Assert
+    assertEquals(1, rows);
+    assertEquals("{\"id\":1,\"betId\":\"bet-1\",\"userId\":1,\"jackpotId\":\"jackpot-1\",\"stakeAmount\":100.00,"
+        + "\"contributionAmount\":5.00,\"currentJackpotAmount\":1005.00,\"createdAt\":\"2024-01-01T10:00\"}\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testExport_CsvQuotesSpecialCharacters() throws Exception {
+    // Arrange
+    ExportRequest request = new ExportRequest(ExportDataset.CONTRIBUTIONS, ExportFormat.CSV, null, null, null, false);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    long rows = exportService.export(request, out);
+
+    // Assert
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, rows);
+    assertEquals("id,bet_id,user_id,jackpot_id,stake_amount,contribution_amount,current_jackpot_amount,created_at",
+        lines[0]);
+    assertEquals("2,\"bet,\"\"2\"\"\",2,jackpot-2,50.00,1.50,2001.50,2024-01-01T11:00", lines[2]);
+  }
+
+  @Test
+  void testExport_Gzip() throws Exception {
+    // Arrange
+    ExportRequest request = new ExportRequest(ExportDataset.CONTRIBUTIONS, ExportFormat.NDJSON, null, null, null, true);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    exportService.export(request, out);
+
+    // Assert
+    String content = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+        StandardCharsets.UTF_8);
+    assertEquals(3, content.lines().count());
+    assertTrue(content.startsWith("{\"id\":1,"));
+  }
+
+  @Test
+  void testAcquire_RejectsBeyondMaxConcurrent() {
+    // Arrange
+    ExportService.Permit permit = exportService.acquire();
+
+    // Act & Assert
+    assertThrows(ServiceOverloadedException.class, exportService::acquire);
+    permit.close();
+    exportService.acquire().close();
+  }
+}
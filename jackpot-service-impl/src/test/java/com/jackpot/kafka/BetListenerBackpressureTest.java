@@ -0,0 +1,116 @@
+package com.jackpot.kafka;
+
+import com.jackpot.admission.ConnectionPoolMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BetListenerBackpressureTest {
+
+    private final KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+    private final ConnectionPoolMonitor poolMonitor = mock(ConnectionPoolMonitor.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessageListenerContainer listener = container(KafkaConsumer.LISTENER_ID);
+    private final MessageListenerContainer retryListener = container(KafkaConsumer.LISTENER_ID + "-retry-0");
+    private final MessageListenerContainer otherListener = container("read-model");
+
+    @BeforeEach
+    void setUp() {
+        when(registry.getListenerContainers()).thenReturn(List.of(listener, retryListener, otherListener));
+    }
+
+    @Test
+    void testSample_PausesTheBetListenersWhenTheConnectionsAreTaken() {
+        // Arrange
+        BetListenerBackpressure backpressure = backpressure(0);
+        when(poolMonitor.activeRatio()).thenReturn(0.95);
+
+        // Act
+        backpressure.sample();
+
+        // Assert
+        assertTrue(backpressure.isPaused());
+        verify(listener).pause();
+        verify(retryListener).pause();
+        verify(otherListener, never()).pause();
+        assertEquals(1.0, meterRegistry.get("jackpot.bets.listener.paused").gauge().value());
+        assertEquals(1.0, meterRegistry.get("jackpot.bets.listener.pauses").counter().count());
+    }
+
+    @Test
+    void testSample_PausesWhenConnectionsAreSlowToAcquire() {
+        // Arrange: 10 connections acquired in 1 s since the last sample
+        BetListenerBackpressure backpressure = backpressure(0);
+        backpressure.sample();
+        when(poolMonitor.acquireCount()).thenReturn(10L);
+        when(poolMonitor.acquireMillis()).thenReturn(1000.0);
+
+        // Act
+        backpressure.sample();
+
+        // Assert
+        assertTrue(backpressure.isPaused());
+        verify(listener).pause();
+    }
+
+    @Test
+    void testSample_ResumesOnlyBelowTheResumeThresholds() {
+        // Arrange
+        BetListenerBackpressure backpressure = backpressure(0);
+        when(poolMonitor.activeRatio()).thenReturn(0.95);
+        backpressure.sample();
+
+        // Act: between the thresholds the listener stays paused
+        when(poolMonitor.activeRatio()).thenReturn(0.8);
+        backpressure.sample();
+        boolean pausedBetween = backpressure.isPaused();
+        when(poolMonitor.activeRatio()).thenReturn(0.5);
+        backpressure.sample();
+
+        // Assert
+        assertTrue(pausedBetween);
+        assertFalse(backpressure.isPaused());
+        verify(listener).resume();
+        verify(retryListener).resume();
+        assertEquals(0.0, meterRegistry.get("jackpot.bets.listener.paused").gauge().value());
+    }
+
+    @Test
+    void testSample_StaysPausedForTheMinimumTime() {
+        // Arrange
+        BetListenerBackpressure backpressure = backpressure(60_000);
+        when(poolMonitor.activeRatio()).thenReturn(0.95);
+        backpressure.sample();
+
+        // Act
+        when(poolMonitor.activeRatio()).thenReturn(0.0);
+        backpressure.sample();
+
+        // Assert
+        assertTrue(backpressure.isPaused());
+        verify(listener, never()).resume();
+    }
+
+    private BetListenerBackpressure backpressure(long minPauseMillis) {
+        return new BetListenerBackpressure(registry, poolMonitor, meterRegistry, true, 0.9, 0.6, 50, 5,
+                minPauseMillis);
+    }
+
+    private static MessageListenerContainer container(String id) {
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getListenerId()).thenReturn(id);
+        return container;
+    }
+}
@@ -0,0 +1,119 @@
+package com.jackpot.kafka;
+
+import com.jackpot.dto.DeadLetterReplay;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Replays dead-lettered bets through an embedded broker
+ */
+@EmbeddedKafka(partitions = 1, topics = {KafkaConsumer.TOPIC, KafkaConsumer.DLT_TOPIC})
+class DeadLetterReplayerTest {
+
+    private static final String RETRY_FAILURE = "java.lang.IllegalStateException";
+    private static final String POISON_FAILURE = "org.springframework.kafka.support.serializer.DeserializationException";
+
+    private EmbeddedKafkaBroker broker;
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private DefaultKafkaConsumerFactory<String, Object> consumerFactory;
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        this.broker = broker;
+        producerFactory = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(broker));
+        consumerFactory = new DefaultKafkaConsumerFactory<>(
+                KafkaTestUtils.consumerProps("jackpot-service-group", "false", broker));
+        replayer = new DeadLetterReplayer(consumerFactory, producerFactory, 100, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void testReplay_ResendsRecoverableBetsOnce() throws Exception {
+        // Arrange
+        DefaultKafkaProducerFactory<String, String> stringProducerFactory = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer());
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(stringProducerFactory);
+        template.send(deadLetter("1-bet-1", "{\"betId\":\"bet-1\"}", RETRY_FAILURE)).get();
+        template.send(deadLetter("2-poison", "not json", POISON_FAILURE)).get();
+        template.send(deadLetter("3-bet-3", "{\"betId\":\"bet-3\"}", RETRY_FAILURE)).get();
+        stringProducerFactory.destroy();
+
+        // Act
+        DeadLetterReplay first = replayer.replay(10, 500);
+        DeadLetterReplay second = replayer.replay(10, 500);
+
+        // Assert - the poison record is passed over, the others start over without their failure headers
+        assertEquals(new DeadLetterReplay(2, 1, 0), first);
+        assertEquals(new DeadLetterReplay(0, 0, 0), second);
+        List<ConsumerRecord<String, String>> replayed = readBets(2);
+        assertEquals(List.of("1-bet-1", "3-bet-3"), replayed.stream().map(ConsumerRecord::key).toList());
+        assertEquals("{\"betId\":\"bet-1\"}", replayed.get(0).value());
+        assertNull(replayed.get(0).headers().lastHeader(KafkaHeaders.EXCEPTION_FQCN));
+        assertNull(replayed.get(0).headers().lastHeader(KafkaHeaders.ORIGINAL_TOPIC));
+        assertNull(replayed.get(0).headers().lastHeader("retry_topic-attempts"));
+        assertNotNull(replayed.get(0).headers().lastHeader("trace-id"));
+    }
+
+    @Test
+    void testReplay_RejectsLimitsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> replayer.replay(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> replayer.replay(101, 10));
+        assertThrows(IllegalArgumentException.class, () -> replayer.replay(10, 501));
+    }
+
+    private static ProducerRecord<String, String> deadLetter(String key, String value, String exception) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(KafkaConsumer.DLT_TOPIC, key, value);
+        record.headers().add(KafkaHeaders.EXCEPTION_FQCN, exception.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.ORIGINAL_TOPIC, KafkaConsumer.TOPIC.getBytes(StandardCharsets.UTF_8));
+        record.headers().add("retry_topic-attempts", new byte[] {0, 0, 0, 4});
+        record.headers().add("trace-id", key.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private List<ConsumerRecord<String, String>> readBets(int count) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dlt-replay-test", "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new StringDeserializer()).createConsumer()) {
+            consumer.subscribe(List.of(KafkaConsumer.TOPIC));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (records.size() < count && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, String> polled = consumer.poll(Duration.ofMillis(200));
+                polled.forEach(records::add);
+            }
+        }
+        return records;
+    }
+}
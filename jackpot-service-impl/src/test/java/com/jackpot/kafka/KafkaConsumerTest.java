@@ -2,16 +2,23 @@ package com.jackpot.kafka;
 
 import com.jackpot.dto.BetRequest;
 import com.jackpot.model.Contribution;
-import com.jackpot.service.JackpotService;
+import com.jackpot.service.JackpotEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.KafkaHeaders;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -27,13 +34,17 @@ import static org.mockito.Mockito.*;
  *   - Message deserialization errors
  *   - Invalid message content
  *   - Retry mechanisms
- * @expected Consumer should log errors but not crash the application
+ *   - Dead-lettered bets
+ * @expected Consumer should hand failures back to the container for retry or dead-lettering
  */
 @ExtendWith(MockitoExtension.class)
 class KafkaConsumerTest {
 
     @Mock
-    private JackpotService jackpotService;
+    private JackpotEngine jackpotEngine;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private KafkaConsumer kafkaConsumer;
@@ -50,7 +61,7 @@ class KafkaConsumerTest {
         // Arrange
         Contribution mockContribution = new Contribution("bet123", 456L, "jackpot-fixed",
             BigDecimal.valueOf(100), BigDecimal.valueOf(10), BigDecimal.valueOf(1000));
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet123"), eq(456L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(100))
         )).thenReturn(mockContribution);
 
@@ -58,23 +69,25 @@ class KafkaConsumerTest {
         kafkaConsumer.consumeBet(validBetRequest, "456-bet123");
 
         // Assert
-        verify(jackpotService).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100));
-        verifyNoMoreInteractions(jackpotService);
+        verify(jackpotEngine).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100));
+        verifyNoMoreInteractions(jackpotEngine);
     }
 
     @Test
     void testConsumeBet_ServiceThrowsException() {
         // Arrange
         RuntimeException serviceException = new RuntimeException("Service unavailable");
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet123"), eq(456L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(100))
         )).thenThrow(serviceException);
 
-        // Act & Assert - Consumer should catch the exception and log it, not propagate
-        kafkaConsumer.consumeBet(validBetRequest, "456-bet123");
+        // Act & Assert - Propagated so the container retries the bet
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+            () -> kafkaConsumer.consumeBet(validBetRequest, "456-bet123"));
+        assertSame(serviceException, thrown);
 
-        // Verify the service was called despite the exception
-        verify(jackpotService).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100));
+        // Verify the service was called
+        verify(jackpotEngine).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100));
     }
 
     @Test
@@ -86,7 +99,7 @@ class KafkaConsumerTest {
         kafkaConsumer.consumeBet(nullBetRequest, "456-bet123");
 
         // Verify no service interaction for null message
-        verifyNoInteractions(jackpotService);
+        verifyNoInteractions(jackpotEngine);
     }
 
     @Test
@@ -96,28 +109,29 @@ class KafkaConsumerTest {
 
         // Simulate service validation failure
         IllegalArgumentException validationException = new IllegalArgumentException("Invalid bet amount");
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet123"), eq(456L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(-100))
         )).thenThrow(validationException);
 
-        // Act & Assert - Should catch and log validation errors
-        kafkaConsumer.consumeBet(invalidBetRequest, "456-bet123");
+        // Act & Assert - Propagated so the container dead-letters the bet
+        assertThrows(IllegalArgumentException.class,
+            () -> kafkaConsumer.consumeBet(invalidBetRequest, "456-bet123"));
 
-        verify(jackpotService).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(-100));
+        verify(jackpotEngine).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(-100));
     }
 
     @Test
     void testConsumeBet_DatabaseConnectionError() {
         // Arrange
         RuntimeException dbException = new RuntimeException("Database connection failed");
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet123"), eq(456L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(100))
         )).thenThrow(dbException);
 
-        // Act & Assert - Should handle database errors gracefully
-        kafkaConsumer.consumeBet(validBetRequest, "456-bet123");
+        // Act & Assert - Propagated so the container retries the bet once the database is back
+        assertThrows(RuntimeException.class, () -> kafkaConsumer.consumeBet(validBetRequest, "456-bet123"));
 
-        verify(jackpotService).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100));
+        verify(jackpotEngine).processContribution("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100));
     }
 
     @Test
@@ -127,15 +141,15 @@ class KafkaConsumerTest {
 
         // Simulate service handling of null betId
         IllegalArgumentException exception = new IllegalArgumentException("Bet ID cannot be null");
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             isNull(), eq(456L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(100))
         )).thenThrow(exception);
 
-        // Act & Assert - Should handle missing fields gracefully
-        kafkaConsumer.consumeBet(invalidBetRequest, "456-null");
+        // Act & Assert - Propagated so the container dead-letters the bet
+        assertThrows(IllegalArgumentException.class, () -> kafkaConsumer.consumeBet(invalidBetRequest, "456-null"));
 
-        // Verify no service interaction for null message
-        verify(jackpotService).processContribution(null, 456L, "jackpot-fixed", BigDecimal.valueOf(100));
+        // Verify the service saw the bet
+        verify(jackpotEngine).processContribution(null, 456L, "jackpot-fixed", BigDecimal.valueOf(100));
     }
 
     @Test
@@ -149,10 +163,10 @@ class KafkaConsumerTest {
         Contribution mockContribution2 = new Contribution("bet2", 2L, "jackpot-fixed",
             BigDecimal.valueOf(75), BigDecimal.valueOf(7.5), BigDecimal.valueOf(1000));
 
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet1"), eq(1L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(50))
         )).thenReturn(mockContribution1);
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet2"), eq(2L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(75))
         )).thenReturn(mockContribution2);
 
@@ -161,8 +175,8 @@ class KafkaConsumerTest {
         kafkaConsumer.consumeBet(bet2, "2-bet2");
 
         // Assert - Both messages should be processed
-        verify(jackpotService).processContribution("bet1", 1L, "jackpot-fixed", BigDecimal.valueOf(50));
-        verify(jackpotService).processContribution("bet2", 2L, "jackpot-fixed", BigDecimal.valueOf(75));
+        verify(jackpotEngine).processContribution("bet1", 1L, "jackpot-fixed", BigDecimal.valueOf(50));
+        verify(jackpotEngine).processContribution("bet2", 2L, "jackpot-fixed", BigDecimal.valueOf(75));
     }
 
     @Test
@@ -172,20 +186,49 @@ class KafkaConsumerTest {
         Contribution mockContribution = new Contribution("bet123", 456L, "jackpot-fixed",
             BigDecimal.valueOf(100), BigDecimal.valueOf(10), BigDecimal.valueOf(1000));
 
-        when(jackpotService.processContribution(
+        when(jackpotEngine.processContribution(
             eq("bet123"), eq(456L), eq("jackpot-fixed"), eq(BigDecimal.valueOf(100))
         )).thenThrow(firstException)
           .thenReturn(mockContribution);
 
-        // Act - First call (should fail but not crash)
-        kafkaConsumer.consumeBet(validBetRequest, "456-bet123");
+        // Act - First call fails back to the container
+        assertThrows(RuntimeException.class, () -> kafkaConsumer.consumeBet(validBetRequest, "456-bet123"));
 
-        // Act - Second call (should succeed)
+        // Act - Redelivery from the retry topic succeeds
         kafkaConsumer.consumeBet(validBetRequest, "456-bet123");
 
         // Assert - Both calls should reach the service
-        verify(jackpotService, times(2)).processContribution(
+        verify(jackpotEngine, times(2)).processContribution(
             "bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConsumeBet_KeyNotMatchingBet() {
+        // Act & Assert - A key for another bet can't be fixed by retrying
+        assertThrows(IllegalArgumentException.class, () -> kafkaConsumer.consumeBet(validBetRequest, "456-bet999"));
+
+        verifyNoInteractions(jackpotEngine);
+    }
+
+    @Test
+    void testOnDeadLetter_CountsByException() {
+        // Arrange
+        ConsumerRecord<String, BetRequest> record = new ConsumerRecord<>(KafkaConsumer.DLT_TOPIC, 0, 7L,
+            "456-bet123", validBetRequest);
+        record.headers().add(KafkaHeaders.EXCEPTION_FQCN,
+            "org.springframework.kafka.listener.ListenerExecutionFailedException".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.EXCEPTION_CAUSE_FQCN,
+            "java.lang.IllegalStateException".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.EXCEPTION_MESSAGE, "Pool locked".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        kafkaConsumer.onDeadLetter(record);
+        kafkaConsumer.onDeadLetter(record);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("jackpot.bets.dead-lettered")
+            .tag("exception", "IllegalStateException").counter().count());
+        verifyNoInteractions(jackpotEngine);
+    }
+}
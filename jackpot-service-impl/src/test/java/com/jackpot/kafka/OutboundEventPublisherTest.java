@@ -0,0 +1,88 @@
+package com.jackpot.kafka;
+
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.model.Reward;
+import com.jackpot.service.JackpotWonEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboundEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new OutboundEventPublisher(kafkaTemplate, meterRegistry);
+    }
+
+    @Test
+    void testOnContributionApplied_SendsKeyedByBet() {
+        // Arrange
+        ContributionApplied event = new ContributionApplied(1L, "bet123", 456L, "jackpot-fixed",
+                BigDecimal.valueOf(100), BigDecimal.valueOf(5), BigDecimal.valueOf(1005), LocalDateTime.now());
+        SendResult<String, Object> sendResult = mock(SendResult.class);
+        when(kafkaTemplate.send(OutboundEventPublisher.CONTRIBUTIONS_TOPIC, "bet123", event))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        // Act
+        publisher.onContributionApplied(event);
+
+        // Assert
+        verify(kafkaTemplate).send(OutboundEventPublisher.CONTRIBUTIONS_TOPIC, "bet123", event);
+        assertEquals(0.0, meterRegistry.counter("jackpot.events.publish.failures").count());
+    }
+
+    @Test
+    void testOnJackpotWon_SendsRewardGranted() {
+        // Arrange
+        Reward reward = new Reward("bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(1005));
+        SendResult<String, Object> sendResult = mock(SendResult.class);
+        when(kafkaTemplate.send(eq(OutboundEventPublisher.REWARDS_TOPIC), eq("bet123"), any()))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        // Act
+        publisher.onJackpotWon(new JackpotWonEvent(reward));
+
+        // Assert
+        verify(kafkaTemplate).send(OutboundEventPublisher.REWARDS_TOPIC, "bet123", RewardGranted.of(reward));
+    }
+
+    @Test
+    void testSend_FailureIsCounted() {
+        // Arrange
+        ContributionApplied event = new ContributionApplied(1L, "bet123", 456L, "jackpot-fixed",
+                BigDecimal.valueOf(100), BigDecimal.valueOf(5), BigDecimal.valueOf(1005), LocalDateTime.now());
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        future.completeExceptionally(new RuntimeException("Kafka error"));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+
+        // Act
+        publisher.onContributionApplied(event);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.counter("jackpot.events.publish.failures").count());
+    }
+}
@@ -0,0 +1,125 @@
+package com.jackpot.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.dto.PoolState;
+import com.jackpot.model.Jackpot;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.service.JackpotChangedEvent;
+import com.jackpot.service.JackpotSnapshot;
+import com.jackpot.service.JackpotSnapshotCache;
+import com.jackpot.service.ViewSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Publishes and hydrates pool states through an embedded broker; tests share the topic, so each
+ * uses jackpots of its own
+ */
+@EmbeddedKafka(partitions = 2, topics = PoolStatePublisher.TOPIC)
+class PoolStateHydratorTest {
+
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private ConsumerFactory<String, Object> consumerFactory;
+    private PoolStatePublisher publisher;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        producerFactory = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(broker),
+                new StringSerializer(), new JsonSerializer<>());
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("pool-state-test", "false", broker);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        JsonDeserializer<Object> valueDeserializer = new JsonDeserializer<>();
+        valueDeserializer.addTrustedPackages("com.jackpot.dto");
+        consumerFactory = new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), valueDeserializer);
+        publisher = new PoolStatePublisher(kafkaTemplate, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void testRun_HydratesCacheWithoutDatabase() {
+        // Arrange
+        publisher.onJackpotChanged(new JackpotChangedEvent(jackpot(1L, "hydrate-1", 1000, 1L, 0)));
+        publisher.onJackpotChanged(new JackpotChangedEvent(jackpot(2L, "hydrate-2", 2000, 4L, 0)));
+        publisher.tick();
+        publisher.onJackpotChanged(new JackpotChangedEvent(jackpot(1L, "hydrate-1", 1250, 5L, 1)));
+        publisher.tick();
+        kafkaTemplate.flush();
+        JackpotRepository jackpotRepository = mock(JackpotRepository.class);
+        JackpotSnapshotCache snapshotCache = new JackpotSnapshotCache(jackpotRepository,
+                new ViewSerializer(new ObjectMapper()));
+        PoolStateHydrator hydrator = new PoolStateHydrator(consumerFactory, snapshotCache, 30_000);
+
+        // Act
+        hydrator.run(null);
+
+        // Assert - the newest state of each jackpot, served without touching the database
+        JackpotSnapshot first = snapshotCache.get("hydrate-1").orElseThrow();
+        assertEquals(5L, first.version());
+        assertEquals("\"1-5\"", first.etag());
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"currentPoolValue\":1250"));
+        assertEquals(4L, snapshotCache.get("hydrate-2").orElseThrow().version());
+        verifyNoInteractions(jackpotRepository);
+    }
+
+    @Test
+    void testTick_CoalescesChangesPerJackpot() {
+        // Arrange
+        for (long version = 1; version <= 50; version++) {
+            publisher.onJackpotChanged(new JackpotChangedEvent(jackpot(3L, "coalesce-1", 1000 + version, version, 2)));
+        }
+        // A commit delivered late must not replace a newer state
+        publisher.onJackpotChanged(new JackpotChangedEvent(jackpot(3L, "coalesce-1", 1010, 10L, 2)));
+
+        // Act
+        publisher.tick();
+        kafkaTemplate.flush();
+
+        // Assert
+        Collection<PoolState> states = new PoolStateHydrator(consumerFactory, mock(JackpotSnapshotCache.class), 30_000)
+                .read();
+        PoolState state = states.stream().filter(s -> s.jackpotId().equals("coalesce-1")).findFirst().orElseThrow();
+        assertEquals(50L, state.revision());
+        assertEquals(2L, state.round());
+        assertEquals(0, new BigDecimal("1050").compareTo(state.jackpot().currentPoolValue()));
+    }
+
+    private Jackpot jackpot(Long id, String jackpotId, long poolValue, Long version, long round) {
+        Jackpot jackpot = new Jackpot(jackpotId, BigDecimal.valueOf(1000), Jackpot.ContributionType.FIXED,
+                Jackpot.RewardType.FIXED);
+        jackpot.setId(id);
+        jackpot.setCurrentPoolValue(BigDecimal.valueOf(poolValue));
+        jackpot.setVersion(version);
+        jackpot.setRound(round);
+        return jackpot;
+    }
+}
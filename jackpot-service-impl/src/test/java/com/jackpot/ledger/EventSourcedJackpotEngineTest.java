@@ -0,0 +1,176 @@
+package com.jackpot.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.LedgerCheckpoint;
+import com.jackpot.model.Reward;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.repository.LedgerCheckpointRepository;
+import com.jackpot.repository.RewardRepository;
+import com.jackpot.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EventSourcedJackpotEngineTest {
+
+  @Mock
+  private JackpotRepository jackpotRepository;
+  @Mock
+  private ContributionRepository contributionRepository;
+  @Mock
+  private RewardRepository rewardRepository;
+  @Mock
+  private UserRepository userRepository;
+  @Mock
+  private LedgerCheckpointRepository checkpointRepository;
+
+  @TempDir
+  Path directory;
+
+  @BeforeEach
+  void setUp() {
+    // Each recovery gets a fresh row, as it would from the database
+    when(jackpotRepository.findAll()).thenAnswer(invocation -> List.of(jackpot(new BigDecimal("1000.00"))));
+  }
+
+  @Test
+  void testProcessContribution_UpdatesPoolWithoutWritingRows() throws IOException {
+    // Arrange
+    EventSourcedJackpotEngine engine = engine(false);
+
+    // Act
+    engine.processContribution("bet-1", 7L, "jackpot-1", new BigDecimal("100.00"));
+    Contribution second = engine.processContribution("bet-2", 7L, "jackpot-1", new BigDecimal("100.00"));
+
+    // Assert
+    assertEquals(new BigDecimal("1020.00"), second.getCurrentJackpotAmount());
+    assertEquals(new BigDecimal("10.00"), second.getContributionAmount());
+    assertEquals(2, engine.lastSequence());
+    verify(jackpotRepository, never()).save(any());
+    verify(contributionRepository, never()).save(any());
+  }
+
+  @Test
+  void testIsApplied_SeesLoggedBetsBeforeTheyAreProjected() throws IOException {
+    // Arrange
+    EventSourcedJackpotEngine engine = engine(false);
+    when(contributionRepository.existsByBetId("bet-2")).thenReturn(false);
+
+    // Act
+    engine.processContribution("bet-1", 7L, "jackpot-1", new BigDecimal("100.00"));
+
+    // Assert - bet-1 has no row yet
+    assertTrue(engine.isApplied("bet-1"));
+    assertFalse(engine.isApplied("bet-2"));
+    verify(contributionRepository, never()).existsByBetId("bet-1");
+  }
+
+  @Test
+  void testRecover_FromSnapshotPlusLogTail() throws IOException {
+    // Arrange
+    EventSourcedJackpotEngine engine = engine(false);
+    for (int i = 1; i <= 3; i++) {
+      engine.processContribution("bet-" + i, 7L, "jackpot-1", new BigDecimal("100.00"));
+    }
+    engine.snapshot();
+    engine.processContribution("bet-4", 7L, "jackpot-1", new BigDecimal("100.00"));
+    engine.processContribution("bet-5", 7L, "jackpot-1", new BigDecimal("100.00"));
+
+    // Act: restart without a final snapshot, as after a crash
+    EventSourcedJackpotEngine recovered = engine(false);
+
+    // Assert
+    assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+    assertEquals(5, recovered.lastSequence());
+    Contribution next = recovered.processContribution("bet-6", 7L, "jackpot-1", new BigDecimal("100.00"));
+    assertEquals(new BigDecimal("1060.00"), next.getCurrentJackpotAmount());
+    assertEquals(6, recovered.lastSequence());
+  }
+
+  @Test
+  void testRecover_FromReadModelWhenCheckpointIsNewer() throws IOException {
+    // Arrange
+    EventSourcedJackpotEngine engine = engine(false);
+    for (int i = 1; i <= 4; i++) {
+      engine.processContribution("bet-" + i, 7L, "jackpot-1", new BigDecimal("100.00"));
+    }
+    // Projector applied the first three records after the engine had stopped
+    when(checkpointRepository.findById(EventSourcedJackpotEngine.PROJECTOR))
+        .thenReturn(Optional.of(new LedgerCheckpoint(EventSourcedJackpotEngine.PROJECTOR, 3)));
+    when(jackpotRepository.findAll()).thenAnswer(invocation -> List.of(jackpot(new BigDecimal("1030.00"))));
+
+    // Act
+    EventSourcedJackpotEngine recovered = engine(false);
+
+    // Assert
+    assertEquals(3, recovered.projectedSequence());
+    Contribution next = recovered.processContribution("bet-5", 7L, "jackpot-1", new BigDecimal("100.00"));
+    assertEquals(new BigDecimal("1050.00"), next.getCurrentJackpotAmount());
+  }
+
+  @Test
+  void testEvaluateReward_SingleWinnerSurvivesRestart() throws IOException {
+    // Arrange
+    when(userRepository.existsById(7L)).thenReturn(true);
+    EventSourcedJackpotEngine engine = engine(true);
+    engine.processContribution("bet-1", 7L, "jackpot-1", new BigDecimal("100.00"));
+    engine.processContribution("bet-2", 7L, "jackpot-1", new BigDecimal("100.00"));
+
+    // Act
+    Optional<Reward> winner = engine.evaluateReward("bet-1", 7L, "jackpot-1");
+    Optional<Reward> repeated = engine.evaluateReward("bet-1", 7L, "jackpot-1");
+    Optional<Reward> second = engine.evaluateReward("bet-2", 7L, "jackpot-1");
+
+    // Assert
+    assertTrue(winner.isPresent());
+    assertEquals(new BigDecimal("1020.00"), winner.get().getJackpotRewardAmount());
+    assertEquals(new BigDecimal("1020.00"), repeated.orElseThrow().getJackpotRewardAmount());
+    assertTrue(second.isEmpty());
+    verify(rewardRepository, never()).save(any());
+
+    // Pool was reset by the win and the jackpot stays won after replay
+    EventSourcedJackpotEngine recovered = engine(true);
+    Contribution afterWin = recovered.processContribution("bet-3", 7L, "jackpot-1", new BigDecimal("100.00"));
+    assertEquals(new BigDecimal("1010.00"), afterWin.getCurrentJackpotAmount());
+    assertTrue(recovered.evaluateReward("bet-3", 7L, "jackpot-1").isEmpty());
+  }
+
+  private EventSourcedJackpotEngine engine(boolean forceWin) throws IOException {
+    EventSourcedJackpotEngine engine = new EventSourcedJackpotEngine(jackpotRepository, contributionRepository,
+        rewardRepository, userRepository, checkpointRepository, directory.toString(), 4096, 1000, forceWin);
+    engine.recover();
+    return engine;
+  }
+
+  private static Jackpot jackpot(BigDecimal pool) {
+    Jackpot jackpot = new Jackpot("jackpot-1", new BigDecimal("1000.00"), Jackpot.ContributionType.FIXED,
+        Jackpot.RewardType.FIXED);
+    jackpot.setId(1L);
+    jackpot.setCurrentPoolValue(pool);
+    jackpot.setFixedContributionPercentage(new BigDecimal("10.00"));
+    jackpot.setFixedRewardChance(new BigDecimal("1.00"));
+    return jackpot;
+  }
+}
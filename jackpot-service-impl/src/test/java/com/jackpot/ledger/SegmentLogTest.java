@@ -0,0 +1,149 @@
+package com.jackpot.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentLogTest {
+
+  private static final int SEGMENT_SIZE = 512;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testAppend_RollsSegmentsAndReplaysAfterReopen() throws IOException {
+    // Arrange
+    SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE);
+    appendAll(log, 1, 20);
+    log.close();
+
+    // Act
+    SegmentLog reopened = SegmentLog.open(directory, SEGMENT_SIZE);
+
+    // Assert
+    assertTrue(reopened.segmentCount() > 1);
+    assertEquals(20, reopened.lastSequence());
+    List<LedgerEvent> events = readAll(reopened.cursor(5));
+    assertEquals(16, events.size());
+    assertEquals(5, events.get(0).sequence());
+    assertEquals(new BigDecimal("1020.00"), events.get(15).poolAfter());
+    assertEquals("bet-20", events.get(15).betId());
+  }
+
+  @Test
+  void testCursor_SeesRecordsAppendedAfterCatchingUp() throws IOException {
+    // Arrange
+    SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE);
+    appendAll(log, 1, 2);
+    SegmentLog.Cursor cursor = log.cursor(1);
+    assertEquals(2, readAll(cursor).size());
+
+    // Act
+    appendAll(log, 3, 12);
+
+    // Assert
+    List<LedgerEvent> events = readAll(cursor);
+    assertEquals(10, events.size());
+    assertEquals(3, events.get(0).sequence());
+    assertNull(cursor.next());
+  }
+
+  @Test
+  void testOpen_DiscardsTornTailOfNewestSegment() throws IOException {
+    // Arrange
+    SegmentLog log = SegmentLog.open(directory, 4096);
+    appendAll(log, 1, 3);
+    log.close();
+    corruptRecord(segmentFiles().get(0), 2);
+
+    // Act
+    SegmentLog reopened = SegmentLog.open(directory, 4096);
+
+    // Assert
+    assertEquals(2, reopened.lastSequence());
+    appendAll(reopened, 3, 4);
+    reopened.close();
+    assertEquals(List.of(1L, 2L, 3L, 4L),
+        readAll(SegmentLog.open(directory, 4096).cursor(1)).stream().map(LedgerEvent::sequence).toList());
+  }
+
+  @Test
+  void testOpen_FailsOnCorruptOlderSegment() throws IOException {
+    // Arrange
+    SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE);
+    appendAll(log, 1, 20);
+    log.close();
+    corruptRecord(segmentFiles().get(0), 1);
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> SegmentLog.open(directory, SEGMENT_SIZE));
+  }
+
+  @Test
+  void testDeleteSegmentsBefore_KeepsSegmentHoldingSequence() throws IOException {
+    // Arrange
+    SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE);
+    appendAll(log, 1, 20);
+    int segments = log.segmentCount();
+
+    // Act
+    int deleted = log.deleteSegmentsBefore(15);
+
+    // Assert
+    assertTrue(deleted > 0);
+    assertEquals(segments - deleted, segmentFiles().size());
+    assertEquals(15, log.cursor(15).next().sequence());
+    assertEquals(20, log.lastSequence());
+  }
+
+  private static void appendAll(SegmentLog log, long from, long to) throws IOException {
+    for (long sequence = from; sequence <= to; sequence++) {
+      log.append(LedgerEvent.contribution(sequence, 1_700_000_000_000L + sequence, 7L, "jackpot-1",
+          "bet-" + sequence, new BigDecimal("100.00"), new BigDecimal("1.00"),
+          new BigDecimal("1000.00").add(BigDecimal.valueOf(sequence))));
+    }
+  }
+
+  private static List<LedgerEvent> readAll(SegmentLog.Cursor cursor) {
+    List<LedgerEvent> events = new ArrayList<>();
+    for (LedgerEvent event = cursor.next(); event != null; event = cursor.next()) {
+      events.add(event);
+    }
+    return events;
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().startsWith("ledger-")).sorted().toList();
+    }
+  }
+
+  // Flips a payload byte of the record at the given index, as a partially flushed page would
+  private static void corruptRecord(Path segment, int index) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      long position = 0;
+      for (int i = 0; i < index; i++) {
+        file.seek(position);
+        position += SegmentLog.HEADER_SIZE + file.readInt();
+      }
+      file.seek(position + SegmentLog.HEADER_SIZE + 20);
+      int value = file.read();
+      file.seek(position + SegmentLog.HEADER_SIZE + 20);
+      file.write(value ^ 0xFF);
+    }
+  }
+}
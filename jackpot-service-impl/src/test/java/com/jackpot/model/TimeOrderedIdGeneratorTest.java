@@ -0,0 +1,75 @@
+package com.jackpot.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+  private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+  @Test
+  void testNextId_EncodesTimestampNodeAndSequence() {
+    // Arrange
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5, () -> NOW);
+
+    // Act
+    long first = generator.nextId();
+    long second = generator.nextId();
+
+    // Assert
+    assertEquals(1_000_000L, first >>> 22);
+    assertEquals(5, (first >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    assertEquals(0, first & 0xFFF);
+    assertEquals(first + 1, second);
+  }
+
+  @Test
+  void testNextId_StaysIncreasingWhenSequenceRunsOutAndClockStepsBack() {
+    // Arrange
+    AtomicLong clock = new AtomicLong(NOW);
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock::get);
+    Set<Long> ids = new HashSet<>();
+    long previous = -1;
+
+    // Act & Assert
+    for (int i = 0; i < 10_000; i++) {
+      if (i == 5_000) {
+        clock.addAndGet(-2_000);
+      }
+      long id = generator.nextId();
+      assertTrue(id > previous, "id " + i + " went backwards");
+      assertTrue(ids.add(id));
+      previous = id;
+    }
+  }
+
+  @Test
+  void testNextId_DifferentNodesNeverCollide() {
+    // Arrange
+    TimeOrderedIdGenerator node1 = new TimeOrderedIdGenerator(1, () -> NOW);
+    TimeOrderedIdGenerator node2 = new TimeOrderedIdGenerator(2, () -> NOW);
+    Set<Long> ids = new HashSet<>();
+
+    // Act
+    for (int i = 0; i < 5_000; i++) {
+      ids.add(node1.nextId());
+      ids.add(node2.nextId());
+    }
+
+    // Assert
+    assertEquals(10_000, ids.size());
+  }
+
+  @Test
+  void testConstructor_RejectsNodeIdOutOfRange() {
+    assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(1024, () -> NOW));
+    assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1, () -> NOW));
+  }
+}
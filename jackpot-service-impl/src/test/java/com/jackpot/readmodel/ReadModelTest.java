@@ -0,0 +1,46 @@
+package com.jackpot.readmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.RewardGranted;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadModelTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  @Test
+  void testApply_ServesViewsByBetId() {
+    // Arrange
+    ReadModel readModel = new ReadModel(true, 100, new SimpleMeterRegistry());
+
+    // Act
+    readModel.apply(new ContributionApplied(1L, "bet-1", 7L, "jackpot-1", new BigDecimal("100.00"),
+        new BigDecimal("5.00"), new BigDecimal("1005.00"), CREATED_AT));
+    readModel.apply(new RewardGranted(2L, "bet-1", 7L, "jackpot-1", new BigDecimal("1005.00"), CREATED_AT));
+
+    // Assert
+    assertEquals(new BigDecimal("1005.00"), readModel.contribution("bet-1").orElseThrow().currentJackpotAmount());
+    assertEquals(new BigDecimal("1005.00"), readModel.reward("bet-1").orElseThrow().jackpotRewardAmount());
+    assertTrue(readModel.contribution("bet-2").isEmpty());
+    assertTrue(readModel.reward("bet-2").isEmpty());
+  }
+
+  @Test
+  void testDisabled_EveryLookupMisses() {
+    // Arrange
+    ReadModel readModel = new ReadModel(false, 100, new SimpleMeterRegistry());
+    readModel.apply(new RewardGranted(2L, "bet-1", 7L, "jackpot-1", new BigDecimal("1005.00"), CREATED_AT));
+
+    // Act & Assert
+    assertTrue(readModel.reward("bet-1").isEmpty());
+  }
+}
@@ -0,0 +1,230 @@
+package com.jackpot.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.jackpot.model.User;
+import com.jackpot.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final Map<String, String> redis = new HashMap<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache userDetailsCache;
+    private TokenRevocationRegistry revocationRegistry;
+    private UserInvalidationBroadcaster broadcaster;
+    private CustomUserDetailsService userDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(100, 60000, meterRegistry);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        lenient().doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        revocationRegistry = new TokenRevocationRegistry(redisTemplate, 3_600_000L, 30_000L, 3_600_000L, 100L,
+                Runnable::run, Ticker.systemTicker());
+        broadcaster = new UserInvalidationBroadcaster(userDetailsCache, revocationRegistry, redisTemplate);
+        userDetailsService = new CustomUserDetailsService(userRepository, userDetailsCache, broadcaster);
+
+        user = new User("user1", "encoded-password", "user1@example.com");
+        user.setId(1L);
+    }
+
+    @Test
+    void testLoadUserByUsername_CachesAfterFirstLoad() {
+        // Arrange
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername("user1");
+        UserDetails second = userDetailsService.loadUserByUsername("user1");
+
+        // Assert
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("user1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testLoadUserByUsername_UnknownUserNotCached() {
+        // Arrange
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+        assertEquals(0, userDetailsCache.size());
+    }
+
+    @Test
+    void testDisableUser_EvictsRevokesAndBroadcasts() {
+        // Arrange
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        long issuedEpoch = revocationRegistry.currentEpoch(1L);
+        userDetailsService.loadUserByUsername("user1");
+
+        // Act
+        userDetailsService.disableUser("user1");
+
+        // Assert
+        assertFalse(user.getEnabled());
+        verify(userRepository).save(user);
+        assertEquals(0, userDetailsCache.size());
+        assertTrue(revocationRegistry.isRevoked(1L, issuedEpoch));
+        assertEquals(String.valueOf(revocationRegistry.currentEpoch(1L)), redis.get("user-revocation-epoch:1"));
+        verify(redisTemplate).convertAndSend(eq(UserInvalidationBroadcaster.INVALIDATION_CHANNEL),
+                eq("1:" + revocationRegistry.currentEpoch(1L) + ":user1"));
+    }
+
+    @Test
+    void testUpdatePassword_EvictsWithoutRevokingTokens() {
+        // Arrange
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        long issuedEpoch = revocationRegistry.currentEpoch(1L);
+        userDetailsService.loadUserByUsername("user1");
+
+        // Act
+        userDetailsService.updatePassword(new CustomUserDetails(user), "rehashed-password");
+
+        // Assert
+        assertEquals("rehashed-password", user.getPassword());
+        assertEquals(0, userDetailsCache.size());
+        assertFalse(revocationRegistry.isRevoked(1L, issuedEpoch));
+        verify(redisTemplate).convertAndSend(UserInvalidationBroadcaster.INVALIDATION_CHANNEL, "1:0:user1");
+    }
+
+    @Test
+    void testBroadcastFailure_StillInvalidatesLocally() {
+        // Arrange
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        doThrow(new RuntimeException("Redis down")).when(redisTemplate).convertAndSend(anyString(), any());
+        userDetailsService.loadUserByUsername("user1");
+
+        // Act
+        userDetailsService.changePassword("user1", "new-encoded-password");
+
+        // Assert
+        assertEquals("new-encoded-password", user.getPassword());
+        assertEquals(0, userDetailsCache.size());
+    }
+
+    @Test
+    void testDisableUser_RevocationNotStored_StillEvictsAndReportsFailure() {
+        // Arrange
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        doThrow(new RedisConnectionFailureException("Redis down"))
+                .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        userDetailsService.loadUserByUsername("user1");
+
+        // Act & Assert - the user is disabled everywhere; the caller learns that tokens were not revoked
+        assertThrows(RedisConnectionFailureException.class, () -> userDetailsService.disableUser("user1"));
+        assertEquals(0, userDetailsCache.size());
+        verify(redisTemplate).convertAndSend(UserInvalidationBroadcaster.INVALIDATION_CHANNEL, "1:0:user1");
+    }
+
+    @Test
+    void testDisableUser_ReloadBeforeCommit_InvalidatedOnceCommitted() {
+        // Arrange - until the commit, other readers still see the enabled row
+        User committed = new User("user1", "encoded-password", "user1@example.com");
+        committed.setId(1L);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user), Optional.of(committed));
+        long issuedEpoch = revocationRegistry.currentEpoch(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            userDetailsService.disableUser("user1");
+            UserDetails reloaded = userDetailsService.loadUserByUsername("user1");
+
+            // Assert - nothing is invalidated yet, so the old row may be cached
+            assertTrue(reloaded.isEnabled());
+            assertFalse(revocationRegistry.isRevoked(1L, issuedEpoch));
+            verify(redisTemplate, never()).convertAndSend(anyString(), any());
+
+            // Act - commit
+            committed.setEnabled(false);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(0, userDetailsCache.size());
+        assertFalse(userDetailsService.loadUserByUsername("user1").isEnabled());
+        assertTrue(revocationRegistry.isRevoked(1L, issuedEpoch));
+    }
+
+    @Test
+    void testOnChannelSubscribed_DropsCachedUsersAndEpochs() {
+        // Arrange - revoked on another node while this node was not subscribed
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername("user1");
+        long issuedEpoch = revocationRegistry.currentEpoch(1L);
+        redis.put("user-revocation-epoch:1", String.valueOf(System.currentTimeMillis() + 1000));
+
+        // Act
+        broadcaster.onChannelSubscribed(UserInvalidationBroadcaster.INVALIDATION_CHANNEL.getBytes(), 1);
+
+        // Assert
+        assertEquals(0, userDetailsCache.size());
+        assertTrue(revocationRegistry.isRevoked(1L, issuedEpoch));
+    }
+
+    @Test
+    void testOnMessage_EvictsAndAppliesRemoteEpoch() {
+        // Arrange
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername("user1");
+        long remoteEpoch = System.currentTimeMillis() + 1000;
+        byte[] body = ("1:" + remoteEpoch + ":user1").getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        broadcaster.onMessage(new DefaultMessage(UserInvalidationBroadcaster.INVALIDATION_CHANNEL.getBytes(), body), null);
+
+        // Assert
+        assertEquals(0, userDetailsCache.size());
+        assertEquals(remoteEpoch, revocationRegistry.currentEpoch(1L));
+    }
+}
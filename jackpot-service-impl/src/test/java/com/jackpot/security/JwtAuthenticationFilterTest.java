@@ -0,0 +1,209 @@
+package com.jackpot.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.jackpot.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for claims-based authentication in JwtAuthenticationFilter
+ *
+ * @test JWT Authentication Filter
+ * @description Validates that authenticated requests are resolved from token claims without touching the users table
+ * @scenarios
+ *   - Principal built from uid claim
+ *   - Revoked user, including a revocation made on another node
+ *   - Revocation epoch unreadable
+ *   - Legacy token without uid claim
+ * @expected Only legacy tokens cause a user lookup
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final JwtKey KEY = new JwtKey("1", "c2VjcmV0LWEtc2VjcmV0LWEtc2VjcmV0LWEtc2VjcmV0LWE=", 1L);
+
+    @Mock
+    private RedisJwtSecretManager redisJwtSecretManager;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final Map<String, String> redis = new HashMap<>();
+
+    private TokenRevocationRegistry revocationRegistry;
+
+    private JwtUtil jwtUtil;
+
+    private JwtAuthenticationFilter filter;
+
+    private CustomUserDetails loggedInUser;
+
+    @BeforeEach
+    void setUp() {
+        when(redisJwtSecretManager.getOrCreateKeyRing()).thenReturn(List.of(KEY));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        lenient().doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        revocationRegistry = new TokenRevocationRegistry(redisTemplate, 3_600_000L, 30_000L, 3_600_000L, 100L,
+                Runnable::run, Ticker.systemTicker());
+        jwtUtil = new JwtUtil(new JwtSigningKeyCache(redisJwtSecretManager), revocationRegistry, 3_600_000L);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationRegistry);
+
+        User user = new User("user1", "$2a$10$UdVZv0YFDD8O49vuhiUplOJ7PESG3mrIO8kLQC9S4s16DXUmPR.R2", "user1@example.com");
+        user.setId(42L);
+        loggedInUser = new CustomUserDetails(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_ValidToken_PrincipalFromClaimsWithoutDatabase() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(loggedInUser);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        CustomUserDetails principal = assertInstanceOf(CustomUserDetails.class, authentication.getPrincipal());
+        assertEquals(42L, principal.getUserId());
+        assertEquals("user1", principal.getUsername());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testDoFilter_UserRevokedAfterIssue_NotAuthenticated() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(loggedInUser);
+        revocationRegistry.applyUserEpoch(42L, System.currentTimeMillis());
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testDoFilter_TokenIssuedAfterRevocation_Authenticated() throws Exception {
+        // Arrange
+        revocationRegistry.revokeUser(42L);
+        String token = jwtUtil.generateToken(loggedInUser);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testDoFilter_UserRevokedOnAnotherNode_NotAuthenticatedAfterReload() throws Exception {
+        // Arrange - this node missed the invalidation message, the epoch is only in Redis
+        String token = jwtUtil.generateToken(loggedInUser);
+        redis.put("user-revocation-epoch:42", String.valueOf(System.currentTimeMillis() + 1));
+        revocationRegistry.reload();
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testDoFilter_RedisDownAfterEpochLoaded_ServesLastKnownEpoch() throws Exception {
+        // Arrange - the epoch was read when the token was issued
+        String token = jwtUtil.generateToken(loggedInUser);
+        when(valueOperations.get("user-revocation-epoch:42")).thenThrow(new RedisConnectionFailureException("Redis down"));
+        revocationRegistry.reload();
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert - an outage does not lock every user out
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testDoFilter_LegacyTokenWithoutUserId_FallsBackToUserLookup() throws Exception {
+        // Arrange
+        String token = Jwts.builder()
+            .setSubject("user1")
+            .setExpiration(new java.util.Date(System.currentTimeMillis() + 60_000L))
+            .signWith(Keys.hmacShaKeyFor(KEY.secret().getBytes()), SignatureAlgorithm.HS256)
+            .compact();
+        when(userDetailsService.loadUserByUsername("user1")).thenReturn(loggedInUser);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertSame(loggedInUser, authentication.getPrincipal());
+    }
+
+    @Test
+    void testDoFilter_TamperedToken_NotAuthenticated() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(loggedInUser);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act
+        filter.doFilter(requestWithToken(tampered), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bets");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
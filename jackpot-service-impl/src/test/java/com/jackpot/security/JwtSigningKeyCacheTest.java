@@ -0,0 +1,179 @@
+package com.jackpot.security;
+
+import com.jackpot.model.User;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtSigningKeyCacheTest {
+
+    private static final JwtKey KEY_1 = new JwtKey("1", "c2VjcmV0LWEtc2VjcmV0LWEtc2VjcmV0LWEtc2VjcmV0LWE=", 1L);
+    private static final JwtKey KEY_2 = new JwtKey("2", "c2VjcmV0LWItc2VjcmV0LWItc2VjcmV0LWItc2VjcmV0LWI=", 2L);
+
+    @Mock
+    private RedisJwtSecretManager redisJwtSecretManager;
+
+    @Mock
+    private TokenRevocationRegistry revocationRegistry;
+
+    private JwtSigningKeyCache signingKeyCache;
+
+    private JwtUtil jwtUtil;
+
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        signingKeyCache = new JwtSigningKeyCache(redisJwtSecretManager);
+        jwtUtil = new JwtUtil(signingKeyCache, revocationRegistry, 3_600_000L);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("user1");
+        user.setEnabled(true);
+        userDetails = new CustomUserDetails(user);
+    }
+
+    @Test
+    void testGetSigningKey_LoadsOnceAndServesFromMemory() {
+        // Arrange
+        when(redisJwtSecretManager.getOrCreateKeyRing()).thenReturn(List.of(KEY_1));
+
+        // Act
+        JwtSigningKeyCache.SigningKey first = signingKeyCache.getSigningKey();
+        JwtSigningKeyCache.SigningKey second = signingKeyCache.getSigningKey();
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.extractUsername(token);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("1", first.kid());
+        verify(redisJwtSecretManager, times(1)).getOrCreateKeyRing();
+    }
+
+    @Test
+    void testRefresh_RedisUnavailable_KeepsCachedKey() {
+        // Arrange
+        when(redisJwtSecretManager.getOrCreateKeyRing())
+            .thenReturn(List.of(KEY_1))
+            .thenThrow(new RedisConnectionFailureException("Redis down"));
+        JwtSigningKeyCache.SigningKey cached = signingKeyCache.getSigningKey();
+
+        // Act
+        signingKeyCache.refresh();
+
+        // Assert
+        assertSame(cached, signingKeyCache.getSigningKey());
+    }
+
+    @Test
+    void testOnMessage_RotationSwitchesSigningKeyButKeepsVerifyingOldTokens() {
+        // Arrange
+        when(redisJwtSecretManager.getOrCreateKeyRing())
+            .thenReturn(List.of(KEY_1))
+            .thenReturn(List.of(KEY_2, KEY_1));
+        String tokenBeforeRotation = jwtUtil.generateToken(userDetails);
+
+        // Act
+        signingKeyCache.onMessage(null, null);
+        String tokenAfterRotation = jwtUtil.generateToken(userDetails);
+
+        // Assert
+        assertEquals("2", signingKeyCache.getSigningKey().kid());
+        assertEquals("1", Jwts.parserBuilder().build().parse(unsigned(tokenBeforeRotation)).getHeader().get(JwsHeader.KEY_ID));
+        assertEquals("2", Jwts.parserBuilder().build().parse(unsigned(tokenAfterRotation)).getHeader().get(JwsHeader.KEY_ID));
+        assertTrue(jwtUtil.validateToken(tokenBeforeRotation, userDetails));
+        assertTrue(jwtUtil.validateToken(tokenAfterRotation, userDetails));
+    }
+
+    @Test
+    void testParse_KeyPrunedFromRing_Rejected() {
+        // Arrange
+        when(redisJwtSecretManager.getOrCreateKeyRing())
+            .thenReturn(List.of(KEY_1))
+            .thenReturn(List.of(KEY_2));
+        String token = jwtUtil.generateToken(userDetails);
+
+        // Act
+        signingKeyCache.refresh();
+
+        // Assert
+        assertThrows(SignatureException.class, () -> jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    void testParse_UnknownKid_ReloadsRingOnce() {
+        // Arrange - another node rotated and its notification has not arrived yet
+        when(redisJwtSecretManager.getOrCreateKeyRing())
+            .thenReturn(List.of(KEY_1))
+            .thenReturn(List.of(KEY_2, KEY_1));
+        signingKeyCache.getSigningKey();
+        String token = Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, "2")
+            .setSubject("user1")
+            .signWith(Keys.hmacShaKeyFor(KEY_2.secret().getBytes()), SignatureAlgorithm.HS256)
+            .compact();
+
+        // Act
+        String username = jwtUtil.extractUsername(token);
+
+        // Assert
+        assertEquals("user1", username);
+        verify(redisJwtSecretManager, times(2)).getOrCreateKeyRing();
+    }
+
+    @Test
+    void testParse_LegacyTokenWithoutKid_VerifiedWithLegacySecret() {
+        // Arrange - the pre-ring secret was seeded under the reserved kid
+        JwtKey legacy = new JwtKey(RedisJwtSecretManager.LEGACY_KID, "bGVnYWN5LWxlZ2FjeS1sZWdhY3ktbGVnYWN5LWxlZ2FjeQ==", 0L);
+        when(redisJwtSecretManager.getOrCreateKeyRing()).thenReturn(List.of(KEY_1, legacy));
+        String token = Jwts.builder()
+            .setSubject("user1")
+            .signWith(Keys.hmacShaKeyFor(legacy.secret().getBytes()), SignatureAlgorithm.HS256)
+            .compact();
+
+        // Act & Assert
+        assertEquals("user1", jwtUtil.extractUsername(token));
+        assertEquals("1", signingKeyCache.getSigningKey().kid());
+    }
+
+    @Test
+    void testParse_TokenWithoutKid_LegacySecretPruned_Rejected() {
+        // Arrange
+        when(redisJwtSecretManager.getOrCreateKeyRing()).thenReturn(List.of(KEY_1));
+        String token = Jwts.builder()
+            .setSubject("user1")
+            .signWith(Keys.hmacShaKeyFor(KEY_1.secret().getBytes()), SignatureAlgorithm.HS256)
+            .compact();
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    void testGetSigningKey_NoCachedKeyAndRedisUnavailable_Throws() {
+        // Arrange
+        when(redisJwtSecretManager.getOrCreateKeyRing()).thenThrow(new RedisConnectionFailureException("Redis down"));
+
+        // Act & Assert
+        assertThrows(RedisConnectionFailureException.class, () -> signingKeyCache.getSigningKey());
+    }
+
+    private static String unsigned(String token) {
+        return token.substring(0, token.lastIndexOf('.') + 1);
+    }
+}
@@ -3,12 +3,15 @@ package com.jackpot.security;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,41 +21,53 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RedisJwtSecretManagerTest {
 
+    private static final long GRACE_PERIOD = 60_000L;
+
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
     @Mock
     private ValueOperations<String, String> valueOperations;
 
-    @InjectMocks
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
     private RedisJwtSecretManager redisJwtSecretManager;
 
+    private final Map<Object, Object> ring = new HashMap<>();
+
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        lenient().when(hashOperations.entries("jwt:secret:ring")).thenAnswer(invocation -> new HashMap<>(ring));
+        lenient().doAnswer(invocation -> ring.put(invocation.getArgument(1), invocation.getArgument(2)))
+            .when(hashOperations).put(eq("jwt:secret:ring"), any(), any());
+        lenient().when(hashOperations.putIfAbsent(eq("jwt:secret:ring"), any(), any()))
+            .thenAnswer(invocation -> ring.putIfAbsent(invocation.getArgument(1), invocation.getArgument(2)) == null);
+        lenient().when(hashOperations.delete(eq("jwt:secret:ring"), any()))
+            .thenAnswer(invocation -> ring.remove(invocation.getArgument(1)) != null ? 1L : 0L);
         // Initialize the RedisJwtSecretManager with the expected key
-        redisJwtSecretManager = new RedisJwtSecretManager("jwt:secret", redisTemplate);
+        redisJwtSecretManager = new RedisJwtSecretManager("jwt:secret", GRACE_PERIOD, redisTemplate);
     }
 
     @Test
     void testGetOrCreateJwtSecret_WhenSecretExists() {
         // Arrange
-        String existingSecret = "existing-jwt-secret";
-        when(valueOperations.get("jwt:secret")).thenReturn(existingSecret);
+        ring.put("3", System.currentTimeMillis() + ":existing-jwt-secret");
 
         // Act
         String result = redisJwtSecretManager.getOrCreateJwtSecret();
 
         // Assert
-        assertEquals(existingSecret, result);
-        verify(valueOperations).get("jwt:secret");
-        verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        assertEquals("existing-jwt-secret", result);
+        verify(hashOperations, never()).put(anyString(), any(), any());
     }
 
     @Test
     void testGetOrCreateJwtSecret_WhenSecretDoesNotExist() {
         // Arrange
-        when(valueOperations.get("jwt:secret")).thenReturn(null);
+        when(valueOperations.increment("jwt:secret:version")).thenReturn(1L);
 
         // Act
         String result = redisJwtSecretManager.getOrCreateJwtSecret();
@@ -60,40 +75,112 @@ class RedisJwtSecretManagerTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.length() > 0);
-        verify(valueOperations).get("jwt:secret");
-        verify(valueOperations).set(
-            eq("jwt:secret"),
-            anyString(),
-            eq(30L),
-            eq(TimeUnit.DAYS)
-        );
+        verify(hashOperations).put(eq("jwt:secret:ring"), eq("1"), anyString());
+        verify(redisTemplate).expire("jwt:secret:ring", 30L, TimeUnit.DAYS);
+    }
+
+    @Test
+    void testGetOrCreateKeyRing_SeedsLegacySecretForTokensWithoutKid() {
+        // Arrange - the single secret written by releases before the key ring
+        when(valueOperations.get("jwt:secret")).thenReturn("legacy-secret");
+        when(valueOperations.increment("jwt:secret:version")).thenReturn(1L);
+
+        // Act
+        List<JwtKey> keyRing = redisJwtSecretManager.getOrCreateKeyRing();
+
+        // Assert - a fresh key signs, the legacy secret only verifies
+        assertEquals(List.of("1", RedisJwtSecretManager.LEGACY_KID), keyRing.stream().map(JwtKey::kid).toList());
+        assertEquals("legacy-secret", keyRing.get(1).secret());
     }
 
     @Test
     void testRefreshJwtSecret() {
+        // Arrange
+        ring.put("1", System.currentTimeMillis() + ":previous-secret");
+        when(valueOperations.increment("jwt:secret:version")).thenReturn(2L);
+
+        // Act
+        JwtKey key = redisJwtSecretManager.refreshJwtSecret();
+
+        // Assert - the previous key stays in the ring so issued tokens remain valid
+        assertEquals("2", key.kid());
+        List<JwtKey> keyRing = redisJwtSecretManager.getKeyRing();
+        assertEquals(2, keyRing.size());
+        assertEquals("2", keyRing.get(0).kid());
+        assertEquals("previous-secret", keyRing.get(1).secret());
+        verify(redisTemplate).convertAndSend(RedisJwtSecretManager.ROTATION_CHANNEL, "2");
+    }
+
+    @Test
+    void testRefreshJwtSecret_PrunesKeysRetiredBeyondGracePeriod() {
+        // Arrange - key 1 was superseded by key 2 longer ago than the grace period
+        long now = System.currentTimeMillis();
+        ring.put("1", (now - 3 * GRACE_PERIOD) + ":oldest-secret");
+        ring.put("2", (now - 2 * GRACE_PERIOD) + ":older-secret");
+        when(valueOperations.increment("jwt:secret:version")).thenReturn(3L);
+
         // Act
         redisJwtSecretManager.refreshJwtSecret();
 
-        // Assert
-        verify(valueOperations).set(
-            eq("jwt:secret"),
-            anyString(),
-            eq(30L),
-            eq(TimeUnit.DAYS)
-        );
+        // Assert - key 2 was only retired just now and must survive
+        assertEquals(List.of("3", "2"), redisJwtSecretManager.getKeyRing().stream().map(JwtKey::kid).toList());
     }
 
     @Test
     void testGetCurrentJwtSecret() {
         // Arrange
-        String expectedSecret = "current-secret";
-        when(valueOperations.get("jwt:secret")).thenReturn(expectedSecret);
+        long now = System.currentTimeMillis();
+        ring.put("9", now + ":current-secret");
+        ring.put("10", now + ":newest-secret");
 
         // Act
         String result = redisJwtSecretManager.getCurrentJwtSecret();
 
+        // Assert - versions are compared numerically, not lexicographically
+        assertEquals("newest-secret", result);
+    }
+
+    @Test
+    void testRotateIfDue_KeyStillFresh() {
+        // Arrange
+        ring.put("1", System.currentTimeMillis() + ":fresh-secret");
+
+        // Act
+        boolean rotated = redisJwtSecretManager.rotateIfDue(3_600_000L);
+
+        // Assert
+        assertFalse(rotated);
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void testRotateIfDue_AnotherNodeHoldsLock() {
+        // Arrange
+        ring.put("1", (System.currentTimeMillis() - 7_200_000L) + ":stale-secret");
+        when(valueOperations.setIfAbsent(eq("jwt:secret:rotation-lock"), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .thenReturn(false);
+
+        // Act
+        boolean rotated = redisJwtSecretManager.rotateIfDue(3_600_000L);
+
+        // Assert
+        assertFalse(rotated);
+        verify(valueOperations, never()).increment(anyString());
+    }
+
+    @Test
+    void testRotateIfDue_StaleKeyRotated() {
+        // Arrange
+        ring.put("1", (System.currentTimeMillis() - 7_200_000L) + ":stale-secret");
+        when(valueOperations.setIfAbsent(eq("jwt:secret:rotation-lock"), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .thenReturn(true);
+        when(valueOperations.increment("jwt:secret:version")).thenReturn(2L);
+
+        // Act
+        boolean rotated = redisJwtSecretManager.rotateIfDue(3_600_000L);
+
         // Assert
-        assertEquals(expectedSecret, result);
-        verify(valueOperations).get("jwt:secret");
+        assertTrue(rotated);
+        assertEquals("2", redisJwtSecretManager.getKeyRing().get(0).kid());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.jackpot.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRegistryTest {
+
+    private static final long TOKEN_EXPIRATION = 3_600_000L;
+    private static final long REFRESH_INTERVAL = 30_000L;
+    private static final long MAX_STALENESS = 600_000L;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // Refreshes run on the calling thread and time only moves when a test advances it
+        registry = new TokenRevocationRegistry(redisTemplate, TOKEN_EXPIRATION, REFRESH_INTERVAL, MAX_STALENESS, 100L,
+            Runnable::run, nanos::get);
+    }
+
+    @Test
+    void testCurrentEpoch_LoadedFromRedisOnceThenCached() {
+        // Arrange - revoked while this node was down
+        when(valueOperations.get("user-revocation-epoch:7")).thenReturn("1000");
+
+        // Act
+        long first = registry.currentEpoch(7L);
+        long second = registry.currentEpoch(7L);
+
+        // Assert
+        assertEquals(1000L, first);
+        assertEquals(1000L, second);
+        assertTrue(registry.isRevoked(7L, 999L));
+        assertFalse(registry.isRevoked(7L, 1000L));
+        verify(valueOperations, times(1)).get("user-revocation-epoch:7");
+    }
+
+    @Test
+    void testCurrentEpoch_NeverRevoked_Zero() {
+        // Act & Assert
+        assertEquals(0L, registry.currentEpoch(7L));
+        assertFalse(registry.isRevoked(7L, null));
+    }
+
+    @Test
+    void testIsRevoked_RedisUnavailableAfterLoad_ServesLastKnownEpoch() {
+        // Arrange
+        when(valueOperations.get("user-revocation-epoch:7"))
+            .thenReturn("1000")
+            .thenThrow(new RedisConnectionFailureException("Redis down"));
+        registry.currentEpoch(7L);
+
+        // Act - past the refresh interval, the refresh fails
+        advance(REFRESH_INTERVAL + 1);
+        boolean revoked = registry.isRevoked(7L, 1000L);
+
+        // Assert
+        assertFalse(revoked);
+        assertTrue(registry.isRevoked(7L, 999L));
+        assertEquals(1000L, registry.currentEpoch(7L));
+        verify(valueOperations, atLeast(2)).get("user-revocation-epoch:7");
+    }
+
+    @Test
+    void testIsRevoked_RedisUnavailableBeyondMaxStaleness_FailsClosed() {
+        // Arrange
+        when(valueOperations.get("user-revocation-epoch:7"))
+            .thenReturn("1000")
+            .thenThrow(new RedisConnectionFailureException("Redis down"));
+        registry.currentEpoch(7L);
+
+        // Act
+        advance(MAX_STALENESS + 1);
+
+        // Assert
+        assertTrue(registry.isRevoked(7L, 1000L));
+    }
+
+    @Test
+    void testIsRevoked_RefreshPicksUpRevocationFromAnotherNode() {
+        // Arrange
+        when(valueOperations.get("user-revocation-epoch:7")).thenReturn(null, "2000");
+        registry.currentEpoch(7L);
+
+        // Act - the first check past the interval triggers the refresh
+        advance(REFRESH_INTERVAL + 1);
+        registry.isRevoked(7L, 0L);
+
+        // Assert
+        assertTrue(registry.isRevoked(7L, 1999L));
+    }
+
+    @Test
+    void testIsRevoked_RedisUnavailable_FailsClosedAndRetriesNextTime() {
+        // Arrange
+        when(valueOperations.get("user-revocation-epoch:7"))
+            .thenThrow(new RedisConnectionFailureException("Redis down"))
+            .thenReturn(null);
+
+        // Act & Assert - the failure is not cached
+        assertTrue(registry.isRevoked(7L, 0L));
+        assertFalse(registry.isRevoked(7L, 0L));
+    }
+
+    @Test
+    void testRevokeUser_StoredInRedisForTokenLifetime() {
+        // Act
+        long epoch = registry.revokeUser(7L);
+
+        // Assert
+        verify(valueOperations).set("user-revocation-epoch:7", String.valueOf(epoch), TOKEN_EXPIRATION, TimeUnit.MILLISECONDS);
+        assertEquals(epoch, registry.currentEpoch(7L));
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void testRevokeUser_RedisUnavailable_ThrowsWithoutApplying() {
+        // Arrange
+        doThrow(new RedisConnectionFailureException("Redis down"))
+            .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+
+        // Act & Assert
+        assertThrows(RedisConnectionFailureException.class, () -> registry.revokeUser(7L));
+        assertEquals(0L, registry.currentEpoch(7L));
+    }
+
+    @Test
+    void testReload_ReadsEpochFromRedisAgain() {
+        // Arrange
+        when(valueOperations.get("user-revocation-epoch:7")).thenReturn(null, "2000");
+        registry.currentEpoch(7L);
+
+        // Act
+        registry.reload();
+
+        // Assert
+        assertEquals(2000L, registry.currentEpoch(7L));
+    }
+
+    @Test
+    void testReload_RedisUnavailable_KeepsCachedEpoch() {
+        // Arrange
+        when(valueOperations.get("user-revocation-epoch:7"))
+            .thenReturn("1000")
+            .thenThrow(new RedisConnectionFailureException("Redis down"));
+        registry.currentEpoch(7L);
+
+        // Act
+        registry.reload();
+
+        // Assert
+        assertEquals(1000L, registry.currentEpoch(7L));
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
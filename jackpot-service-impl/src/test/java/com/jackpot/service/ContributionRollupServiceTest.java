@@ -0,0 +1,239 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.jackpot.dto.RollupSummary;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.JackpotContributionRollup;
+import com.jackpot.model.JackpotContributionRollup.Granularity;
+import com.jackpot.model.UserContributionRollup;
+import com.jackpot.repository.ContributionArchiveRepository;
+import com.jackpot.repository.JackpotContributionRollupRepository;
+import com.jackpot.repository.UserContributionRollupRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ContributionRollupServiceTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 6, 1, 14, 35, 12);
+  private static final LocalDateTime HOUR = LocalDateTime.of(2024, 6, 1, 14, 0);
+  private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+  @Mock
+  private JackpotContributionRollupRepository jackpotRollupRepository;
+  @Mock
+  private UserContributionRollupRepository userRollupRepository;
+  @Mock
+  private ContributionArchiveRepository archiveRepository;
+  private ContributionRollupService rollupService;
+  private Contribution contribution;
+
+  @BeforeEach
+  void setUp() {
+    rollupService = new ContributionRollupService(jackpotRollupRepository, userRollupRepository, archiveRepository,
+        48, false);
+    contribution = new Contribution("bet-1", 7L, "jackpot-1", BigDecimal.valueOf(100), BigDecimal.valueOf(5),
+        BigDecimal.valueOf(1005));
+    contribution.setCreatedAt(CREATED_AT);
+  }
+
+  @Test
+  void testRecord_IncrementsExistingBuckets() {
+    // Arrange
+    when(jackpotRollupRepository.increment(eq("jackpot-1"), any(), any(), anyInt(), any(), any())).thenReturn(1);
+    when(userRollupRepository.increment(any(), any(), any(), any())).thenReturn(1);
+
+    // Act
+    rollupService.record(contribution);
+
+    // Assert
+    verify(jackpotRollupRepository).increment("jackpot-1", Granularity.HOUR, HOUR, 0,
+        BigDecimal.valueOf(100), BigDecimal.valueOf(5));
+    verify(jackpotRollupRepository).increment("jackpot-1", Granularity.DAY, DAY, 0,
+        BigDecimal.valueOf(100), BigDecimal.valueOf(5));
+    verify(userRollupRepository).increment(7L, LocalDate.of(2024, 6, 1),
+        BigDecimal.valueOf(100), BigDecimal.valueOf(5));
+    verify(jackpotRollupRepository, never()).insertEmpty(any(), any(), any(), anyInt());
+    verify(userRollupRepository, never()).insertEmpty(any(), any());
+  }
+
+  @Test
+  void testRecord_CreatesMissingBucketThenIncrements() {
+    // Arrange - the hour bucket does not exist yet, the other buckets do
+    when(jackpotRollupRepository.increment(eq("jackpot-1"), eq(Granularity.HOUR), any(), anyInt(), any(), any()))
+        .thenReturn(0, 1);
+    when(jackpotRollupRepository.increment(eq("jackpot-1"), eq(Granularity.DAY), any(), anyInt(), any(), any()))
+        .thenReturn(1);
+    when(userRollupRepository.increment(any(), any(), any(), any())).thenReturn(1);
+
+    // Act
+    rollupService.record(contribution);
+
+    // Assert
+    verify(jackpotRollupRepository).insertEmpty("jackpot-1", "HOUR", HOUR, 0);
+  }
+
+  @Test
+  void testRecord_BucketCreatedConcurrently() {
+    // Arrange - another transaction inserted the user bucket first
+    when(jackpotRollupRepository.increment(any(), any(), any(), anyInt(), any(), any())).thenReturn(1);
+    when(userRollupRepository.increment(any(), any(), any(), any())).thenReturn(0, 1);
+    doThrow(new DataIntegrityViolationException("duplicate key"))
+        .when(userRollupRepository).insertEmpty(7L, LocalDate.of(2024, 6, 1));
+
+    // Act
+    rollupService.record(contribution);
+
+    // Assert
+    verify(userRollupRepository, times(2)).increment(7L, LocalDate.of(2024, 6, 1),
+        BigDecimal.valueOf(100), BigDecimal.valueOf(5));
+  }
+
+  @Test
+  void testRecord_StripedContributionUsesItsShard() {
+    // Arrange
+    when(jackpotRollupRepository.increment(eq("jackpot-1"), any(), any(), eq(3), any(), any())).thenReturn(1);
+    when(userRollupRepository.increment(any(), any(), any(), any())).thenReturn(1);
+
+    // Act
+    rollupService.record(contribution, 3);
+
+    // Assert
+    verify(jackpotRollupRepository).increment("jackpot-1", Granularity.HOUR, HOUR, 3,
+        BigDecimal.valueOf(100), BigDecimal.valueOf(5));
+    verify(jackpotRollupRepository).increment("jackpot-1", Granularity.DAY, DAY, 3,
+        BigDecimal.valueOf(100), BigDecimal.valueOf(5));
+  }
+
+  @Test
+  void testGetJackpotSummary_MergesShardsOfABucket() {
+    // Arrange
+    LocalDateTime to = LocalDateTime.of(2024, 6, 1, 16, 0);
+    when(jackpotRollupRepository.findByJackpotIdAndGranularityAndBucketStartBetweenOrderByBucketStartAscShardAsc(
+        "jackpot-1", Granularity.HOUR, HOUR, to)).thenReturn(List.of(
+            new JackpotContributionRollup("jackpot-1", Granularity.HOUR, HOUR, 0, 3,
+                BigDecimal.valueOf(300), BigDecimal.valueOf(15)),
+            new JackpotContributionRollup("jackpot-1", Granularity.HOUR, HOUR, 1, 1,
+                BigDecimal.valueOf(100), BigDecimal.valueOf(5)),
+            new JackpotContributionRollup("jackpot-1", Granularity.HOUR, HOUR.plusHours(1), 0, 2,
+                BigDecimal.valueOf(50), new BigDecimal("2.50"))));
+
+    // Act
+    RollupSummary summary = rollupService.getJackpotSummary("jackpot-1", Granularity.HOUR, HOUR, to);
+
+    // Assert
+    assertEquals(2, summary.buckets().size());
+    assertEquals(4, summary.buckets().get(0).betCount());
+    assertEquals(0, BigDecimal.valueOf(400).compareTo(summary.buckets().get(0).stakeTotal()));
+    assertEquals(6, summary.betCount());
+  }
+
+  @Test
+  void testGetJackpotSummary_SumsBuckets() {
+    // Arrange
+    LocalDateTime to = LocalDateTime.of(2024, 6, 1, 16, 0);
+    when(jackpotRollupRepository.findByJackpotIdAndGranularityAndBucketStartBetweenOrderByBucketStartAscShardAsc(
+        "jackpot-1", Granularity.HOUR, HOUR, to)).thenReturn(List.of(
+            new JackpotContributionRollup("jackpot-1", Granularity.HOUR, HOUR, 3,
+                BigDecimal.valueOf(300), BigDecimal.valueOf(15)),
+            new JackpotContributionRollup("jackpot-1", Granularity.HOUR, HOUR.plusHours(1), 2,
+                BigDecimal.valueOf(50), new BigDecimal("2.50"))));
+
+    // Act
+    RollupSummary summary = rollupService.getJackpotSummary("jackpot-1", Granularity.HOUR, HOUR, to);
+
+    // Assert
+    assertEquals("HOUR", summary.granularity());
+    assertEquals(5, summary.betCount());
+    assertEquals(0, BigDecimal.valueOf(350).compareTo(summary.stakeTotal()));
+    assertEquals(0, new BigDecimal("17.50").compareTo(summary.contributionTotal()));
+    assertEquals(2, summary.buckets().size());
+  }
+
+  @Test
+  void testGetJackpotSummary_RejectsTooManyBuckets() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> rollupService.getJackpotSummary("jackpot-1", Granularity.HOUR, DAY, DAY.plusDays(3)));
+    verifyNoInteractions(jackpotRollupRepository);
+  }
+
+  @Test
+  void testGetUserSummary_LifetimeWithoutRange() {
+    // Arrange
+    when(userRollupRepository.findByUserIdAndBucketDayBetweenOrderByBucketDay(eq(7L), eq(LocalDate.of(1970, 1, 1)),
+        any())).thenReturn(List.of(new UserContributionRollup(7L, LocalDate.of(2024, 6, 1), 4,
+            BigDecimal.valueOf(400), BigDecimal.valueOf(20))));
+
+    // Act
+    RollupSummary summary = rollupService.getUserSummary(7L, null, null);
+
+    // Assert
+    assertEquals(4, summary.betCount());
+    assertEquals(DAY, summary.buckets().get(0).bucketStart());
+  }
+
+  @Test
+  void testBackfill_RebuildsDaysBeforeCutoff() {
+    // Arrange
+    LocalDate before = LocalDate.of(2024, 6, 2);
+    LocalDateTime earliest = LocalDateTime.of(1970, 1, 1, 0, 0);
+    when(archiveRepository.findLatestBucketDay()).thenReturn(Optional.empty());
+    when(jackpotRollupRepository.backfillHours(earliest, before.atStartOfDay())).thenReturn(5);
+    when(jackpotRollupRepository.backfillDays(earliest, before.atStartOfDay())).thenReturn(2);
+    when(userRollupRepository.backfillDays(earliest, before.atStartOfDay())).thenReturn(3);
+
+    // Act
+    int rows = rollupService.backfill(before);
+
+    // Assert
+    assertEquals(10, rows);
+    verify(jackpotRollupRepository).deleteBetween(earliest, before.atStartOfDay());
+    verify(userRollupRepository).deleteBetween(earliest.toLocalDate(), before);
+  }
+
+  @Test
+  void testBackfill_KeepsArchivedDays() {
+    // Arrange - contributions up to May 20 have left the hot table
+    LocalDate before = LocalDate.of(2024, 6, 2);
+    LocalDateTime firstHotDay = LocalDateTime.of(2024, 5, 21, 0, 0);
+    when(archiveRepository.findLatestBucketDay()).thenReturn(Optional.of(LocalDate.of(2024, 5, 20)));
+
+    // Act
+    rollupService.backfill(before);
+
+    // Assert
+    verify(jackpotRollupRepository).deleteBetween(firstHotDay, before.atStartOfDay());
+    verify(userRollupRepository).deleteBetween(firstHotDay.toLocalDate(), before);
+    verify(jackpotRollupRepository).backfillHours(firstHotDay, before.atStartOfDay());
+  }
+
+  @Test
+  void testBackfill_RejectsFutureCutoff() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> rollupService.backfill(LocalDate.now().plusDays(1)));
+    verifyNoInteractions(jackpotRollupRepository, userRollupRepository);
+  }
+}
@@ -0,0 +1,86 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.jackpot.dto.ContributionView;
+import com.jackpot.dto.HistoryPage;
+import com.jackpot.dto.RewardView;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.RewardRepository;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryServiceTest {
+
+  @Mock
+  private ContributionRepository contributionRepository;
+  @Mock
+  private RewardRepository rewardRepository;
+  private HistoryService historyService;
+
+  @BeforeEach
+  void setUp() {
+    historyService = new HistoryService(contributionRepository, rewardRepository, 2, 3);
+  }
+
+  @Test
+  void testGetUserContributions_FirstPageHasCursor() {
+    // Arrange - one row more than the page size means there is another page
+    when(contributionRepository.findViewsByUserIdBefore(1L, Long.MAX_VALUE, Limit.of(3)))
+        .thenReturn(contributions(30L, 20L, 10L));
+
+    // Act
+    HistoryPage<ContributionView> page = historyService.getUserContributions(1L, null, null);
+
+    // Assert
+    assertEquals(2, page.items().size());
+    assertEquals(30L, page.items().get(0).id());
+    assertEquals(20L, page.nextCursor());
+  }
+
+  @Test
+  void testGetJackpotContributions_LastPageHasNoCursor() {
+    // Arrange
+    when(contributionRepository.findViewsByJackpotIdBefore("jackpot-1", 20L, Limit.of(3)))
+        .thenReturn(contributions(10L));
+
+    // Act
+    HistoryPage<ContributionView> page = historyService.getJackpotContributions("jackpot-1", 20L, 2);
+
+    // Assert
+    assertEquals(1, page.items().size());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void testGetJackpotRewards_LimitIsClampedToMaximum() {
+    // Arrange
+    when(rewardRepository.findViewsByJackpotIdBefore("jackpot-1", Long.MAX_VALUE, Limit.of(4)))
+        .thenReturn(List.of());
+
+    // Act
+    HistoryPage<RewardView> page = historyService.getJackpotRewards("jackpot-1", null, 1000);
+
+    // Assert
+    assertEquals(0, page.items().size());
+    assertNull(page.nextCursor());
+  }
+
+  private List<ContributionView> contributions(long... ids) {
+    return LongStream.of(ids).mapToObj(id -> new ContributionView(id, "bet-" + id, 1L, "jackpot-1",
+        BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(1000), LocalDateTime.now())).toList();
+  }
+}
@@ -0,0 +1,146 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.jackpot.dto.PoolShardTotals;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.JackpotPoolShard;
+import com.jackpot.repository.JackpotPoolShardRepository;
+import com.jackpot.repository.JackpotRepository;
+
+@ExtendWith(MockitoExtension.class)
+class JackpotPoolStripesTest {
+
+  @Mock
+  private JackpotPoolShardRepository shardRepository;
+  @Mock
+  private JackpotRepository jackpotRepository;
+  private JackpotPoolStripes poolStripes;
+  private Jackpot jackpot;
+
+  @BeforeEach
+  void setUp() {
+    poolStripes = new JackpotPoolStripes(shardRepository, jackpotRepository);
+    jackpot = new Jackpot("jackpot-1", new BigDecimal("1000.00"), Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+    jackpot.setVersion(2L);
+    jackpot.setPoolShards(4);
+  }
+
+  @Test
+  void testAdd_IncrementsThreadShardAndReadsPoolFromAllShards() {
+    // Arrange
+    int shard = poolStripes.shardFor(jackpot);
+    when(shardRepository.increment("jackpot-1", shard, new BigDecimal("5.00"))).thenReturn(1);
+    when(shardRepository.totals("jackpot-1")).thenReturn(new PoolShardTotals(new BigDecimal("25.00"), 5L));
+
+    // Act
+    poolStripes.add(jackpot, new BigDecimal("5.00"));
+
+    // Assert
+    assertEquals(new BigDecimal("1025.00"), jackpot.getCurrentPoolValue());
+    assertEquals(7L, jackpot.getPoolRevision());
+    verify(shardRepository, never()).insertEmpty(anyString(), anyInt());
+  }
+
+  @Test
+  void testAdd_CreatesMissingShard() {
+    // Arrange - a concurrent first contribution created the row first
+    int shard = poolStripes.shardFor(jackpot);
+    when(shardRepository.increment("jackpot-1", shard, new BigDecimal("5.00"))).thenReturn(0, 1);
+    doThrow(new DataIntegrityViolationException("duplicate")).when(shardRepository).insertEmpty("jackpot-1", shard);
+    when(shardRepository.totals("jackpot-1")).thenReturn(new PoolShardTotals(new BigDecimal("5.00"), 1L));
+
+    // Act
+    poolStripes.add(jackpot, new BigDecimal("5.00"));
+
+    // Assert
+    assertEquals(new BigDecimal("1005.00"), jackpot.getCurrentPoolValue());
+  }
+
+  @Test
+  void testShardFor_SpreadsThreadsOverShards() throws InterruptedException {
+    // Arrange
+    int[] shards = new int[4];
+    Thread[] threads = new Thread[shards.length];
+    for (int i = 0; i < threads.length; i++) {
+      int index = i;
+      threads[i] = new Thread(() -> shards[index] = poolStripes.shardFor(jackpot));
+    }
+
+    // Act - each new thread takes the next slot
+    for (Thread thread : threads) {
+      thread.start();
+      thread.join();
+    }
+
+    // Assert
+    assertEquals(4, Arrays.stream(shards).distinct().count());
+    assertTrue(Arrays.stream(shards).allMatch(shard -> shard >= 0 && shard < 4));
+  }
+
+  @Test
+  void testCollapse_FoldsShardsIntoRow() {
+    // Arrange
+    JackpotPoolShard first = new JackpotPoolShard("jackpot-1", 0, new BigDecimal("30.00"), 6);
+    JackpotPoolShard second = new JackpotPoolShard("jackpot-1", 1, new BigDecimal("10.00"), 2);
+    when(shardRepository.findByJackpotIdForUpdate("jackpot-1")).thenReturn(List.of(first, second));
+
+    // Act
+    poolStripes.collapse(jackpot);
+
+    // Assert
+    assertEquals(new BigDecimal("1040.00"), jackpot.getCurrentPoolValue());
+    assertEquals(BigDecimal.ZERO, first.getAmount());
+    assertEquals(BigDecimal.ZERO, second.getAmount());
+    // Resetting after the win leaves nothing in the shards
+    jackpot.setCurrentPoolValue(jackpot.getInitialPoolValue());
+    assertEquals(new BigDecimal("1000.00"), jackpot.getCurrentPoolValue());
+    // Draining counts as an update, so caches keyed on the revision pick up the reset
+    assertEquals(12L, jackpot.getPoolRevision());
+  }
+
+  @Test
+  void testConfigure_RejectsOutOfRangeCount() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> poolStripes.configure("jackpot-1", 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> poolStripes.configure("jackpot-1", JackpotPoolStripes.MAX_SHARDS + 1));
+    verify(jackpotRepository, never()).save(any());
+  }
+
+  @Test
+  void testConfigure_UpdatesJackpot() {
+    // Arrange
+    when(jackpotRepository.findByJackpotId("jackpot-1")).thenReturn(Optional.of(jackpot));
+    when(jackpotRepository.save(jackpot)).thenReturn(jackpot);
+
+    // Act
+    Optional<Jackpot> result = poolStripes.configure("jackpot-1", 8);
+
+    // Assert
+    assertEquals(8, result.orElseThrow().getPoolShards());
+    verify(jackpotRepository).save(eq(jackpot));
+  }
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -19,7 +21,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.jackpot.dto.ContributionApplied;
 import com.jackpot.model.Contribution;
 import com.jackpot.model.Jackpot;
 import com.jackpot.model.Reward;
@@ -33,6 +38,8 @@ class JackpotServiceTest {
 
   @Mock
   private ContributionRepository contributionRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
   private Jackpot fixedJackpot;
   @Mock
   private JackpotRepository jackpotRepository;
@@ -42,6 +49,10 @@ class JackpotServiceTest {
   private RewardRepository rewardRepository;
   @Mock
   private UserRepository userRepository;
+  @Mock
+  private ContributionRollupService rollupService;
+  @Mock
+  private JackpotPoolStripes poolStripes;
   private Jackpot variableJackpot;
 
   @BeforeEach
@@ -229,7 +240,10 @@ class JackpotServiceTest {
 
     verify(jackpotRepository).findByJackpotIdWithLock("jackpot-fixed");
     verify(jackpotRepository).save(fixedJackpot);
+    verify(eventPublisher).publishEvent(new JackpotChangedEvent(fixedJackpot));
     verify(contributionRepository).save(any(Contribution.class));
+    verify(rollupService).record(result, 0);
+    verify(eventPublisher).publishEvent(ContributionApplied.of(result));
   }
 
   @Test
@@ -244,7 +258,7 @@ class JackpotServiceTest {
 
     assertEquals("Jackpot not found: non-existent", exception.getMessage());
     verify(jackpotRepository).findByJackpotIdWithLock("non-existent");
-    verifyNoMoreInteractions(jackpotRepository, contributionRepository);
+    verifyNoMoreInteractions(jackpotRepository, contributionRepository, rollupService);
   }
 
   @Test
@@ -273,4 +287,59 @@ class JackpotServiceTest {
     verify(jackpotRepository).save(variableJackpot);
     verify(contributionRepository).save(any(Contribution.class));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testProcessContribution_StripedPoolLeavesJackpotRowAlone() {
+    // Arrange - two earlier contributions already sit in other shards
+    fixedJackpot.setPoolShards(4);
+    when(jackpotRepository.findByJackpotIdWithLock(anyString())).thenReturn(Optional.of(fixedJackpot));
+    doAnswer(invocation -> {
+      fixedJackpot.applyStripes(BigDecimal.valueOf(15), 3);
+      return 2;
+    }).when(poolStripes).add(fixedJackpot, new BigDecimal("5.00"));
+    when(contributionRepository.save(any(Contribution.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    Contribution result = jackpotService.processContribution(
+        "bet123", 456L, "jackpot-fixed", BigDecimal.valueOf(100)
+    );
+
+    // Assert
+    assertEquals(BigDecimal.valueOf(1015).compareTo(result.getCurrentJackpotAmount()), 0);
+    assertEquals(BigDecimal.valueOf(1000), fixedJackpot.getInitialPoolValue());
+    verify(jackpotRepository, never()).save(any(Jackpot.class));
+    verify(eventPublisher).publishEvent(new JackpotChangedEvent(fixedJackpot));
+    verify(rollupService).record(result, 2);
+  }
+
+  @Test
+  void testEvaluateReward_WinCollapsesStripedPool() {
+    // Arrange
+    ReflectionTestUtils.setField(jackpotService, "forceWin", true);
+    fixedJackpot.setPoolShards(4);
+    when(jackpotRepository.existsByJackpotId("jackpot-fixed")).thenReturn(true);
+    when(userRepository.existsById(456L)).thenReturn(true);
+    when(contributionRepository.existsByBetId("bet123")).thenReturn(true);
+    when(rewardRepository.existsByBetId("bet123")).thenReturn(false);
+    when(jackpotRepository.findByJackpotIdWithLock("jackpot-fixed")).thenReturn(Optional.of(fixedJackpot));
+    when(rewardRepository.existsByJackpotId("jackpot-fixed")).thenReturn(false);
+    doAnswer(invocation -> {
+      // Shards hold 40 more than the jackpot saw when it was loaded
+      fixedJackpot.applyStripes(BigDecimal.valueOf(40), 8);
+      fixedJackpot.collapseStripes();
+      return null;
+    }).when(poolStripes).collapse(fixedJackpot);
+    when(jackpotRepository.save(fixedJackpot)).thenReturn(fixedJackpot);
+    when(rewardRepository.save(any(Reward.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    Optional<Reward> result = jackpotService.evaluateReward("bet123", 456L, "jackpot-fixed");
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertEquals(BigDecimal.valueOf(1040), result.get().getJackpotRewardAmount());
+    assertEquals(BigDecimal.valueOf(1000), fixedJackpot.getCurrentPoolValue());
+    assertEquals(1L, fixedJackpot.getRound());
+    verify(poolStripes).collapse(fixedJackpot);
+  }
+}
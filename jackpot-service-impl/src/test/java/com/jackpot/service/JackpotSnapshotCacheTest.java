@@ -0,0 +1,151 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.model.Jackpot;
+import com.jackpot.repository.JackpotRepository;
+
+@ExtendWith(MockitoExtension.class)
+class JackpotSnapshotCacheTest {
+
+  @Mock
+  private JackpotRepository jackpotRepository;
+  private JackpotSnapshotCache snapshotCache;
+
+  @BeforeEach
+  void setUp() {
+    snapshotCache = new JackpotSnapshotCache(jackpotRepository, new ViewSerializer(new ObjectMapper()));
+  }
+
+  @Test
+  void testGet_LoadsOnceThenServesFromMemory() {
+    // Arrange
+    when(jackpotRepository.findByJackpotId("jackpot-1")).thenReturn(Optional.of(jackpot(1L, "jackpot-1", 1000, 3L)));
+
+    // Act
+    JackpotSnapshot first = snapshotCache.get("jackpot-1").orElseThrow();
+    JackpotSnapshot second = snapshotCache.get("jackpot-1").orElseThrow();
+
+    // Assert
+    assertSame(first, second);
+    assertEquals("\"1-3\"", first.etag());
+    assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"currentPoolValue\":1000"));
+    assertFalse(new String(first.body(), StandardCharsets.UTF_8).contains("\"version\""));
+    verify(jackpotRepository, times(1)).findByJackpotId("jackpot-1");
+  }
+
+  @Test
+  void testGet_UnknownJackpotCachedUntilNextRefresh() {
+    // Arrange
+    when(jackpotRepository.findByJackpotId("jackpot-2")).thenReturn(Optional.empty());
+
+    // Act
+    snapshotCache.get("jackpot-2");
+    Optional<JackpotSnapshot> polled = snapshotCache.get("jackpot-2");
+
+    // Assert
+    assertTrue(polled.isEmpty());
+    verify(jackpotRepository, times(1)).findByJackpotId("jackpot-2");
+
+    // Act - created meanwhile
+    when(jackpotRepository.findAll()).thenReturn(List.of(jackpot(2L, "jackpot-2", 1000, 1L)));
+    snapshotCache.refresh();
+
+    // Assert
+    assertTrue(snapshotCache.get("jackpot-2").isPresent());
+  }
+
+  @Test
+  void testOnJackpotChanged_ReplacesSnapshotWithNewerVersion() {
+    // Arrange
+    snapshotCache.update(jackpot(1L, "jackpot-1", 1000, 3L));
+
+    // Act
+    snapshotCache.onJackpotChanged(new JackpotChangedEvent(jackpot(1L, "jackpot-1", 1005, 4L)));
+
+    // Assert
+    JackpotSnapshot snapshot = snapshotCache.get("jackpot-1").orElseThrow();
+    assertEquals(4L, snapshot.version());
+    assertTrue(new String(snapshot.body(), StandardCharsets.UTF_8).contains("\"currentPoolValue\":1005"));
+    verifyNoInteractions(jackpotRepository);
+  }
+
+  @Test
+  void testOnJackpotChanged_IgnoresOutOfOrderOlderVersion() {
+    // Arrange
+    snapshotCache.update(jackpot(1L, "jackpot-1", 1010, 5L));
+
+    // Act
+    snapshotCache.onJackpotChanged(new JackpotChangedEvent(jackpot(1L, "jackpot-1", 1005, 4L)));
+
+    // Assert
+    assertEquals(5L, snapshotCache.get("jackpot-1").orElseThrow().version());
+  }
+
+  @Test
+  void testGetAll_ListsJackpotsAndChangesEtagOnUpdate() {
+    // Arrange
+    when(jackpotRepository.findAll()).thenReturn(List.of(
+        jackpot(2L, "jackpot-2", 2000, 0L),
+        jackpot(1L, "jackpot-1", 1000, 0L)));
+    snapshotCache.refresh();
+
+    // Act
+    JackpotSnapshotCache.ListSnapshot before = snapshotCache.getAll();
+    JackpotSnapshotCache.ListSnapshot unchanged = snapshotCache.getAll();
+    snapshotCache.onJackpotChanged(new JackpotChangedEvent(jackpot(1L, "jackpot-1", 1050, 1L)));
+    JackpotSnapshotCache.ListSnapshot after = snapshotCache.getAll();
+
+    // Assert
+    assertSame(before, unchanged);
+    assertNotEquals(before.etag(), after.etag());
+    String body = new String(after.body(), StandardCharsets.UTF_8);
+    assertTrue(body.startsWith("[{") && body.endsWith("}]"));
+    assertTrue(body.indexOf("jackpot-1") < body.indexOf("jackpot-2"));
+  }
+
+  @Test
+  void testRefresh_DropsRemovedJackpotsAndKeepsUnchangedSnapshots() {
+    // Arrange
+    JackpotSnapshot kept = snapshotCache.update(jackpot(1L, "jackpot-1", 1000, 0L));
+    snapshotCache.update(jackpot(2L, "jackpot-2", 2000, 0L));
+    when(jackpotRepository.findAll()).thenReturn(List.of(jackpot(1L, "jackpot-1", 1000, 0L)));
+
+    // Act
+    snapshotCache.refresh();
+
+    // Assert
+    assertSame(kept, snapshotCache.get("jackpot-1").orElseThrow());
+    assertArrayEquals(("[" + new String(kept.body(), StandardCharsets.UTF_8) + "]").getBytes(StandardCharsets.UTF_8),
+        snapshotCache.getAll().body());
+  }
+
+  private Jackpot jackpot(Long id, String jackpotId, long poolValue, Long version) {
+    Jackpot jackpot = new Jackpot(jackpotId, BigDecimal.valueOf(1000), Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+    jackpot.setId(id);
+    jackpot.setCurrentPoolValue(BigDecimal.valueOf(poolValue));
+    jackpot.setVersion(version);
+    return jackpot;
+  }
+}
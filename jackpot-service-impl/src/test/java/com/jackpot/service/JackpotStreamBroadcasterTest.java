@@ -0,0 +1,243 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jackpot.exception.ServiceOverloadedException;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.Reward;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JackpotStreamBroadcasterTest {
+
+  @Mock
+  private JackpotSnapshotCache snapshotCache;
+  private JackpotStreamBroadcaster broadcaster;
+  private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    broadcaster = new JackpotStreamBroadcaster(snapshotCache, new ObjectMapper(), new SimpleMeterRegistry(),
+        1, 60000, 2, 4, 5000, 15000) {
+      @Override
+      SseEmitter createEmitter(long timeoutMillis) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitters.add(emitter);
+        return emitter;
+      }
+    };
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.destroy();
+  }
+
+  @Test
+  void testSubscribe_UnknownJackpot() {
+    // Arrange
+    when(snapshotCache.get("missing")).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertTrue(broadcaster.subscribe("missing").isEmpty());
+    assertEquals(0, broadcaster.getSubscriberCount());
+  }
+
+  @Test
+  void testSubscribe_SendsSnapshotFirst() throws Exception {
+    // Arrange
+    stubSnapshot();
+
+    // Act
+    broadcaster.subscribe("jackpot-1");
+
+    // Assert
+    RecordingEmitter emitter = emitters.get(0);
+    emitter.awaitEvents(1);
+    assertTrue(emitter.events.get(0).contains("event:snapshot"));
+    assertTrue(emitter.events.get(0).contains("\"jackpotId\":\"jackpot-1\""));
+    assertEquals(1, broadcaster.getSubscriberCount());
+  }
+
+  @Test
+  void testTick_CoalescesPoolChangesIntoOneEvent() throws Exception {
+    // Arrange
+    stubSnapshot();
+    broadcaster.subscribe("jackpot-1");
+    broadcaster.subscribe("jackpot-1");
+    emitters.forEach(emitter -> emitter.awaitEvents(1));
+
+    // Act
+    broadcaster.onJackpotChanged(new JackpotChangedEvent(jackpot(1005, 2L)));
+    broadcaster.onJackpotChanged(new JackpotChangedEvent(jackpot(1015, 4L)));
+    broadcaster.onJackpotChanged(new JackpotChangedEvent(jackpot(1010, 3L)));
+    broadcaster.tick();
+    broadcaster.tick();
+
+    // Assert
+    for (RecordingEmitter emitter : emitters) {
+      emitter.awaitEvents(2);
+      Thread.sleep(50);
+      assertEquals(2, emitter.events.size());
+      assertTrue(emitter.events.get(1).contains("event:pool"));
+      assertTrue(emitter.events.get(1).contains("\"currentPoolValue\":1015"));
+    }
+  }
+
+  @Test
+  void testOnJackpotWon_DeliversWinEvent() throws Exception {
+    // Arrange
+    stubSnapshot();
+    broadcaster.subscribe("jackpot-1");
+    RecordingEmitter emitter = emitters.get(0);
+    emitter.awaitEvents(1);
+
+    // Act
+    broadcaster.onJackpotWon(new JackpotWonEvent(new Reward("bet-1", 7L, "jackpot-1", BigDecimal.valueOf(1015))));
+
+    // Assert
+    emitter.awaitEvents(2);
+    assertTrue(emitter.events.get(1).contains("event:win"));
+    assertTrue(emitter.events.get(1).contains("\"betId\":\"bet-1\""));
+  }
+
+  @Test
+  void testSubscribe_RejectsBeyondMaxSubscribers() {
+    // Arrange
+    stubSnapshot();
+    broadcaster.subscribe("jackpot-1");
+    broadcaster.subscribe("jackpot-1");
+
+    // Act & Assert
+    assertThrows(ServiceOverloadedException.class, () -> broadcaster.subscribe("jackpot-1"));
+    assertEquals(2, broadcaster.getSubscriberCount());
+  }
+
+  @Test
+  void testTick_StalledSendDoesNotHoldUpOtherSubscribers() throws Exception {
+    // Arrange - one sender thread, and the first client stops reading
+    BlockingEmitter stalled = new BlockingEmitter();
+    AtomicBoolean first = new AtomicBoolean(true);
+    JackpotStreamBroadcaster stalling = new JackpotStreamBroadcaster(snapshotCache, new ObjectMapper(),
+        new SimpleMeterRegistry(), 1, 60000, 10, 4, 50, 15000) {
+      @Override
+      SseEmitter createEmitter(long timeoutMillis) {
+        if (first.getAndSet(false)) {
+          return stalled;
+        }
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitters.add(emitter);
+        return emitter;
+      }
+    };
+    stubSnapshot();
+    try {
+      stalling.subscribe("jackpot-1");
+      assertTrue(stalled.entered.await(5, TimeUnit.SECONDS));
+      stalling.subscribe("jackpot-1");
+      Thread.sleep(100);
+
+      // Act
+      stalling.tick();
+
+      // Assert - the stalled subscriber is dropped and the other one is served by a replacement thread
+      emitters.get(0).awaitEvents(1);
+      assertEquals(1, stalling.getSubscriberCount());
+      assertEquals(2, stalling.getSenderThreads());
+      assertFalse(stalled.completed);
+
+      // Act - the container gives up on the write
+      stalled.release.countDown();
+
+      // Assert - the emitter is completed and the pool shrinks back
+      for (int i = 0; i < 200 && (!stalled.completed || stalling.getSenderThreads() > 1); i++) {
+        Thread.sleep(10);
+      }
+      assertTrue(stalled.completed);
+      assertEquals(1, stalling.getSenderThreads());
+    } finally {
+      stalled.release.countDown();
+      stalling.destroy();
+    }
+  }
+
+  private void stubSnapshot() {
+    when(snapshotCache.get("jackpot-1")).thenReturn(Optional.of(new JackpotSnapshot("jackpot-1", 1L, 1L, "\"1-1\"",
+        "{\"jackpotId\":\"jackpot-1\",\"currentPoolValue\":1000}".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private Jackpot jackpot(long poolValue, Long version) {
+    Jackpot jackpot = new Jackpot("jackpot-1", BigDecimal.valueOf(1000), Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+    jackpot.setId(1L);
+    jackpot.setCurrentPoolValue(BigDecimal.valueOf(poolValue));
+    jackpot.setVersion(version);
+    return jackpot;
+  }
+
+  private static class BlockingEmitter extends SseEmitter {
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean completed;
+
+    @Override
+    public synchronized void send(Set<DataWithMediaType> items) {
+      entered.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public synchronized void complete() {
+      completed = true;
+    }
+  }
+
+  private static class RecordingEmitter extends SseEmitter {
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public synchronized void send(Set<DataWithMediaType> items) {
+      events.add(items.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+    }
+
+    void awaitEvents(int count) {
+      try {
+        for (int i = 0; i < 200 && events.size() < count; i++) {
+          Thread.sleep(10);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      assertTrue(events.size() >= count, "expected " + count + " events but got " + events);
+    }
+  }
+}
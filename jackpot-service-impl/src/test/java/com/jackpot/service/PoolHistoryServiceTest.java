@@ -0,0 +1,172 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.jackpot.archive.ArchivedContributions;
+import com.jackpot.dto.PoolHistoryPoint;
+import com.jackpot.dto.PoolValueAt;
+import com.jackpot.model.Contribution;
+import com.jackpot.model.Jackpot;
+import com.jackpot.model.Reward;
+import com.jackpot.repository.ContributionRepository;
+import com.jackpot.repository.JackpotRepository;
+import com.jackpot.repository.RewardRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PoolHistoryServiceTest {
+
+  private static final LocalDateTime TS = LocalDateTime.of(2024, 6, 1, 14, 30);
+
+  @Mock
+  private JackpotRepository jackpotRepository;
+  @Mock
+  private ContributionRepository contributionRepository;
+  @Mock
+  private RewardRepository rewardRepository;
+  @Mock
+  private ArchivedContributions archivedContributions;
+  private PoolHistoryService poolHistoryService;
+  private Jackpot jackpot;
+
+  @BeforeEach
+  void setUp() {
+    poolHistoryService = new PoolHistoryService(jackpotRepository, contributionRepository, rewardRepository,
+        archivedContributions, 60000, 3);
+    jackpot = new Jackpot("jackpot-1", BigDecimal.valueOf(1000), Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+  }
+
+  @Test
+  void testGetPoolValueAt_LatestContribution() {
+    // Arrange
+    stubLookups(Optional.of(contribution(TS.minusMinutes(5), 1250)), Optional.empty());
+
+    // Act
+    PoolValueAt value = poolHistoryService.getPoolValueAt("jackpot-1", TS).orElseThrow();
+
+    // Assert
+    assertEquals(PoolValueAt.Source.CONTRIBUTION, value.source());
+    assertEquals(BigDecimal.valueOf(1250), value.poolValue());
+    assertEquals(TS.minusMinutes(5), value.observedAt());
+  }
+
+  @Test
+  void testGetPoolValueAt_WinAfterContributionResetsPool() {
+    // Arrange
+    Reward reward = new Reward("bet-9", 7L, "jackpot-1", BigDecimal.valueOf(1250));
+    reward.setCreatedAt(TS.minusMinutes(4));
+    stubLookups(Optional.of(contribution(TS.minusMinutes(5), 1250)), Optional.of(reward));
+
+    // Act
+    PoolValueAt value = poolHistoryService.getPoolValueAt("jackpot-1", TS).orElseThrow();
+
+    // Assert
+    assertEquals(PoolValueAt.Source.REWARD, value.source());
+    assertEquals(BigDecimal.valueOf(1000), value.poolValue());
+  }
+
+  @Test
+  void testGetPoolValueAt_BeforeFirstContribution() {
+    // Arrange
+    stubLookups(Optional.empty(), Optional.empty());
+
+    // Act
+    PoolValueAt value = poolHistoryService.getPoolValueAt("jackpot-1", TS).orElseThrow();
+
+    // Assert
+    assertEquals(PoolValueAt.Source.INITIAL, value.source());
+    assertEquals(BigDecimal.valueOf(1000), value.poolValue());
+    assertNull(value.observedAt());
+  }
+
+  @Test
+  void testGetPoolValueAt_FallsBackToArchive() {
+    // Arrange
+    stubLookups(Optional.empty(), Optional.empty());
+    when(archivedContributions.findLatestAtOrBefore("jackpot-1", TS))
+        .thenReturn(Optional.of(contribution(TS.minusDays(40), 1420)));
+
+    // Act
+    PoolValueAt value = poolHistoryService.getPoolValueAt("jackpot-1", TS).orElseThrow();
+
+    // Assert
+    assertEquals(PoolValueAt.Source.CONTRIBUTION, value.source());
+    assertEquals(BigDecimal.valueOf(1420), value.poolValue());
+    assertEquals(TS.minusDays(40), value.observedAt());
+  }
+
+  @Test
+  void testGetPoolValueAt_UnknownJackpot() {
+    // Arrange
+    when(jackpotRepository.findByJackpotId("missing")).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertTrue(poolHistoryService.getPoolValueAt("missing", TS).isEmpty());
+  }
+
+  @Test
+  void testPoolSeries_DownsamplesAndWrapsAround() {
+    // Arrange
+    PoolSeries series = new PoolSeries(60000, 3);
+    long start = 1_717_250_400_000L;
+
+    // Act - two values in the first minute, then four more minutes on a three-slot ring
+    series.record(start + 1000, new BigDecimal("1000.00"));
+    series.record(start + 2000, new BigDecimal("1005.50"));
+    for (int minute = 1; minute <= 4; minute++) {
+      series.record(start + minute * 60000L, BigDecimal.valueOf(1000 + minute * 10));
+    }
+    series.record(start + 60000L, BigDecimal.valueOf(900));
+
+    // Assert - only the last three minutes are kept, oldest first; the late value fell off the ring
+    List<PoolHistoryPoint> points = series.since(Long.MIN_VALUE);
+    assertEquals(3, points.size());
+    assertEquals(PoolSeries.toLocalDateTime(start + 2 * 60000L), points.get(0).time());
+    assertEquals(new BigDecimal("1040.00"), points.get(2).close());
+    assertEquals(new BigDecimal("1020.00"), points.get(0).low());
+  }
+
+  @Test
+  void testOnJackpotChanged_FeedsRecentHistory() {
+    // Arrange
+    jackpot.setCurrentPoolValue(new BigDecimal("1010.00"));
+
+    // Act
+    poolHistoryService.onJackpotChanged(new JackpotChangedEvent(jackpot));
+    jackpot.setCurrentPoolValue(new BigDecimal("1020.00"));
+    poolHistoryService.onJackpotChanged(new JackpotChangedEvent(jackpot));
+
+    // Assert
+    List<PoolHistoryPoint> points = poolHistoryService.getRecentHistory("jackpot-1", null).orElseThrow();
+    assertEquals(new BigDecimal("1020.00"), points.get(points.size() - 1).close());
+    assertTrue(poolHistoryService.getRecentHistory("jackpot-2", null).isEmpty());
+  }
+
+  private void stubLookups(Optional<Contribution> contribution, Optional<Reward> reward) {
+    when(jackpotRepository.findByJackpotId("jackpot-1")).thenReturn(Optional.of(jackpot));
+    when(contributionRepository.findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc("jackpot-1", TS))
+        .thenReturn(contribution);
+    when(rewardRepository.findFirstByJackpotIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc("jackpot-1", TS))
+        .thenReturn(reward);
+  }
+
+  private Contribution contribution(LocalDateTime createdAt, long poolAfter) {
+    Contribution contribution = new Contribution("bet-1", 7L, "jackpot-1", BigDecimal.valueOf(100),
+        BigDecimal.valueOf(5), BigDecimal.valueOf(poolAfter));
+    contribution.setCreatedAt(createdAt);
+    return contribution;
+  }
+}
@@ -0,0 +1,126 @@
+package com.jackpot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.jackpot.dto.PoolValueAt;
+import com.jackpot.model.Jackpot;
+import com.jackpot.repository.JackpotRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PoolIntegrityVerifierTest {
+
+  @Mock
+  private JackpotRepository jackpotRepository;
+  @Mock
+  private PoolHistoryService poolHistoryService;
+  private SimpleMeterRegistry meterRegistry;
+  private Jackpot jackpot;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    jackpot = new Jackpot("jackpot-1", BigDecimal.valueOf(1000), Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+    jackpot.setId(1L);
+    jackpot.setVersion(3L);
+    jackpot.setCurrentPoolValue(BigDecimal.valueOf(1010));
+    when(jackpotRepository.findAll()).thenReturn(List.of(jackpot));
+  }
+
+  @Test
+  void testVerify_MatchingPool() {
+    // Arrange
+    expectPool(new BigDecimal("1010.00"));
+
+    // Act
+    List<String> mismatched = verifier("fail").verify();
+
+    // Assert
+    assertTrue(mismatched.isEmpty());
+    verify(jackpotRepository, never()).save(any());
+  }
+
+  @Test
+  void testVerify_RepairsMismatch() {
+    // Arrange
+    expectPool(BigDecimal.valueOf(1005));
+    when(jackpotRepository.findByJackpotId("jackpot-1")).thenReturn(Optional.of(jackpot));
+
+    // Act
+    List<String> mismatched = verifier("repair").verify();
+
+    // Assert
+    assertEquals(List.of("jackpot-1"), mismatched);
+    assertEquals(BigDecimal.valueOf(1005), jackpot.getCurrentPoolValue());
+    verify(jackpotRepository).save(jackpot);
+    assertEquals(1.0, meterRegistry.get("jackpot.integrity.mismatches").counter().count());
+  }
+
+  @Test
+  void testVerify_FailAbortsStartup() {
+    // Arrange
+    expectPool(BigDecimal.valueOf(1005));
+    when(jackpotRepository.findByJackpotId("jackpot-1")).thenReturn(Optional.of(jackpot));
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> verifier("fail").verify());
+    verify(jackpotRepository, never()).save(any());
+  }
+
+  @Test
+  void testVerify_PoolChangedConcurrentlyIsNotAMismatch() {
+    // Arrange - a bet was processed between reading the pool and deriving its value
+    expectPool(BigDecimal.valueOf(1015));
+    Jackpot moved = new Jackpot("jackpot-1", BigDecimal.valueOf(1000), Jackpot.ContributionType.FIXED, Jackpot.RewardType.FIXED);
+    moved.setVersion(4L);
+    when(jackpotRepository.findByJackpotId("jackpot-1")).thenReturn(Optional.of(moved));
+
+    // Act
+    List<String> mismatched = verifier("repair").verify();
+
+    // Assert
+    assertTrue(mismatched.isEmpty());
+    verify(jackpotRepository, never()).save(any());
+  }
+
+  @Test
+  void testVerify_SkipsStripedJackpots() {
+    // Arrange - concurrent contributions to a striped pool each recorded the pool they saw
+    jackpot.setPoolShards(8);
+
+    // Act
+    List<String> mismatched = verifier("fail").verify();
+
+    // Assert
+    assertTrue(mismatched.isEmpty());
+    verify(poolHistoryService, never()).getPoolValueAt(any(Jackpot.class), any());
+  }
+
+  private PoolIntegrityVerifier verifier(String onMismatch) {
+    return new PoolIntegrityVerifier(jackpotRepository, poolHistoryService, meterRegistry, onMismatch, true);
+  }
+
+  private void expectPool(BigDecimal poolValue) {
+    when(poolHistoryService.getPoolValueAt(eq(jackpot), any(LocalDateTime.class))).thenReturn(
+        new PoolValueAt("jackpot-1", LocalDateTime.now(), poolValue, PoolValueAt.Source.CONTRIBUTION, LocalDateTime.now()));
+  }
+}
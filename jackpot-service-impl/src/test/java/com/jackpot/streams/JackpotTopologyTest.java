@@ -0,0 +1,168 @@
+package com.jackpot.streams;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.jackpot.dto.BetRequest;
+import com.jackpot.dto.ContributionApplied;
+import com.jackpot.dto.PoolState;
+import com.jackpot.dto.RewardGranted;
+import com.jackpot.kafka.OutboundEventPublisher;
+import com.jackpot.kafka.PoolStatePublisher;
+import com.jackpot.model.Jackpot;
+
+class JackpotTopologyTest {
+
+  @TempDir
+  Path stateDir;
+
+  private final AtomicLong ids = new AtomicLong();
+  private double draw = 0.99;
+  private TopologyTestDriver driver;
+  private TestInputTopic<String, BetRequest> bets;
+  private TestOutputTopic<String, ContributionApplied> contributions;
+  private TestOutputTopic<String, RewardGranted> rewards;
+  private TestOutputTopic<String, PoolState> poolStates;
+
+  @BeforeEach
+  void setUp() {
+    Jackpot jackpot = new Jackpot("jackpot-1", new BigDecimal("1000.00"), Jackpot.ContributionType.FIXED,
+        Jackpot.RewardType.FIXED);
+    jackpot.setId(1L);
+    jackpot.setVersion(3L);
+    jackpot.setFixedContributionPercentage(new BigDecimal("5.00"));
+    jackpot.setFixedRewardChance(new BigDecimal("1.00"));
+    Map<String, Jackpot> jackpots = Map.of("jackpot-1", jackpot);
+    JackpotTopology topology = new JackpotTopology(id -> Optional.ofNullable(jackpots.get(id)), () -> draw, false,
+        ids::incrementAndGet);
+
+    Properties properties = new Properties();
+    properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "jackpot-topology-test");
+    properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+    properties.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+    properties.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+    driver = new TopologyTestDriver(topology.build(), properties);
+
+    bets = driver.createInputTopic(JackpotTopology.BETS_TOPIC, new StringSerializer(), new JsonSerializer<>());
+    contributions = driver.createOutputTopic(OutboundEventPublisher.CONTRIBUTIONS_TOPIC, new StringDeserializer(),
+        new JsonDeserializer<>(ContributionApplied.class));
+    rewards = driver.createOutputTopic(OutboundEventPublisher.REWARDS_TOPIC, new StringDeserializer(),
+        new JsonDeserializer<>(RewardGranted.class));
+    poolStates = driver.createOutputTopic(PoolStatePublisher.TOPIC, new StringDeserializer(),
+        new JsonDeserializer<>(PoolState.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    driver.close();
+  }
+
+  @Test
+  void testBet_EmitsContributionKeyedByBet() {
+    // Act
+    bets.pipeInput("7-bet-1", new BetRequest("bet-1", "jackpot-1", new BigDecimal("100.00")));
+
+    // Assert
+    var record = contributions.readKeyValue();
+    assertEquals("bet-1", record.key);
+    assertEquals(7L, record.value.userId());
+    assertEquals(new BigDecimal("5.00"), record.value.contributionAmount());
+    assertEquals(new BigDecimal("1005.00"), record.value.poolAfter());
+    assertEquals(1L, record.value.id());
+    assertTrue(rewards.isEmpty());
+  }
+
+  @Test
+  void testBets_AccumulateInPoolStore() {
+    // Act
+    for (int i = 1; i <= 3; i++) {
+      bets.pipeInput("7-bet-" + i, new BetRequest("bet-" + i, "jackpot-1", new BigDecimal("100.00")));
+    }
+
+    // Assert
+    KeyValueStore<String, StreamPool> pools = driver.getKeyValueStore(JackpotTopology.POOLS_STORE);
+    StreamPool pool = pools.get("jackpot-1");
+    assertEquals(new BigDecimal("1015.00"), pool.pool());
+    // Revisions continue from the row's version
+    assertEquals(6L, pool.revision());
+    assertEquals(new BigDecimal("1015.00"), contributions.readValuesToList().get(2).poolAfter());
+    // Every change goes to the pool-state topic, keyed by jackpot
+    List<KeyValue<String, PoolState>> states = poolStates.readKeyValuesToList();
+    assertEquals(3, states.size());
+    PoolState last = states.get(2).value;
+    assertEquals("jackpot-1", states.get(2).key);
+    assertEquals(6L, last.revision());
+    assertEquals(new BigDecimal("1015.00"), last.jackpot().currentPoolValue());
+  }
+
+  @Test
+  void testWinningBet_EmitsRewardAndResetsPool() {
+    // Arrange
+    bets.pipeInput("7-bet-1", new BetRequest("bet-1", "jackpot-1", new BigDecimal("100.00")));
+    draw = 0.0;
+
+    // Act
+    bets.pipeInput("8-bet-2", new BetRequest("bet-2", "jackpot-1", new BigDecimal("100.00")));
+    bets.pipeInput("9-bet-3", new BetRequest("bet-3", "jackpot-1", new BigDecimal("100.00")));
+
+    // Assert - the winner takes the pool including its own contribution; one winner per jackpot
+    var reward = rewards.readKeyValue();
+    assertEquals("bet-2", reward.key);
+    assertEquals(new BigDecimal("1010.00"), reward.value.rewardAmount());
+    assertTrue(rewards.isEmpty());
+    StreamPool pool = driver.<String, StreamPool>getKeyValueStore(JackpotTopology.POOLS_STORE).get("jackpot-1");
+    assertEquals(new BigDecimal("1005.00"), pool.pool());
+    assertEquals(1L, pool.round());
+    KeyValueStore<String, RewardGranted> rewardsByBet = driver.getKeyValueStore(JackpotTopology.REWARDS_STORE);
+    assertEquals(8L, rewardsByBet.get("bet-2").userId());
+    assertNull(rewardsByBet.get("bet-3"));
+  }
+
+  @Test
+  void testUnknownJackpot_IsDropped() {
+    // Act
+    bets.pipeInput("7-bet-1", new BetRequest("bet-1", "jackpot-missing", new BigDecimal("100.00")));
+
+    // Assert
+    assertTrue(contributions.isEmpty());
+    assertTrue(poolStates.isEmpty());
+  }
+
+  @Test
+  void testInvalidBets_AreDropped() {
+    // Act
+    bets.pipeInput("bet-1", new BetRequest("bet-1", "jackpot-1", new BigDecimal("100.00")));
+    bets.pipeInput("7-bet-2", new BetRequest("bet-2", "jackpot-1", new BigDecimal("-1.00")));
+    bets.pipeInput("7-bet-3", null);
+    bets.pipeInput("7-bet-4", new BetRequest("bet-4", "jackpot-1", new BigDecimal("100.00")));
+
+    // Assert - later bets are still applied
+    List<ContributionApplied> applied = contributions.readValuesToList();
+    assertEquals(1, applied.size());
+    assertEquals("bet-4", applied.get(0).betId());
+  }
+}
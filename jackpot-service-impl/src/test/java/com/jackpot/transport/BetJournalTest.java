@@ -0,0 +1,115 @@
+package com.jackpot.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jackpot.dto.BetRequest;
+
+class BetJournalTest {
+
+  private static final int SEGMENT_SIZE = 256;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testOpen_ReturnsBetsAfterTheCheckpointInSequenceOrder() throws IOException {
+    // Arrange: producers append concurrently, so sequences can be out of order in the file
+    BetJournal journal = BetJournal.open(directory, SEGMENT_SIZE);
+    for (long sequence : new long[] {1, 2, 4, 3, 5}) {
+      journal.append(sequence, 7L, bet(sequence));
+    }
+    journal.markApplied(2);
+    journal.close();
+
+    // Act
+    BetJournal reopened = BetJournal.open(directory, SEGMENT_SIZE);
+
+    // Assert
+    List<BetJournal.Entry> unapplied = reopened.unapplied();
+    assertEquals(List.of(3L, 4L, 5L), unapplied.stream().map(BetJournal.Entry::sequence).toList());
+    assertEquals(bet(4), unapplied.get(1).bet());
+    assertEquals(7L, unapplied.get(1).userId());
+    assertEquals(5, reopened.lastSequence());
+  }
+
+  @Test
+  void testAppend_DeletesAppliedSegmentsWhenRolling() throws IOException {
+    // Arrange
+    BetJournal journal = BetJournal.open(directory, SEGMENT_SIZE);
+    for (long sequence = 1; sequence <= 20; sequence++) {
+      journal.append(sequence, 7L, bet(sequence));
+    }
+    int segments = journal.segmentCount();
+    assertTrue(segments > 2);
+
+    // Act
+    journal.markApplied(20);
+    for (long sequence = 21; sequence <= 30; sequence++) {
+      journal.append(sequence, 7L, bet(sequence));
+    }
+
+    // Assert
+    assertTrue(journal.segmentCount() < segments);
+    journal.close();
+    List<BetJournal.Entry> unapplied = BetJournal.open(directory, SEGMENT_SIZE).unapplied();
+    assertEquals(21, unapplied.get(0).sequence());
+    assertEquals(10, unapplied.size());
+  }
+
+  @Test
+  void testOpen_DiscardsTornTailOfNewestSegment() throws IOException {
+    // Arrange
+    BetJournal journal = BetJournal.open(directory, 4096);
+    journal.append(1, 7L, bet(1));
+    journal.append(2, 7L, bet(2));
+    journal.close();
+    Path segment;
+    try (Stream<Path> files = Files.list(directory)) {
+      segment = files.filter(path -> path.toString().endsWith(".journal")).findFirst().orElseThrow();
+    }
+    long tail = firstFreeOffset(segment);
+    // A record whose length made it to disk but not its payload
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(tail);
+      file.writeInt(40);
+      file.writeInt(12345);
+    }
+
+    // Act
+    BetJournal reopened = BetJournal.open(directory, 4096);
+
+    // Assert
+    assertEquals(2, reopened.unapplied().size());
+    reopened.append(3, 7L, bet(3));
+    reopened.close();
+    assertEquals(3, BetJournal.open(directory, 4096).unapplied().size());
+  }
+
+  private static BetRequest bet(long sequence) {
+    return new BetRequest("bet-" + sequence, "jackpot-1", new BigDecimal("12.50"));
+  }
+
+  private static long firstFreeOffset(Path segment) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+      long position = 0;
+      int length;
+      while ((length = file.readInt()) != 0) {
+        position += 2 * Integer.BYTES + length;
+        file.seek(position);
+      }
+      return position;
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.jackpot.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BetRingBufferTest {
+
+  private static final BigDecimal STAKE = new BigDecimal("100.00");
+
+  @Test
+  void testPublish_HandsEveryBetOverInSequenceOrder() throws Exception {
+    for (String waitStrategy : List.of("blocking", "sleeping", "yielding", "busy-spin")) {
+      publishConcurrently(waitStrategy);
+    }
+  }
+
+  @Test
+  void testConsume_HandsPublishedBetsOverAsOneBatch() throws Exception {
+    // Arrange
+    List<Boolean> endOfBatch = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch handled = new CountDownLatch(4);
+    BetRingBuffer ringBuffer = new BetRingBuffer(8, WaitStrategy.of("blocking"), 10, (sequence, slot, end) -> {
+      endOfBatch.add(end);
+      if (sequence == 11) {
+        entered.countDown();
+        awaitQuietly(release);
+      }
+      handled.countDown();
+    });
+    ringBuffer.start();
+
+    // Act: three bets are published while the consumer is held on the first
+    publish(ringBuffer, 1);
+    assertTrue(entered.await(5, TimeUnit.SECONDS));
+    publish(ringBuffer, 3);
+    release.countDown();
+
+    // Assert
+    assertTrue(handled.await(5, TimeUnit.SECONDS));
+    ringBuffer.close(Duration.ofSeconds(5));
+    assertEquals(List.of(true, false, false, true), endOfBatch);
+    assertEquals(14, ringBuffer.lastConsumed());
+  }
+
+  @Test
+  void testClose_DrainsPublishedBetsAndRejectsNewOnes() throws Exception {
+    // Arrange
+    List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+    BetRingBuffer ringBuffer = new BetRingBuffer(16, WaitStrategy.of("blocking"), 0,
+        (sequence, slot, end) -> sequences.add(sequence));
+    ringBuffer.start();
+    publish(ringBuffer, 10);
+
+    // Act
+    ringBuffer.close(Duration.ofSeconds(5));
+
+    // Assert
+    assertEquals(10, sequences.size());
+    assertThrows(IllegalStateException.class, ringBuffer::claim);
+  }
+
+  @Test
+  void testConstructor_RejectsSizeNotPowerOfTwo() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new BetRingBuffer(100, WaitStrategy.of("blocking"), 0, (sequence, slot, end) -> { }));
+    assertThrows(IllegalArgumentException.class, () -> WaitStrategy.of("spinning"));
+  }
+
+  private void publishConcurrently(String waitStrategy) throws Exception {
+    // Arrange
+    int producers = 4;
+    int betsPerProducer = 5_000;
+    List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+    Map<Long, Integer> betsPerUser = new HashMap<>();
+    CountDownLatch handled = new CountDownLatch(producers * betsPerProducer);
+    // Smaller than the number of bets, so producers wait for the consumer to free slots
+    BetRingBuffer ringBuffer = new BetRingBuffer(64, WaitStrategy.of(waitStrategy), 0, (sequence, slot, end) -> {
+      sequences.add(sequence);
+      betsPerUser.merge(slot.userId(), 1, Integer::sum);
+      handled.countDown();
+    });
+    ringBuffer.start();
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+    // Act
+    for (int p = 0; p < producers; p++) {
+      long userId = p;
+      executor.submit(() -> {
+        for (int i = 0; i < betsPerProducer; i++) {
+          long sequence = ringBuffer.claim();
+          ringBuffer.slot(sequence).set("bet-" + userId + "-" + i, userId, "jackpot-1", STAKE);
+          ringBuffer.publish(sequence);
+        }
+      });
+    }
+
+    // Assert
+    assertTrue(handled.await(30, TimeUnit.SECONDS));
+    executor.shutdown();
+    ringBuffer.close(Duration.ofSeconds(5));
+    assertEquals(producers * betsPerProducer, sequences.size());
+    for (int i = 0; i < sequences.size(); i++) {
+      assertEquals(i + 1, sequences.get(i));
+    }
+    for (long userId = 0; userId < producers; userId++) {
+      assertEquals(betsPerProducer, betsPerUser.get(userId));
+    }
+    assertEquals(0, ringBuffer.backlog());
+  }
+
+  private static void publish(BetRingBuffer ringBuffer, int count) {
+    for (int i = 0; i < count; i++) {
+      long sequence = ringBuffer.claim();
+      ringBuffer.slot(sequence).set("bet-" + sequence, 7L, "jackpot-1", STAKE);
+      ringBuffer.publish(sequence);
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
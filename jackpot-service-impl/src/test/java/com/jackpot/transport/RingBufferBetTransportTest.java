@@ -0,0 +1,161 @@
+package com.jackpot.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+
+import com.jackpot.dto.BetRequest;
+import com.jackpot.service.JackpotEngine;
+
+class RingBufferBetTransportTest {
+
+  private static final BigDecimal STAKE = new BigDecimal("100.00");
+
+  @TempDir
+  Path directory;
+
+  private final JackpotEngine engine = mock(JackpotEngine.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void testSendBet_AppliesBetsThroughTheEngineInOrder() throws Exception {
+    // Arrange
+    RingBufferBetTransport transport = transport(false);
+    transport.start();
+
+    // Act
+    transport.sendBet(new BetRequest("bet-1", "jackpot-1", STAKE), 7L);
+    transport.sendBet(new BetRequest("bet-2", "jackpot-2", STAKE), 8L);
+
+    // Assert
+    InOrder order = inOrder(engine);
+    order.verify(engine, timeout(5000)).processContribution("bet-1", 7L, "jackpot-1", STAKE);
+    order.verify(engine, timeout(5000)).processContribution("bet-2", 8L, "jackpot-2", STAKE);
+    transport.close();
+    assertEquals(0.0, meterRegistry.get("jackpot.ring-buffer.backlog").gauge().value());
+    assertFalse(Files.exists(directory.resolve("dead-letter")));
+  }
+
+  @Test
+  void testStart_ReplaysJournaledBetsNotYetApplied() throws Exception {
+    // Arrange: bets 2 and 3 were accepted but the process stopped before the checkpoint passed them
+    BetJournal journal = BetJournal.open(directory, 4096);
+    journal.append(1, 7L, new BetRequest("bet-1", "jackpot-1", STAKE));
+    journal.append(2, 7L, new BetRequest("bet-2", "jackpot-1", STAKE));
+    journal.append(3, 7L, new BetRequest("bet-3", "jackpot-1", STAKE));
+    journal.markApplied(1);
+    journal.close();
+    // bet-2 was committed by the engine just before the crash
+    when(engine.isApplied("bet-2")).thenReturn(true);
+    RingBufferBetTransport transport = transport(true);
+
+    // Act
+    transport.start();
+    transport.sendBet(new BetRequest("bet-4", "jackpot-1", STAKE), 7L);
+
+    // Assert
+    verify(engine, never()).processContribution(eq("bet-1"), anyLong(), anyString(), any());
+    verify(engine, never()).processContribution(eq("bet-2"), anyLong(), anyString(), any());
+    verify(engine).processContribution("bet-3", 7L, "jackpot-1", STAKE);
+    verify(engine, timeout(5000)).processContribution("bet-4", 7L, "jackpot-1", STAKE);
+    transport.close();
+    BetJournal reopened = BetJournal.open(directory, 4096);
+    assertEquals(0, reopened.unapplied().size());
+    assertEquals(4, reopened.appliedSequence());
+  }
+
+  @Test
+  void testSendBet_RetriesFailedBetsAndCheckpointsOnceApplied() throws Exception {
+    // Arrange
+    when(engine.processContribution("bet-1", 7L, "jackpot-1", STAKE))
+        .thenThrow(new IllegalStateException("Database unavailable"))
+        .thenReturn(null);
+    RingBufferBetTransport transport = transport(true);
+    transport.start();
+
+    // Act
+    transport.sendBet(new BetRequest("bet-1", "jackpot-1", STAKE), 7L);
+
+    // Assert
+    verify(engine, timeout(5000).times(2)).processContribution("bet-1", 7L, "jackpot-1", STAKE);
+    transport.close();
+    assertEquals(1, BetJournal.open(directory, 4096).appliedSequence());
+    assertFalse(Files.exists(directory.resolve("dead-letter")));
+  }
+
+  @Test
+  void testSendBet_DeadLettersBetsThatKeepFailing() throws Exception {
+    // Arrange
+    when(engine.processContribution("bet-1", 7L, "jackpot-1", STAKE))
+        .thenThrow(new IllegalStateException("Database unavailable"));
+    RingBufferBetTransport transport = transport(false);
+    transport.start();
+
+    // Act
+    transport.sendBet(new BetRequest("bet-1", "jackpot-1", STAKE), 7L);
+    transport.sendBet(new BetRequest("bet-2", "jackpot-1", STAKE), 7L);
+
+    // Assert - three attempts, then later bets go ahead
+    verify(engine, timeout(5000)).processContribution("bet-2", 7L, "jackpot-1", STAKE);
+    verify(engine, times(3)).processContribution("bet-1", 7L, "jackpot-1", STAKE);
+    transport.close();
+    assertEquals(1.0, meterRegistry.get("jackpot.bets.dead-lettered")
+        .tag("exception", "IllegalStateException").counter().count());
+    List<BetJournal.Entry> deadLetters = BetJournal.open(directory.resolve("dead-letter"), 4096).unapplied();
+    assertEquals(1, deadLetters.size());
+    assertEquals(7L, deadLetters.get(0).userId());
+    assertEquals(new BetRequest("bet-1", "jackpot-1", STAKE), deadLetters.get(0).bet());
+  }
+
+  @Test
+  void testSendBet_InvalidBetIsDeadLetteredWithoutRetrying() throws Exception {
+    // Arrange
+    when(engine.processContribution("bet-1", 7L, "jackpot-1", STAKE))
+        .thenThrow(new IllegalArgumentException("Bet amount must be positive"));
+    RingBufferBetTransport transport = transport(false);
+    transport.start();
+
+    // Act
+    transport.sendBet(new BetRequest("bet-1", "jackpot-1", STAKE), 7L);
+    transport.sendBet(new BetRequest("bet-2", "jackpot-1", STAKE), 7L);
+
+    // Assert
+    verify(engine, timeout(5000)).processContribution("bet-2", 7L, "jackpot-1", STAKE);
+    verify(engine, times(1)).processContribution("bet-1", 7L, "jackpot-1", STAKE);
+    transport.close();
+    assertEquals(1, BetJournal.open(directory.resolve("dead-letter"), 4096).unapplied().size());
+  }
+
+  @Test
+  void testConstructor_RejectsStreamsEngine() {
+    assertThrows(IllegalStateException.class, () -> new RingBufferBetTransport(engine, meterRegistry,
+        "streams", 16, "blocking", false, directory.toString(), 4096, 3, 0, directory.toString()));
+  }
+
+  private RingBufferBetTransport transport(boolean journal) throws IOException {
+    return new RingBufferBetTransport(engine, meterRegistry, "relational", 16, "blocking",
+        journal, directory.toString(), 4096, 3, 0, directory.resolve("dead-letter").toString());
+  }
+}
@@ -65,9 +65,10 @@ SELECT 'jackpot-4',
        5000.00 WHERE NOT EXISTS (SELECT 1 FROM jackpots WHERE jackpot_id = 'jackpot-4');
 
 -- Insert test contribution for bet tests
--- Note: Using IDENTITY generation, so we don't specify id column
-INSERT INTO contributions (bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
-SELECT 'bet-1',
+-- Ids are normally assigned by the application, so seed rows give theirs explicitly
+INSERT INTO contributions (id, bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
+SELECT 1,
+       'bet-1',
        1,
        'jackpot-1',
        50.00,
@@ -76,8 +77,9 @@ SELECT 'bet-1',
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM contributions WHERE bet_id = 'bet-1');
 
 -- Insert contributions for all jackpots to support parametrized tests
-INSERT INTO contributions (bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
-SELECT 'bet-2',
+INSERT INTO contributions (id, bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
+SELECT 2,
+       'bet-2',
        1,
        'jackpot-2',
        100.00,
@@ -85,8 +87,9 @@ SELECT 'bet-2',
        2000.00,
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM contributions WHERE bet_id = 'bet-2' AND jackpot_id = 'jackpot-2');
 
-INSERT INTO contributions (bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
-SELECT 'bet-3',
+INSERT INTO contributions (id, bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
+SELECT 3,
+       'bet-3',
        1,
        'jackpot-3',
        200.00,
@@ -94,8 +97,9 @@ SELECT 'bet-3',
        1500.00,
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM contributions WHERE bet_id = 'bet-3' AND jackpot_id = 'jackpot-3');
 
-INSERT INTO contributions (bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
-SELECT 'bet-4',
+INSERT INTO contributions (id, bet_id, user_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at)
+SELECT 4,
+       'bet-4',
        1,
        'jackpot-4',
        150.00,
@@ -104,31 +108,35 @@ SELECT 'bet-4',
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM contributions WHERE bet_id = 'bet-4' AND jackpot_id = 'jackpot-4');
 
 -- Insert test reward for jackpot reward tests
--- Note: Using IDENTITY generation, so we don't specify id column
-INSERT INTO rewards (bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
-SELECT 'bet-1',
+-- Ids are normally assigned by the application, so seed rows give theirs explicitly
+INSERT INTO rewards (id, bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
+SELECT 1,
+       'bet-1',
        1,
        'jackpot-1',
        100.00,
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM rewards WHERE bet_id = 'bet-1');
 
 -- Insert additional rewards for parametrized tests
-INSERT INTO rewards (bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
-SELECT 'bet-2',
+INSERT INTO rewards (id, bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
+SELECT 2,
+       'bet-2',
        1,
        'jackpot-2',
        200.00,
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM rewards WHERE bet_id = 'bet-2' AND jackpot_id = 'jackpot-2');
 
-INSERT INTO rewards (bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
-SELECT 'bet-3',
+INSERT INTO rewards (id, bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
+SELECT 3,
+       'bet-3',
        1,
        'jackpot-3',
        150.00,
        CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM rewards WHERE bet_id = 'bet-3' AND jackpot_id = 'jackpot-3');
 
-INSERT INTO rewards (bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
-SELECT 'bet-4',
+INSERT INTO rewards (id, bet_id, user_id, jackpot_id, jackpot_reward_amount, created_at)
+SELECT 4,
+       'bet-4',
        1,
        'jackpot-4',
        300.00,